@@ -0,0 +1,124 @@
+package org.example.digitallogisticssupplychainplatform.benchmark;
+
+import org.example.digitallogisticssupplychainplatform.DigitalLogisticsSupplyChainPlatformApplication;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.example.digitallogisticssupplychainplatform.entity.Role;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrder;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrderLine;
+import org.example.digitallogisticssupplychainplatform.entity.User;
+import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.example.digitallogisticssupplychainplatform.repository.UserRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.example.digitallogisticssupplychainplatform.service.InventoryBusinessService;
+import org.example.digitallogisticssupplychainplatform.service.SalesOrderBusinessService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application démarrée une fois par essai sur H2 (profil "benchmark"), avec un entrepôt, des
+ * produits et des inventaires assez fournis pour ne jamais tomber en rupture pendant la mesure.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    static final int PRODUCTS = 50;
+    static final int ORDER_LINES = 10;
+    static final int STOCK_PER_PRODUCT = 1_000_000_000;
+
+    private ConfigurableApplicationContext context;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    InventoryBusinessService inventoryService;
+    SalesOrderBusinessService salesOrderService;
+    SalesOrderRepository salesOrderRepository;
+
+    Long warehouseId;
+    List<Product> products;
+    User client;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DigitalLogisticsSupplyChainPlatformApplication.class)
+                .profiles("benchmark")
+                .run();
+
+        inventoryService = context.getBean(InventoryBusinessService.class);
+        salesOrderService = context.getBean(SalesOrderBusinessService.class);
+        salesOrderRepository = context.getBean(SalesOrderRepository.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void seed() {
+        WareHouse warehouse = context.getBean(WareHouseRepository.class).save(WareHouse.builder()
+                .name("Entrepôt benchmark")
+                .code("JMH")
+                .build());
+        warehouseId = warehouse.getId();
+
+        client = context.getBean(UserRepository.class).save(User.builder()
+                .username("jmh")
+                .email("jmh@example.org")
+                .password("jmh")
+                .role(Role.CLIENT)
+                .build());
+
+        List<Product> seeded = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            seeded.add(Product.builder()
+                    .code("JMH-" + i)
+                    .name("Produit benchmark " + i)
+                    .build());
+        }
+        products = context.getBean(ProductRepository.class).saveAll(seeded);
+
+        List<Inventory> inventories = new ArrayList<>();
+        for (Product product : products) {
+            inventories.add(Inventory.builder()
+                    .product(product)
+                    .warehouse(warehouse)
+                    .qtyOnHand(STOCK_PER_PRODUCT)
+                    .qtyReserved(0)
+                    .build());
+        }
+        context.getBean(InventoryRepository.class).saveAll(inventories);
+    }
+
+    Long nextProductId() {
+        return products.get(Math.floorMod(cursor.getAndIncrement(), PRODUCTS)).getId();
+    }
+
+    /**
+     * Nouvelle commande non réservée de {@link #ORDER_LINES} lignes à une unité.
+     */
+    Long createOrder() {
+        SalesOrder order = SalesOrder.builder().client(client).build();
+        for (int i = 0; i < ORDER_LINES; i++) {
+            order.addOrderLine(SalesOrderLine.builder()
+                    .product(products.get(Math.floorMod(cursor.getAndIncrement(), PRODUCTS)))
+                    .quantity(1)
+                    .unitPrice(BigDecimal.TEN)
+                    .backordered(false)
+                    .build());
+        }
+        return salesOrderRepository.save(order).getId();
+    }
+}
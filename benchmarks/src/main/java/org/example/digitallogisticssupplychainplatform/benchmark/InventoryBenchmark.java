@@ -0,0 +1,34 @@
+package org.example.digitallogisticssupplychainplatform.benchmark;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservation et sortie de stock unitaires, chacune dans sa propre transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Benchmark
+    public void reserveStock(BenchmarkContext context) {
+        context.inventoryService.reserveStock(context.nextProductId(), context.warehouseId, 1, "JMH");
+    }
+
+    @Benchmark
+    public InventoryMovementDTO recordOutbound(BenchmarkContext context) {
+        return context.inventoryService.recordOutbound(context.nextProductId(), context.warehouseId, 1,
+                "JMH", "Sortie benchmark");
+    }
+}
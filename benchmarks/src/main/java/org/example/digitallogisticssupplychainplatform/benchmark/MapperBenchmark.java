@@ -0,0 +1,98 @@
+package org.example.digitallogisticssupplychainplatform.benchmark;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryDTO;
+import org.example.digitallogisticssupplychainplatform.dto.SalesOrderDTO;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrder;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrderLine;
+import org.example.digitallogisticssupplychainplatform.entity.User;
+import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
+import org.example.digitallogisticssupplychainplatform.mapper.InventoryMapper;
+import org.example.digitallogisticssupplychainplatform.mapper.SalesOrderLineMapper;
+import org.example.digitallogisticssupplychainplatform.mapper.SalesOrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entité vers DTO, en mémoire (sans base ni contexte Spring).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    int orderLines;
+
+    private final SalesOrderMapper salesOrderMapper = new SalesOrderMapper(new SalesOrderLineMapper());
+    private final InventoryMapper inventoryMapper = new InventoryMapper();
+
+    private SalesOrder order;
+    private Inventory inventory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WareHouse warehouse = WareHouse.builder().id(1L).name("Entrepôt").code("WH1").build();
+        User client = User.builder().id(1L).username("client").email("client@example.org").build();
+
+        order = SalesOrder.builder()
+                .id(1L)
+                .client(client)
+                .createdAt(LocalDateTime.now())
+                .build();
+        for (int i = 0; i < orderLines; i++) {
+            order.addOrderLine(SalesOrderLine.builder()
+                    .id((long) i)
+                    .product(product(i))
+                    .quantity(i + 1)
+                    .unitPrice(BigDecimal.valueOf(19.99))
+                    .backordered(false)
+                    .build());
+        }
+
+        inventory = Inventory.builder()
+                .id(1L)
+                .product(product(0))
+                .warehouse(warehouse)
+                .qtyOnHand(100)
+                .qtyReserved(10)
+                .build();
+    }
+
+    private Product product(int index) {
+        return Product.builder()
+                .id((long) index)
+                .code("P-" + index)
+                .name("Produit " + index)
+                .description("Description " + index)
+                .build();
+    }
+
+    @Benchmark
+    public SalesOrderDTO salesOrderToDto() {
+        return salesOrderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public InventoryDTO inventoryToDto() {
+        return inventoryMapper.toDto(inventory);
+    }
+}
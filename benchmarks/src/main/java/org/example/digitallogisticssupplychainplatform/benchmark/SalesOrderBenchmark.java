@@ -0,0 +1,48 @@
+package org.example.digitallogisticssupplychainplatform.benchmark;
+
+import org.example.digitallogisticssupplychainplatform.service.SalesOrderBusinessService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservation d'une commande de {@link BenchmarkContext#ORDER_LINES} lignes : chemin ligne à ligne
+ * et chemin groupé. La commande est créée hors mesure avant chaque appel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SalesOrderBenchmark {
+
+    @State(Scope.Thread)
+    public static class PendingOrder {
+        Long orderId;
+
+        @Setup(Level.Invocation)
+        public void create(BenchmarkContext context) {
+            orderId = context.createOrder();
+        }
+    }
+
+    @Benchmark
+    public SalesOrderBusinessService.ReservationResult reserveOrder(BenchmarkContext context, PendingOrder order) {
+        return context.salesOrderService.reserveOrder(order.orderId, context.warehouseId);
+    }
+
+    @Benchmark
+    public SalesOrderBusinessService.ReservationResult reserveOrderBatch(BenchmarkContext context, PendingOrder order) {
+        return context.salesOrderService.reserveOrderBatch(order.orderId, context.warehouseId);
+    }
+}
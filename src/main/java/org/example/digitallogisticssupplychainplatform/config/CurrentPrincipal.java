@@ -0,0 +1,25 @@
+package org.example.digitallogisticssupplychainplatform.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Nom de l'utilisateur authentifié de la requête en cours, {@value #ANONYMOUS} sans authentification.
+ * Sert à cloisonner par utilisateur les ressources tenues en mémoire (clés d'idempotence, opérations).
+ */
+public final class CurrentPrincipal {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    private CurrentPrincipal() {
+    }
+
+    public static String name() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return authentication.getName();
+    }
+}
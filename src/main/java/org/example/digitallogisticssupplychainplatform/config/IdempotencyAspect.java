@@ -0,0 +1,55 @@
+package org.example.digitallogisticssupplychainplatform.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.digitallogisticssupplychainplatform.service.IdempotencyStore;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Applique {@link Idempotent} : lit l'en-tête {@value #HEADER} de la requête en cours et délègue
+ * l'exécution à {@link IdempotencyStore}, la clé étant propre à l'utilisateur authentifié.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Around("@annotation(org.example.digitallogisticssupplychainplatform.config.Idempotent)")
+    public Object applyIdempotency(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String key = attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest().getHeader(HEADER)
+                : null;
+        if (key == null) {
+            return joinPoint.proceed();
+        }
+
+        try {
+            return idempotencyStore.execute(CurrentPrincipal.name(), key.trim(), joinPoint.getSignature().toShortString(),
+                    joinPoint.getArgs(), () -> proceed(joinPoint));
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
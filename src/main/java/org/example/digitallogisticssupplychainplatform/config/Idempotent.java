@@ -0,0 +1,23 @@
+package org.example.digitallogisticssupplychainplatform.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rend un endpoint rejouable sans effet de bord : lorsqu'une requête porte l'en-tête
+ * {@code Idempotency-Key}, la première réponse réussie est enregistrée et renvoyée telle quelle
+ * aux requêtes suivantes du même utilisateur avec la même clé, sans réexécuter l'opération.
+ * Sans en-tête, l'endpoint s'exécute normalement.
+ *
+ * L'opération s'exécute alors dans la transaction qui enregistre la réponse : les méthodes
+ * {@link OptimisticRetry} appelées ne rejouent pas elles-mêmes un conflit de version, c'est au
+ * client de renvoyer la requête avec la même clé.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+}
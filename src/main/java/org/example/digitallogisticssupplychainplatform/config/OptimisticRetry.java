@@ -0,0 +1,31 @@
+package org.example.digitallogisticssupplychainplatform.config;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rejoue une opération en conflit de version (verrouillage optimiste) avec un backoff
+ * exponentiel borné.
+ *
+ * Le retry n'a lieu que si la transaction a réellement été terminée : lorsqu'une méthode
+ * annotée est appelée depuis une transaction englobante, celle-ci est déjà marquée
+ * rollback-only et c'est à l'appelant de rejouer l'opération complète.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = ObjectOptimisticLockingFailureException.class,
+        exceptionExpression = "!T(org.springframework.transaction.support.TransactionSynchronizationManager).isActualTransactionActive()",
+        maxAttempts = 4,
+        backoff = @Backoff(delay = 20, multiplier = 2, maxDelay = 200, random = true)
+)
+public @interface OptimisticRetry {
+}
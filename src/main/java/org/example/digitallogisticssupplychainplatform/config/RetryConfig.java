@@ -0,0 +1,14 @@
+package org.example.digitallogisticssupplychainplatform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Active l'intercepteur de retry utilisé par {@link OptimisticRetry}.
+ * L'intercepteur est placé avant celui des transactions : chaque tentative
+ * s'exécute donc dans une nouvelle transaction.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfig {
+}
@@ -0,0 +1,12 @@
+package org.example.digitallogisticssupplychainplatform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches périodiques (rafraîchissement des caches, purges...).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,36 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.service.CycleCountImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/inventory/operations/cycle-counts")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class CycleCountImportController {
+
+    private final CycleCountImportService cycleCountImportService;
+
+    /**
+     * Le corps CSV est lu en flux depuis la requête, sans passer par un tampon multipart. La réponse
+     * n'arrive qu'en fin d'import : l'identifiant est donc fourni par le client, qui peut suivre
+     * l'avancement sur {@code GET /{importId}} pendant l'envoi.
+     */
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CycleCountImportService.CycleCountSummary> importCounts(
+            InputStream csv,
+            @RequestParam String importId,
+            @RequestParam(required = false) String referenceDoc) {
+        return ResponseEntity.ok(cycleCountImportService.importCounts(csv, importId, referenceDoc));
+    }
+
+    @GetMapping("/{importId}")
+    public ResponseEntity<CycleCountImportService.CycleCountSummary> getProgress(@PathVariable String importId) {
+        return ResponseEntity.ok(cycleCountImportService.getProgress(importId));
+    }
+}
@@ -4,18 +4,27 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.config.Idempotent;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
+import org.example.digitallogisticssupplychainplatform.service.AvailableToPromiseCache;
+import org.example.digitallogisticssupplychainplatform.service.HotSkuReservations;
 import org.example.digitallogisticssupplychainplatform.service.InventoryBusinessService;
+import org.example.digitallogisticssupplychainplatform.service.StockAggregates;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 
 @RestController
@@ -90,6 +99,7 @@ public class InventoryBusinessController {
     }
 
     @PostMapping("/inbound")
+    @Idempotent
     public ResponseEntity<InventoryMovementDTO> recordInbound(@Valid @RequestBody MovementRequest request) {
         InventoryMovementDTO movement = inventoryBusinessService.recordInbound(
                 request.getProductId(),
@@ -103,7 +113,23 @@ public class InventoryBusinessController {
     }
 
 
+    @PostMapping("/inbound/bulk")
+    public ResponseEntity<InventoryBusinessService.InboundBatchResult> recordInboundBulk(
+            @Valid @RequestBody BulkInboundRequest request) {
+        List<InventoryBusinessService.InboundRow> rows = request.getMovements().stream()
+                .map(movement -> new InventoryBusinessService.InboundRow(
+                        movement.getProductId(),
+                        movement.getWarehouseId(),
+                        movement.getQuantity(),
+                        movement.getReferenceDoc(),
+                        movement.getDescription()))
+                .collect(Collectors.toList());
+
+        return new ResponseEntity<>(inventoryBusinessService.recordInboundBulk(rows), HttpStatus.CREATED);
+    }
+
     @PostMapping("/outbound")
+    @Idempotent
     public ResponseEntity<InventoryMovementDTO> recordOutbound(@Valid @RequestBody MovementRequest request) {
         InventoryMovementDTO movement = inventoryBusinessService.recordOutbound(
                 request.getProductId(),
@@ -166,6 +192,21 @@ public class InventoryBusinessController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/allocate/order")
+    public ResponseEntity<InventoryBusinessService.OrderAllocation> allocateOrder(
+            @Valid @RequestBody OrderAllocationRequest request) {
+        List<InventoryBusinessService.ReservationLine> lines = request.getLines().stream()
+                .map(line -> new InventoryBusinessService.ReservationLine(line.getProductId(), line.getQuantity()))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(inventoryBusinessService.allocateOrder(
+                lines,
+                request.getWarehouseIdsByPriority(),
+                request.isReserve(),
+                request.getReferenceDoc()
+        ));
+    }
+
     @GetMapping("/out-of-stock")
     public ResponseEntity<StockStatusResponse> checkOutOfStock(
             @RequestParam Long productId,
@@ -183,6 +224,36 @@ public class InventoryBusinessController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/atp-cache/stats")
+    public ResponseEntity<AvailableToPromiseCache.CacheStats> getAvailabilityCacheStats() {
+        return ResponseEntity.ok(inventoryBusinessService.getAvailabilityCacheStats());
+    }
+
+    @GetMapping("/hot-skus/stats")
+    public ResponseEntity<HotSkuReservations.HotSkuStats> getHotSkuStats() {
+        return ResponseEntity.ok(inventoryBusinessService.getHotSkuStats());
+    }
+
+    @GetMapping("/totals/warehouses/{warehouseId}")
+    public ResponseEntity<StockTotalsDTO> getWarehouseTotals(@PathVariable Long warehouseId) {
+        return ResponseEntity.ok(inventoryBusinessService.getWarehouseTotals(warehouseId));
+    }
+
+    @GetMapping("/totals/products/{productId}")
+    public ResponseEntity<StockTotalsDTO> getProductTotals(@PathVariable Long productId) {
+        return ResponseEntity.ok(inventoryBusinessService.getProductTotals(productId));
+    }
+
+    @GetMapping("/totals/categories/{category}")
+    public ResponseEntity<StockTotalsDTO> getCategoryTotals(@PathVariable String category) {
+        return ResponseEntity.ok(inventoryBusinessService.getCategoryTotals(category));
+    }
+
+    @GetMapping("/totals/stats")
+    public ResponseEntity<StockAggregates.AggregateStats> getStockAggregateStats() {
+        return ResponseEntity.ok(inventoryBusinessService.getStockAggregateStats());
+    }
+
 
     @Data
     @Builder
@@ -231,6 +302,16 @@ public class InventoryBusinessController {
         private String description;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkInboundRequest {
+        @NotEmpty(message = "La liste des mouvements est obligatoire")
+        @Size(max = 10000, message = "10000 mouvements au maximum par requête")
+        private List<@Valid MovementRequest> movements;
+    }
+
     @Data
     @Builder
     @AllArgsConstructor
@@ -263,6 +344,35 @@ public class InventoryBusinessController {
         private List<Long> warehouseIdsByPriority;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderLineRequest {
+        @NotNull(message = "L'ID du produit est obligatoire")
+        private Long productId;
+
+        @NotNull(message = "La quantité est obligatoire")
+        @Min(value = 1, message = "La quantité doit être au moins 1")
+        private Integer quantity;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderAllocationRequest {
+        @NotEmpty(message = "Les lignes de commande sont obligatoires")
+        @Size(max = 1000, message = "1000 lignes au maximum par requête")
+        private List<@Valid OrderLineRequest> lines;
+
+        @NotEmpty(message = "La liste des entrepôts est obligatoire")
+        private List<Long> warehouseIdsByPriority;
+
+        private boolean reserve;
+        private String referenceDoc;
+    }
+
     @Data
     @Builder
     public static class AllocationResponse {
@@ -0,0 +1,47 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.service.InventoryReplayService;
+import org.example.digitallogisticssupplychainplatform.service.InventorySnapshotProjector;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/inventory/history")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class InventoryHistoryController {
+
+    private final InventoryReplayService replayService;
+    private final InventorySnapshotProjector snapshotProjector;
+
+    @GetMapping("/{inventoryId}")
+    public ResponseEntity<InventoryReplayService.ReplayResult> rebuild(
+            @PathVariable Long inventoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(replayService.rebuild(inventoryId, asOf));
+    }
+
+    @GetMapping("/products/{productId}/warehouses/{warehouseId}")
+    public ResponseEntity<InventoryReplayService.ReplayResult> stockAsOf(
+            @PathVariable Long productId,
+            @PathVariable Long warehouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(replayService.stockAsOf(productId, warehouseId, asOf));
+    }
+
+    @GetMapping("/warehouses/{warehouseId}")
+    public ResponseEntity<InventoryReplayService.WarehouseReplayResult> warehouseStockAsOf(
+            @PathVariable Long warehouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(replayService.warehouseStockAsOf(warehouseId, asOf));
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<InventorySnapshotProjector.ProjectionResult> projectSnapshots() {
+        return ResponseEntity.ok(snapshotProjector.project());
+    }
+}
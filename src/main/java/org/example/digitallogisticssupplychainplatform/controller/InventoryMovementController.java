@@ -2,12 +2,16 @@
 package org.example.digitallogisticssupplychainplatform.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.service.InventoryMovementService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +23,7 @@ import java.util.List;
 public class InventoryMovementController {
 
     private final InventoryMovementService movementService;
+    private final NdjsonResponses ndjsonResponses;
 
     @GetMapping
     public ResponseEntity<List<InventoryMovementDTO>> getAllMovements() {
@@ -26,6 +31,18 @@ public class InventoryMovementController {
         return ResponseEntity.ok(movements);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<InventoryMovementDTO>> getMovementsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(movementService.findPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMovements() {
+        return ndjsonResponses.stream(movementService::streamAll);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InventoryMovementDTO> getMovementById(@PathVariable Long id) {
         try {
@@ -37,8 +54,13 @@ public class InventoryMovementController {
     }
 
     @GetMapping("/inventory/{inventoryId}")
-    public ResponseEntity<List<InventoryMovementDTO>> getMovementsByInventory(@PathVariable Long inventoryId) {
-        List<InventoryMovementDTO> movements = movementService.findByInventoryId(inventoryId);
+    public ResponseEntity<List<InventoryMovementDTO>> getMovementsByInventory(
+            @PathVariable Long inventoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<InventoryMovementDTO> movements = (from != null || to != null)
+                ? movementService.findByInventoryId(inventoryId, from, to)
+                : movementService.findByInventoryId(inventoryId);
         return ResponseEntity.ok(movements);
     }
 
@@ -49,14 +71,24 @@ public class InventoryMovementController {
     }
 
     @GetMapping("/warehouse/{warehouseId}")
-    public ResponseEntity<List<InventoryMovementDTO>> getMovementsByWarehouse(@PathVariable Long warehouseId) {
-        List<InventoryMovementDTO> movements = movementService.findByWarehouseId(warehouseId);
+    public ResponseEntity<List<InventoryMovementDTO>> getMovementsByWarehouse(
+            @PathVariable Long warehouseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<InventoryMovementDTO> movements = (from != null || to != null)
+                ? movementService.findByWarehouseId(warehouseId, from, to)
+                : movementService.findByWarehouseId(warehouseId);
         return ResponseEntity.ok(movements);
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<InventoryMovementDTO>> getMovementsByType(@PathVariable String type) {
-        List<InventoryMovementDTO> movements = movementService.findByType(type);
+    public ResponseEntity<List<InventoryMovementDTO>> getMovementsByType(
+            @PathVariable String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<InventoryMovementDTO> movements = (from != null || to != null)
+                ? movementService.findByType(type, from, to)
+                : movementService.findByType(type);
         return ResponseEntity.ok(movements);
     }
 
@@ -79,10 +111,12 @@ public class InventoryMovementController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteMovement(@PathVariable Long id) {
+    public ResponseEntity<?> deleteMovement(@PathVariable Long id) {
         try {
             movementService.deleteMovement(id);
             return ResponseEntity.noContent().build();
+        } catch (BusinessException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
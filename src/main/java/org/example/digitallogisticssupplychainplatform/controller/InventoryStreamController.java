@@ -0,0 +1,28 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.service.StockAlertStream;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/inventory/stream")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class InventoryStreamController {
+
+    private final StockAlertStream alertStream;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long productId,
+                                @RequestParam(required = false) Long warehouseId) {
+        return alertStream.subscribe(productId, warehouseId);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StockAlertStream.StreamStats> getStats() {
+        return ResponseEntity.ok(alertStream.getStats());
+    }
+}
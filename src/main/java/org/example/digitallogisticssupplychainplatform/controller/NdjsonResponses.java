@@ -0,0 +1,42 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Réponses NDJSON (un objet JSON par ligne) écrites au fil de l'eau : rien n'est accumulé en
+ * mémoire, quelle que soit la taille de la table exportée. Les objets sont sérialisés avec
+ * l'{@link ObjectMapper} de l'application, comme les réponses JSON classiques.
+ */
+@Component
+@RequiredArgsConstructor
+class NdjsonResponses {
+
+    private final ObjectMapper objectMapper;
+
+    <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = out -> producer.accept(item -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Sérialisation NDJSON impossible", e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -2,11 +2,14 @@ package org.example.digitallogisticssupplychainplatform.controller;
 
 
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.ProductDTO;
 import org.example.digitallogisticssupplychainplatform.service.ProductService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
@@ -21,6 +24,7 @@ import java.util.Map;
 public class ProductController {
 
     private final ProductService productService;
+    private final NdjsonResponses ndjsonResponses;
 
     @GetMapping
     public ResponseEntity<List<ProductDTO>> getAllProducts(
@@ -39,6 +43,18 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ProductDTO>> getProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.findPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        return ndjsonResponses.stream(productService::streamAll);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
         return productService.findById(id)
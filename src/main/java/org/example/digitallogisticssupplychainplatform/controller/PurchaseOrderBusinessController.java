@@ -4,9 +4,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.config.Idempotent;
 import org.example.digitallogisticssupplychainplatform.service.PurchaseOrderBusinessService;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +25,7 @@ public class PurchaseOrderBusinessController {
 
 
     @PostMapping("/{poId}/receive-full")
+    @Idempotent
     public ResponseEntity<?> receiveFullOrder(
             @PathVariable Long poId,
             @RequestParam Long warehouseId) {
@@ -29,6 +33,14 @@ public class PurchaseOrderBusinessController {
             PurchaseOrderBusinessService.ReceiptResult result =
                     purchaseOrderBusinessService.receiveFullOrder(poId, warehouseId);
             return ResponseEntity.ok(result);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Dans la transaction d'une clé d'idempotence : c'est elle qui rejoue la réception
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw e;
+            }
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
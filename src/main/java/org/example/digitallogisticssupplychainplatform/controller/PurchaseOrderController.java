@@ -3,8 +3,10 @@ package org.example.digitallogisticssupplychainplatform.controller;
 import org.example.digitallogisticssupplychainplatform.dto.*;
 import org.example.digitallogisticssupplychainplatform.service.PurchaseOrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,6 +16,7 @@ import java.util.List;
 public class PurchaseOrderController {
 
     private final PurchaseOrderService purchaseOrderService;
+    private final NdjsonResponses ndjsonResponses;
 
     @PostMapping
     public ResponseEntity<PurchaseOrderDTO> createPurchaseOrder(@RequestBody CreatePurchaseOrderRequest request) {
@@ -27,6 +30,18 @@ public class PurchaseOrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PurchaseOrderDTO>> getPurchaseOrdersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(purchaseOrderService.getPurchaseOrdersPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPurchaseOrders() {
+        return ndjsonResponses.stream(purchaseOrderService::streamAllPurchaseOrders);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PurchaseOrderDTO> getPurchaseOrderById(@PathVariable Long id) {
         PurchaseOrderDTO order = purchaseOrderService.getPurchaseOrderById(id);
@@ -2,14 +2,26 @@ package org.example.digitallogisticssupplychainplatform.controller;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.config.CurrentPrincipal;
+import org.example.digitallogisticssupplychainplatform.config.Idempotent;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationDriftDTO;
+import org.example.digitallogisticssupplychainplatform.service.BackorderFulfillmentEngine;
+import org.example.digitallogisticssupplychainplatform.service.OrderOperationQueue;
+import org.example.digitallogisticssupplychainplatform.service.OrderStatusDashboard;
+import org.example.digitallogisticssupplychainplatform.service.ReservationExpirySweeper;
 import org.example.digitallogisticssupplychainplatform.service.SalesOrderBusinessService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.List;
+
 
 @RestController
 @RequestMapping("/api/sales-orders/business")
@@ -18,19 +30,45 @@ import org.springframework.web.bind.annotation.*;
 public class SalesOrderBusinessController {
 
     private final SalesOrderBusinessService salesOrderBusinessService;
+    private final ReservationExpirySweeper reservationExpirySweeper;
+    private final OrderOperationQueue orderOperationQueue;
+    private final BackorderFulfillmentEngine backorderFulfillmentEngine;
+    private final OrderStatusDashboard orderStatusDashboard;
 
 
     @PostMapping("/{orderId}/reserve")
-    public ResponseEntity<SalesOrderBusinessService.ReservationResult> reserveOrder(
+    @Idempotent
+    public ResponseEntity<?> reserveOrder(
             @PathVariable Long orderId,
-            @RequestParam Long warehouseId) {
+            @RequestParam Long warehouseId,
+            @RequestParam(defaultValue = "false") boolean async) {
 
+        if (async) {
+            return accepted(orderOperationQueue.submit(
+                    OrderOperationQueue.OperationType.RESERVE, orderId, warehouseId, CurrentPrincipal.name()));
+        }
         SalesOrderBusinessService.ReservationResult result =
                 salesOrderBusinessService.reserveOrder(orderId, warehouseId);
 
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/{orderId}/reserve-batch")
+    public ResponseEntity<?> reserveOrderBatch(
+            @PathVariable Long orderId,
+            @RequestParam Long warehouseId,
+            @RequestParam(defaultValue = "false") boolean async) {
+
+        if (async) {
+            return accepted(orderOperationQueue.submit(
+                    OrderOperationQueue.OperationType.RESERVE_BATCH, orderId, warehouseId, CurrentPrincipal.name()));
+        }
+        SalesOrderBusinessService.ReservationResult result =
+                salesOrderBusinessService.reserveOrderBatch(orderId, warehouseId);
+
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{orderId}/check")
     public ResponseEntity<SalesOrderBusinessService.AvailabilityCheck> checkAvailability(
             @PathVariable Long orderId,
@@ -43,10 +81,16 @@ public class SalesOrderBusinessController {
     }
 
     @PostMapping("/{orderId}/ship")
-    public ResponseEntity<SalesOrderBusinessService.ShipmentResult> shipOrder(
+    @Idempotent
+    public ResponseEntity<?> shipOrder(
             @PathVariable Long orderId,
-            @RequestParam Long warehouseId) {
+            @RequestParam Long warehouseId,
+            @RequestParam(defaultValue = "false") boolean async) {
 
+        if (async) {
+            return accepted(orderOperationQueue.submit(
+                    OrderOperationQueue.OperationType.SHIP, orderId, warehouseId, CurrentPrincipal.name()));
+        }
         SalesOrderBusinessService.ShipmentResult result =
                 salesOrderBusinessService.shipOrder(orderId, warehouseId);
 
@@ -64,6 +108,22 @@ public class SalesOrderBusinessController {
                 .build());
     }
 
+    @PostMapping("/bulk/ship")
+    @Idempotent
+    public ResponseEntity<SalesOrderBusinessService.BulkOrderResult> shipOrders(
+            @RequestParam Long warehouseId,
+            @Valid @RequestBody OrderIdsRequest request) {
+
+        return ResponseEntity.ok(salesOrderBusinessService.shipOrders(warehouseId, request.getOrderIds()));
+    }
+
+    @PostMapping("/bulk/deliver")
+    public ResponseEntity<SalesOrderBusinessService.BulkOrderResult> deliverOrders(
+            @Valid @RequestBody OrderIdsRequest request) {
+
+        return ResponseEntity.ok(salesOrderBusinessService.deliverOrders(request.getOrderIds()));
+    }
+
     @PostMapping("/{orderId}/cancel")
     public ResponseEntity<SalesOrderBusinessService.CancellationResult> cancelOrder(
             @PathVariable Long orderId,
@@ -75,6 +135,54 @@ public class SalesOrderBusinessController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/waves")
+    public ResponseEntity<SalesOrderBusinessService.WavePlan> planWaves(@RequestParam Long warehouseId) {
+        return ResponseEntity.ok(salesOrderBusinessService.planWaves(warehouseId));
+    }
+
+    @PostMapping("/waves/ship")
+    public ResponseEntity<SalesOrderBusinessService.WaveShipmentResult> shipWave(
+            @RequestParam Long warehouseId,
+            @Valid @RequestBody OrderIdsRequest request) {
+
+        return ResponseEntity.ok(salesOrderBusinessService.shipWave(warehouseId, request.getOrderIds()));
+    }
+
+    @GetMapping("/operations/{operationId}")
+    public ResponseEntity<OrderOperationQueue.OperationStatus> getOperation(@PathVariable String operationId) {
+        return ResponseEntity.ok(orderOperationQueue.getStatus(operationId, CurrentPrincipal.name()));
+    }
+
+    @GetMapping("/operations/stats")
+    public ResponseEntity<OrderOperationQueue.QueueStats> getOperationStats() {
+        return ResponseEntity.ok(orderOperationQueue.getStats());
+    }
+
+    @GetMapping("/backorders/stats")
+    public ResponseEntity<BackorderFulfillmentEngine.EngineStats> getBackorderStats() {
+        return ResponseEntity.ok(backorderFulfillmentEngine.getStats());
+    }
+
+    @GetMapping("/reservations/expiry/stats")
+    public ResponseEntity<ReservationExpirySweeper.SweeperStats> getReservationExpiryStats() {
+        return ResponseEntity.ok(reservationExpirySweeper.getStats());
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<OrderStatusDashboard.Dashboard> getDashboard() {
+        return ResponseEntity.ok(orderStatusDashboard.getDashboard());
+    }
+
+    @GetMapping("/reservations/reconciliation")
+    public ResponseEntity<List<ReservationDriftDTO>> reconcileReservations() {
+        return ResponseEntity.ok(salesOrderBusinessService.reconcileReservations());
+    }
+
+    private ResponseEntity<OrderOperationQueue.OperationStatus> accepted(OrderOperationQueue.OperationStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/sales-orders/business/operations/" + status.getOperationId()))
+                .body(status);
+    }
 
 
     @Data
@@ -84,6 +192,14 @@ public class SalesOrderBusinessController {
         private String reason;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderIdsRequest {
+        @NotEmpty(message = "Au moins une commande est obligatoire")
+        private List<Long> orderIds;
+    }
+
     @Data
     @lombok.Builder
     public static class DeliveryResponse {
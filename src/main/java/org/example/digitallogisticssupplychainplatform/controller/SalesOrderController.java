@@ -4,8 +4,10 @@ import org.example.digitallogisticssupplychainplatform.dto.*;
 import org.example.digitallogisticssupplychainplatform.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 @RestController
 @RequestMapping("/api/sales-orders")
@@ -13,6 +15,7 @@ import java.util.List;
 public class SalesOrderController {
 
     private final SalesOrderService salesOrderService;
+    private final NdjsonResponses ndjsonResponses;
 
     @GetMapping
     public ResponseEntity<List<SalesOrderDTO>> getAllOrders() {
@@ -20,6 +23,18 @@ public class SalesOrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<SalesOrderDTO>> getOrdersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(salesOrderService.findPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders() {
+        return ndjsonResponses.stream(salesOrderService::streamAll);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SalesOrderDTO> getOrderById(@PathVariable Long id) {
         SalesOrderDTO order = salesOrderService.findById(id);
@@ -5,8 +5,10 @@ import org.example.digitallogisticssupplychainplatform.dto.*;
 import org.example.digitallogisticssupplychainplatform.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +20,7 @@ import java.util.Map;
 public class ShipmentController {
 
     private final ShipmentService shipmentService;
+    private final NdjsonResponses ndjsonResponses;
 
     @GetMapping
     public ResponseEntity<List<ShipmentDTO>> getAllShipments() {
@@ -25,6 +28,18 @@ public class ShipmentController {
         return ResponseEntity.ok(shipments);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ShipmentDTO>> getShipmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(shipmentService.findPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamShipments() {
+        return ndjsonResponses.stream(shipmentService::streamAll);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ShipmentDTO> getShipmentById(@PathVariable Long id) {
         ShipmentDTO shipment = shipmentService.findById(id);
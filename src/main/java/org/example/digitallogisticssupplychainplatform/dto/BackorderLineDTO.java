@@ -0,0 +1,30 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ligne de commande en attente de stock, avec la quantité déjà tenue au registre des réservations.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackorderLineDTO {
+    private Long salesOrderLineId;
+    private Long salesOrderId;
+    private Long productId;
+    private Integer quantity;
+    private Integer heldQuantity;
+
+    public BackorderLineDTO(Long salesOrderLineId, Long salesOrderId, Long productId, Integer quantity,
+                            Number heldQuantity) {
+        this(salesOrderLineId, salesOrderId, productId, quantity, heldQuantity.intValue());
+    }
+
+    public int getShortageQuantity() {
+        return Math.max(0, quantity - heldQuantity);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Page d'une pagination par curseur (keyset). Le curseur est opaque pour le client : il suffit
+ * de le renvoyer tel quel pour obtenir la page suivante.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private List<T> items;
+    private Integer size;
+    private Boolean hasMore;
+    private String nextCursor;
+
+    /**
+     * Construit la page à partir de {@code size + 1} lignes au plus : la ligne en trop indique
+     * seulement qu'une page suivante existe.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+
+        return CursorPage.<T>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    public static int resolveSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    public static String encodeCursor(Object... parts) {
+        String raw = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decodeCursor(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new BusinessException("Curseur invalide: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Curseur invalide: " + cursor, e);
+        }
+    }
+
+    public static Long decodeIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(decodeCursor(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Curseur invalide: " + cursor, e);
+        }
+    }
+}
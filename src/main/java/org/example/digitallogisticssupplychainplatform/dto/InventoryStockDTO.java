@@ -0,0 +1,23 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStockDTO {
+    private Long id;
+    private Long productId;
+    private Long warehouseId;
+    private Integer qtyOnHand;
+    private Integer qtyReserved;
+    private Long version;
+
+    public int getAvailable() {
+        return qtyOnHand - qtyReserved;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Somme signée des mouvements d'un inventaire sur une période (entrées positives, sorties
+ * négatives, ajustements avec leur signe).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementDeltaDTO {
+    private Long inventoryId;
+    private Long productId;
+    private Long warehouseId;
+    private Long quantity;
+    private Long movementCount;
+
+    public MovementDeltaDTO(Long inventoryId, Long productId, Long warehouseId, Number quantity, Number movementCount) {
+        this(inventoryId, productId, warehouseId, quantity.longValue(), movementCount.longValue());
+    }
+
+    public MovementDeltaDTO(Number quantity, Number movementCount) {
+        this(null, null, null, quantity.longValue(), movementCount.longValue());
+    }
+}
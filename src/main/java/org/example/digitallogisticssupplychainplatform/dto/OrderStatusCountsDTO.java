@@ -0,0 +1,24 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Nombre de commandes par étape ; une commande compte dans l'étape la plus avancée atteinte.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusCountsDTO {
+    private Long pending;
+    private Long reserved;
+    private Long shipped;
+    private Long delivered;
+
+    public OrderStatusCountsDTO(Number pending, Number reserved, Number shipped, Number delivered) {
+        this(pending.longValue(), reserved.longValue(), shipped.longValue(), delivered.longValue());
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDriftDTO {
+    private Long inventoryId;
+    private Long productId;
+    private Long warehouseId;
+    private Integer qtyReserved;
+    private Long ledgerQuantity;
+
+    public ReservationDriftDTO(Long inventoryId, Long productId, Long warehouseId, Integer qtyReserved, Number ledgerQuantity) {
+        this(inventoryId, productId, warehouseId, qtyReserved, ledgerQuantity != null ? ledgerQuantity.longValue() : 0L);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationHoldDTO {
+    private Long reservationId;
+    private Long salesOrderId;
+    private Long salesOrderLineId;
+    private Long inventoryId;
+    private Long productId;
+    private Long warehouseId;
+    private Integer quantity;
+}
@@ -0,0 +1,21 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentStatusCountsDTO {
+    private Long planned;
+    private Long inTransit;
+    private Long delivered;
+    private Long cancelled;
+
+    public ShipmentStatusCountsDTO(Number planned, Number inTransit, Number delivered, Number cancelled) {
+        this(planned.longValue(), inTransit.longValue(), delivered.longValue(), cancelled.longValue());
+    }
+}
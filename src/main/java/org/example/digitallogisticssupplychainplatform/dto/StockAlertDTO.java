@@ -0,0 +1,29 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertDTO {
+
+    public enum AlertType {
+        LOW_STOCK,
+        OUT_OF_STOCK,
+        BACK_IN_STOCK
+    }
+
+    private AlertType type;
+    private Long productId;
+    private Long warehouseId;
+    private Integer available;
+    private Integer previousAvailable;
+    private Integer lowStockThreshold;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package org.example.digitallogisticssupplychainplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTotalsDTO {
+    private Long qtyOnHand;
+    private Long qtyReserved;
+    private Long inventories;
+
+    public long getAvailable() {
+        return qtyOnHand - qtyReserved;
+    }
+}
@@ -15,7 +15,8 @@ import lombok.*;
 @NoArgsConstructor
 public class Inventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventories_id_gen")
+    @SequenceGenerator(name = "inventories_id_gen", sequenceName = "inventories_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "qty_on_hand")
@@ -24,6 +25,10 @@ public class Inventory {
     @Column(name = "qty_reserved")
     private Integer qtyReserved = 0;
 
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "warehouse_id", nullable = false)
     private WareHouse warehouse;
@@ -3,10 +3,23 @@ package org.example.digitallogisticssupplychainplatform.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Immutable;
+
 import java.time.LocalDateTime;
 
+/**
+ * Journal des mouvements, en ajout seul. En production la table est partitionnée par mois sur
+ * {@code occurred_at} (voir db/scripts/inventory_movements_partitioning.sql) : les requêtes de
+ * masse doivent donc toujours borner {@code occurredAt} pour que PostgreSQL élague les partitions.
+ */
 @Entity
-@Table(name = "inventory_movements")
+@Immutable
+@Table(name = "inventory_movements",
+        indexes = {
+                @Index(name = "idx_movements_inventory_occurred", columnList = "inventory_id, occurred_at"),
+                @Index(name = "idx_movements_type_occurred", columnList = "type, occurred_at"),
+                @Index(name = "idx_movements_occurred_id", columnList = "occurred_at, id")
+        })
 @Getter
 @Setter
 @Builder
@@ -15,7 +28,8 @@ import java.time.LocalDateTime;
 public class InventoryMovement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movements_id_gen")
+    @SequenceGenerator(name = "inventory_movements_id_gen", sequenceName = "inventory_movements_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,56 @@
+package org.example.digitallogisticssupplychainplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Photo du stock physique d'un inventaire, calculée à partir du journal des mouvements : elle
+ * intègre tous les mouvements dont {@code occurredAt} est strictement antérieur à {@code asOf}.
+ * Le journal reste la source de vérité ; une photo n'est qu'un point de départ pour le rejeu.
+ */
+@Entity
+@Immutable
+@Table(name = "inventory_snapshots",
+        indexes = {
+                @Index(name = "idx_snapshots_inventory_as_of", columnList = "inventory_id, as_of"),
+                @Index(name = "idx_snapshots_as_of", columnList = "as_of"),
+                @Index(name = "idx_snapshots_product_warehouse_as_of", columnList = "product_id, warehouse_id, as_of"),
+                @Index(name = "idx_snapshots_warehouse_as_of", columnList = "warehouse_id, as_of")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_snapshots_id_gen")
+    @SequenceGenerator(name = "inventory_snapshots_id_gen", sequenceName = "inventory_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "qty_on_hand", nullable = false)
+    private Integer qtyOnHand;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "movement_count", nullable = false)
+    private Long movementCount;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
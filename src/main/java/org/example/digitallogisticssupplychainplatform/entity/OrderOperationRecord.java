@@ -0,0 +1,50 @@
+package org.example.digitallogisticssupplychainplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trace durable d'une opération asynchrone sur une commande. Les files et les résultats détaillés
+ * restent en mémoire ; cette ligne permet seulement, après un redémarrage, de répondre FAILED pour
+ * une opération acceptée mais jamais terminée au lieu de la déclarer introuvable.
+ */
+@Entity
+@Table(name = "order_operations",
+        indexes = @Index(name = "idx_order_operations_finished_at", columnList = "finished_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOperationRecord {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(nullable = false, length = 100)
+    private String principal;
+
+    @Column(nullable = false, length = 20)
+    private String state;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
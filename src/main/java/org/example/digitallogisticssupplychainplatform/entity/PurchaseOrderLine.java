@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 @Builder
 public class PurchaseOrderLine {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_lines_id_gen")
+    @SequenceGenerator(name = "purchase_order_lines_id_gen", sequenceName = "purchase_order_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
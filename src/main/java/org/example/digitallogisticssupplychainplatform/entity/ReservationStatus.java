@@ -0,0 +1,7 @@
+package org.example.digitallogisticssupplychainplatform.entity;
+
+public enum ReservationStatus {
+    ACTIVE,
+    RELEASED,
+    SHIPPED
+}
@@ -8,7 +8,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "sales_orders")
+@NamedEntityGraph(name = SalesOrder.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("client"),
+                @NamedAttributeNode(value = "orderLines", subgraph = "lines")
+        },
+        subgraphs = @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("product")))
+@Table(name = "sales_orders", indexes = {
+        @Index(name = "idx_sales_orders_reservation_expires_at", columnList = "reservation_expires_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +25,9 @@ import java.util.List;
 @Getter
 public class SalesOrder {
 
+    /** Client, lignes et produits des lignes : tout ce que lit {@code SalesOrderMapper.toDTO}. */
+    public static final String DETAILS_GRAPH = "SalesOrder.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,6 +42,13 @@ public class SalesOrder {
     @Column
     private LocalDateTime reservedAt;
 
+    @Column
+    private LocalDateTime reservationExpiresAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id")
+    private WareHouse warehouse;
+
     @Column
     private LocalDateTime shippedAt;
 
@@ -10,7 +10,9 @@ import java.util.List;
 
 
 @Entity
-@Table(name = "sales_order_lines")
+@Table(name = "sales_order_lines", indexes = {
+        @Index(name = "idx_sales_order_lines_backorder", columnList = "product_id, backordered, backordered_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +20,8 @@ import java.util.List;
 public class SalesOrderLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_order_lines_id_gen")
+    @SequenceGenerator(name = "sales_order_lines_id_gen", sequenceName = "sales_order_lines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +41,10 @@ public class SalesOrderLine {
     @Column(nullable = false)
     private Boolean backordered = false;
 
+    /** Entrée en attente de stock ; ordre de service des backorders (premier arrivé, premier servi). */
+    @Column(name = "backordered_at")
+    private LocalDateTime backorderedAt;
+
     public BigDecimal getTotalPrice() {
         return unitPrice.multiply(BigDecimal.valueOf(quantity));
     }
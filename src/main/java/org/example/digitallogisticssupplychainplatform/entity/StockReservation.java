@@ -0,0 +1,62 @@
+package org.example.digitallogisticssupplychainplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Quantité tenue par une ligne de commande sur un inventaire précis. Une ligne ACTIVE vaut réservé
+ * dans {@code inventories.qty_reserved} ; l'expédition ou la libération la clôt sans la supprimer,
+ * ce qui garde l'historique auditable. Les identifiants sont portés en colonnes simples pour que
+ * le registre survive à la suppression d'une commande annulée.
+ */
+@Entity
+@Table(name = "stock_reservations",
+        indexes = {
+                @Index(name = "idx_stock_reservations_order_status", columnList = "sales_order_id, status"),
+                @Index(name = "idx_stock_reservations_inventory_status", columnList = "inventory_id, status"),
+                @Index(name = "idx_stock_reservations_warehouse_status", columnList = "warehouse_id, status")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_id_gen")
+    @SequenceGenerator(name = "stock_reservations_id_gen", sequenceName = "stock_reservations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "sales_order_id", nullable = false)
+    private Long salesOrderId;
+
+    @Column(name = "sales_order_line_id", nullable = false)
+    private Long salesOrderLineId;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.ACTIVE;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+}
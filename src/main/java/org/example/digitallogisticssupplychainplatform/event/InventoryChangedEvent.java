@@ -0,0 +1,38 @@
+package org.example.digitallogisticssupplychainplatform.event;
+
+import lombok.Value;
+
+/**
+ * Publié à chaque modification des quantités d'un inventaire. Les deltas sont relatifs à
+ * l'état précédent ; les écouteurs le reçoivent après le commit de la transaction.
+ */
+@Value
+public class InventoryChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    ChangeType type;
+    Long inventoryId;
+    Long productId;
+    Long warehouseId;
+    int onHandDelta;
+    int reservedDelta;
+
+    public static InventoryChangedEvent created(Long inventoryId, Long productId, Long warehouseId,
+                                                int qtyOnHand, int qtyReserved) {
+        return new InventoryChangedEvent(ChangeType.CREATED, inventoryId, productId, warehouseId, qtyOnHand, qtyReserved);
+    }
+
+    public static InventoryChangedEvent updated(Long inventoryId, Long productId, Long warehouseId,
+                                                int onHandDelta, int reservedDelta) {
+        return new InventoryChangedEvent(ChangeType.UPDATED, inventoryId, productId, warehouseId, onHandDelta, reservedDelta);
+    }
+
+    public static InventoryChangedEvent deleted(Long inventoryId, Long productId, Long warehouseId) {
+        return new InventoryChangedEvent(ChangeType.DELETED, inventoryId, productId, warehouseId, 0, 0);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.digitallogisticssupplychainplatform.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publié quand l'échéance de réservation d'une commande change : posée à la réservation, levée
+ * ({@code expiresAt} nul) à l'expédition, à l'annulation ou à l'expiration.
+ */
+@Value
+public class OrderReservationEvent {
+
+    Long orderId;
+    LocalDateTime expiresAt;
+
+    public static OrderReservationEvent scheduled(Long orderId, LocalDateTime expiresAt) {
+        return new OrderReservationEvent(orderId, expiresAt);
+    }
+
+    public static OrderReservationEvent cleared(Long orderId) {
+        return new OrderReservationEvent(orderId, null);
+    }
+}
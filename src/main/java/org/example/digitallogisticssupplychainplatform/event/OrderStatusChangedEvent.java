@@ -0,0 +1,46 @@
+package org.example.digitallogisticssupplychainplatform.event;
+
+import lombok.Value;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrder;
+
+/**
+ * Publié quand une commande change d'étape. {@code from} est nul à la création, {@code to} à la
+ * suppression ; les écouteurs le reçoivent après le commit de la transaction.
+ */
+@Value
+public class OrderStatusChangedEvent {
+
+    /** Étape d'une commande, déduite de ses dates : la plus avancée l'emporte. */
+    public enum Status {
+        PENDING,
+        RESERVED,
+        SHIPPED,
+        DELIVERED;
+
+        public static Status of(SalesOrder order) {
+            if (order.getDeliveredAt() != null) {
+                return DELIVERED;
+            }
+            if (order.getShippedAt() != null) {
+                return SHIPPED;
+            }
+            return order.getReservedAt() != null ? RESERVED : PENDING;
+        }
+    }
+
+    Long orderId;
+    Status from;
+    Status to;
+
+    public static OrderStatusChangedEvent changed(Long orderId, Status from, Status to) {
+        return new OrderStatusChangedEvent(orderId, from, to);
+    }
+
+    public static OrderStatusChangedEvent created(Long orderId, Status status) {
+        return new OrderStatusChangedEvent(orderId, null, status);
+    }
+
+    public static OrderStatusChangedEvent deleted(Long orderId, Status status) {
+        return new OrderStatusChangedEvent(orderId, status, null);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.digitallogisticssupplychainplatform.event;
+
+import lombok.Value;
+import org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus;
+
+/**
+ * Publié quand une expédition change de statut. {@code from} est nul à la création, {@code to} à
+ * la suppression ; les écouteurs le reçoivent après le commit de la transaction.
+ */
+@Value
+public class ShipmentStatusChangedEvent {
+
+    Long shipmentId;
+    ShipmentStatus from;
+    ShipmentStatus to;
+
+    public static ShipmentStatusChangedEvent changed(Long shipmentId, ShipmentStatus from, ShipmentStatus to) {
+        return new ShipmentStatusChangedEvent(shipmentId, from, to);
+    }
+
+    public static ShipmentStatusChangedEvent created(Long shipmentId, ShipmentStatus status) {
+        return new ShipmentStatusChangedEvent(shipmentId, null, status);
+    }
+
+    public static ShipmentStatusChangedEvent deleted(Long shipmentId, ShipmentStatus status) {
+        return new ShipmentStatusChangedEvent(shipmentId, status, null);
+    }
+}
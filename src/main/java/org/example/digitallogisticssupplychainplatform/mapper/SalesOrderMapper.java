@@ -25,6 +25,7 @@ public class SalesOrderMapper {
                 .clientName(order.getClient() != null ? order.getClient().getUsername() : null)
                 .createdAt(order.getCreatedAt())
                 .reservedAt(order.getReservedAt())
+                .reservationExpiresAt(order.getReservationExpiresAt())
                 .shippedAt(order.getShippedAt())
                 .deliveredAt(order.getDeliveredAt())
                 .build();
@@ -1,7 +1,12 @@
 package org.example.digitallogisticssupplychainplatform.repository;
 
 import org.example.digitallogisticssupplychainplatform.entity.Carrier;
+import org.example.digitallogisticssupplychainplatform.entity.CarrierStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface CarrierRepository extends JpaRepository<Carrier,Long> {
+
+    List<Carrier> findByStatusOrderByCutOffTimeAsc(CarrierStatus status);
 }
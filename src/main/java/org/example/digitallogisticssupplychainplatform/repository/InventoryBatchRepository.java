@@ -0,0 +1,64 @@
+package org.example.digitallogisticssupplychainplatform.repository;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Opérations JDBC en lot sur la table inventories, utilisées quand plusieurs lignes
+ * doivent être modifiées dans un seul aller-retour.
+ */
+public interface InventoryBatchRepository {
+
+    /**
+     * Applique les réservations en un seul batch JDBC. Chaque UPDATE est conditionné par la
+     * version lue et par le stock disponible.
+     *
+     * @return le nombre de lignes modifiées pour chaque réservation, dans l'ordre de la liste
+     */
+    int[] applyReservations(List<ReservationDelta> reservations);
+
+    /**
+     * Rend les quantités réservées en un seul batch, sans relire les inventaires. Un UPDATE ne
+     * s'applique que si la quantité réservée de la ligne couvre la libération.
+     */
+    int[] releaseHolds(List<HoldDelta> holds);
+
+    /**
+     * Sort du stock les quantités réservées en un seul batch : stock physique et réservé sont
+     * décrémentés ensemble, à condition que les deux couvrent la quantité.
+     */
+    int[] shipHolds(List<HoldDelta> holds);
+
+    /**
+     * Ajoute au réservé des quantités déjà accordées ailleurs (négatives pour une compensation),
+     * en un seul batch et sans condition de disponibilité.
+     */
+    int[] addReserved(List<HoldDelta> deltas);
+
+    /**
+     * Remplace le stock physique par la quantité comptée en un seul batch. Chaque UPDATE est
+     * conditionné par la version lue et par un stock réservé couvert par la quantité comptée.
+     */
+    int[] applyCounts(List<CountDelta> counts);
+
+    @Value
+    class ReservationDelta {
+        Long inventoryId;
+        Long expectedVersion;
+        int quantity;
+    }
+
+    @Value
+    class CountDelta {
+        Long inventoryId;
+        Long expectedVersion;
+        int countedQuantity;
+    }
+
+    @Value
+    class HoldDelta {
+        Long inventoryId;
+        int quantity;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.digitallogisticssupplychainplatform.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventoryBatchRepositoryImpl implements InventoryBatchRepository {
+
+    private static final String RESERVE_SQL =
+            "UPDATE inventories SET qty_reserved = qty_reserved + ?, version = version + 1 " +
+            "WHERE id = ? AND version = ? AND qty_on_hand - qty_reserved >= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE inventories SET qty_reserved = qty_reserved - ?, version = version + 1 " +
+            "WHERE id = ? AND qty_reserved >= ?";
+
+    private static final String SHIP_SQL =
+            "UPDATE inventories SET qty_on_hand = qty_on_hand - ?, qty_reserved = qty_reserved - ?, " +
+            "version = version + 1 WHERE id = ? AND qty_reserved >= ? AND qty_on_hand >= ?";
+
+    private static final String ADD_RESERVED_SQL =
+            "UPDATE inventories SET qty_reserved = qty_reserved + ?, version = version + 1 WHERE id = ?";
+
+    private static final String COUNT_SQL =
+            "UPDATE inventories SET qty_on_hand = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ? AND qty_reserved <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] applyReservations(List<ReservationDelta> reservations) {
+        if (reservations.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(RESERVE_SQL, reservations, reservations.size(), (ps, reservation) -> {
+            ps.setInt(1, reservation.getQuantity());
+            ps.setLong(2, reservation.getInventoryId());
+            ps.setLong(3, reservation.getExpectedVersion());
+            ps.setInt(4, reservation.getQuantity());
+        })[0];
+    }
+
+    @Override
+    public int[] releaseHolds(List<HoldDelta> holds) {
+        if (holds.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(RELEASE_SQL, holds, holds.size(), (ps, hold) -> {
+            ps.setInt(1, hold.getQuantity());
+            ps.setLong(2, hold.getInventoryId());
+            ps.setInt(3, hold.getQuantity());
+        })[0];
+    }
+
+    @Override
+    public int[] shipHolds(List<HoldDelta> holds) {
+        if (holds.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(SHIP_SQL, holds, holds.size(), (ps, hold) -> {
+            ps.setInt(1, hold.getQuantity());
+            ps.setInt(2, hold.getQuantity());
+            ps.setLong(3, hold.getInventoryId());
+            ps.setInt(4, hold.getQuantity());
+            ps.setInt(5, hold.getQuantity());
+        })[0];
+    }
+
+    @Override
+    public int[] addReserved(List<HoldDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(ADD_RESERVED_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setInt(1, delta.getQuantity());
+            ps.setLong(2, delta.getInventoryId());
+        })[0];
+    }
+
+    @Override
+    public int[] applyCounts(List<CountDelta> counts) {
+        if (counts.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(COUNT_SQL, counts, counts.size(), (ps, count) -> {
+            ps.setInt(1, count.getCountedQuantity());
+            ps.setLong(2, count.getInventoryId());
+            ps.setLong(3, count.getExpectedVersion());
+            ps.setInt(4, count.getCountedQuantity());
+        })[0];
+    }
+}
@@ -1,14 +1,20 @@
 package org.example.digitallogisticssupplychainplatform.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO;
 import org.example.digitallogisticssupplychainplatform.entity.InventoryMovement;
 import org.example.digitallogisticssupplychainplatform.entity.MovementType;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
@@ -22,9 +28,87 @@ public interface InventoryMovementRepository extends JpaRepository<InventoryMove
     List<InventoryMovement> findByDateRange(@Param("startDate") LocalDateTime startDate,
                                             @Param("endDate") LocalDateTime endDate);
 
+    // Variantes bornées sur [from, to) : la borne sur occurred_at permet l'élagage des partitions
+    // mensuelles et l'utilisation des index composites (inventory_id | type, occurred_at).
+
+    @Query("SELECT im FROM InventoryMovement im " +
+            "WHERE im.inventory.id = :inventoryId AND im.occurredAt >= :from AND im.occurredAt < :to " +
+            "ORDER BY im.occurredAt")
+    List<InventoryMovement> findByInventoryIdInPeriod(@Param("inventoryId") Long inventoryId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT im FROM InventoryMovement im JOIN im.inventory i " +
+            "WHERE i.warehouse.id = :warehouseId AND im.occurredAt >= :from AND im.occurredAt < :to " +
+            "ORDER BY im.occurredAt")
+    List<InventoryMovement> findByWarehouseIdInPeriod(@Param("warehouseId") Long warehouseId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT im FROM InventoryMovement im " +
+            "WHERE im.type = :type AND im.occurredAt >= :from AND im.occurredAt < :to " +
+            "ORDER BY im.occurredAt")
+    List<InventoryMovement> findByTypeInPeriod(@Param("type") MovementType type,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    // Rejeu : sorties négatives, entrées et ajustements avec leur signe, sur [from, to).
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO(" +
+            "i.id, i.product.id, i.warehouse.id, " +
+            "SUM(CASE WHEN im.type = org.example.digitallogisticssupplychainplatform.entity.MovementType.OUTBOUND " +
+            "THEN -im.quantity ELSE im.quantity END), COUNT(im)) " +
+            "FROM InventoryMovement im JOIN im.inventory i " +
+            "WHERE im.occurredAt >= :from AND im.occurredAt < :to " +
+            "GROUP BY i.id, i.product.id, i.warehouse.id")
+    List<MovementDeltaDTO> sumSignedQuantitiesByInventory(@Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO(" +
+            "i.id, i.product.id, i.warehouse.id, " +
+            "SUM(CASE WHEN im.type = org.example.digitallogisticssupplychainplatform.entity.MovementType.OUTBOUND " +
+            "THEN -im.quantity ELSE im.quantity END), COUNT(im)) " +
+            "FROM InventoryMovement im JOIN im.inventory i " +
+            "WHERE i.warehouse.id = :warehouseId AND im.occurredAt >= :from AND im.occurredAt < :to " +
+            "GROUP BY i.id, i.product.id, i.warehouse.id")
+    List<MovementDeltaDTO> sumSignedQuantitiesByWarehouse(@Param("warehouseId") Long warehouseId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO(" +
+            "COALESCE(SUM(CASE WHEN im.type = org.example.digitallogisticssupplychainplatform.entity.MovementType.OUTBOUND " +
+            "THEN -im.quantity ELSE im.quantity END), 0), COUNT(im)) " +
+            "FROM InventoryMovement im " +
+            "WHERE im.inventory.id = :inventoryId AND im.occurredAt >= :from AND im.occurredAt < :to")
+    MovementDeltaDTO sumSignedQuantity(@Param("inventoryId") Long inventoryId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
     @Query("SELECT im FROM InventoryMovement im JOIN FETCH im.inventory i JOIN FETCH i.product JOIN FETCH i.warehouse WHERE im.id = :id")
     InventoryMovement findByIdWithDetails(@Param("id") Long id);
 
     @Query("SELECT im FROM InventoryMovement im JOIN FETCH im.inventory i JOIN FETCH i.product JOIN FETCH i.warehouse")
     List<InventoryMovement> findAllWithDetails();
+
+    @Query("SELECT im FROM InventoryMovement im JOIN FETCH im.inventory i JOIN FETCH i.product JOIN FETCH i.warehouse " +
+            "ORDER BY im.occurredAt, im.id")
+    List<InventoryMovement> findFirstPageWithDetails(Pageable pageable);
+
+    /**
+     * Page suivant le curseur (occurredAt, id) : s'appuie sur l'ordre de l'index plutôt que sur un OFFSET.
+     */
+    @Query("SELECT im FROM InventoryMovement im JOIN FETCH im.inventory i JOIN FETCH i.product JOIN FETCH i.warehouse " +
+            "WHERE im.occurredAt > :occurredAt OR (im.occurredAt = :occurredAt AND im.id > :id) " +
+            "ORDER BY im.occurredAt, im.id")
+    List<InventoryMovement> findPageAfterWithDetails(@Param("occurredAt") LocalDateTime occurredAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT im FROM InventoryMovement im JOIN FETCH im.inventory i JOIN FETCH i.product JOIN FETCH i.warehouse " +
+            "ORDER BY im.occurredAt, im.id")
+    Stream<InventoryMovement> streamAllWithDetails();
 }
\ No newline at end of file
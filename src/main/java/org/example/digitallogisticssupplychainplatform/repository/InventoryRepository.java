@@ -1,16 +1,20 @@
 package org.example.digitallogisticssupplychainplatform.repository;
 
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
 import org.example.digitallogisticssupplychainplatform.entity.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryBatchRepository {
     List<Inventory> findByWarehouseId(Long warehouseId);
 
     @Query("SELECT i FROM Inventory i WHERE i.warehouse.id = :warehouseId AND i.id = :inventoryId")
@@ -20,6 +24,21 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Query("SELECT SUM(i.qtyOnHand) FROM Inventory i WHERE i.warehouse.id = :warehouseId")
     Integer getTotalQtyOnHandByWarehouse(@Param("warehouseId") Long warehouseId);
 
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO(" +
+            "COALESCE(SUM(i.qtyOnHand), 0L), COALESCE(SUM(i.qtyReserved), 0L), COUNT(i)) " +
+            "FROM Inventory i WHERE i.warehouse.id = :warehouseId")
+    StockTotalsDTO sumStockByWarehouse(@Param("warehouseId") Long warehouseId);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO(" +
+            "COALESCE(SUM(i.qtyOnHand), 0L), COALESCE(SUM(i.qtyReserved), 0L), COUNT(i)) " +
+            "FROM Inventory i WHERE i.product.id = :productId")
+    StockTotalsDTO sumStockByProduct(@Param("productId") Long productId);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO(" +
+            "COALESCE(SUM(i.qtyOnHand), 0L), COALESCE(SUM(i.qtyReserved), 0L), COUNT(i)) " +
+            "FROM Inventory i WHERE i.product.category = :category")
+    StockTotalsDTO sumStockByCategory(@Param("category") String category);
+
     @Query("SELECT i FROM Inventory i LEFT JOIN FETCH i.warehouse")
     List<Inventory> findAllWithWarehouse();
     @Query("SELECT i FROM Inventory i " +
@@ -29,4 +48,53 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Inventory findByProductIdAndWarehouseId(@Param("productId") Long productId,
                                             @Param("warehouseId") Long warehouseId);
 
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO(" +
+            "i.id, i.product.id, i.warehouse.id, i.qtyOnHand, i.qtyReserved, i.version) " +
+            "FROM Inventory i WHERE i.warehouse.id = :warehouseId AND i.product.id IN :productIds")
+    List<InventoryStockDTO> findStockByWarehouseIdAndProductIds(@Param("warehouseId") Long warehouseId,
+                                                                @Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO(" +
+            "i.id, i.product.id, i.warehouse.id, i.qtyOnHand, i.qtyReserved, i.version) " +
+            "FROM Inventory i WHERE i.warehouse.id IN :warehouseIds AND i.product.id IN :productIds")
+    List<InventoryStockDTO> findStockByWarehouseIdsAndProductIds(@Param("warehouseIds") Collection<Long> warehouseIds,
+                                                                 @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Sur-ensemble des inventaires des couples (entrepôt, produit) demandés : à filtrer côté appelant.
+     */
+    @Query("SELECT i FROM Inventory i WHERE i.warehouse.id IN :warehouseIds AND i.product.id IN :productIds")
+    List<Inventory> findByWarehouseIdsAndProductIds(@Param("warehouseIds") Collection<Long> warehouseIds,
+                                                    @Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO(" +
+            "i.id, i.product.id, i.warehouse.id, i.qtyOnHand, i.qtyReserved, i.version) FROM Inventory i")
+    List<InventoryStockDTO> findAllStock();
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO(" +
+            "i.id, i.product.id, i.warehouse.id, i.qtyOnHand, i.qtyReserved, i.version) " +
+            "FROM Inventory i WHERE i.id IN :ids")
+    List<InventoryStockDTO> findStockByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.qtyOnHand - i.qtyReserved FROM Inventory i " +
+            "WHERE i.product.id = :productId AND i.warehouse.id = :warehouseId")
+    Integer findAvailableQty(@Param("productId") Long productId,
+                             @Param("warehouseId") Long warehouseId);
+
+    /**
+     * Réserve la quantité demandée en une seule requête conditionnelle :
+     * la vérification de disponibilité et l'incrément se font atomiquement en base.
+     * La version est incrémentée pour invalider les copies chargées par les autres transactions.
+     *
+     * @return 1 si la réservation a été appliquée, 0 si le stock disponible est insuffisant
+     * ou si l'inventaire n'existe pas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.qtyReserved = i.qtyReserved + :quantity, i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId AND i.warehouse.id = :warehouseId " +
+            "AND i.qtyOnHand - i.qtyReserved >= :quantity")
+    int reserveIfAvailable(@Param("productId") Long productId,
+                           @Param("warehouseId") Long warehouseId,
+                           @Param("quantity") Integer quantity);
+
 }
\ No newline at end of file
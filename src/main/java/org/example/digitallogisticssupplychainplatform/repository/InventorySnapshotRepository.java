@@ -0,0 +1,38 @@
+package org.example.digitallogisticssupplychainplatform.repository;
+
+import org.example.digitallogisticssupplychainplatform.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByInventoryIdAndAsOfLessThanEqualOrderByAsOfDesc(Long inventoryId,
+                                                                                          LocalDateTime asOf);
+
+    Optional<InventorySnapshot> findFirstByProductIdAndWarehouseIdAndAsOfLessThanEqualOrderByAsOfDesc(
+            Long productId, Long warehouseId, LocalDateTime asOf);
+
+    @Query("SELECT MAX(s.asOf) FROM InventorySnapshot s")
+    LocalDateTime findLatestAsOf();
+
+    @Query("SELECT MAX(s.asOf) FROM InventorySnapshot s WHERE s.asOf <= :asOf")
+    LocalDateTime findLatestAsOfAtOrBefore(@Param("asOf") LocalDateTime asOf);
+
+    // Dernière photo de chaque inventaire de l'entrepôt antérieure ou égale à :asOf
+    @Query("SELECT s FROM InventorySnapshot s WHERE s.warehouseId = :warehouseId AND s.asOf = " +
+            "(SELECT MAX(s2.asOf) FROM InventorySnapshot s2 WHERE s2.inventoryId = s.inventoryId AND s2.asOf <= :asOf)")
+    List<InventorySnapshot> findLatestByWarehouseIdAtOrBefore(@Param("warehouseId") Long warehouseId,
+                                                              @Param("asOf") LocalDateTime asOf);
+
+    @Query("SELECT s FROM InventorySnapshot s WHERE s.inventoryId IN :inventoryIds AND s.asOf = " +
+            "(SELECT MAX(s2.asOf) FROM InventorySnapshot s2 WHERE s2.inventoryId = s.inventoryId)")
+    List<InventorySnapshot> findLatestByInventoryIds(@Param("inventoryIds") Collection<Long> inventoryIds);
+}
@@ -0,0 +1,41 @@
+package org.example.digitallogisticssupplychainplatform.repository;
+
+import org.example.digitallogisticssupplychainplatform.entity.OrderOperationRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface OrderOperationRecordRepository extends JpaRepository<OrderOperationRecord, String> {
+
+    Optional<OrderOperationRecord> findByIdAndPrincipal(String id, String principal);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderOperationRecord r SET r.state = :state, r.finishedAt = :finishedAt, r.error = :error " +
+            "WHERE r.id = :id")
+    int complete(@Param("id") String id, @Param("state") String state,
+                 @Param("finishedAt") LocalDateTime finishedAt, @Param("error") String error);
+
+    /**
+     * Clôt les opérations soumises avant {@code submittedBefore} et jamais terminées : leur file
+     * en mémoire a disparu avec le processus qui les avait acceptées.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderOperationRecord r SET r.state = :state, r.finishedAt = :now, r.error = :error " +
+            "WHERE r.finishedAt IS NULL AND r.submittedAt < :submittedBefore")
+    int failUnfinished(@Param("submittedBefore") LocalDateTime submittedBefore, @Param("state") String state,
+                       @Param("now") LocalDateTime now, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderOperationRecord r WHERE r.finishedAt < :threshold")
+    int deleteFinishedBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -1,15 +1,22 @@
 
 package org.example.digitallogisticssupplychainplatform.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.digitallogisticssupplychainplatform.dto.ProductCategoryDTO;
 import org.example.digitallogisticssupplychainplatform.entity.InventoryMovement;
 import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -26,4 +33,21 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT COUNT(sol) > 0 FROM SalesOrderLine sol " +
             "WHERE sol.product.id = :id AND sol.backordered = true")
     boolean existsBackorderedLine(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.ProductCategoryDTO(p.id, p.category) FROM Product p")
+    List<ProductCategoryDTO> findAllCategories();
+
+    @Query("SELECT p.category FROM Product p WHERE p.id = :id")
+    Optional<String> findCategoryById(@Param("id") Long id);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package org.example.digitallogisticssupplychainplatform.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.digitallogisticssupplychainplatform.entity.PurchaseOrder;
 import org.example.digitallogisticssupplychainplatform.entity.PurchaseOrderStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
@@ -26,4 +31,12 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
                                           @Param("statuses") List<PurchaseOrderStatus> statuses);
 
     List<PurchaseOrder> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    List<PurchaseOrder> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PurchaseOrder> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
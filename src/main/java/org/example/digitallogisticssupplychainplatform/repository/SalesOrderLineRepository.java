@@ -1,10 +1,14 @@
 package org.example.digitallogisticssupplychainplatform.repository;
 
+import org.example.digitallogisticssupplychainplatform.dto.BackorderLineDTO;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +22,36 @@ public interface SalesOrderLineRepository extends JpaRepository<SalesOrderLine,
     @Query("SELECT sol FROM SalesOrderLine sol WHERE sol.backordered = true")
     List<SalesOrderLine> findBackorderedLines();
 
+    /**
+     * Lignes en backorder d'un produit pour les commandes réservées et non expédiées de l'entrepôt,
+     * dans l'ordre d'entrée en attente, avec la quantité déjà tenue au registre. Une ligne déjà
+     * entièrement tenue n'est pas renvoyée même si son marqueur n'a pas encore été levé ; une ligne
+     * sans date d'entrée en attente (antérieure à son suivi) passe en premier.
+     */
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.BackorderLineDTO(" +
+            "sol.id, so.id, sol.product.id, sol.quantity, " +
+            "COALESCE((SELECT SUM(r.quantity) FROM StockReservation r WHERE r.salesOrderId = so.id " +
+            "AND r.salesOrderLineId = sol.id " +
+            "AND r.status = org.example.digitallogisticssupplychainplatform.entity.ReservationStatus.ACTIVE), 0)) " +
+            "FROM SalesOrderLine sol JOIN sol.salesOrder so " +
+            "WHERE sol.product.id = :productId AND sol.backordered = true " +
+            "AND so.warehouse.id = :warehouseId AND so.reservedAt IS NOT NULL AND so.shippedAt IS NULL " +
+            "AND sol.quantity > COALESCE((SELECT SUM(h.quantity) FROM StockReservation h " +
+            "WHERE h.salesOrderId = so.id AND h.salesOrderLineId = sol.id " +
+            "AND h.status = org.example.digitallogisticssupplychainplatform.entity.ReservationStatus.ACTIVE), 0) " +
+            "ORDER BY sol.backorderedAt ASC NULLS FIRST, sol.id")
+    List<BackorderLineDTO> findWaitingBackorders(@Param("productId") Long productId,
+                                                 @Param("warehouseId") Long warehouseId,
+                                                 Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SalesOrderLine sol SET sol.backordered = false, sol.backorderedAt = NULL WHERE sol.id IN :ids")
+    int clearBackorders(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT sol.salesOrder.id FROM SalesOrderLine sol " +
+            "WHERE sol.salesOrder.id IN :orderIds AND sol.backordered = true")
+    List<Long> findBackorderedOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT sol FROM SalesOrderLine sol WHERE sol.salesOrder.id = :orderId AND sol.product.id = :productId")
     Optional<SalesOrderLine> findByOrderIdAndProductId(
             @Param("orderId") Long orderId,
@@ -1,18 +1,49 @@
 package org.example.digitallogisticssupplychainplatform.repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.digitallogisticssupplychainplatform.dto.OrderStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationExpiryDTO;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
 
+    @EntityGraph(SalesOrder.DETAILS_GRAPH)
     List<SalesOrder> findByClientId(Long clientId);
 
+    @EntityGraph(SalesOrder.DETAILS_GRAPH)
+    @Query("SELECT so FROM SalesOrder so ORDER BY so.id")
+    List<SalesOrder> findAllWithDetails();
+
+    @EntityGraph(SalesOrder.DETAILS_GRAPH)
+    @Query("SELECT so FROM SalesOrder so WHERE so.id = :id")
+    Optional<SalesOrder> findWithDetailsById(@Param("id") Long id);
+
+    /**
+     * Chargement d'une page déjà découpée par {@link #findIdsAfter} : la limite porte sur les
+     * identifiants, pas sur les lignes de la jointure.
+     */
+    @EntityGraph(SalesOrder.DETAILS_GRAPH)
+    @Query("SELECT so FROM SalesOrder so WHERE so.id IN :ids ORDER BY so.id")
+    List<SalesOrder> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT so.id FROM SalesOrder so WHERE so.id > :afterId ORDER BY so.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT so FROM SalesOrder so WHERE so.createdAt BETWEEN :startDate AND :endDate")
     List<SalesOrder> findByCreatedAtBetween(
             @Param("startDate") LocalDateTime startDate,
@@ -31,12 +62,48 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long> {
     @Query("SELECT so FROM SalesOrder so WHERE so.deliveredAt IS NOT NULL")
     List<SalesOrder> findDeliveredOrders();
 
+    /**
+     * Verrou exclusif sur les commandes jusqu'à la fin de la transaction, pris dans l'ordre des
+     * identifiants : réservations et expéditions d'une même commande s'exécutent l'une après l'autre.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT so FROM SalesOrder so WHERE so.id IN :ids ORDER BY so.id")
+    List<SalesOrder> lockAllById(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT so FROM SalesOrder so JOIN FETCH so.orderLines WHERE so.id = :id")
     Optional<SalesOrder> findByIdWithLines(@Param("id") Long id);
 
+    @Query("SELECT so FROM SalesOrder so LEFT JOIN FETCH so.orderLines ol LEFT JOIN FETCH ol.product WHERE so.id = :id")
+    Optional<SalesOrder> findByIdWithLinesAndProducts(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT so FROM SalesOrder so LEFT JOIN FETCH so.orderLines ol LEFT JOIN FETCH ol.product " +
+            "WHERE so.id IN :ids")
+    List<SalesOrder> findAllByIdWithLinesAndProducts(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.ReservationExpiryDTO(" +
+            "so.id, so.reservationExpiresAt) FROM SalesOrder so " +
+            "WHERE so.reservationExpiresAt IS NOT NULL AND so.shippedAt IS NULL")
+    List<ReservationExpiryDTO> findPendingReservationExpiries();
+
+    /** Même découpage que {@code OrderStatusChangedEvent.Status.of} : la date la plus avancée l'emporte. */
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.OrderStatusCountsDTO(" +
+            "COALESCE(SUM(CASE WHEN so.deliveredAt IS NULL AND so.shippedAt IS NULL AND so.reservedAt IS NULL " +
+            "THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN so.deliveredAt IS NULL AND so.shippedAt IS NULL AND so.reservedAt IS NOT NULL " +
+            "THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN so.deliveredAt IS NULL AND so.shippedAt IS NOT NULL THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN so.deliveredAt IS NOT NULL THEN 1 ELSE 0 END), 0)) FROM SalesOrder so")
+    OrderStatusCountsDTO countPerStatus();
+
     @Query("SELECT COUNT(so) FROM SalesOrder so WHERE so.client.id = :clientId")
     Long countByClientId(@Param("clientId") Long clientId);
 
     @Query("SELECT so FROM SalesOrder so JOIN so.orderLines ol WHERE ol.backordered = true")
     List<SalesOrder> findOrdersWithBackorders();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<SalesOrder> streamAllByOrderByIdAsc();
 }
@@ -1,13 +1,19 @@
 package org.example.digitallogisticssupplychainplatform.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.digitallogisticssupplychainplatform.dto.ShipmentStatusCountsDTO;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -47,5 +53,21 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
     @Query("SELECT s FROM Shipment s WHERE s.deliveredDate IS NOT NULL")
     List<Shipment> findDeliveredShipments();
 
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.ShipmentStatusCountsDTO(" +
+            "COALESCE(SUM(CASE WHEN s.status = org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus.PLANNED THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN s.status = org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus.IN_TRANSIT THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN s.status = org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus.DELIVERED THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN s.status = org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus.CANCELLED THEN 1 ELSE 0 END), 0)) " +
+            "FROM Shipment s")
+    ShipmentStatusCountsDTO countPerStatus();
+
+    List<Shipment> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Shipment> streamAllByOrderByIdAsc();
+
 
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.example.digitallogisticssupplychainplatform.repository;
+
+import org.example.digitallogisticssupplychainplatform.dto.ReservationDriftDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO;
+import org.example.digitallogisticssupplychainplatform.entity.ReservationStatus;
+import org.example.digitallogisticssupplychainplatform.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO(" +
+            "r.id, r.salesOrderId, r.salesOrderLineId, r.inventoryId, r.productId, r.warehouseId, r.quantity) " +
+            "FROM StockReservation r " +
+            "WHERE r.salesOrderId IN :orderIds " +
+            "AND r.status = org.example.digitallogisticssupplychainplatform.entity.ReservationStatus.ACTIVE " +
+            "ORDER BY r.salesOrderId, r.id")
+    List<ReservationHoldDTO> findActiveHolds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Réservations actives des commandes réservées et non expédiées d'un entrepôt, la commande la
+     * plus anciennement réservée en premier. Base du plan de vagues de préparation.
+     */
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO(" +
+            "r.id, r.salesOrderId, r.salesOrderLineId, r.inventoryId, r.productId, r.warehouseId, r.quantity) " +
+            "FROM StockReservation r JOIN SalesOrder so ON so.id = r.salesOrderId " +
+            "WHERE r.warehouseId = :warehouseId " +
+            "AND r.status = org.example.digitallogisticssupplychainplatform.entity.ReservationStatus.ACTIVE " +
+            "AND so.reservedAt IS NOT NULL AND so.shippedAt IS NULL " +
+            "ORDER BY so.reservedAt, so.id, r.id")
+    List<ReservationHoldDTO> findActiveHoldsToPick(@Param("warehouseId") Long warehouseId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :status, r.closedAt = :closedAt " +
+            "WHERE r.salesOrderId IN :orderIds " +
+            "AND r.status = org.example.digitallogisticssupplychainplatform.entity.ReservationStatus.ACTIVE")
+    int closeActive(@Param("orderIds") Collection<Long> orderIds,
+                    @Param("status") ReservationStatus status,
+                    @Param("closedAt") LocalDateTime closedAt);
+
+    /**
+     * Inventaires dont {@code qty_reserved} diffère du total des réservations actives du registre.
+     * Les réservations posées hors commande (API de réservation directe) apparaissent ici aussi.
+     */
+    @Query("SELECT new org.example.digitallogisticssupplychainplatform.dto.ReservationDriftDTO(" +
+            "i.id, i.product.id, i.warehouse.id, i.qtyReserved, COALESCE(SUM(r.quantity), 0)) " +
+            "FROM Inventory i LEFT JOIN StockReservation r ON r.inventoryId = i.id " +
+            "AND r.status = org.example.digitallogisticssupplychainplatform.entity.ReservationStatus.ACTIVE " +
+            "GROUP BY i.id, i.product.id, i.warehouse.id, i.qtyReserved " +
+            "HAVING i.qtyReserved <> COALESCE(SUM(r.quantity), 0)")
+    List<ReservationDriftDTO> findReservationDrift();
+}
@@ -2,9 +2,16 @@ package org.example.digitallogisticssupplychainplatform.repository;
 
 import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface WareHouseRepository extends JpaRepository<WareHouse,Long > {
 
+    @Query("SELECT w.id FROM WareHouse w WHERE w.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,137 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Calcul d'une allocation multi-entrepôts qui limite le nombre d'expéditions séparées. Glouton
+ * de couverture : à chaque tour, l'entrepôt retenu est celui qui couvre tout le reste si possible,
+ * sinon celui qui solde le plus de lignes, puis le plus d'unités ; à égalité, l'ordre de priorité
+ * des candidats l'emporte. Les candidats d'un même tour sont évalués en parallèle au-delà de
+ * {@link #PARALLEL_THRESHOLD} entrepôts. Aucun accès base : le stock est fourni par l'appelant.
+ */
+final class AllocationPlanner {
+
+    static final int PARALLEL_THRESHOLD = 16;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparing(Candidate::isCoversAll).reversed()
+            .thenComparing(Comparator.comparingInt(Candidate::getLinesCompleted).reversed())
+            .thenComparing(Comparator.comparingLong(Candidate::getUnitsCovered).reversed())
+            .thenComparingInt(Candidate::getPriority);
+
+    private AllocationPlanner() {
+    }
+
+    /**
+     * @param demand                 quantité demandée par produit
+     * @param warehouseIdsByPriority entrepôts candidats, du plus au moins prioritaire
+     * @param stockByWarehouse       stock par entrepôt puis par produit
+     */
+    static Plan plan(Map<Long, Integer> demand, List<Long> warehouseIdsByPriority,
+                     Map<Long, Map<Long, InventoryStockDTO>> stockByWarehouse) {
+        Map<Long, Integer> remaining = new LinkedHashMap<>(demand);
+        Map<Long, Map<Long, Integer>> available = new HashMap<>();
+        stockByWarehouse.forEach((warehouseId, stocks) -> {
+            Map<Long, Integer> quantities = new HashMap<>();
+            stocks.forEach((productId, stock) -> quantities.put(productId, Math.max(0, stock.getAvailable())));
+            available.put(warehouseId, quantities);
+        });
+
+        List<Long> candidates = new ArrayList<>(warehouseIdsByPriority);
+        List<InventoryBusinessService.AllocationResult> allocations = new ArrayList<>();
+        List<Long> warehousesUsed = new ArrayList<>();
+
+        while (!remaining.isEmpty() && !candidates.isEmpty()) {
+            Map<Long, Integer> round = Collections.unmodifiableMap(new LinkedHashMap<>(remaining));
+            Stream<Candidate> evaluated = (candidates.size() >= PARALLEL_THRESHOLD
+                    ? IntStream.range(0, candidates.size()).parallel()
+                    : IntStream.range(0, candidates.size()))
+                    .mapToObj(index -> evaluate(candidates.get(index), warehouseIdsByPriority.indexOf(candidates.get(index)),
+                            available.getOrDefault(candidates.get(index), Map.of()), round));
+            Optional<Candidate> best = evaluated.filter(candidate -> candidate.getUnitsCovered() > 0).min(BEST_FIRST);
+            if (best.isEmpty()) {
+                break;
+            }
+
+            Long warehouseId = best.get().getWarehouseId();
+            Map<Long, InventoryStockDTO> stocks = stockByWarehouse.get(warehouseId);
+            Map<Long, Integer> quantities = available.get(warehouseId);
+            for (Map.Entry<Long, Integer> entry : round.entrySet()) {
+                Long productId = entry.getKey();
+                int quantity = Math.min(quantities.getOrDefault(productId, 0), entry.getValue());
+                if (quantity == 0) {
+                    continue;
+                }
+                allocations.add(InventoryBusinessService.AllocationResult.builder()
+                        .warehouseId(warehouseId)
+                        .productId(productId)
+                        .inventoryId(stocks.get(productId).getId())
+                        .allocatedQuantity(quantity)
+                        .build());
+                quantities.merge(productId, -quantity, Integer::sum);
+                if (remaining.merge(productId, -quantity, Integer::sum) == 0) {
+                    remaining.remove(productId);
+                }
+            }
+            candidates.remove(warehouseId);
+            warehousesUsed.add(warehouseId);
+        }
+
+        return Plan.builder()
+                .allocations(allocations)
+                .warehousesUsed(warehousesUsed)
+                .shortages(remaining)
+                .build();
+    }
+
+    private static Candidate evaluate(Long warehouseId, int priority, Map<Long, Integer> available,
+                                      Map<Long, Integer> remaining) {
+        int linesCompleted = 0;
+        long unitsCovered = 0;
+        for (Map.Entry<Long, Integer> entry : remaining.entrySet()) {
+            int quantity = available.getOrDefault(entry.getKey(), 0);
+            if (quantity >= entry.getValue()) {
+                linesCompleted++;
+            }
+            unitsCovered += Math.min(quantity, entry.getValue());
+        }
+        return Candidate.builder()
+                .warehouseId(warehouseId)
+                .priority(priority)
+                .linesCompleted(linesCompleted)
+                .unitsCovered(unitsCovered)
+                .coversAll(linesCompleted == remaining.size())
+                .build();
+    }
+
+    @Data
+    @Builder
+    static class Candidate {
+        private Long warehouseId;
+        private int priority;
+        private int linesCompleted;
+        private long unitsCovered;
+        private boolean coversAll;
+    }
+
+    @Data
+    @Builder
+    static class Plan {
+        private List<InventoryBusinessService.AllocationResult> allocations;
+        private List<Long> warehousesUsed;
+        private Map<Long, Integer> shortages;
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache mémoire du disponible à promettre (ATP), indexé par le couple (produit, entrepôt).
+ * Chargé au démarrage, tenu à jour par les {@link InventoryChangedEvent} après commit, et
+ * recalé périodiquement sur la base. Un défaut de cache n'est jamais une erreur : l'appelant
+ * relit alors la base.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailableToPromiseCache {
+
+    private final InventoryRepository inventoryRepository;
+
+    private final Map<StockKey, StockLevel> levels = new ConcurrentHashMap<>();
+    private final Map<Long, StockKey> keysByInventoryId = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder eventsApplied = new LongAdder();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime lastRefreshAt;
+    private volatile long lastRefreshNanos;
+    private volatile int lastDriftCorrections;
+
+    public Optional<StockLevel> find(Long productId, Long warehouseId) {
+        StockLevel level = ready ? levels.get(StockKey.of(productId, warehouseId)) : null;
+        return record(level);
+    }
+
+    public Optional<StockLevel> findByInventoryId(Long inventoryId) {
+        StockKey key = ready ? keysByInventoryId.get(inventoryId) : null;
+        return record(key != null ? levels.get(key) : null);
+    }
+
+    private Optional<StockLevel> record(StockLevel level) {
+        if (level != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return Optional.ofNullable(level);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        StockKey key = StockKey.of(event.getProductId(), event.getWarehouseId());
+        long sequence = eventSequence.incrementAndGet();
+
+        switch (event.getType()) {
+            case CREATED -> levels.put(key,
+                    new StockLevel(event.getOnHandDelta(), event.getReservedDelta(), sequence));
+            case UPDATED -> levels.computeIfPresent(key, (k, level) -> new StockLevel(
+                    level.getQtyOnHand() + event.getOnHandDelta(),
+                    level.getQtyReserved() + event.getReservedDelta(),
+                    sequence));
+            case DELETED -> levels.remove(key);
+        }
+
+        if (event.getInventoryId() != null) {
+            if (event.getType() == InventoryChangedEvent.ChangeType.DELETED) {
+                keysByInventoryId.remove(event.getInventoryId());
+            } else {
+                keysByInventoryId.put(event.getInventoryId(), key);
+            }
+        }
+        eventsApplied.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+        ready = true;
+        log.info("Cache ATP chargé: {} inventaire(s)", levels.size());
+    }
+
+    /**
+     * Recale le cache sur la base. Les entrées modifiées par un événement pendant la lecture sont
+     * conservées telles quelles : elles sont déjà plus récentes que la ligne lue.
+     */
+    @Scheduled(initialDelayString = "${atp.cache.refresh-interval-ms:300000}",
+            fixedDelayString = "${atp.cache.refresh-interval-ms:300000}")
+    public synchronized void refresh() {
+        long startSequence = eventSequence.get();
+        List<InventoryStockDTO> rows = inventoryRepository.findAllStock();
+
+        Set<StockKey> loadedKeys = new HashSet<>();
+        int[] drift = new int[1];
+        for (InventoryStockDTO row : rows) {
+            StockKey key = StockKey.of(row.getProductId(), row.getWarehouseId());
+            loadedKeys.add(key);
+            keysByInventoryId.put(row.getId(), key);
+            levels.compute(key, (k, current) -> {
+                if (current != null && current.getSequence() > startSequence) {
+                    return current;
+                }
+                if (current != null && (current.getQtyOnHand() != row.getQtyOnHand()
+                        || current.getQtyReserved() != row.getQtyReserved())) {
+                    drift[0]++;
+                }
+                return new StockLevel(row.getQtyOnHand(), row.getQtyReserved(), startSequence);
+            });
+        }
+        levels.entrySet().removeIf(entry ->
+                !loadedKeys.contains(entry.getKey()) && entry.getValue().getSequence() <= startSequence);
+        keysByInventoryId.values().removeIf(key -> !levels.containsKey(key));
+
+        lastDriftCorrections = drift[0];
+        lastRefreshAt = LocalDateTime.now();
+        lastRefreshNanos = System.nanoTime();
+        if (drift[0] > 0) {
+            log.warn("Cache ATP recalé: {} entrée(s) divergente(s) corrigée(s)", drift[0]);
+        }
+    }
+
+    public CacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        return CacheStats.builder()
+                .ready(ready)
+                .entries(levels.size())
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .eventsApplied(eventsApplied.sum())
+                .lastRefreshAt(lastRefreshAt)
+                .stalenessMillis(lastRefreshAt == null ? null : (System.nanoTime() - lastRefreshNanos) / 1_000_000)
+                .lastDriftCorrections(lastDriftCorrections)
+                .build();
+    }
+
+
+    @Value
+    public static class StockLevel {
+        int qtyOnHand;
+        int qtyReserved;
+        long sequence;
+
+        public int getAvailable() {
+            return qtyOnHand - qtyReserved;
+        }
+    }
+
+    @Data
+    @Builder
+    public static class CacheStats {
+        private Boolean ready;
+        private Integer entries;
+        private Long hits;
+        private Long misses;
+        private Double hitRatio;
+        private Long eventsApplied;
+        private LocalDateTime lastRefreshAt;
+        private Long stalenessMillis;
+        private Integer lastDriftCorrections;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sert les backorders quand du stock se libère. Tout {@link InventoryChangedEvent} qui augmente le
+ * disponible d'un couple (produit, entrepôt) — réception, ajustement positif, libération — ne fait
+ * que marquer le couple ; à chaque intervalle, chaque couple marqué reçoit une seule passe de
+ * {@link SalesOrderBusinessService#fulfillBackorders}, quel que soit le nombre de mouvements reçus
+ * entre-temps. Les passes sont exécutées par un seul thread, donc jamais deux à la fois pour un
+ * même couple ; un couple dont la page de lignes était pleine est remarqué pour la passe suivante.
+ * Un couple en échec n'est repris que si l'erreur est transitoire, et au plus
+ * {@code orders.backorders.max-attempts} fois de suite : il sera remarqué au prochain mouvement.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BackorderFulfillmentEngine {
+
+    private final SalesOrderBusinessService salesOrderBusinessService;
+
+    private final Map<StockKey, PendingKey> pending = new ConcurrentHashMap<>();
+    private final AtomicLong passes = new AtomicLong();
+    private final AtomicLong unitsAllocated = new AtomicLong();
+    private final AtomicLong linesFulfilled = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+    private volatile LocalDateTime lastPassAt;
+
+    @Value("${orders.backorders.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${orders.backorders.lines-per-pass:200}")
+    private int linesPerPass = 200;
+
+    @Value("${orders.backorders.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (enabled && event.getType() != InventoryChangedEvent.ChangeType.DELETED
+                && event.getOnHandDelta() - event.getReservedDelta() > 0) {
+            pending.putIfAbsent(StockKey.of(event.getProductId(), event.getWarehouseId()),
+                    new PendingKey(event.getProductId(), event.getWarehouseId()));
+        }
+    }
+
+    /**
+     * Une passe par couple marqué depuis le dernier intervalle.
+     *
+     * @return le nombre d'unités allouées
+     */
+    @Scheduled(fixedDelayString = "${orders.backorders.interval-ms:1000}")
+    public int drain() {
+        int allocated = 0;
+        for (StockKey key : pending.keySet()) {
+            PendingKey target = pending.remove(key);
+            if (target == null) {
+                continue;
+            }
+            try {
+                SalesOrderBusinessService.BackorderFulfillment result = salesOrderBusinessService.fulfillBackorders(
+                        target.productId, target.warehouseId, linesPerPass);
+                passes.incrementAndGet();
+                allocated += result.getUnitsAllocated();
+                unitsAllocated.addAndGet(result.getUnitsAllocated());
+                linesFulfilled.addAndGet(result.getLinesFulfilled());
+                if (result.isMoreWaiting()) {
+                    pending.putIfAbsent(key, new PendingKey(target.productId, target.warehouseId));
+                }
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                boolean permanent = e instanceof BusinessException || e instanceof ResourceNotFoundException;
+                if (!permanent && target.attempts + 1 < maxAttempts) {
+                    pending.putIfAbsent(key, target.retry());
+                    log.warn("Service des backorders du produit {} dans l'entrepôt {} échoué (tentative {}): {}",
+                            target.productId, target.warehouseId, target.attempts + 1, e.getMessage());
+                } else {
+                    abandoned.incrementAndGet();
+                    log.error("Service des backorders du produit {} dans l'entrepôt {} abandonné après {} tentative(s): {}",
+                            target.productId, target.warehouseId, target.attempts + 1, e.getMessage());
+                }
+            }
+        }
+        lastPassAt = LocalDateTime.now();
+        return allocated;
+    }
+
+    public EngineStats getStats() {
+        return EngineStats.builder()
+                .pendingKeys(pending.size())
+                .passes(passes.get())
+                .unitsAllocated(unitsAllocated.get())
+                .linesFulfilled(linesFulfilled.get())
+                .failures(failures.get())
+                .abandoned(abandoned.get())
+                .lastPassAt(lastPassAt)
+                .build();
+    }
+
+
+    private static final class PendingKey {
+        private final Long productId;
+        private final Long warehouseId;
+        /** Échecs consécutifs, remis à zéro par une passe réussie. */
+        private final int attempts;
+
+        private PendingKey(Long productId, Long warehouseId) {
+            this(productId, warehouseId, 0);
+        }
+
+        private PendingKey(Long productId, Long warehouseId, int attempts) {
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+            this.attempts = attempts;
+        }
+
+        private PendingKey retry() {
+            return new PendingKey(productId, warehouseId, attempts + 1);
+        }
+    }
+
+    @Data
+    @Builder
+    public static class EngineStats {
+        private int pendingKeys;
+        private long passes;
+        private long unitsAllocated;
+        private long linesFulfilled;
+        private long failures;
+        private long abandoned;
+        private LocalDateTime lastPassAt;
+    }
+}
@@ -0,0 +1,328 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Import en flux des fichiers d'inventaire tournant (CSV : produit, entrepôt, quantité comptée).
+ * Le fichier est lu ligne à ligne, sans jamais être chargé en entier, et appliqué par lots de
+ * {@code chunk-size} lignes via {@link InventoryBusinessService#applyCycleCounts}, chaque lot dans
+ * sa propre transaction. L'avancement est consultable par identifiant d'import pendant et après le
+ * traitement ; le résumé conserve les plus gros écarts et les premiers rejets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CycleCountImportService {
+
+    private static final int MAX_REJECTIONS = 100;
+    private static final int MAX_VARIANCES = 20;
+    private static final Comparator<InventoryBusinessService.CountVariance> BY_MAGNITUDE =
+            Comparator.comparingInt(variance -> Math.abs(variance.getVariance()));
+
+    private final InventoryBusinessService inventoryBusinessService;
+
+    private final Map<String, ImportState> imports = new LinkedHashMap<>();
+
+    @Value("${inventory.cycle-count.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${inventory.cycle-count.retained-imports:50}")
+    private int retainedImports = 50;
+
+    /**
+     * Importe un fichier de comptage. L'appelant fournit l'identifiant d'import pour suivre
+     * l'avancement depuis une autre connexion (obligatoire côté HTTP) ; sans identifiant, il est
+     * généré et n'est connu qu'avec le résumé final.
+     *
+     * @return le résumé final de l'import
+     */
+    public CycleCountSummary importCounts(InputStream csv, String importId, String referenceDoc) {
+        if (importId != null && importId.isBlank()) {
+            throw new BusinessException("Identifiant d'import vide");
+        }
+        ImportState state = register(importId != null ? importId.trim() : UUID.randomUUID().toString(), referenceDoc);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new BusinessException("Fichier de comptage vide");
+            }
+            Columns columns = Columns.parse(header);
+
+            List<InventoryBusinessService.CountLine> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                state.lineRead();
+                try {
+                    chunk.add(columns.toCountLine(line, lineNumber));
+                } catch (IllegalArgumentException e) {
+                    state.reject(InventoryBusinessService.CountRejection.builder()
+                            .lineNumber(lineNumber)
+                            .reason(e.getMessage())
+                            .build());
+                }
+                if (chunk.size() >= chunkSize) {
+                    apply(state, chunk, referenceDoc);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                apply(state, chunk, referenceDoc);
+            }
+            state.finish(ImportStatus.COMPLETED, null);
+        } catch (IOException e) {
+            state.finish(ImportStatus.FAILED, e.getMessage());
+            throw new UncheckedIOException("Lecture du fichier de comptage interrompue", e);
+        } catch (RuntimeException e) {
+            state.finish(ImportStatus.FAILED, e.getMessage());
+            throw e;
+        }
+
+        CycleCountSummary summary = state.summary();
+        log.info("Import d'inventaire tournant {} terminé: {} ligne(s), {} écart(s), {} rejet(s)",
+                summary.getImportId(), summary.getLinesRead(), summary.getAdjusted(), summary.getRejected());
+        return summary;
+    }
+
+    public CycleCountSummary getProgress(String importId) {
+        ImportState state;
+        synchronized (imports) {
+            state = imports.get(importId);
+        }
+        if (state == null) {
+            throw new ResourceNotFoundException("Import d'inventaire introuvable: " + importId);
+        }
+        return state.summary();
+    }
+
+    private ImportState register(String importId, String referenceDoc) {
+        synchronized (imports) {
+            if (imports.containsKey(importId)) {
+                throw new BusinessException("Import d'inventaire déjà existant: " + importId);
+            }
+            imports.values().removeIf(state -> imports.size() >= retainedImports && state.isFinished());
+            ImportState state = new ImportState(importId, referenceDoc);
+            imports.put(importId, state);
+            return state;
+        }
+    }
+
+    private void apply(ImportState state, List<InventoryBusinessService.CountLine> chunk, String referenceDoc) {
+        try {
+            state.chunkApplied(inventoryBusinessService.applyCycleCounts(chunk, referenceDoc));
+        } catch (RuntimeException e) {
+            log.warn("Lot d'inventaire tournant rejeté ({} ligne(s)): {}", chunk.size(), e.getMessage());
+            chunk.forEach(line -> state.reject(InventoryBusinessService.CountRejection.builder()
+                    .lineNumber(line.getLineNumber())
+                    .productId(line.getProductId())
+                    .warehouseId(line.getWarehouseId())
+                    .reason("Lot en échec: " + e.getMessage())
+                    .build()));
+        }
+    }
+
+    public enum ImportStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * Position des colonnes, lue dans l'en-tête. Séparateur virgule ou point-virgule.
+     */
+    private static final class Columns {
+        private final String separator;
+        private final int product;
+        private final int warehouse;
+        private final int counted;
+
+        private Columns(String separator, int product, int warehouse, int counted) {
+            this.separator = separator;
+            this.product = product;
+            this.warehouse = warehouse;
+            this.counted = counted;
+        }
+
+        static Columns parse(String header) {
+            String separator = header.contains(";") && !header.contains(",") ? ";" : ",";
+            String[] names = header.replace("\uFEFF", "").split(separator, -1);
+            int product = -1;
+            int warehouse = -1;
+            int counted = -1;
+            for (int i = 0; i < names.length; i++) {
+                switch (names[i].trim().replace("\"", "").replace("_", "").toLowerCase(Locale.ROOT)) {
+                    case "productid", "product" -> product = i;
+                    case "warehouseid", "warehouse" -> warehouse = i;
+                    case "countedquantity", "countedqty", "counted", "quantity" -> counted = i;
+                    default -> {
+                    }
+                }
+            }
+            if (product < 0 || warehouse < 0 || counted < 0) {
+                throw new BusinessException("En-tête attendu: productId, warehouseId, countedQuantity");
+            }
+            return new Columns(separator, product, warehouse, counted);
+        }
+
+        InventoryBusinessService.CountLine toCountLine(String line, long lineNumber) {
+            String[] values = line.split(separator, -1);
+            if (values.length <= Math.max(product, Math.max(warehouse, counted))) {
+                throw new IllegalArgumentException("Nombre de colonnes insuffisant");
+            }
+            try {
+                return new InventoryBusinessService.CountLine(lineNumber,
+                        Long.valueOf(value(values[product])),
+                        Long.valueOf(value(values[warehouse])),
+                        Integer.valueOf(value(values[counted])));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valeur numérique invalide: " + line);
+            }
+        }
+
+        private static String value(String raw) {
+            return raw.trim().replace("\"", "");
+        }
+    }
+
+    /**
+     * État d'un import, mis à jour par le thread d'import et lu par les consultations.
+     */
+    private static final class ImportState {
+        private final String importId;
+        private final String referenceDoc;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final PriorityQueue<InventoryBusinessService.CountVariance> largestVariances =
+                new PriorityQueue<>(BY_MAGNITUDE);
+        private final List<InventoryBusinessService.CountRejection> rejections = new ArrayList<>();
+        private ImportStatus status = ImportStatus.RUNNING;
+        private long linesRead;
+        private int chunksApplied;
+        private long matched;
+        private long adjusted;
+        private long inventoriesCreated;
+        private long rejected;
+        private long unitsAdded;
+        private long unitsRemoved;
+        private LocalDateTime finishedAt;
+        private String error;
+
+        private ImportState(String importId, String referenceDoc) {
+            this.importId = importId;
+            this.referenceDoc = referenceDoc;
+        }
+
+        synchronized void lineRead() {
+            linesRead++;
+        }
+
+        synchronized void reject(InventoryBusinessService.CountRejection rejection) {
+            rejected++;
+            if (rejections.size() < MAX_REJECTIONS) {
+                rejections.add(rejection);
+            }
+        }
+
+        synchronized void chunkApplied(InventoryBusinessService.CycleCountResult result) {
+            chunksApplied++;
+            matched += result.getMatched();
+            adjusted += result.getAdjusted();
+            inventoriesCreated += result.getInventoriesCreated();
+            result.getRejections().forEach(this::reject);
+            for (InventoryBusinessService.CountVariance variance : result.getVariances()) {
+                if (variance.getVariance() > 0) {
+                    unitsAdded += variance.getVariance();
+                } else {
+                    unitsRemoved -= variance.getVariance();
+                }
+                largestVariances.add(variance);
+                if (largestVariances.size() > MAX_VARIANCES) {
+                    largestVariances.poll();
+                }
+            }
+        }
+
+        synchronized void finish(ImportStatus finalStatus, String failure) {
+            status = finalStatus;
+            error = failure;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized boolean isFinished() {
+            return status != ImportStatus.RUNNING;
+        }
+
+        synchronized CycleCountSummary summary() {
+            List<InventoryBusinessService.CountVariance> variances = new ArrayList<>(largestVariances);
+            variances.sort(BY_MAGNITUDE.reversed());
+            return CycleCountSummary.builder()
+                    .importId(importId)
+                    .referenceDoc(referenceDoc)
+                    .status(status)
+                    .linesRead(linesRead)
+                    .chunksApplied(chunksApplied)
+                    .matched(matched)
+                    .adjusted(adjusted)
+                    .inventoriesCreated(inventoriesCreated)
+                    .rejected(rejected)
+                    .unitsAdded(unitsAdded)
+                    .unitsRemoved(unitsRemoved)
+                    .netVariance(unitsAdded - unitsRemoved)
+                    .largestVariances(variances)
+                    .rejections(List.copyOf(rejections))
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    @Data
+    @Builder
+    public static class CycleCountSummary {
+        private String importId;
+        private String referenceDoc;
+        private ImportStatus status;
+        private long linesRead;
+        private int chunksApplied;
+        private long matched;
+        private long adjusted;
+        private long inventoriesCreated;
+        private long rejected;
+        private long unitsAdded;
+        private long unitsRemoved;
+        private long netVariance;
+        private List<InventoryBusinessService.CountVariance> largestVariances;
+        private List<InventoryBusinessService.CountRejection> rejections;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String error;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Parcours d'un {@link Stream} d'entités JPA à mémoire constante : chaque entité est convertie
+ * puis transmise au consommateur, et le contexte de persistance est vidé à intervalle régulier.
+ */
+final class EntityStreams {
+
+    /** Les exports peuvent durer bien plus que le timeout transactionnel par défaut. */
+    static final int STREAM_TIMEOUT_SECONDS = 3600;
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private EntityStreams() {
+    }
+
+    static <E, D> long drain(Stream<E> rows, EntityManager entityManager,
+                             Function<E, D> mapper, Consumer<D> sink) {
+        long count = 0;
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(mapper.apply(iterator.next()));
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
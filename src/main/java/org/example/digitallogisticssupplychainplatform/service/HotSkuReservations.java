@@ -0,0 +1,474 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryBatchRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mode « SKU chaud » des réservations : pour les couples (produit, entrepôt) désignés, le
+ * disponible est tenu dans un {@link StripedStockCounter} et les réservations y sont accordées
+ * sans toucher la ligne inventories. Chaque octroi est d'abord écrit dans le
+ * {@link ReservationIntentLog}, puis les deltas nets sont reportés périodiquement en un seul batch
+ * JDBC, dans une transaction propre ; les cellules sont ensuite recalées sur la base. Un octroi
+ * dont la transaction appelante est annulée est compensé.
+ * <p>
+ * Les SKU chauds sont déclarés par configuration ({@code produit:entrepôt,...}) ou promus
+ * automatiquement quand le chemin base accumule des tentatives lentes ; un SKU promu qui ne reçoit
+ * plus de réservations est rétrogradé après report de ses deltas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotSkuReservations {
+
+    private final InventoryRepository inventoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<StockKey, HotSku> hotSkus = new ConcurrentHashMap<>();
+    private final Map<StockKey, LongAdder[]> contention = new ConcurrentHashMap<>();
+    /** Deltas accordés et non reportés, par inventaire ; gardé par le moniteur du journal. */
+    private final Map<Long, Long> pendingByInventory = new HashMap<>();
+
+    private final LongAdder grants = new LongAdder();
+    private final LongAdder grantedUnits = new LongAdder();
+    private final LongAdder compensatedUnits = new LongAdder();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushedUnits = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong demotions = new AtomicLong();
+    private final AtomicLong overcommittedUnits = new AtomicLong();
+
+    private volatile ReservationIntentLog intentLog;
+    private volatile LocalDateTime lastFlushAt;
+
+    @Value("${inventory.hot-sku.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${inventory.hot-sku.skus:}")
+    private String configuredSkus = "";
+
+    @Value("${inventory.hot-sku.stripes:8}")
+    private int stripes = 8;
+
+    @Value("${inventory.hot-sku.intent-log-dir:data/hot-sku-intents}")
+    private String intentLogDir = "data/hot-sku-intents";
+
+    @Value("${inventory.hot-sku.auto-detect.enabled:true}")
+    private boolean autoDetect = true;
+
+    @Value("${inventory.hot-sku.auto-detect.slow-ms:20}")
+    private long slowMs = 20;
+
+    @Value("${inventory.hot-sku.auto-detect.promote-attempts:500}")
+    private long promoteAttempts = 500;
+
+    @Value("${inventory.hot-sku.auto-detect.promote-slow-attempts:50}")
+    private long promoteSlowAttempts = 50;
+
+    @Value("${inventory.hot-sku.auto-detect.demote-grants:10}")
+    private long demoteGrants = 10;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        ReservationIntentLog journal = new ReservationIntentLog(Path.of(intentLogDir));
+        Map<Long, Long> unflushed = journal.sealedTotals();
+        if (!unflushed.isEmpty()) {
+            writeDeltas(unflushed);
+            log.warn("Journal d'intentions rejoué: {} inventaire(s), {} unité(s) réservée(s)",
+                    unflushed.size(), unflushed.values().stream().mapToLong(Long::longValue).sum());
+        }
+        journal.deleteSealed();
+        intentLog = journal;
+
+        for (String sku : configuredSkus.split(",")) {
+            String[] parts = sku.trim().split(":");
+            if (parts.length == 2) {
+                promote(Long.valueOf(parts[0].trim()), Long.valueOf(parts[1].trim()), false);
+            } else if (!sku.isBlank()) {
+                log.warn("SKU chaud ignoré (format produit:entrepôt attendu): {}", sku);
+            }
+        }
+    }
+
+    public boolean isHot(Long productId, Long warehouseId) {
+        return hotSkus.containsKey(StockKey.of(productId, warehouseId));
+    }
+
+    /**
+     * Accorde jusqu'à {@code quantity} unités sur les cellules en mémoire.
+     *
+     * @return la quantité accordée, éventuellement partielle ; vide si le couple n'est pas chaud
+     * et que l'appelant doit passer par la base
+     */
+    public Optional<Integer> tryReserve(Long productId, Long warehouseId, int quantity) {
+        ReservationIntentLog journal = intentLog;
+        HotSku hot = journal != null ? hotSkus.get(StockKey.of(productId, warehouseId)) : null;
+        if (hot == null || hot.retiring) {
+            return Optional.empty();
+        }
+
+        int granted = hot.stock.reserve(quantity);
+        if (granted == 0) {
+            return Optional.of(0);
+        }
+
+        synchronized (journal) {
+            if (hot.removed) {
+                hot.stock.add(granted);
+                return Optional.empty();
+            }
+            try {
+                journal.append(hot.inventoryId, granted);
+            } catch (RuntimeException e) {
+                hot.stock.add(granted);
+                log.error("Journal d'intentions indisponible, réservation {} renvoyée vers la base: {}",
+                        hot.inventoryId, e.getMessage());
+                return Optional.empty();
+            }
+            pendingByInventory.merge(hot.inventoryId, (long) granted, Long::sum);
+            hot.synced -= granted;
+        }
+
+        hot.windowGrants.increment();
+        grants.increment();
+        grantedUnits.add(granted);
+        compensateOnRollback(hot, granted);
+        return Optional.of(granted);
+    }
+
+    /**
+     * Disponible tenu en mémoire pour un couple servi par {@link #tryReserve}, à utiliser à la
+     * place du disponible en base, qui ignore les octrois non reportés.
+     *
+     * @return vide si le couple n'est pas chaud ou en cours de rétrogradation
+     */
+    public OptionalLong availableInMemory(Long productId, Long warehouseId) {
+        HotSku hot = intentLog != null ? hotSkus.get(StockKey.of(productId, warehouseId)) : null;
+        if (hot == null || hot.retiring) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(hot.stock.available());
+    }
+
+    /**
+     * Note une tentative de réservation passée par la base, pour la détection des SKU chauds.
+     */
+    public void recordAttempt(Long productId, Long warehouseId, long elapsedNanos) {
+        if (!enabled || !autoDetect) {
+            return;
+        }
+        LongAdder[] counters = contention.computeIfAbsent(StockKey.of(productId, warehouseId),
+                k -> new LongAdder[]{new LongAdder(), new LongAdder()});
+        counters[0].increment();
+        if (elapsedNanos >= slowMs * 1_000_000) {
+            counters[1].increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot-sku.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        if (intentLog == null) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            flushFailures.incrementAndGet();
+            log.error("Report des réservations chaudes échoué, nouvel essai au prochain cycle: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reporte en base les deltas accordés depuis le dernier report, en un seul batch, puis recale
+     * les cellules sur le disponible relu. En cas d'échec, les deltas restent en attente et leurs
+     * segments de journal sont conservés.
+     *
+     * @return le nombre net d'unités reportées
+     */
+    public synchronized long flush() {
+        ReservationIntentLog journal = intentLog;
+        if (journal == null) {
+            return 0;
+        }
+
+        Map<Long, Long> batch;
+        synchronized (journal) {
+            batch = new HashMap<>(pendingByInventory);
+            pendingByInventory.clear();
+            if (!batch.isEmpty()) {
+                journal.seal();
+            }
+        }
+
+        long units = batch.values().stream().mapToLong(Long::longValue).sum();
+        if (!batch.isEmpty()) {
+            try {
+                writeDeltas(batch);
+            } catch (RuntimeException e) {
+                synchronized (journal) {
+                    batch.forEach((inventoryId, quantity) -> pendingByInventory.merge(inventoryId, quantity, Long::sum));
+                }
+                throw e;
+            }
+            journal.deleteSealed();
+            flushes.incrementAndGet();
+            flushedUnits.addAndGet(units);
+        }
+
+        resync(journal);
+        lastFlushAt = LocalDateTime.now();
+        return units;
+    }
+
+    /**
+     * Promeut les couples dont le chemin base a été le plus disputé depuis le dernier passage et
+     * rétrograde les SKU promus automatiquement devenus calmes.
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot-sku.auto-detect.interval-ms:10000}")
+    public void detect() {
+        if (intentLog == null || !autoDetect) {
+            return;
+        }
+
+        contention.keySet().forEach(key -> {
+            LongAdder[] counters = contention.remove(key);
+            if (counters != null && !hotSkus.containsKey(key)
+                    && (counters[0].sum() >= promoteAttempts || counters[1].sum() >= promoteSlowAttempts)) {
+                promote(key.getProductId(), key.getWarehouseId(), true);
+            }
+        });
+
+        hotSkus.values().forEach(hot -> {
+            long windowGrants = hot.windowGrants.sumThenReset();
+            if (hot.autoDetected && !hot.retiring && windowGrants < demoteGrants) {
+                hot.retiring = true;
+                log.info("SKU chaud rétrogradé: produit {} entrepôt {}", hot.productId, hot.warehouseId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        ReservationIntentLog journal = intentLog;
+        if (journal == null) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Report final des réservations chaudes échoué, rejeu au prochain démarrage: {}", e.getMessage());
+        }
+        journal.close();
+    }
+
+    public HotSkuStats getStats() {
+        return HotSkuStats.builder()
+                .enabled(intentLog != null)
+                .hotSkus(hotSkus.values().stream()
+                        .map(hot -> HotSkuView.builder()
+                                .productId(hot.productId)
+                                .warehouseId(hot.warehouseId)
+                                .inventoryId(hot.inventoryId)
+                                .available(hot.stock.available())
+                                .autoDetected(hot.autoDetected)
+                                .retiring(hot.retiring)
+                                .build())
+                        .collect(Collectors.toList()))
+                .grants(grants.sum())
+                .grantedUnits(grantedUnits.sum())
+                .compensatedUnits(compensatedUnits.sum())
+                .flushes(flushes.get())
+                .flushedUnits(flushedUnits.get())
+                .flushFailures(flushFailures.get())
+                .promotions(promotions.get())
+                .demotions(demotions.get())
+                .overcommittedUnits(overcommittedUnits.get())
+                .lastFlushAt(lastFlushAt)
+                .build();
+    }
+
+    private void promote(Long productId, Long warehouseId, boolean autoDetected) {
+        List<InventoryStockDTO> stock = inventoryRepository.findStockByWarehouseIdAndProductIds(warehouseId, Set.of(productId));
+        if (stock.isEmpty()) {
+            log.warn("SKU chaud ignoré, inventaire introuvable: produit {} entrepôt {}", productId, warehouseId);
+            return;
+        }
+
+        InventoryStockDTO row = stock.get(0);
+        long available = Math.max(0, row.getAvailable());
+        hotSkus.computeIfAbsent(StockKey.of(productId, warehouseId), k -> new HotSku(productId, warehouseId, row.getId(),
+                new StripedStockCounter(stripes, available), available, autoDetected));
+        promotions.incrementAndGet();
+        log.info("SKU chaud activé ({}): produit {} entrepôt {}, disponible {}",
+                autoDetected ? "détecté" : "configuré", productId, warehouseId, row.getAvailable());
+    }
+
+    /**
+     * Recale les cellules sur la base par une correction relative : seul l'écart entre le
+     * disponible relu (moins les deltas en attente) et la valeur du dernier recalage est appliqué.
+     * Un octroi déjà pris sur les cellules mais pas encore journalisé n'est ainsi pas écrasé.
+     */
+    private void resync(ReservationIntentLog journal) {
+        if (hotSkus.isEmpty()) {
+            return;
+        }
+
+        Map<Long, InventoryStockDTO> stockById = inventoryRepository
+                .findStockByIds(hotSkus.values().stream().map(hot -> hot.inventoryId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(InventoryStockDTO::getId, Function.identity()));
+
+        synchronized (journal) {
+            for (Map.Entry<StockKey, HotSku> entry : hotSkus.entrySet()) {
+                HotSku hot = entry.getValue();
+                InventoryStockDTO row = stockById.get(hot.inventoryId);
+                long pending = pendingByInventory.getOrDefault(hot.inventoryId, 0L);
+
+                if (row == null || (hot.retiring && pending == 0)) {
+                    hot.removed = true;
+                    hotSkus.remove(entry.getKey());
+                    demotions.incrementAndGet();
+                    continue;
+                }
+                if (row.getAvailable() < 0) {
+                    overcommittedUnits.addAndGet(-row.getAvailable());
+                    log.warn("Réservations chaudes au-delà du stock pour l'inventaire {}: disponible {}",
+                            hot.inventoryId, row.getAvailable());
+                }
+                long target = row.getAvailable() - pending;
+                hot.stock.add(target - hot.synced);
+                hot.synced = target;
+            }
+        }
+    }
+
+    private void writeDeltas(Map<Long, Long> deltas) {
+        List<InventoryBatchRepository.HoldDelta> holdDeltas = new ArrayList<>(deltas.size());
+        deltas.forEach((inventoryId, quantity) -> {
+            if (quantity != 0) {
+                holdDeltas.add(new InventoryBatchRepository.HoldDelta(inventoryId, Math.toIntExact(quantity)));
+            }
+        });
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> inventoryRepository.addReserved(holdDeltas));
+    }
+
+    private void compensateOnRollback(HotSku hot, int granted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    release(hot, granted);
+                }
+            }
+        });
+    }
+
+    private void release(HotSku hot, int quantity) {
+        ReservationIntentLog journal = intentLog;
+        synchronized (journal) {
+            journal.append(hot.inventoryId, -quantity);
+            pendingByInventory.merge(hot.inventoryId, (long) -quantity, Long::sum);
+            hot.synced += quantity;
+            if (!hot.removed) {
+                hot.stock.add(quantity);
+            }
+        }
+        compensatedUnits.add(quantity);
+    }
+
+
+    private static final class HotSku {
+        private final Long productId;
+        private final Long warehouseId;
+        private final Long inventoryId;
+        private final StripedStockCounter stock;
+        private final boolean autoDetected;
+        private final LongAdder windowGrants = new LongAdder();
+        private volatile boolean retiring;
+        /** Retiré de la table ; gardé par le moniteur du journal. */
+        private boolean removed;
+        /**
+         * Disponible au dernier recalage, diminué des octrois journalisés depuis : les cellules
+         * valent cette quantité moins les octrois en cours. Gardé par le moniteur du journal.
+         */
+        private long synced;
+
+        private HotSku(Long productId, Long warehouseId, Long inventoryId, StripedStockCounter stock,
+                       long synced, boolean autoDetected) {
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+            this.inventoryId = inventoryId;
+            this.stock = stock;
+            this.synced = synced;
+            this.autoDetected = autoDetected;
+        }
+    }
+
+    @Data
+    @Builder
+    public static class HotSkuView {
+        private Long productId;
+        private Long warehouseId;
+        private Long inventoryId;
+        private long available;
+        private boolean autoDetected;
+        private boolean retiring;
+    }
+
+    @Data
+    @Builder
+    public static class HotSkuStats {
+        private boolean enabled;
+        private List<HotSkuView> hotSkus;
+        private long grants;
+        private long grantedUnits;
+        private long compensatedUnits;
+        private long flushes;
+        private long flushedUnits;
+        private long flushFailures;
+        private long promotions;
+        private long demotions;
+        private long overcommittedUnits;
+        private LocalDateTime lastFlushAt;
+    }
+}
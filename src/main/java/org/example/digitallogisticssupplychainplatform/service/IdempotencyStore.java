@@ -0,0 +1,228 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.config.OptimisticRetry;
+import org.example.digitallogisticssupplychainplatform.entity.IdempotencyRecord;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.DuplicateResourceException;
+import org.example.digitallogisticssupplychainplatform.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Réponses enregistrées des requêtes portant un {@code Idempotency-Key}, par utilisateur et par
+ * clé. Les réponses récentes sont gardées en mémoire (LRU borné à {@code cache.max-entries}) et
+ * toutes sont persistées dans {@code idempotency_keys} pendant {@code ttl-hours}.
+ *
+ * <p>La clé est réservée par insertion dans la transaction même de l'opération : une requête
+ * concurrente avec la même clé attend sur l'index unique puis rejoue la réponse validée, et un
+ * arrêt brutal annule ensemble l'opération et la réservation de la clé. Seules les réponses 2xx
+ * sont enregistrées ; une erreur annule l'opération et laisse la clé libre pour un nouvel essai.
+ *
+ * <p>L'opération s'exécute dans la transaction de la clé : un conflit de version ne peut donc pas
+ * être rejoué par le {@link OptimisticRetry} du service appelé, c'est {@link #execute} qui rejoue
+ * l'ensemble, réservation de la clé comprise.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    /** Ordre d'accès : l'entrée la moins récemment relue est évincée en premier. */
+    private final LinkedHashMap<String, StoredResponse> recent = new LinkedHashMap<>(256, 0.75f, true);
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${idempotency.cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    /**
+     * Exécute l'opération une seule fois pour ce couple (utilisateur, clé) ; les appels suivants
+     * renvoient la réponse enregistrée, marquée par l'en-tête {@value #REPLAYED_HEADER}.
+     *
+     * @param arguments arguments de l'opération ; une clé réutilisée avec d'autres arguments est refusée
+     */
+    @OptimisticRetry
+    public Object execute(String principal, String key, String operation, Object[] arguments,
+                          Supplier<Object> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Clé d'idempotence invalide (1 à " + MAX_KEY_LENGTH + " caractères)");
+        }
+        String cacheKey = principal + '\n' + key;
+        String requestHash = fingerprint(operation, arguments);
+        LocalDateTime now = LocalDateTime.now();
+
+        StoredResponse stored = cached(cacheKey, now);
+        if (stored == null) {
+            stored = load(cacheKey, principal, key, now);
+        }
+        if (stored != null) {
+            return replay(stored, key, requestHash);
+        }
+
+        try {
+            StoredResponse[] completed = new StoredResponse[1];
+            Object result = new TransactionTemplate(transactionManager).execute(status -> {
+                IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .principal(principal)
+                        .idempotencyKey(key)
+                        .operation(operation)
+                        .requestHash(requestHash)
+                        .createdAt(now)
+                        .expiresAt(now.plusHours(ttlHours))
+                        .build());
+
+                Object response = action.get();
+                if (response instanceof ResponseEntity<?> entity && entity.getStatusCode().is2xxSuccessful()) {
+                    record.setStatusCode(entity.getStatusCode().value());
+                    record.setResponseBody(write(entity.getBody()));
+                    completed[0] = StoredResponse.of(record);
+                } else {
+                    status.setRollbackOnly();
+                }
+                return response;
+            });
+            if (completed[0] != null) {
+                remember(cacheKey, completed[0]);
+            }
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            // Même clé validée entre-temps par une requête concurrente
+            StoredResponse concurrent = load(cacheKey, principal, key, now);
+            if (concurrent == null) {
+                throw e;
+            }
+            return replay(concurrent, key, requestHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recent) {
+            recent.values().removeIf(response -> response.expiresAt.isBefore(now));
+        }
+        int deleted = idempotencyRecordRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("{} clé(s) d'idempotence expirée(s) supprimée(s)", deleted);
+        }
+        return deleted;
+    }
+
+    private StoredResponse cached(String cacheKey, LocalDateTime now) {
+        synchronized (recent) {
+            StoredResponse response = recent.get(cacheKey);
+            if (response != null && response.expiresAt.isBefore(now)) {
+                recent.remove(cacheKey);
+                return null;
+            }
+            return response;
+        }
+    }
+
+    private StoredResponse load(String cacheKey, String principal, String key, LocalDateTime now) {
+        IdempotencyRecord record = idempotencyRecordRepository.findByPrincipalAndIdempotencyKey(principal, key)
+                .orElse(null);
+        if (record == null) {
+            return null;
+        }
+        if (record.getExpiresAt().isBefore(now)) {
+            idempotencyRecordRepository.delete(record);
+            return null;
+        }
+        StoredResponse response = StoredResponse.of(record);
+        remember(cacheKey, response);
+        return response;
+    }
+
+    private void remember(String cacheKey, StoredResponse response) {
+        synchronized (recent) {
+            recent.put(cacheKey, response);
+            Iterator<String> eldest = recent.keySet().iterator();
+            while (recent.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private ResponseEntity<Object> replay(StoredResponse stored, String key, String requestHash) {
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new DuplicateResourceException("Clé d'idempotence déjà utilisée pour une autre requête: " + key);
+        }
+        log.debug("Réponse rejouée pour la clé d'idempotence {}", key);
+        try {
+            return ResponseEntity.status(stored.statusCode)
+                    .header(REPLAYED_HEADER, "true")
+                    .body(stored.body == null ? null : objectMapper.readTree(stored.body));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Réponse enregistrée illisible pour la clé " + key, e);
+        }
+    }
+
+    private String write(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Réponse non enregistrable: " + e.getMessage(), e);
+        }
+    }
+
+    String fingerprint(String operation, Object[] arguments) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(arguments));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Empreinte de requête impossible", e);
+        }
+    }
+
+    private static final class StoredResponse {
+        private final String requestHash;
+        private final int statusCode;
+        private final String body;
+        private final LocalDateTime expiresAt;
+
+        private StoredResponse(String requestHash, int statusCode, String body, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.statusCode = statusCode;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        static StoredResponse of(IdempotencyRecord record) {
+            return new StoredResponse(record.getRequestHash(), record.getStatusCode(), record.getResponseBody(),
+                    record.getExpiresAt());
+        }
+    }
+}
@@ -2,21 +2,39 @@ package org.example.digitallogisticssupplychainplatform.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.config.OptimisticRetry;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryDTO;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
 import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.exception.StockUnavailableException;
 import org.example.digitallogisticssupplychainplatform.mapper.InventoryMapper;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryBatchRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
 import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
 import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -28,9 +46,22 @@ public class InventoryBusinessService {
     private final ProductRepository productRepository;
     private final WareHouseRepository warehouseRepository;
     private final InventoryMovementService movementService;
+    private final InventoryMovementRepository movementRepository;
     private final InventoryMapper inventoryMapper;
+    private final AvailableToPromiseCache availabilityCache;
+    private final HotSkuReservations hotSkuReservations;
+    private final StockAggregates stockAggregates;
+    private final ApplicationEventPublisher eventPublisher;
 
+    private static final int PARTIAL_RESERVATION_ATTEMPTS = 3;
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Integer calculateAvailableQty(Long inventoryId) {
+        Optional<AvailableToPromiseCache.StockLevel> cached = availabilityCache.findByInventoryId(inventoryId);
+        if (cached.isPresent()) {
+            return cached.get().getAvailable();
+        }
+
         Inventory inventory = inventoryRepository.findById(inventoryId)
                 .orElseThrow(() -> new BusinessException("Inventaire introuvable"));
 
@@ -43,33 +74,161 @@ public class InventoryBusinessService {
 
 
     public void reserveStock(Long productId, Long warehouseId, Integer quantity, String referenceDoc) {
-        if (quantity <= 0) {
+        reserveAvailable(productId, warehouseId, quantity, referenceDoc);
+    }
+
+    /**
+     * Réserve jusqu'à {@code quantity} unités sans relire l'inventaire : la tentative complète
+     * passe par un UPDATE conditionnel, puis, en cas d'échec, on réserve le disponible restant.
+     * Un SKU chaud est servi par {@link HotSkuReservations}, sans toucher la ligne inventories.
+     */
+    public ReservationOutcome reserveAvailable(Long productId, Long warehouseId, Integer quantity, String referenceDoc) {
+        if (quantity == null || quantity <= 0) {
             throw new BusinessException("La quantité à réserver doit être positive");
         }
 
-        Inventory inventory = getOrCreateInventory(productId, warehouseId);
-        Integer available = calculateAvailable(inventory);
+        Optional<Integer> hotGrant = hotSkuReservations.tryReserve(productId, warehouseId, quantity);
+        int reserved;
+        if (hotGrant.isPresent()) {
+            reserved = hotGrant.get();
+        } else {
+            flushHotReservations(productId, warehouseId);
+            long start = System.nanoTime();
+            reserved = inventoryRepository.reserveIfAvailable(productId, warehouseId, quantity) == 1
+                    ? quantity
+                    : reservePartially(productId, warehouseId, quantity);
+            hotSkuReservations.recordAttempt(productId, warehouseId, System.nanoTime() - start);
+        }
 
-        if (available > 0) {
-            Integer toReserve = Math.min(available, quantity);
-            inventory.setQtyReserved(inventory.getQtyReserved() + toReserve);
-            inventoryRepository.save(inventory);
+        if (reserved > 0) {
+            publishChange(null, productId, warehouseId, 0, reserved);
             log.info("Stock réservé: {} unités du produit {} dans l'entrepôt {} - Référence: {}",
-                    toReserve, productId, warehouseId, referenceDoc);
+                    reserved, productId, warehouseId, referenceDoc);
+        }
+        if (reserved < quantity) {
+            log.warn("Stock insuffisant pour {}: réservé {} demandé {}",
+                    productId, reserved, quantity);
         }
 
+        return ReservationOutcome.builder()
+                .productId(productId)
+                .warehouseId(warehouseId)
+                .requestedQuantity(quantity)
+                .reservedQuantity(reserved)
+                .build();
+    }
 
-        if (available < quantity) {
-            log.warn("Stock insuffisant pour {}: disponible {} demandé {}",
-                    productId, available, quantity);
+    private int reservePartially(Long productId, Long warehouseId, Integer quantity) {
+        for (int attempt = 0; attempt < PARTIAL_RESERVATION_ATTEMPTS; attempt++) {
+            Integer available = inventoryRepository.findAvailableQty(productId, warehouseId);
+            if (available == null || available <= 0) {
+                return 0;
+            }
 
+            int toReserve = Math.min(available, quantity);
+            if (inventoryRepository.reserveIfAvailable(productId, warehouseId, toReserve) == 1) {
+                return toReserve;
+            }
         }
+        return 0;
     }
 
+    /**
+     * Réserve plusieurs lignes d'un même entrepôt : une seule lecture des inventaires concernés,
+     * puis un seul batch JDBC d'UPDATE conditionnés par la version lue. Les produits dont la ligne
+     * a changé entre-temps repassent par le chemin unitaire {@link #reserveAvailable}, de même que
+     * les SKU chauds, dont le disponible en base ignore les octrois en mémoire non reportés.
+     *
+     * @return un résultat par ligne, dans l'ordre des lignes reçues
+     */
+    public List<ReservationOutcome> reserveBatch(Long warehouseId, List<ReservationLine> lines, String referenceDoc) {
+        lines.forEach(line -> validatePositiveQuantity(line.getQuantity()));
+
+        Set<Long> productIds = lines.stream()
+                .map(ReservationLine::getProductId)
+                .collect(Collectors.toSet());
+        Set<Long> hotProducts = productIds.stream()
+                .filter(productId -> hotSkuReservations.isHot(productId, warehouseId))
+                .collect(Collectors.toSet());
+        Map<Long, InventoryStockDTO> stockByProduct = inventoryRepository
+                .findStockByWarehouseIdAndProductIds(warehouseId, productIds).stream()
+                .collect(Collectors.toMap(InventoryStockDTO::getProductId, Function.identity()));
+
+        Map<Long, Integer> remainingByProduct = new HashMap<>();
+        Map<Long, Integer> reservedByProduct = new LinkedHashMap<>();
+        int[] planned = new int[lines.size()];
+
+        for (int i = 0; i < lines.size(); i++) {
+            ReservationLine line = lines.get(i);
+            if (hotProducts.contains(line.getProductId())) {
+                continue;
+            }
+            InventoryStockDTO stock = stockByProduct.get(line.getProductId());
+            int available = remainingByProduct.computeIfAbsent(line.getProductId(),
+                    id -> stock != null ? Math.max(0, stock.getAvailable()) : 0);
+
+            planned[i] = Math.min(available, line.getQuantity());
+            remainingByProduct.put(line.getProductId(), available - planned[i]);
+            reservedByProduct.merge(line.getProductId(), planned[i], Integer::sum);
+        }
+
+        List<Long> batchedProducts = new ArrayList<>();
+        List<InventoryBatchRepository.ReservationDelta> deltas = new ArrayList<>();
+        reservedByProduct.forEach((productId, quantity) -> {
+            if (quantity > 0) {
+                InventoryStockDTO stock = stockByProduct.get(productId);
+                batchedProducts.add(productId);
+                deltas.add(new InventoryBatchRepository.ReservationDelta(stock.getId(), stock.getVersion(), quantity));
+            }
+        });
+
+        int[] updateCounts = inventoryRepository.applyReservations(deltas);
+        Set<Long> conflictedProducts = new HashSet<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                conflictedProducts.add(batchedProducts.get(i));
+            }
+        }
+
+        if (!conflictedProducts.isEmpty()) {
+            log.warn("Réservation en lot {}: {} produit(s) modifié(s) en concurrence, repli unitaire",
+                    referenceDoc, conflictedProducts.size());
+        }
+
+        for (int i = 0; i < deltas.size(); i++) {
+            Long productId = batchedProducts.get(i);
+            if (!conflictedProducts.contains(productId)) {
+                publishChange(deltas.get(i).getInventoryId(), productId, warehouseId, 0, deltas.get(i).getQuantity());
+            }
+        }
+
+        List<ReservationOutcome> outcomes = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            ReservationLine line = lines.get(i);
+            if (conflictedProducts.contains(line.getProductId()) || hotProducts.contains(line.getProductId())) {
+                outcomes.add(reserveAvailable(line.getProductId(), warehouseId, line.getQuantity(), referenceDoc));
+            } else {
+                outcomes.add(ReservationOutcome.builder()
+                        .productId(line.getProductId())
+                        .warehouseId(warehouseId)
+                        .requestedQuantity(line.getQuantity())
+                        .reservedQuantity(planned[i])
+                        .build());
+            }
+        }
+
+        log.info("Réservation en lot {}: {} ligne(s), {} inventaire(s) mis à jour en un batch",
+                referenceDoc, lines.size(), deltas.size() - conflictedProducts.size());
+
+        return outcomes;
+    }
+
+    @OptimisticRetry
     public void releaseReservation(Long productId, Long warehouseId, Integer quantity, String referenceDoc) {
         if (quantity <= 0) {
             throw new BusinessException("La quantité à libérer doit être positive");
         }
+        flushHotReservations(productId, warehouseId);
 
         Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId);
         if (inventory == null) {
@@ -85,11 +244,112 @@ public class InventoryBusinessService {
 
         inventory.setQtyReserved(inventory.getQtyReserved() - quantity);
         inventoryRepository.save(inventory);
+        publishChange(inventory.getId(), productId, warehouseId, 0, -quantity);
 
         log.info("Réservation libérée: {} unités du produit {} dans l'entrepôt {} - Référence: {}",
                 quantity, productId, warehouseId, referenceDoc);
     }
 
+    /**
+     * Libère des réservations du registre en un seul batch JDBC, sans relire les inventaires.
+     * Une ligne d'inventaire qui ne couvre plus la quantité annule toute l'opération.
+     */
+    public void releaseHolds(List<ReservationHoldDTO> holds, String referenceDoc) {
+        Map<Long, ReservationHoldDTO> totals = totalsByInventory(holds);
+        if (totals.values().stream().anyMatch(total -> hotSkuReservations.isHot(total.getProductId(), total.getWarehouseId()))) {
+            hotSkuReservations.flush();
+        }
+        applyHolds(inventoryRepository.releaseHolds(toHoldDeltas(totals)), totals, "libération");
+
+        totals.values().forEach(total -> publishChange(total.getInventoryId(), total.getProductId(),
+                total.getWarehouseId(), 0, -total.getQuantity()));
+
+        log.info("Libération {}: {} réservation(s) sur {} inventaire(s) en un batch",
+                referenceDoc, holds.size(), totals.size());
+    }
+
+    /**
+     * Expédie des réservations du registre : stock physique et réservé sont décrémentés en un seul
+     * batch JDBC et les mouvements OUTBOUND, un par réservation, sont insérés en lot.
+     *
+     * @return le nombre d'unités expédiées
+     */
+    public int shipHolds(List<ReservationHoldDTO> holds, String referenceDoc, String description) {
+        return shipHolds(holds, hold -> referenceDoc, description);
+    }
+
+    /**
+     * Variante de {@link #shipHolds(List, String, String)} pour les réservations de plusieurs
+     * commandes expédiées ensemble : chaque mouvement garde la référence de sa propre commande.
+     */
+    public int shipHolds(List<ReservationHoldDTO> holds, Function<ReservationHoldDTO, String> referenceDoc,
+                         String description) {
+        Map<Long, ReservationHoldDTO> totals = totalsByInventory(holds);
+        if (totals.values().stream().anyMatch(total -> hotSkuReservations.isHot(total.getProductId(), total.getWarehouseId()))) {
+            hotSkuReservations.flush();
+        }
+        applyHolds(inventoryRepository.shipHolds(toHoldDeltas(totals)), totals, "expédition");
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryMovement> movements = new ArrayList<>(holds.size());
+        int shippedUnits = 0;
+        for (ReservationHoldDTO hold : holds) {
+            movements.add(InventoryMovement.builder()
+                    .inventory(inventoryRepository.getReferenceById(hold.getInventoryId()))
+                    .type(MovementType.OUTBOUND)
+                    .quantity(hold.getQuantity())
+                    .occurredAt(now)
+                    .referenceDoc(referenceDoc.apply(hold))
+                    .description(description)
+                    .build());
+            shippedUnits += hold.getQuantity();
+        }
+        movementRepository.saveAll(movements);
+
+        totals.values().forEach(total -> publishChange(total.getInventoryId(), total.getProductId(),
+                total.getWarehouseId(), -total.getQuantity(), -total.getQuantity()));
+
+        log.info("{}: {} unité(s) sur {} inventaire(s) en un batch",
+                description, shippedUnits, totals.size());
+        return shippedUnits;
+    }
+
+    private Map<Long, ReservationHoldDTO> totalsByInventory(List<ReservationHoldDTO> holds) {
+        Map<Long, ReservationHoldDTO> totals = new LinkedHashMap<>();
+        for (ReservationHoldDTO hold : holds) {
+            validatePositiveQuantity(hold.getQuantity());
+            totals.merge(hold.getInventoryId(),
+                    ReservationHoldDTO.builder()
+                            .inventoryId(hold.getInventoryId())
+                            .productId(hold.getProductId())
+                            .warehouseId(hold.getWarehouseId())
+                            .quantity(hold.getQuantity())
+                            .build(),
+                    (total, next) -> {
+                        total.setQuantity(total.getQuantity() + next.getQuantity());
+                        return total;
+                    });
+        }
+        return totals;
+    }
+
+    private List<InventoryBatchRepository.HoldDelta> toHoldDeltas(Map<Long, ReservationHoldDTO> totals) {
+        return totals.values().stream()
+                .map(total -> new InventoryBatchRepository.HoldDelta(total.getInventoryId(), total.getQuantity()))
+                .collect(Collectors.toList());
+    }
+
+    private void applyHolds(int[] updateCounts, Map<Long, ReservationHoldDTO> totals, String operation) {
+        List<Long> inventoryIds = new ArrayList<>(totals.keySet());
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                throw new BusinessException(String.format(
+                        "Registre de réservation incohérent pour l'inventaire %d (%s)", inventoryIds.get(i), operation));
+            }
+        }
+    }
+
+    @OptimisticRetry
     public InventoryMovementDTO recordInbound(Long productId, Long warehouseId, Integer quantity,
                                               String referenceDoc, String description) {
         validatePositiveQuantity(quantity);
@@ -98,6 +358,7 @@ public class InventoryBusinessService {
         Inventory inventory = getOrCreateInventory(productId, warehouseId);
 
         inventory.setQtyOnHand(inventory.getQtyOnHand() + quantity);
+        publishChange(inventory.getId(), productId, warehouseId, quantity, 0);
         InventoryMovementDTO movementDTO = InventoryMovementDTO.builder()
                 .inventoryId(inventory.getId())
                 .type(MovementType.INBOUND.name())
@@ -111,9 +372,278 @@ public class InventoryBusinessService {
     }
 
 
+    /**
+     * Entrée en stock de plusieurs lignes sur un même entrepôt (réception d'un bon de commande).
+     */
+    @OptimisticRetry
+    public InboundBatchResult recordInboundBatch(Long warehouseId, List<InboundLine> lines, String referenceDoc) {
+        if (lines == null || lines.isEmpty()) {
+            throw new BusinessException("Aucune ligne à réceptionner");
+        }
+
+        return recordInboundBulk(lines.stream()
+                .map(line -> new InboundRow(line.getProductId(), warehouseId, line.getQuantity(),
+                        referenceDoc, line.getDescription()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Entrée en stock de masse (scans de quai, conteneurs) sur un nombre quelconque d'entrepôts.
+     * Validation ensembliste (une requête pour les produits, une pour les entrepôts), une lecture
+     * des inventaires existants, création des manquants puis insertion des inventaires et des
+     * mouvements par lots JDBC, le tout dans une seule transaction.
+     */
+    @OptimisticRetry
+    public InboundBatchResult recordInboundBulk(List<InboundRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BusinessException("Aucune ligne à réceptionner");
+        }
+        for (InboundRow row : rows) {
+            if (row.getProductId() == null || row.getWarehouseId() == null) {
+                throw new BusinessException("Produit et entrepôt obligatoires pour chaque ligne");
+            }
+            validatePositiveQuantity(row.getQuantity());
+        }
+
+        Set<Long> warehouseIds = rows.stream().map(InboundRow::getWarehouseId).collect(Collectors.toSet());
+        Set<Long> productIds = rows.stream().map(InboundRow::getProductId).collect(Collectors.toSet());
+        validateAllExist("Entrepôt(s) introuvable(s): ", warehouseIds, warehouseRepository.findExistingIds(warehouseIds));
+        validateAllExist("Produit(s) introuvable(s): ", productIds, productRepository.findExistingIds(productIds));
+
+        Map<Long, Map<Long, Inventory>> inventoriesByWarehouse = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findByWarehouseIdsAndProductIds(warehouseIds, productIds)) {
+            inventoriesByWarehouse.computeIfAbsent(inventory.getWarehouse().getId(), id -> new HashMap<>())
+                    .put(inventory.getProduct().getId(), inventory);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Inventory> created = new ArrayList<>();
+        List<InboundRow> createdFor = new ArrayList<>();
+        List<InventoryMovement> movements = new ArrayList<>(rows.size());
+        int totalQuantity = 0;
+        for (InboundRow row : rows) {
+            Inventory inventory = inventoriesByWarehouse
+                    .computeIfAbsent(row.getWarehouseId(), id -> new HashMap<>())
+                    .computeIfAbsent(row.getProductId(), productId -> {
+                        Inventory newInventory = Inventory.builder()
+                                .product(productRepository.getReferenceById(productId))
+                                .warehouse(warehouseRepository.getReferenceById(row.getWarehouseId()))
+                                .qtyOnHand(0)
+                                .qtyReserved(0)
+                                .build();
+                        created.add(newInventory);
+                        createdFor.add(row);
+                        return newInventory;
+                    });
+            inventory.setQtyOnHand(inventory.getQtyOnHand() + row.getQuantity());
+
+            movements.add(InventoryMovement.builder()
+                    .inventory(inventory)
+                    .type(MovementType.INBOUND)
+                    .quantity(row.getQuantity())
+                    .occurredAt(now)
+                    .referenceDoc(row.getReferenceDoc())
+                    .description(row.getDescription())
+                    .build());
+            totalQuantity += row.getQuantity();
+        }
+
+        // Les nouveaux inventaires portent déjà leur quantité : un seul INSERT, sans UPDATE derrière.
+        inventoryRepository.saveAll(created);
+        movementRepository.saveAll(movements);
+
+        for (int i = 0; i < created.size(); i++) {
+            eventPublisher.publishEvent(InventoryChangedEvent.created(created.get(i).getId(),
+                    createdFor.get(i).getProductId(), createdFor.get(i).getWarehouseId(), 0, 0));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            InboundRow row = rows.get(i);
+            publishChange(movements.get(i).getInventory().getId(), row.getProductId(), row.getWarehouseId(),
+                    row.getQuantity(), 0);
+        }
+
+        log.info("Réception groupée: {} ligne(s), {} entrepôt(s), {} unité(s), {} inventaire(s) créé(s)",
+                rows.size(), warehouseIds.size(), totalQuantity, created.size());
+
+        return InboundBatchResult.builder()
+                .linesProcessed(rows.size())
+                .warehousesAffected(warehouseIds.size())
+                .inventoriesCreated(created.size())
+                .totalQuantity(totalQuantity)
+                .build();
+    }
+
+    /**
+     * Applique un lot de lignes d'inventaire tournant : une lecture des inventaires concernés, un
+     * batch JDBC d'UPDATE conditionnés par la version lue, création des inventaires manquants et
+     * insertion des mouvements ADJUSTMENT par lots. Les lignes invalides sont rejetées sans bloquer
+     * le lot ; pour un même couple (produit, entrepôt), la dernière ligne l'emporte et les
+     * précédentes sont rejetées, chaque ligne reçue étant ainsi comptée une fois (conforme, écart ou
+     * rejet). Un conflit de version relance le lot entier via {@link OptimisticRetry}.
+     */
+    @OptimisticRetry
+    public CycleCountResult applyCycleCounts(List<CountLine> lines, String referenceDoc) {
+        List<CountRejection> rejections = new ArrayList<>();
+        Map<Long, Map<Long, CountLine>> countsByWarehouse = new LinkedHashMap<>();
+        for (CountLine line : lines) {
+            if (line.getProductId() == null || line.getWarehouseId() == null || line.getCountedQuantity() == null) {
+                rejections.add(reject(line, "Produit, entrepôt et quantité comptée obligatoires"));
+            } else if (line.getCountedQuantity() < 0) {
+                rejections.add(reject(line, "La quantité comptée ne peut pas être négative"));
+            } else {
+                CountLine replaced = countsByWarehouse.computeIfAbsent(line.getWarehouseId(), id -> new LinkedHashMap<>())
+                        .put(line.getProductId(), line);
+                if (replaced != null) {
+                    rejections.add(reject(replaced, "Ligne remplacée par la ligne " + line.getLineNumber()
+                            + " pour le même produit et entrepôt"));
+                }
+            }
+        }
+
+        Set<Long> warehouseIds = countsByWarehouse.keySet();
+        Set<Long> productIds = countsByWarehouse.values().stream()
+                .flatMap(byProduct -> byProduct.keySet().stream())
+                .collect(Collectors.toSet());
+        if (warehouseIds.isEmpty()) {
+            return CycleCountResult.builder()
+                    .linesReceived(lines.size())
+                    .variances(List.of())
+                    .rejections(rejections)
+                    .build();
+        }
+
+        if (countsByWarehouse.entrySet().stream().anyMatch(entry -> entry.getValue().keySet().stream()
+                .anyMatch(productId -> hotSkuReservations.isHot(productId, entry.getKey())))) {
+            hotSkuReservations.flush();
+        }
+
+        Set<Long> knownWarehouses = new HashSet<>(warehouseRepository.findExistingIds(warehouseIds));
+        Set<Long> knownProducts = new HashSet<>(productRepository.findExistingIds(productIds));
+        Map<Long, Map<Long, InventoryStockDTO>> stockByWarehouse = inventoryRepository
+                .findStockByWarehouseIdsAndProductIds(warehouseIds, productIds).stream()
+                .collect(Collectors.groupingBy(InventoryStockDTO::getWarehouseId,
+                        Collectors.toMap(InventoryStockDTO::getProductId, Function.identity())));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryBatchRepository.CountDelta> deltas = new ArrayList<>();
+        List<Inventory> created = new ArrayList<>();
+        List<InventoryMovement> movements = new ArrayList<>();
+        List<CountVariance> variances = new ArrayList<>();
+        int matched = 0;
+
+        for (Map.Entry<Long, Map<Long, CountLine>> entry : countsByWarehouse.entrySet()) {
+            Long warehouseId = entry.getKey();
+            for (CountLine line : entry.getValue().values()) {
+                Long productId = line.getProductId();
+                if (!knownWarehouses.contains(warehouseId)) {
+                    rejections.add(reject(line, "Entrepôt introuvable: " + warehouseId));
+                    continue;
+                }
+                if (!knownProducts.contains(productId)) {
+                    rejections.add(reject(line, "Produit introuvable: " + productId));
+                    continue;
+                }
+
+                InventoryStockDTO stock = stockByWarehouse.getOrDefault(warehouseId, Map.of()).get(productId);
+                int systemQuantity = stock != null ? stock.getQtyOnHand() : 0;
+                int counted = line.getCountedQuantity();
+                int variance = counted - systemQuantity;
+                if (variance == 0) {
+                    matched++;
+                    continue;
+                }
+                if (stock != null && counted < stock.getQtyReserved()) {
+                    rejections.add(reject(line, String.format(
+                            "Quantité comptée (%d) inférieure au stock réservé (%d)", counted, stock.getQtyReserved())));
+                    continue;
+                }
+
+                Inventory inventory;
+                if (stock == null) {
+                    inventory = Inventory.builder()
+                            .product(productRepository.getReferenceById(productId))
+                            .warehouse(warehouseRepository.getReferenceById(warehouseId))
+                            .qtyOnHand(counted)
+                            .qtyReserved(0)
+                            .build();
+                    created.add(inventory);
+                } else {
+                    inventory = inventoryRepository.getReferenceById(stock.getId());
+                    deltas.add(new InventoryBatchRepository.CountDelta(stock.getId(), stock.getVersion(), counted));
+                }
+
+                movements.add(InventoryMovement.builder()
+                        .inventory(inventory)
+                        .type(MovementType.ADJUSTMENT)
+                        .quantity(variance)
+                        .occurredAt(now)
+                        .referenceDoc(referenceDoc)
+                        .description(String.format("Inventaire tournant: compté %d, système %d", counted, systemQuantity))
+                        .build());
+                variances.add(CountVariance.builder()
+                        .productId(productId)
+                        .warehouseId(warehouseId)
+                        .systemQuantity(systemQuantity)
+                        .countedQuantity(counted)
+                        .variance(variance)
+                        .build());
+            }
+        }
+
+        int[] updateCounts = inventoryRepository.applyCounts(deltas);
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                throw new ObjectOptimisticLockingFailureException(Inventory.class, deltas.get(i).getInventoryId());
+            }
+        }
+        inventoryRepository.saveAll(created);
+        movementRepository.saveAll(movements);
+
+        for (Inventory inventory : created) {
+            eventPublisher.publishEvent(InventoryChangedEvent.created(inventory.getId(),
+                    inventory.getProduct().getId(), inventory.getWarehouse().getId(), 0, 0));
+        }
+        for (int i = 0; i < variances.size(); i++) {
+            CountVariance variance = variances.get(i);
+            publishChange(movements.get(i).getInventory().getId(), variance.getProductId(), variance.getWarehouseId(),
+                    variance.getVariance(), 0);
+        }
+
+        log.info("Inventaire tournant {}: {} ligne(s), {} écart(s), {} conforme(s), {} rejet(s)",
+                referenceDoc, lines.size(), variances.size(), matched, rejections.size());
+
+        return CycleCountResult.builder()
+                .linesReceived(lines.size())
+                .matched(matched)
+                .adjusted(variances.size())
+                .inventoriesCreated(created.size())
+                .variances(variances)
+                .rejections(rejections)
+                .build();
+    }
+
+    private static CountRejection reject(CountLine line, String reason) {
+        return CountRejection.builder()
+                .lineNumber(line.getLineNumber())
+                .productId(line.getProductId())
+                .warehouseId(line.getWarehouseId())
+                .reason(reason)
+                .build();
+    }
+
+    private void validateAllExist(String message, Set<Long> requested, List<Long> existing) {
+        if (existing.size() != requested.size()) {
+            Set<Long> missing = new HashSet<>(requested);
+            existing.forEach(missing::remove);
+            throw new BusinessException(message + missing);
+        }
+    }
+
+    @OptimisticRetry
     public InventoryMovementDTO recordOutbound(Long productId, Long warehouseId, Integer quantity,
                                                String referenceDoc, String description) {
         validatePositiveQuantity(quantity);
+        flushHotReservations(productId, warehouseId);
 
         Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId);
         if (inventory == null) {
@@ -139,20 +669,25 @@ public class InventoryBusinessService {
                 .build();
 
         InventoryMovementDTO result = movementService.createMovement(movementDTO);
+        int releasedReservation = 0;
         if (inventory.getQtyReserved() >= quantity) {
             inventory.setQtyReserved(inventory.getQtyReserved() - quantity);
             inventoryRepository.save(inventory);
+            releasedReservation = quantity;
             log.info("Réservation automatiquement libérée lors de l'expédition: {} unités", quantity);
         }
+        publishChange(inventory.getId(), productId, warehouseId, -quantity, -releasedReservation);
 
         return result;
     }
 
+    @OptimisticRetry
     public InventoryMovementDTO recordAdjustment(Long productId, Long warehouseId, Integer adjustmentQty,
                                                  String referenceDoc, String reason) {
-        if (adjustmentQty == 0) {
+        if (adjustmentQty == null || adjustmentQty == 0) {
             throw new BusinessException("L'ajustement ne peut pas être nul");
         }
+        flushHotReservations(productId, warehouseId);
 
         Inventory inventory = getOrCreateInventory(productId, warehouseId);
 
@@ -164,6 +699,8 @@ public class InventoryBusinessService {
             );
         }
 
+        inventory.setQtyOnHand(newQtyOnHand);
+        publishChange(inventory.getId(), productId, warehouseId, adjustmentQty, 0);
         InventoryMovementDTO movementDTO = InventoryMovementDTO.builder()
                 .inventoryId(inventory.getId())
                 .type(MovementType.ADJUSTMENT.name())
@@ -178,16 +715,20 @@ public class InventoryBusinessService {
 
     public List<AllocationResult> allocateFromMultipleWarehouses(Long productId, Integer totalQuantity,
                                                                  List<Long> warehouseIdsByPriority) {
+        Map<Long, InventoryStockDTO> stockByWarehouse = inventoryRepository
+                .findStockByWarehouseIdsAndProductIds(warehouseIdsByPriority, Set.of(productId)).stream()
+                .collect(Collectors.toMap(InventoryStockDTO::getWarehouseId, Function.identity()));
+
         List<AllocationResult> allocations = new ArrayList<>();
         Integer remainingQty = totalQuantity;
 
         for (Long warehouseId : warehouseIdsByPriority) {
             if (remainingQty <= 0) break;
 
-            Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId);
-            if (inventory == null) continue;
+            InventoryStockDTO stock = stockByWarehouse.get(warehouseId);
+            if (stock == null) continue;
 
-            Integer available = calculateAvailable(inventory);
+            Integer available = stock.getAvailable();
             if (available > 0) {
                 Integer allocatedQty = Math.min(available, remainingQty);
 
@@ -195,7 +736,7 @@ public class InventoryBusinessService {
                         .warehouseId(warehouseId)
                         .productId(productId)
                         .allocatedQuantity(allocatedQty)
-                        .inventoryId(inventory.getId())
+                        .inventoryId(stock.getId())
                         .build());
 
                 remainingQty -= allocatedQty;
@@ -209,7 +750,100 @@ public class InventoryBusinessService {
         return allocations;
     }
 
+    /**
+     * Alloue une commande complète sur les entrepôts candidats en limitant le nombre d'expéditions :
+     * le stock utile est lu en une requête, le plan est calculé par {@link AllocationPlanner} puis,
+     * si demandé, réservé en un seul batch JDBC. Un conflit de version annule l'ensemble et relance
+     * le calcul via {@link OptimisticRetry}, de sorte que le plan réservé reste cohérent. Les SKU
+     * chauds sont planifiés sur leur disponible en mémoire et réservés par
+     * {@link HotSkuReservations#tryReserve} ; un octroi incomplet vaut conflit.
+     */
+    @OptimisticRetry
+    public OrderAllocation allocateOrder(List<ReservationLine> lines, List<Long> warehouseIdsByPriority,
+                                         boolean reserve, String referenceDoc) {
+        if (warehouseIdsByPriority == null || warehouseIdsByPriority.isEmpty()) {
+            throw new BusinessException("Au moins un entrepôt candidat est requis");
+        }
+        lines.forEach(line -> validatePositiveQuantity(line.getQuantity()));
+
+        Map<Long, Integer> demand = new LinkedHashMap<>();
+        lines.forEach(line -> demand.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+
+        Map<Long, Map<Long, InventoryStockDTO>> stockByWarehouse = inventoryRepository
+                .findStockByWarehouseIdsAndProductIds(warehouseIdsByPriority, demand.keySet()).stream()
+                .collect(Collectors.groupingBy(InventoryStockDTO::getWarehouseId,
+                        Collectors.toMap(InventoryStockDTO::getProductId, Function.identity())));
+
+        Set<StockKey> hotKeys = new HashSet<>();
+        stockByWarehouse.values().forEach(stocks -> stocks.values().forEach(stock -> {
+            if (hotSkuReservations.isHot(stock.getProductId(), stock.getWarehouseId())) {
+                hotKeys.add(StockKey.of(stock.getProductId(), stock.getWarehouseId()));
+            }
+        }));
+        if (!hotKeys.isEmpty()) {
+            hotSkuReservations.flush();
+            stockByWarehouse.values().forEach(stocks -> stocks.values().forEach(stock -> hotSkuReservations
+                    .availableInMemory(stock.getProductId(), stock.getWarehouseId())
+                    .ifPresentOrElse(available -> stock.setQtyReserved(stock.getQtyOnHand() - Math.toIntExact(available)),
+                            () -> hotKeys.remove(StockKey.of(stock.getProductId(), stock.getWarehouseId())))));
+        }
+
+        AllocationPlanner.Plan plan = AllocationPlanner.plan(demand, warehouseIdsByPriority, stockByWarehouse);
+        boolean reserved = reserve && !plan.getAllocations().isEmpty();
+
+        if (reserved) {
+            for (AllocationResult allocation : plan.getAllocations()) {
+                if (hotKeys.contains(StockKey.of(allocation.getProductId(), allocation.getWarehouseId()))) {
+                    int granted = hotSkuReservations.tryReserve(allocation.getProductId(), allocation.getWarehouseId(),
+                            allocation.getAllocatedQuantity()).orElse(0);
+                    if (granted < allocation.getAllocatedQuantity()) {
+                        throw new ObjectOptimisticLockingFailureException(Inventory.class, allocation.getInventoryId());
+                    }
+                }
+            }
+
+            List<InventoryBatchRepository.ReservationDelta> deltas = plan.getAllocations().stream()
+                    .filter(allocation -> !hotKeys.contains(StockKey.of(allocation.getProductId(), allocation.getWarehouseId())))
+                    .map(allocation -> new InventoryBatchRepository.ReservationDelta(allocation.getInventoryId(),
+                            stockByWarehouse.get(allocation.getWarehouseId()).get(allocation.getProductId()).getVersion(),
+                            allocation.getAllocatedQuantity()))
+                    .collect(Collectors.toList());
+
+            int[] updateCounts = inventoryRepository.applyReservations(deltas);
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == 0) {
+                    throw new ObjectOptimisticLockingFailureException(Inventory.class, deltas.get(i).getInventoryId());
+                }
+            }
+
+            plan.getAllocations().forEach(allocation -> publishChange(allocation.getInventoryId(),
+                    allocation.getProductId(), allocation.getWarehouseId(), 0, allocation.getAllocatedQuantity()));
+        }
+
+        if (!plan.getShortages().isEmpty()) {
+            log.warn("Allocation commande {}: {} produit(s) non couvert(s) par les entrepôts candidats",
+                    referenceDoc, plan.getShortages().size());
+        }
+        log.info("Allocation commande {}: {} ligne(s) sur {} entrepôt(s), réservée: {}", referenceDoc,
+                plan.getAllocations().size(), plan.getWarehousesUsed().size(), reserved);
+
+        return OrderAllocation.builder()
+                .allocations(plan.getAllocations())
+                .warehousesUsed(plan.getWarehousesUsed())
+                .shipments(plan.getWarehousesUsed().size())
+                .shortages(plan.getShortages())
+                .fullyAllocated(plan.getShortages().isEmpty())
+                .reserved(reserved)
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isOutOfStock(Long productId, Long warehouseId) {
+        Optional<AvailableToPromiseCache.StockLevel> cached = availabilityCache.find(productId, warehouseId);
+        if (cached.isPresent()) {
+            return cached.get().getAvailable() <= 0;
+        }
+
         Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId);
         if (inventory == null) return true;
 
@@ -234,12 +868,62 @@ public class InventoryBusinessService {
                     .build();
 
             inventory = inventoryRepository.save(inventory);
+            eventPublisher.publishEvent(InventoryChangedEvent.created(inventory.getId(), productId, warehouseId, 0, 0));
             log.info("Nouvel inventaire créé: Produit {} - Entrepôt {}", productId, warehouseId);
         }
 
         return inventory;
     }
 
+    public AvailableToPromiseCache.CacheStats getAvailabilityCacheStats() {
+        return availabilityCache.getStats();
+    }
+
+    /**
+     * Totaux de stock d'un entrepôt, servis par {@link StockAggregates} ; relus en base tant que
+     * les agrégats ne sont pas chargés.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public StockTotalsDTO getWarehouseTotals(Long warehouseId) {
+        return stockAggregates.findByWarehouse(warehouseId)
+                .orElseGet(() -> inventoryRepository.sumStockByWarehouse(warehouseId));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public StockTotalsDTO getProductTotals(Long productId) {
+        return stockAggregates.findByProduct(productId)
+                .orElseGet(() -> inventoryRepository.sumStockByProduct(productId));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public StockTotalsDTO getCategoryTotals(String category) {
+        return stockAggregates.findByCategory(category)
+                .orElseGet(() -> inventoryRepository.sumStockByCategory(category));
+    }
+
+    public StockAggregates.AggregateStats getStockAggregateStats() {
+        return stockAggregates.getStats();
+    }
+
+    public HotSkuReservations.HotSkuStats getHotSkuStats() {
+        return hotSkuReservations.getStats();
+    }
+
+    /**
+     * Les réservations accordées en mémoire sur un SKU chaud sont reportées avant toute opération
+     * qui lit ou décrémente le réservé en base.
+     */
+    private void flushHotReservations(Long productId, Long warehouseId) {
+        if (hotSkuReservations.isHot(productId, warehouseId)) {
+            hotSkuReservations.flush();
+        }
+    }
+
+    private void publishChange(Long inventoryId, Long productId, Long warehouseId, int onHandDelta, int reservedDelta) {
+        eventPublisher.publishEvent(
+                InventoryChangedEvent.updated(inventoryId, productId, warehouseId, onHandDelta, reservedDelta));
+    }
+
     private void validatePositiveQuantity(Integer quantity) {
         if (quantity == null || quantity <= 0) {
             throw new BusinessException("La quantité doit être positive");
@@ -263,4 +947,109 @@ public class InventoryBusinessService {
         private Long inventoryId;
         private Integer allocatedQuantity;
     }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class OrderAllocation {
+        private List<AllocationResult> allocations;
+        private List<Long> warehousesUsed;
+        private int shipments;
+        private Map<Long, Integer> shortages;
+        private boolean fullyAllocated;
+        private boolean reserved;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.AllArgsConstructor
+    public static class ReservationLine {
+        private Long productId;
+        private Integer quantity;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.AllArgsConstructor
+    public static class InboundLine {
+        private Long productId;
+        private Integer quantity;
+        private String description;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.AllArgsConstructor
+    public static class InboundRow {
+        private Long productId;
+        private Long warehouseId;
+        private Integer quantity;
+        private String referenceDoc;
+        private String description;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class InboundBatchResult {
+        private Integer linesProcessed;
+        private Integer warehousesAffected;
+        private Integer inventoriesCreated;
+        private Integer totalQuantity;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    @lombok.AllArgsConstructor
+    public static class CountLine {
+        private long lineNumber;
+        private Long productId;
+        private Long warehouseId;
+        private Integer countedQuantity;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class CountVariance {
+        private Long productId;
+        private Long warehouseId;
+        private int systemQuantity;
+        private int countedQuantity;
+        private int variance;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class CountRejection {
+        private long lineNumber;
+        private Long productId;
+        private Long warehouseId;
+        private String reason;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class CycleCountResult {
+        private int linesReceived;
+        private int matched;
+        private int adjusted;
+        private int inventoriesCreated;
+        private List<CountVariance> variances;
+        private List<CountRejection> rejections;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class ReservationOutcome {
+        private Long productId;
+        private Long warehouseId;
+        private Integer requestedQuantity;
+        private Integer reservedQuantity;
+
+        public boolean isFullyReserved() {
+            return reservedQuantity >= requestedQuantity;
+        }
+
+        public Integer getShortageQuantity() {
+            return requestedQuantity - reservedQuantity;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintient les partitions mensuelles de {@code inventory_movements} : crée à l'avance celles des
+ * mois à venir et détache celles qui sortent de la période de rétention (elles restent en base
+ * comme tables autonomes, prêtes à être archivées). Sans effet si la table n'est pas partitionnée
+ * ou si la base n'est pas PostgreSQL. Les mouvements détachés ne sont plus visibles du rejeu :
+ * {@link #getRetainedSince()} donne la date en deçà de laquelle le journal n'est plus complet, et
+ * {@link #getPartitionedUntil()} celle à partir de laquelle aucune partition n'accueille encore de ligne
+ * (il n'y a volontairement pas de partition DEFAULT : elle empêcherait de créer les mois suivants).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryMovementPartitionManager {
+
+    static final String PARENT_TABLE = "inventory_movements";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${movements.partitioning.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${movements.partitioning.premake-months:3}")
+    private int premakeMonths = 3;
+
+    @Value("${movements.partitioning.retention-months:24}")
+    private int retentionMonths = 24;
+
+    /** Début du plus ancien mois encore attaché, nul tant qu'aucune partition n'a pu être détachée. */
+    private volatile LocalDateTime retainedSince;
+
+    /** Fin (exclue) du dernier mois préparé, nulle tant que les partitions n'ont pas été vérifiées. */
+    private volatile LocalDateTime partitionedUntil;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${movements.partitioning.cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+
+        MaintenanceResult result = maintain(YearMonth.now());
+        if (!result.getCreated().isEmpty() || !result.getDetached().isEmpty()) {
+            log.info("Partitions des mouvements - créées: {}, détachées: {}", result.getCreated(), result.getDetached());
+        }
+    }
+
+    MaintenanceResult maintain(YearMonth currentMonth) {
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?",
+                String.class, PARENT_TABLE);
+
+        List<String> created = new ArrayList<>();
+        for (int offset = 0; offset <= premakeMonths; offset++) {
+            YearMonth month = currentMonth.plusMonths(offset);
+            String name = partitionName(month);
+            if (!existing.contains(name)) {
+                jdbcTemplate.execute(createPartitionSql(month));
+                created.add(name);
+            }
+        }
+        partitionedUntil = currentMonth.plusMonths(premakeMonths + 1L).atDay(1).atStartOfDay();
+
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        retainedSince = oldestKept.atDay(1).atStartOfDay();
+        List<String> detached = new ArrayList<>();
+        for (String name : existing) {
+            Optional<YearMonth> month = monthOf(name);
+            if (month.isPresent() && month.get().isBefore(oldestKept)) {
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name);
+                detached.add(name);
+            }
+        }
+
+        return new MaintenanceResult(created, detached);
+    }
+
+    /**
+     * Date à partir de laquelle le journal des mouvements est complet, vide si la table n'est pas
+     * partitionnée (aucun mouvement n'est alors détaché).
+     */
+    public Optional<LocalDateTime> getRetainedSince() {
+        return Optional.ofNullable(retainedSince);
+    }
+
+    /**
+     * Date à partir de laquelle un mouvement ne trouverait aucune partition, vide si la table n'est pas
+     * partitionnée (aucune borne ne s'applique alors).
+     */
+    public Optional<LocalDateTime> getPartitionedUntil() {
+        return Optional.ofNullable(partitionedUntil);
+    }
+
+    private boolean isPartitioned() {
+        try {
+            Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            if (!Boolean.TRUE.equals(postgres)) {
+                return false;
+            }
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                            "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?)",
+                    Boolean.class, PARENT_TABLE));
+        } catch (DataAccessException e) {
+            log.warn("Impossible de vérifier le partitionnement des mouvements: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(SUFFIX);
+    }
+
+    static String createPartitionSql(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + PARENT_TABLE +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+    }
+
+    static Optional<YearMonth> monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches()
+                ? Optional.of(YearMonth.parse(matcher.group(1), SUFFIX))
+                : Optional.empty();
+    }
+
+    @lombok.Value
+    static class MaintenanceResult {
+        List<String> created;
+        List<String> detached;
+    }
+}
@@ -1,16 +1,23 @@
 package org.example.digitallogisticssupplychainplatform.service;
 
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface InventoryMovementService {
     List<InventoryMovementDTO> findAll();
+    CursorPage<InventoryMovementDTO> findPage(String cursor, Integer size);
+    long streamAll(Consumer<InventoryMovementDTO> sink);
     List<InventoryMovementDTO> findByInventoryId(Long inventoryId);
     List<InventoryMovementDTO> findByProductId(Long productId);
     List<InventoryMovementDTO> findByWarehouseId(Long warehouseId);
     List<InventoryMovementDTO> findByType(String type);
     List<InventoryMovementDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    List<InventoryMovementDTO> findByInventoryId(Long inventoryId, LocalDateTime from, LocalDateTime to);
+    List<InventoryMovementDTO> findByWarehouseId(Long warehouseId, LocalDateTime from, LocalDateTime to);
+    List<InventoryMovementDTO> findByType(String type, LocalDateTime from, LocalDateTime to);
     InventoryMovementDTO findById(Long id);
     InventoryMovementDTO createMovement(InventoryMovementDTO movementDTO);
     void deleteMovement(Long id);
@@ -1,19 +1,29 @@
 package org.example.digitallogisticssupplychainplatform.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
 import org.example.digitallogisticssupplychainplatform.entity.Inventory;
 import org.example.digitallogisticssupplychainplatform.entity.InventoryMovement;
 import org.example.digitallogisticssupplychainplatform.entity.MovementType;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.mapper.InventoryMovementMapper;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
 import org.example.digitallogisticssupplychainplatform.service.InventoryMovementService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +34,14 @@ public class InventoryMovementServiceImpl implements InventoryMovementService {
     private final InventoryMovementRepository movementRepository;
     private final InventoryRepository inventoryRepository;
     private final InventoryMovementMapper movementMapper;
+    private final InventoryMovementPartitionManager partitionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Même délai que le projecteur de photos : un mouvement antérieur à cette borne y serait ignoré. */
+    @Value("${inventory.snapshots.lag-seconds:120}")
+    private long lagSeconds = 120;
 
     @Override
     @Transactional(readOnly = true)
@@ -33,6 +51,39 @@ public class InventoryMovementServiceImpl implements InventoryMovementService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryMovementDTO> findPage(String cursor, Integer size) {
+        int pageSize = CursorPage.resolveSize(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<InventoryMovement> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = movementRepository.findFirstPageWithDetails(limit);
+        } else {
+            String[] parts = CursorPage.decodeCursor(cursor, 2);
+            try {
+                rows = movementRepository.findPageAfterWithDetails(
+                        LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BusinessException("Curseur invalide: " + cursor, e);
+            }
+        }
+
+        List<InventoryMovementDTO> movements = rows.stream()
+                .map(movementMapper::toDto)
+                .collect(Collectors.toList());
+        return CursorPage.of(movements, pageSize,
+                movement -> CursorPage.encodeCursor(movement.getOccurredAt(), movement.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeout = EntityStreams.STREAM_TIMEOUT_SECONDS)
+    public long streamAll(Consumer<InventoryMovementDTO> sink) {
+        return EntityStreams.drain(movementRepository.streamAllWithDetails(), entityManager,
+                movementMapper::toDto, sink);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<InventoryMovementDTO> findByInventoryId(Long inventoryId) {
@@ -74,6 +125,40 @@ public class InventoryMovementServiceImpl implements InventoryMovementService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryMovementDTO> findByInventoryId(Long inventoryId, LocalDateTime from, LocalDateTime to) {
+        validatePeriod(from, to);
+        return movementRepository.findByInventoryIdInPeriod(inventoryId, from, to).stream()
+                .map(movementMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryMovementDTO> findByWarehouseId(Long warehouseId, LocalDateTime from, LocalDateTime to) {
+        validatePeriod(from, to);
+        return movementRepository.findByWarehouseIdInPeriod(warehouseId, from, to).stream()
+                .map(movementMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryMovementDTO> findByType(String type, LocalDateTime from, LocalDateTime to) {
+        validatePeriod(from, to);
+        MovementType movementType = MovementType.valueOf(type.toUpperCase());
+        return movementRepository.findByTypeInPeriod(movementType, from, to).stream()
+                .map(movementMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private void validatePeriod(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException("Période invalide: la date de début doit précéder la date de fin");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public InventoryMovementDTO findById(Long id) {
@@ -89,16 +174,36 @@ public class InventoryMovementServiceImpl implements InventoryMovementService {
         Inventory inventory = inventoryRepository.findById(movementDTO.getInventoryId())
                 .orElseThrow(() -> new RuntimeException("Inventaire non trouvé avec l'id: " + movementDTO.getInventoryId()));
 
-        if (movementDTO.getQuantity() <= 0) {
+        // Les ajustements sont signés (rejeu du journal) ; entrées et sorties sont toujours positives.
+        if (MovementType.ADJUSTMENT.name().equalsIgnoreCase(movementDTO.getType())) {
+            if (movementDTO.getQuantity() == 0) {
+                throw new RuntimeException("L'ajustement ne peut pas être nul");
+            }
+        } else if (movementDTO.getQuantity() <= 0) {
             throw new RuntimeException("La quantité doit être positive");
         }
 
+        // Une photo a pu être figée après une date plus ancienne : le mouvement n'y serait jamais compté
+        LocalDateTime now = LocalDateTime.now();
+        if (movementDTO.getOccurredAt() != null && movementDTO.getOccurredAt().isBefore(now.minusSeconds(lagSeconds))) {
+            throw new BusinessException("Date du mouvement trop ancienne: " + movementDTO.getOccurredAt()
+                    + " (au plus " + lagSeconds + " s dans le passé)");
+        }
+        // Sans partition DEFAULT, PostgreSQL refuserait la ligne au-delà des mois déjà créés
+        if (movementDTO.getOccurredAt() != null) {
+            Optional<LocalDateTime> partitionedUntil = partitionManager.getPartitionedUntil();
+            if (partitionedUntil.isPresent() && !movementDTO.getOccurredAt().isBefore(partitionedUntil.get())) {
+                throw new BusinessException("Date du mouvement trop lointaine: " + movementDTO.getOccurredAt()
+                        + " (avant le " + partitionedUntil.get().toLocalDate() + ")");
+            }
+        }
+
         InventoryMovement movement = movementMapper.toEntity(movementDTO);
         movement.setInventory(inventory);
         movement.setType(MovementType.valueOf(movementDTO.getType().toUpperCase()));
 
         if (movementDTO.getOccurredAt() == null) {
-            movement.setOccurredAt(LocalDateTime.now());
+            movement.setOccurredAt(now);
         }
 
         InventoryMovement saved = movementRepository.save(movement);
@@ -107,11 +212,16 @@ public class InventoryMovementServiceImpl implements InventoryMovementService {
 
 
 
+    /**
+     * Le journal est immuable (photos et rejeu en dépendent) : un mouvement erroné se corrige par
+     * un ajustement de sens inverse, jamais par suppression.
+     */
     @Override
     public void deleteMovement(Long id) {
         if (!movementRepository.existsById(id)) {
             throw new RuntimeException("Mouvement non trouvé avec l'id: " + id);
         }
-        movementRepository.deleteById(id);
+        throw new BusinessException("Le journal des mouvements est immuable: corriger le mouvement " + id
+                + " par un ajustement");
     }
 }
\ No newline at end of file
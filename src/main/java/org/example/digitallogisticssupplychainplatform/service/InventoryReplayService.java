@@ -0,0 +1,201 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.InventorySnapshot;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventorySnapshotRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Reconstruit le stock physique d'un inventaire à une date quelconque à partir du journal :
+ * dernière photo antérieure à la date, puis somme signée des mouvements restants, calculée en
+ * base en une seule requête bornée (élagage des partitions, index (inventory_id, occurred_at)).
+ * Les réservations ne sont pas journalisées et ne font donc pas partie du rejeu. Une date
+ * antérieure à la période de rétention des partitions est refusée : les mouvements détachés
+ * manqueraient à la somme.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReplayService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final WareHouseRepository warehouseRepository;
+    private final InventoryMovementPartitionManager partitionManager;
+
+    /**
+     * Stock physique intégrant tous les mouvements strictement antérieurs à {@code asOf}
+     * (maintenant si {@code asOf} est nul).
+     */
+    public ReplayResult rebuild(Long inventoryId, LocalDateTime asOf) {
+        Inventory inventory = inventoryRepository.findById(inventoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventaire non trouvé avec l'id: " + inventoryId));
+        LocalDateTime target = asOf != null ? asOf : LocalDateTime.now();
+        requireRetained(target);
+
+        ReplayResult result = replay(inventoryId, target,
+                snapshotRepository.findFirstByInventoryIdAndAsOfLessThanEqualOrderByAsOfDesc(inventoryId, target));
+        result.setCurrentQtyOnHand(asOf == null ? inventory.getQtyOnHand() : null);
+        return result;
+    }
+
+    /**
+     * Stock physique d'un produit dans un entrepôt à la date {@code asOf}. La photo est cherchée
+     * directement par (produit, entrepôt), sans charger l'inventaire ; celui-ci n'est lu que si
+     * aucune photo n'est antérieure à la date.
+     */
+    public ReplayResult stockAsOf(Long productId, Long warehouseId, LocalDateTime asOf) {
+        LocalDateTime target = asOf != null ? asOf : LocalDateTime.now();
+        requireRetained(target);
+        Optional<InventorySnapshot> snapshot = snapshotRepository
+                .findFirstByProductIdAndWarehouseIdAndAsOfLessThanEqualOrderByAsOfDesc(productId, warehouseId, target);
+
+        Long inventoryId = snapshot.map(InventorySnapshot::getInventoryId).orElseGet(() -> {
+            Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(productId, warehouseId);
+            if (inventory == null) {
+                throw new ResourceNotFoundException(String.format(
+                        "Inventaire non trouvé pour le produit %d dans l'entrepôt %d", productId, warehouseId));
+            }
+            return inventory.getId();
+        });
+
+        ReplayResult result = replay(inventoryId, target, snapshot);
+        result.setProductId(productId);
+        result.setWarehouseId(warehouseId);
+        return result;
+    }
+
+    /**
+     * Stock physique de tous les inventaires d'un entrepôt à la date {@code asOf}. Les photos sont
+     * écrites par passes contiguës du projecteur : la dernière photo de chaque inventaire antérieure
+     * à la dernière passe vaut donc son stock à cette passe, et seuls les mouvements entre la passe
+     * et {@code asOf} sont rejoués, en une requête agrégée par inventaire.
+     */
+    public WarehouseReplayResult warehouseStockAsOf(Long warehouseId, LocalDateTime asOf) {
+        LocalDateTime target = asOf != null ? asOf : LocalDateTime.now();
+        requireRetained(target);
+        if (!warehouseRepository.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Entrepôt non trouvé avec l'id: " + warehouseId);
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime checkpoint = snapshotRepository.findLatestAsOfAtOrBefore(target);
+        Map<Long, StockAsOf> stock = new TreeMap<>();
+        if (checkpoint != null) {
+            for (InventorySnapshot snapshot : snapshotRepository.findLatestByWarehouseIdAtOrBefore(warehouseId, target)) {
+                stock.put(snapshot.getInventoryId(), new StockAsOf(snapshot.getInventoryId(), snapshot.getProductId(),
+                        snapshot.getQtyOnHand()));
+            }
+        }
+
+        LocalDateTime from = checkpoint != null ? checkpoint : InventorySnapshotProjector.LEDGER_START;
+        long movementsReplayed = 0;
+        for (MovementDeltaDTO delta : movementRepository.sumSignedQuantitiesByWarehouse(warehouseId, from, target)) {
+            StockAsOf line = stock.computeIfAbsent(delta.getInventoryId(),
+                    id -> new StockAsOf(id, delta.getProductId(), 0));
+            line.setQtyOnHand(Math.toIntExact(line.getQtyOnHand() + delta.getQuantity()));
+            movementsReplayed += delta.getMovementCount();
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        log.debug("Rejeu entrepôt {} au {}: {} inventaire(s), {} mouvement(s) après la passe du {} en {} µs",
+                warehouseId, target, stock.size(), movementsReplayed, checkpoint, elapsedMicros);
+
+        return WarehouseReplayResult.builder()
+                .warehouseId(warehouseId)
+                .asOf(target)
+                .snapshotAsOf(checkpoint)
+                .movementsReplayed(movementsReplayed)
+                .totalQtyOnHand(stock.values().stream().mapToLong(StockAsOf::getQtyOnHand).sum())
+                .inventories(new ArrayList<>(stock.values()))
+                .elapsedMicros(elapsedMicros)
+                .build();
+    }
+
+    private void requireRetained(LocalDateTime target) {
+        partitionManager.getRetainedSince()
+                .filter(target::isBefore)
+                .ifPresent(retainedSince -> {
+                    throw new BusinessException("Date antérieure à la période de rétention du journal: " + target
+                            + " (mouvements conservés depuis le " + retainedSince + ")");
+                });
+    }
+
+    private ReplayResult replay(Long inventoryId, LocalDateTime target, Optional<InventorySnapshot> snapshot) {
+        long start = System.nanoTime();
+        LocalDateTime from = snapshot.map(InventorySnapshot::getAsOf).orElse(InventorySnapshotProjector.LEDGER_START);
+        MovementDeltaDTO delta = movementRepository.sumSignedQuantity(inventoryId, from, target);
+
+        long base = snapshot.map(InventorySnapshot::getQtyOnHand).orElse(0);
+        int qtyOnHand = Math.toIntExact(base + delta.getQuantity());
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        log.debug("Rejeu inventaire {} au {}: {} mouvement(s) après la photo du {} en {} µs",
+                inventoryId, target, delta.getMovementCount(), snapshot.map(InventorySnapshot::getAsOf).orElse(null),
+                elapsedMicros);
+
+        return ReplayResult.builder()
+                .inventoryId(inventoryId)
+                .asOf(target)
+                .qtyOnHand(qtyOnHand)
+                .snapshotAsOf(snapshot.map(InventorySnapshot::getAsOf).orElse(null))
+                .movementsReplayed(delta.getMovementCount())
+                .elapsedMicros(elapsedMicros)
+                .build();
+    }
+
+    @Data
+    @Builder
+    public static class ReplayResult {
+        private Long inventoryId;
+        /** Renseignés pour une requête par produit et entrepôt. */
+        private Long productId;
+        private Long warehouseId;
+        private LocalDateTime asOf;
+        private Integer qtyOnHand;
+        private LocalDateTime snapshotAsOf;
+        private Long movementsReplayed;
+        /** Valeur stockée dans {@code Inventory}, renseignée seulement pour un rejeu à l'instant présent. */
+        private Integer currentQtyOnHand;
+        private Long elapsedMicros;
+    }
+
+    @Data
+    @Builder
+    public static class WarehouseReplayResult {
+        private Long warehouseId;
+        private LocalDateTime asOf;
+        private LocalDateTime snapshotAsOf;
+        private Long movementsReplayed;
+        private Long totalQtyOnHand;
+        private List<StockAsOf> inventories;
+        private Long elapsedMicros;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StockAsOf {
+        private Long inventoryId;
+        private Long productId;
+        private Integer qtyOnHand;
+    }
+}
@@ -6,14 +6,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.config.OptimisticRetry;
 import org.example.digitallogisticssupplychainplatform.entity.*;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
 import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
 import org.example.digitallogisticssupplychainplatform.mapper.InventoryMapper;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
 import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
 import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
 import org.example.digitallogisticssupplychainplatform.service.InventoryService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,7 @@ public class InventoryServiceImpl implements InventoryService {
     private final WareHouseRepository warehouseRepository;
     private final ProductRepository productRepository;
     private final InventoryMapper inventoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -74,21 +78,40 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         Inventory saved = inventoryRepository.save(inventory);
+        eventPublisher.publishEvent(InventoryChangedEvent.created(saved.getId(), product.getId(), warehouse.getId(),
+                saved.getQtyOnHand(), saved.getQtyReserved()));
         return inventoryMapper.toDto(saved);
     }
 
     @Override
+    @OptimisticRetry
     public InventoryDTO update(Long id, InventoryDTO inventoryDTO) {
         return inventoryRepository.findById(id)
                 .map(existingInventory -> {
                     WareHouse warehouse = warehouseRepository.findById(inventoryDTO.getWarehouseId())
                             .orElseThrow(() -> new RuntimeException("Entrepôt non trouvé avec l'id: " + inventoryDTO.getWarehouseId()));
 
-                    existingInventory.setQtyOnHand(inventoryDTO.getQtyOnHand());
-                    existingInventory.setQtyReserved(inventoryDTO.getQtyReserved());
+                    Long previousWarehouseId = existingInventory.getWarehouse().getId();
+                    int previousOnHand = quantity(existingInventory.getQtyOnHand());
+                    int previousReserved = quantity(existingInventory.getQtyReserved());
+                    // Champ absent du DTO : la quantité en place est conservée
+                    int qtyOnHand = inventoryDTO.getQtyOnHand() != null ? inventoryDTO.getQtyOnHand() : previousOnHand;
+                    int qtyReserved = inventoryDTO.getQtyReserved() != null ? inventoryDTO.getQtyReserved() : previousReserved;
+
+                    existingInventory.setQtyOnHand(qtyOnHand);
+                    existingInventory.setQtyReserved(qtyReserved);
                     existingInventory.setWarehouse(warehouse);
 
                     Inventory updated = inventoryRepository.save(existingInventory);
+                    Long productId = existingInventory.getProduct().getId();
+                    if (previousWarehouseId.equals(warehouse.getId())) {
+                        eventPublisher.publishEvent(InventoryChangedEvent.updated(id, productId, warehouse.getId(),
+                                qtyOnHand - previousOnHand, qtyReserved - previousReserved));
+                    } else {
+                        eventPublisher.publishEvent(InventoryChangedEvent.deleted(id, productId, previousWarehouseId));
+                        eventPublisher.publishEvent(InventoryChangedEvent.created(id, productId, warehouse.getId(),
+                                qtyOnHand, qtyReserved));
+                    }
                     return inventoryMapper.toDto(updated);
                 })
                 .orElseThrow(() -> new RuntimeException("Inventaire non trouvé avec l'id: " + id));
@@ -104,19 +127,29 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         inventoryRepository.deleteById(id);
+        eventPublisher.publishEvent(InventoryChangedEvent.deleted(id, inventory.getProduct().getId(),
+                inventory.getWarehouse().getId()));
     }
 
     @Override
+    @OptimisticRetry
     public InventoryDTO updateQuantities(Long id, Integer qtyOnHand, Integer qtyReserved) {
         return inventoryRepository.findById(id)
                 .map(inventory -> {
+                    int onHandDelta = qtyOnHand - inventory.getQtyOnHand();
+                    int reservedDelta = qtyReserved - inventory.getQtyReserved();
                     inventory.setQtyOnHand(qtyOnHand);
                     inventory.setQtyReserved(qtyReserved);
 
                     Inventory updated = inventoryRepository.save(inventory);
+                    eventPublisher.publishEvent(InventoryChangedEvent.updated(id,
+                            inventory.getProduct().getId(), inventory.getWarehouse().getId(), onHandDelta, reservedDelta));
                     return inventoryMapper.toDto(updated);
                 })
                 .orElseThrow(() -> new RuntimeException("Inventaire non trouvé avec l'id: " + id));
     }
 
+    private static int quantity(Integer value) {
+        return value != null ? value : 0;
+    }
 }
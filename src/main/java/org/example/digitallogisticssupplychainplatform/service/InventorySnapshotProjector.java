@@ -0,0 +1,117 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO;
+import org.example.digitallogisticssupplychainplatform.entity.InventorySnapshot;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventorySnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Projecteur incrémental des photos de stock. Chaque passage agrège en une requête les mouvements
+ * survenus depuis la dernière photo et écrit une nouvelle photo pour chaque inventaire touché.
+ * La borne haute est décalée de {@code lag-seconds} : un mouvement plus ancien que ce délai
+ * appartient forcément à une transaction terminée (délai > timeout transactionnel), ce qui évite
+ * de figer une photo avant le commit d'un mouvement antérieur.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventorySnapshotProjector {
+
+    static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final InventoryMovementRepository movementRepository;
+    private final InventorySnapshotRepository snapshotRepository;
+
+    @Value("${inventory.snapshots.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${inventory.snapshots.lag-seconds:120}")
+    private long lagSeconds = 120;
+
+    @Scheduled(fixedDelayString = "${inventory.snapshots.interval-ms:900000}",
+            initialDelayString = "${inventory.snapshots.initial-delay-ms:60000}")
+    @Transactional
+    public void scheduledProjection() {
+        if (enabled) {
+            project();
+        }
+    }
+
+    @Transactional
+    public ProjectionResult project() {
+        return projectUntil(LocalDateTime.now().minusSeconds(lagSeconds));
+    }
+
+    @Transactional
+    public ProjectionResult projectUntil(LocalDateTime until) {
+        LocalDateTime from = Optional.ofNullable(snapshotRepository.findLatestAsOf()).orElse(LEDGER_START);
+        if (!from.isBefore(until)) {
+            return ProjectionResult.builder().from(from).until(from).snapshotsWritten(0).movementsFolded(0L).build();
+        }
+
+        long start = System.nanoTime();
+        List<MovementDeltaDTO> deltas = movementRepository.sumSignedQuantitiesByInventory(from, until);
+        if (deltas.isEmpty()) {
+            return ProjectionResult.builder().from(from).until(until).snapshotsWritten(0).movementsFolded(0L).build();
+        }
+
+        Map<Long, InventorySnapshot> previous = snapshotRepository
+                .findLatestByInventoryIds(deltas.stream().map(MovementDeltaDTO::getInventoryId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(InventorySnapshot::getInventoryId, Function.identity(), (a, b) -> a));
+
+        List<InventorySnapshot> snapshots = new ArrayList<>(deltas.size());
+        long movementsFolded = 0;
+        for (MovementDeltaDTO delta : deltas) {
+            InventorySnapshot last = previous.get(delta.getInventoryId());
+            long base = last != null ? last.getQtyOnHand() : 0;
+            long total = last != null ? last.getMovementCount() : 0;
+
+            snapshots.add(InventorySnapshot.builder()
+                    .inventoryId(delta.getInventoryId())
+                    .productId(delta.getProductId())
+                    .warehouseId(delta.getWarehouseId())
+                    .qtyOnHand(Math.toIntExact(base + delta.getQuantity()))
+                    .movementCount(total + delta.getMovementCount())
+                    .asOf(until)
+                    .build());
+            movementsFolded += delta.getMovementCount();
+        }
+        snapshotRepository.saveAll(snapshots);
+
+        log.info("Photos de stock jusqu'à {}: {} inventaire(s), {} mouvement(s) intégrés en {} ms",
+                until, snapshots.size(), movementsFolded, (System.nanoTime() - start) / 1_000_000);
+
+        return ProjectionResult.builder()
+                .from(from)
+                .until(until)
+                .snapshotsWritten(snapshots.size())
+                .movementsFolded(movementsFolded)
+                .build();
+    }
+
+    @Data
+    @Builder
+    public static class ProjectionResult {
+        private LocalDateTime from;
+        private LocalDateTime until;
+        private Integer snapshotsWritten;
+        private Long movementsFolded;
+    }
+}
@@ -0,0 +1,392 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.entity.OrderOperationRecord;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.example.digitallogisticssupplychainplatform.repository.OrderOperationRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exécution asynchrone des réservations et expéditions de commandes. Une soumission enregistre
+ * l'opération et rend aussitôt la main ; un pool de workers l'exécute ensuite, chaque opération
+ * dans sa propre transaction. Chaque entrepôt a sa file : au plus {@code per-warehouse-concurrency}
+ * opérations y tournent en même temps, les suivantes attendent sans occuper de worker. Une
+ * commande n'a qu'une opération active à la fois : une réservation (simple ou en lot) déjà en
+ * attente ou en cours est renvoyée telle quelle à toute nouvelle réservation, une expédition à toute
+ * nouvelle expédition, et une opération d'une autre nature est refusée. La concurrence avec les
+ * appels synchrones est réglée par le verrou de ligne pris par {@link SalesOrderBusinessService}.
+ * Une opération n'est consultable que par l'utilisateur qui l'a soumise, pendant
+ * {@code retention-minutes} après sa fin.
+ * <p>
+ * Les files et les résultats détaillés ne vivent qu'en mémoire : un redémarrage abandonne les
+ * opérations en attente ou en cours, sans les rejouer. Chaque opération acceptée est toutefois
+ * tracée dans {@code order_operations} ; au démarrage, celles restées inachevées sont closes en
+ * FAILED, et la consultation d'une opération absente de la mémoire se rabat sur cette trace. Le
+ * client qui a reçu un identifiant obtient donc toujours un état final, à lui de resoumettre.
+ */
+@Component
+@Slf4j
+public class OrderOperationQueue {
+
+    static final String INTERRUPTED = "Opération interrompue par un redémarrage du service, à resoumettre";
+
+    private final SalesOrderBusinessService salesOrderBusinessService;
+    private final OrderOperationRecordRepository operationRecordRepository;
+    private final ExecutorService workers;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    /** Files par entrepôt et opérations actives par commande ; gardées par {@code lanes}. */
+    private final Map<Long, WarehouseLane> lanes = new HashMap<>();
+    private final Map<Long, Operation> activeByOrder = new HashMap<>();
+    private int pending;
+
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Value("${orders.async.per-warehouse-concurrency:2}")
+    private int perWarehouseConcurrency = 2;
+
+    @Value("${orders.async.max-pending:10000}")
+    private int maxPending = 10000;
+
+    @Value("${orders.async.retention-minutes:60}")
+    private long retentionMinutes = 60;
+
+    public OrderOperationQueue(SalesOrderBusinessService salesOrderBusinessService,
+                               OrderOperationRecordRepository operationRecordRepository,
+                               @Value("${orders.async.worker-threads:8}") int workerThreads) {
+        this.salesOrderBusinessService = salesOrderBusinessService;
+        this.operationRecordRepository = operationRecordRepository;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-operation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Clôt en FAILED les opérations acceptées par une instance précédente et jamais terminées.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int recoverInterrupted() {
+        int interrupted = operationRecordRepository.failUnfinished(startedAt, OperationState.FAILED.name(),
+                LocalDateTime.now(), INTERRUPTED);
+        if (interrupted > 0) {
+            log.warn("{} opération(s) de commande interrompue(s) par le redémarrage, closes en échec", interrupted);
+        }
+        return interrupted;
+    }
+
+    /**
+     * Met en file une opération sur une commande.
+     *
+     * @param principal utilisateur qui soumet, seul autorisé à consulter l'opération
+     * @return l'état de l'opération créée, ou de celle déjà en file pour cette commande
+     */
+    public OperationStatus submit(OperationType type, Long orderId, Long warehouseId, String principal) {
+        Operation operation;
+        boolean dispatch = false;
+        synchronized (lanes) {
+            Operation active = activeByOrder.get(orderId);
+            if (active != null) {
+                if (active.type.isReservation() != type.isReservation()) {
+                    throw new BusinessException("Opération " + active.type + " déjà en cours pour la commande "
+                            + orderId + ", réessayez après sa fin");
+                }
+                if (!active.principal.equals(principal)) {
+                    throw new BusinessException("Opération déjà en cours pour la commande " + orderId);
+                }
+                return active.status();
+            }
+            if (pending >= maxPending) {
+                throw new BusinessException("File des opérations de commande pleine, réessayez plus tard");
+            }
+
+            operation = new Operation(UUID.randomUUID().toString(), type, orderId, warehouseId, principal);
+            // Tracée avant d'être visible : une fin d'opération trouve toujours sa ligne à clore
+            operationRecordRepository.save(OrderOperationRecord.builder()
+                    .id(operation.id)
+                    .type(type.name())
+                    .orderId(orderId)
+                    .warehouseId(warehouseId)
+                    .principal(principal)
+                    .state(OperationState.QUEUED.name())
+                    .submittedAt(operation.submittedAt)
+                    .build());
+            operations.put(operation.id, operation);
+            activeByOrder.put(orderId, operation);
+            pending++;
+
+            WarehouseLane lane = lanes.computeIfAbsent(warehouseId, id -> new WarehouseLane());
+            if (lane.running < perWarehouseConcurrency) {
+                lane.running++;
+                dispatch = true;
+            } else {
+                lane.waiting.add(operation);
+            }
+        }
+
+        if (dispatch) {
+            dispatch(operation);
+        }
+        log.debug("Opération {} {} en file pour la commande {} (entrepôt {})",
+                operation.id, type, orderId, warehouseId);
+        return operation.status();
+    }
+
+    /**
+     * État d'une opération ; celle d'un autre utilisateur est traitée comme introuvable. Une
+     * opération qui n'est plus en mémoire est relue depuis sa trace, sans résultat détaillé.
+     */
+    public OperationStatus getStatus(String operationId, String principal) {
+        Operation operation = operations.get(operationId);
+        if (operation != null) {
+            if (!operation.principal.equals(principal)) {
+                throw new ResourceNotFoundException("Opération introuvable: " + operationId);
+            }
+            return operation.status();
+        }
+        return operationRecordRepository.findByIdAndPrincipal(operationId, principal)
+                .map(record -> OperationStatus.builder()
+                        .operationId(record.getId())
+                        .type(OperationType.valueOf(record.getType()))
+                        .orderId(record.getOrderId())
+                        .warehouseId(record.getWarehouseId())
+                        .state(OperationState.valueOf(record.getState()))
+                        .submittedAt(record.getSubmittedAt())
+                        .finishedAt(record.getFinishedAt())
+                        .error(record.getError())
+                        .build())
+                .orElseThrow(() -> new ResourceNotFoundException("Opération introuvable: " + operationId));
+    }
+
+    public QueueStats getStats() {
+        int queued = 0;
+        int running = 0;
+        synchronized (lanes) {
+            for (WarehouseLane lane : lanes.values()) {
+                queued += lane.waiting.size();
+                running += lane.running;
+            }
+        }
+        return QueueStats.builder()
+                .queued(queued)
+                .running(running)
+                .succeeded(succeeded.get())
+                .failed(failed.get())
+                .retained(operations.size())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${orders.async.purge-interval-ms:60000}")
+    public int purge() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int before = operations.size();
+        operations.values().removeIf(operation -> operation.finishedBefore(threshold));
+        operationRecordRepository.deleteFinishedBefore(threshold);
+        return before - operations.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void dispatch(Operation operation) {
+        try {
+            workers.execute(() -> run(operation));
+        } catch (RejectedExecutionException e) {
+            failed.incrementAndGet();
+            operation.complete(OperationState.FAILED, "Service en cours d'arrêt");
+            finish(operation);
+        }
+    }
+
+    private void run(Operation operation) {
+        operation.start();
+        try {
+            switch (operation.type) {
+                case RESERVE -> operation.reserved(
+                        salesOrderBusinessService.reserveOrder(operation.orderId, operation.warehouseId));
+                case RESERVE_BATCH -> operation.reserved(
+                        salesOrderBusinessService.reserveOrderBatch(operation.orderId, operation.warehouseId));
+                case SHIP -> operation.shipped(
+                        salesOrderBusinessService.shipOrder(operation.orderId, operation.warehouseId));
+            }
+            succeeded.incrementAndGet();
+            operation.complete(OperationState.SUCCEEDED, null);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            operation.complete(OperationState.FAILED, e.getMessage());
+            log.warn("Opération {} {} sur la commande {} en échec: {}",
+                    operation.id, operation.type, operation.orderId, e.getMessage());
+        } finally {
+            finish(operation);
+        }
+    }
+
+    private void finish(Operation operation) {
+        OperationStatus status = operation.status();
+        try {
+            operationRecordRepository.complete(operation.id, status.getState().name(), status.getFinishedAt(),
+                    status.getError());
+        } catch (RuntimeException e) {
+            log.error("Trace de l'opération {} non mise à jour: {}", operation.id, e.getMessage());
+        }
+
+        Operation next;
+        synchronized (lanes) {
+            activeByOrder.remove(operation.orderId, operation);
+            pending--;
+
+            WarehouseLane lane = lanes.get(operation.warehouseId);
+            next = lane.waiting.poll();
+            if (next == null) {
+                lane.running--;
+                if (lane.running == 0) {
+                    lanes.remove(operation.warehouseId);
+                }
+            }
+        }
+        if (next != null) {
+            dispatch(next);
+        }
+    }
+
+    public enum OperationType {
+        RESERVE,
+        RESERVE_BATCH,
+        SHIP;
+
+        boolean isReservation() {
+            return this != SHIP;
+        }
+    }
+
+    public enum OperationState {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private static final class WarehouseLane {
+        private final Deque<Operation> waiting = new ArrayDeque<>();
+        private int running;
+    }
+
+    private static final class Operation {
+        private final String id;
+        private final OperationType type;
+        private final Long orderId;
+        private final Long warehouseId;
+        private final String principal;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private OperationState state = OperationState.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private SalesOrderBusinessService.ReservationResult reservation;
+        private SalesOrderBusinessService.ShipmentResult shipment;
+        private String error;
+
+        private Operation(String id, OperationType type, Long orderId, Long warehouseId, String principal) {
+            this.id = id;
+            this.type = type;
+            this.orderId = orderId;
+            this.warehouseId = warehouseId;
+            this.principal = principal;
+        }
+
+        synchronized void start() {
+            state = OperationState.RUNNING;
+            startedAt = LocalDateTime.now();
+        }
+
+        synchronized void reserved(SalesOrderBusinessService.ReservationResult result) {
+            reservation = result;
+        }
+
+        synchronized void shipped(SalesOrderBusinessService.ShipmentResult result) {
+            shipment = result;
+        }
+
+        synchronized void complete(OperationState finalState, String failure) {
+            state = finalState;
+            error = failure;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized boolean finishedBefore(LocalDateTime threshold) {
+            return finishedAt != null && finishedAt.isBefore(threshold);
+        }
+
+        synchronized OperationStatus status() {
+            return OperationStatus.builder()
+                    .operationId(id)
+                    .type(type)
+                    .orderId(orderId)
+                    .warehouseId(warehouseId)
+                    .state(state)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .reservation(reservation)
+                    .shipment(shipment)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    @Data
+    @Builder
+    public static class OperationStatus {
+        private String operationId;
+        private OperationType type;
+        private Long orderId;
+        private Long warehouseId;
+        private OperationState state;
+        private LocalDateTime submittedAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private SalesOrderBusinessService.ReservationResult reservation;
+        private SalesOrderBusinessService.ShipmentResult shipment;
+        private String error;
+    }
+
+    @Data
+    @Builder
+    public static class QueueStats {
+        private int queued;
+        private int running;
+        private long succeeded;
+        private long failed;
+        private int retained;
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.OrderStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ShipmentStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent.Status;
+import org.example.digitallogisticssupplychainplatform.event.ShipmentStatusChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ShipmentRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs du tableau de bord (commandes par étape, expéditions par statut), tenus en mémoire et
+ * mis à jour par les {@link OrderStatusChangedEvent} et {@link ShipmentStatusChangedEvent} après
+ * commit : une lecture ne touche pas la base. Une réconciliation périodique recompte tout en deux
+ * requêtes d'agrégat et remplace les compteurs, les transitions reçues pendant le comptage étant
+ * rejouées par-dessus ; une transition validée juste avant le comptage mais notifiée après peut
+ * être comptée deux fois, l'écart disparaît au passage suivant. Tant que le premier comptage n'est
+ * pas fait, la lecture le déclenche.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusDashboard {
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final ShipmentRepository shipmentRepository;
+
+    /** Compteurs indexés par ordinal ; gardés par le moniteur de l'instance. */
+    private final long[] orders = new long[Status.values().length];
+    private final long[] shipments = new long[ShipmentStatus.values().length];
+
+    /** Transitions reçues pendant une réconciliation, nuls en dehors. */
+    private long[] orderDeltas;
+    private long[] shipmentDeltas;
+
+    private final Object reconcileLock = new Object();
+    private final AtomicLong eventsApplied = new AtomicLong();
+    private final AtomicLong reconciliations = new AtomicLong();
+    private volatile boolean ready;
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile long lastReconcileMillis;
+    private volatile long lastDrift;
+
+    public Dashboard getDashboard() {
+        if (!ready) {
+            reconcile();
+        }
+        synchronized (this) {
+            return Dashboard.builder()
+                    .orders(OrderStatusCountsDTO.builder()
+                            .pending(orders[Status.PENDING.ordinal()])
+                            .reserved(orders[Status.RESERVED.ordinal()])
+                            .shipped(orders[Status.SHIPPED.ordinal()])
+                            .delivered(orders[Status.DELIVERED.ordinal()])
+                            .build())
+                    .shipments(ShipmentStatusCountsDTO.builder()
+                            .planned(shipments[ShipmentStatus.PLANNED.ordinal()])
+                            .inTransit(shipments[ShipmentStatus.IN_TRANSIT.ordinal()])
+                            .delivered(shipments[ShipmentStatus.DELIVERED.ordinal()])
+                            .cancelled(shipments[ShipmentStatus.CANCELLED.ordinal()])
+                            .build())
+                    .eventsApplied(eventsApplied.get())
+                    .reconciliations(reconciliations.get())
+                    .lastReconciledAt(lastReconciledAt)
+                    .lastReconcileMillis(lastReconcileMillis)
+                    .lastDrift(lastDrift)
+                    .build();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        synchronized (this) {
+            move(orders, orderDeltas, event.getFrom(), event.getTo());
+        }
+        eventsApplied.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentStatusChanged(ShipmentStatusChangedEvent event) {
+        synchronized (this) {
+            move(shipments, shipmentDeltas, event.getFrom(), event.getTo());
+        }
+        eventsApplied.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+        log.info("Tableau de bord chargé: {} commande(s), {} expédition(s)", sum(orders), sum(shipments));
+    }
+
+    /**
+     * Recompte commandes et expéditions depuis la base et remplace les compteurs.
+     *
+     * @return l'écart total corrigé, en nombre de commandes et d'expéditions
+     */
+    @Scheduled(initialDelayString = "${orders.dashboard.reconcile-interval-ms:60000}",
+            fixedDelayString = "${orders.dashboard.reconcile-interval-ms:60000}")
+    public long reconcile() {
+        synchronized (reconcileLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                orderDeltas = new long[orders.length];
+                shipmentDeltas = new long[shipments.length];
+            }
+
+            long drift;
+            try {
+                OrderStatusCountsDTO orderCounts = salesOrderRepository.countPerStatus();
+                ShipmentStatusCountsDTO shipmentCounts = shipmentRepository.countPerStatus();
+
+                long[] countedOrders = new long[orders.length];
+                countedOrders[Status.PENDING.ordinal()] = orderCounts.getPending();
+                countedOrders[Status.RESERVED.ordinal()] = orderCounts.getReserved();
+                countedOrders[Status.SHIPPED.ordinal()] = orderCounts.getShipped();
+                countedOrders[Status.DELIVERED.ordinal()] = orderCounts.getDelivered();
+
+                long[] countedShipments = new long[shipments.length];
+                countedShipments[ShipmentStatus.PLANNED.ordinal()] = shipmentCounts.getPlanned();
+                countedShipments[ShipmentStatus.IN_TRANSIT.ordinal()] = shipmentCounts.getInTransit();
+                countedShipments[ShipmentStatus.DELIVERED.ordinal()] = shipmentCounts.getDelivered();
+                countedShipments[ShipmentStatus.CANCELLED.ordinal()] = shipmentCounts.getCancelled();
+
+                synchronized (this) {
+                    drift = replace(orders, countedOrders, orderDeltas)
+                            + replace(shipments, countedShipments, shipmentDeltas);
+                }
+            } finally {
+                synchronized (this) {
+                    orderDeltas = null;
+                    shipmentDeltas = null;
+                }
+            }
+
+            reconciliations.incrementAndGet();
+            lastDrift = drift;
+            lastReconciledAt = LocalDateTime.now();
+            lastReconcileMillis = System.currentTimeMillis() - start;
+            if (drift > 0 && ready) {
+                log.warn("Tableau de bord recalé: écart de {} corrigé", drift);
+            }
+            ready = true;
+            return drift;
+        }
+    }
+
+    private static void move(long[] counts, long[] deltas, Enum<?> from, Enum<?> to) {
+        if (from != null) {
+            counts[from.ordinal()]--;
+            if (deltas != null) {
+                deltas[from.ordinal()]--;
+            }
+        }
+        if (to != null) {
+            counts[to.ordinal()]++;
+            if (deltas != null) {
+                deltas[to.ordinal()]++;
+            }
+        }
+    }
+
+    private static long replace(long[] counts, long[] counted, long[] deltas) {
+        long drift = 0;
+        for (int i = 0; i < counts.length; i++) {
+            long value = counted[i] + deltas[i];
+            drift += Math.abs(counts[i] - value);
+            counts[i] = value;
+        }
+        return drift;
+    }
+
+    private synchronized long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Data
+    @Builder
+    public static class Dashboard {
+        private OrderStatusCountsDTO orders;
+        private ShipmentStatusCountsDTO shipments;
+        private long eventsApplied;
+        private long reconciliations;
+        private LocalDateTime lastReconciledAt;
+        private long lastReconcileMillis;
+        private long lastDrift;
+    }
+}
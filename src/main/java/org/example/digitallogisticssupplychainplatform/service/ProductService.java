@@ -1,11 +1,15 @@
 package org.example.digitallogisticssupplychainplatform.service;
 
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.ProductDTO;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductService {
     List<ProductDTO> findAll();
+    CursorPage<ProductDTO> findPage(String cursor, Integer size);
+    long streamAll(Consumer<ProductDTO> sink);
     List<ProductDTO> findAllActive();
     Optional<ProductDTO> findById(Long id);
     Optional<ProductDTO> findByCode(String code);
@@ -1,5 +1,8 @@
 package org.example.digitallogisticssupplychainplatform.service;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.ProductDTO;
 import org.example.digitallogisticssupplychainplatform.entity.Product;
 import org.example.digitallogisticssupplychainplatform.entity.ProductStatus;
@@ -7,12 +10,14 @@ import org.example.digitallogisticssupplychainplatform.entity.User;
 import org.example.digitallogisticssupplychainplatform.mapper.ProductMapper;
 import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
 import org.example.digitallogisticssupplychainplatform.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +29,9 @@ public class ProductServiceImpl implements ProductService {
     private final UserRepository userRepository;
     private final ProductMapper productMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> findAll() {
@@ -32,6 +40,25 @@ public class ProductServiceImpl implements ProductService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> findPage(String cursor, Integer size) {
+        int pageSize = CursorPage.resolveSize(size);
+        List<ProductDTO> rows = productRepository
+                .findByIdGreaterThanOrderByIdAsc(CursorPage.decodeIdCursor(cursor), PageRequest.ofSize(pageSize + 1))
+                .stream()
+                .map(productMapper::toDto)
+                .collect(Collectors.toList());
+        return CursorPage.of(rows, pageSize, dto -> CursorPage.encodeCursor(dto.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeout = EntityStreams.STREAM_TIMEOUT_SECONDS)
+    public long streamAll(Consumer<ProductDTO> sink) {
+        return EntityStreams.drain(productRepository.streamAllByOrderByIdAsc(), entityManager,
+                productMapper::toDto, sink);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ProductDTO> findAllActive() {
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.config.OptimisticRetry;
 import org.example.digitallogisticssupplychainplatform.entity.*;
 import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
@@ -14,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -25,9 +27,11 @@ public class PurchaseOrderBusinessService {
     private final PurchaseOrderLineRepository purchaseOrderLineRepository;
     private final InventoryBusinessService inventoryBusinessService;
     private final InventoryRepository inventoryRepository;
+    private final AvailableToPromiseCache availabilityCache;
     private final ProductRepository productRepository;
     private final WareHouseRepository warehouseRepository;
 
+    @OptimisticRetry
     public ReceiptResult receiveFullOrder(Long purchaseOrderId, Long warehouseId) {
         PurchaseOrder purchaseOrder = getPurchaseOrderOrThrow(purchaseOrderId);
         validateWarehouse(warehouseId);
@@ -41,23 +45,26 @@ public class PurchaseOrderBusinessService {
         }
 
         List<String> inboundMovements = new ArrayList<>();
+        List<InventoryBusinessService.InboundLine> inboundLines = new ArrayList<>();
 
         for (PurchaseOrderLine line : purchaseOrder.getOrderLines()) {
-            inventoryBusinessService.recordInbound(
+            inboundLines.add(new InventoryBusinessService.InboundLine(
                     line.getProduct().getId(),
-                    warehouseId,
                     line.getQuantity(),
-                    "PO-" + purchaseOrderId,
                     "Réception bon de commande fournisseur - Produit: " + line.getProduct().getName()
-            );
+            ));
 
             inboundMovements.add("✓ " + line.getProduct().getName() +
                     ": " + line.getQuantity() + " unités reçues");
 
-            log.info("Produit {} - {} unités ajoutées au stock via PO {}",
+            log.debug("Produit {} - {} unités ajoutées au stock via PO {}",
                     line.getProduct().getCode(), line.getQuantity(), purchaseOrderId);
         }
 
+        if (!inboundLines.isEmpty()) {
+            inventoryBusinessService.recordInboundBatch(warehouseId, inboundLines, "PO-" + purchaseOrderId);
+        }
+
         purchaseOrder.setStatus(PurchaseOrderStatus.DELIVERED);
         purchaseOrderRepository.save(purchaseOrder);
 
@@ -184,11 +191,19 @@ public class PurchaseOrderBusinessService {
         List<ProductStockInfo> productStocks = new ArrayList<>();
 
         for (PurchaseOrderLine line : purchaseOrder.getOrderLines()) {
-            Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(
-                    line.getProduct().getId(), warehouseId);
-
-            Integer qtyOnHand = inventory != null ? inventory.getQtyOnHand() : 0;
-            Integer qtyReserved = inventory != null ? inventory.getQtyReserved() : 0;
+            Integer qtyOnHand;
+            Integer qtyReserved;
+            Optional<AvailableToPromiseCache.StockLevel> cached =
+                    availabilityCache.find(line.getProduct().getId(), warehouseId);
+            if (cached.isPresent()) {
+                qtyOnHand = cached.get().getQtyOnHand();
+                qtyReserved = cached.get().getQtyReserved();
+            } else {
+                Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(
+                        line.getProduct().getId(), warehouseId);
+                qtyOnHand = inventory != null ? inventory.getQtyOnHand() : 0;
+                qtyReserved = inventory != null ? inventory.getQtyReserved() : 0;
+            }
             Integer available = qtyOnHand - qtyReserved;
 
             productStocks.add(ProductStockInfo.builder()
@@ -7,11 +7,15 @@ import org.example.digitallogisticssupplychainplatform.repository.PurchaseOrderR
 import org.example.digitallogisticssupplychainplatform.repository.SupplierRepository;
 import org.example.digitallogisticssupplychainplatform.repository.UserRepository;
 import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +28,9 @@ public class PurchaseOrderService {
     private final ProductRepository productRepository;
     private final PurchaseOrderMapper purchaseOrderMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
     public PurchaseOrderDTO createPurchaseOrder(CreatePurchaseOrderRequest request) {
         Supplier supplier = supplierRepository.findById(request.getSupplierId())
@@ -53,6 +60,23 @@ public class PurchaseOrderService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<PurchaseOrderDTO> getPurchaseOrdersPage(String cursor, Integer size) {
+        int pageSize = CursorPage.resolveSize(size);
+        List<PurchaseOrderDTO> rows = purchaseOrderRepository
+                .findByIdGreaterThanOrderByIdAsc(CursorPage.decodeIdCursor(cursor), PageRequest.ofSize(pageSize + 1))
+                .stream()
+                .map(purchaseOrderMapper::toDTO)
+                .collect(Collectors.toList());
+        return CursorPage.of(rows, pageSize, dto -> CursorPage.encodeCursor(dto.getId()));
+    }
+
+    @Transactional(readOnly = true, timeout = EntityStreams.STREAM_TIMEOUT_SECONDS)
+    public long streamAllPurchaseOrders(Consumer<PurchaseOrderDTO> sink) {
+        return EntityStreams.drain(purchaseOrderRepository.streamAllByOrderByIdAsc(), entityManager,
+                purchaseOrderMapper::toDTO, sink);
+    }
+
     @Transactional(readOnly = true)
     public PurchaseOrderDTO getPurchaseOrderById(Long id) {
         PurchaseOrder purchaseOrder = purchaseOrderRepository.findById(id)
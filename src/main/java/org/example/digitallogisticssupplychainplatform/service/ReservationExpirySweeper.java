@@ -0,0 +1,139 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationExpiryDTO;
+import org.example.digitallogisticssupplychainplatform.event.OrderReservationEvent;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Libère les réservations de commandes arrivées à échéance. Les échéances sont tenues dans une
+ * {@link ReservationTimingWheel} alimentée par les {@link OrderReservationEvent} : chaque passage
+ * ne traite que les commandes échues, sans balayer la table. La roue est rechargée au démarrage
+ * par une seule requête indexée. Les commandes échues sont libérées par lots ; un lot en échec est
+ * rejoué commande par commande et les commandes encore en échec sont replanifiées.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpirySweeper {
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final SalesOrderBusinessService salesOrderBusinessService;
+
+    private final ReservationTimingWheel wheel = new ReservationTimingWheel(1000, 64, 3, System.currentTimeMillis());
+    private final AtomicLong expiredOrders = new AtomicLong();
+    private final AtomicLong expiredUnits = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile LocalDateTime lastSweepAt;
+
+    @Value("${orders.reservation.sweeper.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${orders.reservation.sweeper.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${orders.reservation.sweeper.retry-delay-ms:60000}")
+    private long retryDelayMs = 60000;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(OrderReservationEvent event) {
+        if (event.getExpiresAt() == null) {
+            wheel.cancel(event.getOrderId());
+        } else {
+            wheel.schedule(event.getOrderId(), toEpochMillis(event.getExpiresAt()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ReservationExpiryDTO> pending = salesOrderRepository.findPendingReservationExpiries();
+        pending.forEach(expiry -> wheel.schedule(expiry.getOrderId(), toEpochMillis(expiry.getExpiresAt())));
+        log.info("Échéances de réservation chargées: {}", pending.size());
+    }
+
+    @Scheduled(fixedDelayString = "${orders.reservation.sweeper.interval-ms:1000}")
+    public void scheduledSweep() {
+        if (enabled) {
+            sweep(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Avance la roue jusqu'à {@code now} et libère les commandes échues.
+     *
+     * @return le nombre de commandes effectivement expirées
+     */
+    public int sweep(long now) {
+        List<Long> due = wheel.advance(now);
+        lastSweepAt = LocalDateTime.now();
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expired += record(salesOrderBusinessService.expireReservations(batch, cutoff));
+            } catch (RuntimeException e) {
+                log.warn("Expiration en lot de {} commande(s) échouée, reprise unitaire: {}", batch.size(), e.getMessage());
+                for (Long orderId : batch) {
+                    try {
+                        expired += record(salesOrderBusinessService.expireReservations(List.of(orderId), cutoff));
+                    } catch (RuntimeException single) {
+                        failures.incrementAndGet();
+                        wheel.schedule(orderId, now + retryDelayMs);
+                        log.error("Expiration de la réservation de la commande {} échouée: {}", orderId, single.getMessage());
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    public SweeperStats getStats() {
+        return SweeperStats.builder()
+                .trackedReservations(wheel.size())
+                .expiredOrders(expiredOrders.get())
+                .expiredUnits(expiredUnits.get())
+                .failures(failures.get())
+                .lastSweepAt(lastSweepAt)
+                .build();
+    }
+
+    private int record(SalesOrderBusinessService.ExpiryResult result) {
+        expiredOrders.addAndGet(result.getOrdersExpired());
+        expiredUnits.addAndGet(result.getUnitsReleased());
+        return result.getOrdersExpired();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Data
+    @Builder
+    public static class SweeperStats {
+        private int trackedReservations;
+        private long expiredOrders;
+        private long expiredUnits;
+        private long failures;
+        private LocalDateTime lastSweepAt;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Journal d'intentions des réservations accordées en mémoire et pas encore reportées en base.
+ * Chaque octroi (ou compensation, en négatif) est écrit dans le segment courant avant d'être
+ * confirmé à l'appelant. Un report scelle le segment courant, qui n'est supprimé qu'après commit
+ * du batch correspondant ; au démarrage, les segments restants sont rejoués. Un arrêt entre ce
+ * commit et la suppression rejoue un cycle en double, ce que la réconciliation du registre de
+ * réservations fait apparaître. Accès synchronisés.
+ */
+final class ReservationIntentLog {
+
+    private static final String PREFIX = "intents-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final List<Path> sealed = new ArrayList<>();
+    private long sequence;
+    private Path current;
+    private FileChannel channel;
+
+    ReservationIntentLog(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(ReservationIntentLog::isSegment)
+                        .sorted(Comparator.comparingLong(ReservationIntentLog::sequenceOf))
+                        .forEach(sealed::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal d'intentions inaccessible: " + directory, e);
+        }
+        sequence = sealed.isEmpty() ? 0 : sequenceOf(sealed.get(sealed.size() - 1));
+        open();
+    }
+
+    synchronized void append(long inventoryId, long quantity) {
+        ByteBuffer line = ByteBuffer.wrap((inventoryId + ";" + quantity + "\n").getBytes(StandardCharsets.US_ASCII));
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal d'intentions échouée", e);
+        }
+    }
+
+    /**
+     * Force le segment courant sur disque, le scelle et en ouvre un nouveau.
+     */
+    synchronized void seal() {
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Scellement du journal d'intentions échoué", e);
+        }
+        sealed.add(current);
+        open();
+    }
+
+    /**
+     * Somme, par inventaire, des quantités des segments scellés. Une ligne tronquée par un arrêt
+     * brutal est ignorée.
+     */
+    synchronized Map<Long, Long> sealedTotals() {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Path segment : sealed) {
+            try (Stream<String> lines = Files.lines(segment, StandardCharsets.US_ASCII)) {
+                lines.forEach(line -> {
+                    int separator = line.indexOf(';');
+                    if (separator > 0) {
+                        try {
+                            totals.merge(Long.parseLong(line.substring(0, separator)),
+                                    Long.parseLong(line.substring(separator + 1)), Long::sum);
+                        } catch (NumberFormatException ignored) {
+                            // ligne incomplète
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Lecture du journal d'intentions échouée: " + segment, e);
+            }
+        }
+        totals.values().removeIf(quantity -> quantity == 0);
+        return totals;
+    }
+
+    synchronized void deleteSealed() {
+        try {
+            for (Path segment : sealed) {
+                Files.deleteIfExists(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Suppression du journal d'intentions échouée", e);
+        }
+        sealed.clear();
+    }
+
+    synchronized int sealedSegments() {
+        return sealed.size();
+    }
+
+    synchronized void close() {
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fermeture du journal d'intentions échouée", e);
+        }
+    }
+
+    private void open() {
+        current = directory.resolve(PREFIX + (++sequence) + SUFFIX);
+        try {
+            channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ouverture du journal d'intentions échouée: " + current, e);
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roue temporelle hiérarchique des échéances de réservation. Le niveau 0 compte {@code wheelSize}
+ * crans de {@code tickMs}, chaque niveau supérieur couvre un tour complet du niveau inférieur par
+ * cran ; au-delà du dernier niveau les échéances attendent dans un débordement. Planifier, annuler
+ * et avancer d'un cran coûtent O(1) amorti, indépendamment du nombre de réservations suivies.
+ * Une échéance est rendue au plus un cran après son heure. Accès synchronisés.
+ */
+final class ReservationTimingWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] levelTickMs;
+    private final Map<Long, Long>[][] buckets;
+    private final Map<Long, Long> overflow = new HashMap<>();
+    private final Map<Long, Map<Long, Long>> locations = new HashMap<>();
+    private long currentTime;
+
+    @SuppressWarnings("unchecked")
+    ReservationTimingWheel(long tickMs, int wheelSize, int levels, long startTime) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Paramètres de roue temporelle invalides");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelTickMs = new long[levels];
+        this.buckets = new Map[levels][wheelSize];
+        long levelTick = tickMs;
+        for (int level = 0; level < levels; level++) {
+            levelTickMs[level] = levelTick;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new HashMap<>();
+            }
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+        }
+        this.currentTime = startTime - Math.floorMod(startTime, tickMs);
+    }
+
+    /**
+     * Planifie (ou replanifie) l'échéance d'une commande.
+     */
+    synchronized void schedule(Long orderId, long deadline) {
+        cancel(orderId);
+        place(orderId, Math.max(deadline, currentTime));
+    }
+
+    synchronized boolean cancel(Long orderId) {
+        Map<Long, Long> bucket = locations.remove(orderId);
+        return bucket != null && bucket.remove(orderId) != null;
+    }
+
+    /**
+     * Avance la roue jusqu'à {@code now} et retourne les commandes échues, par ordre d'échéance
+     * au cran près.
+     */
+    synchronized List<Long> advance(long now) {
+        List<Long> expired = new ArrayList<>();
+        while (currentTime + tickMs <= now) {
+            Map<Long, Long> due = buckets[0][slotIndex(currentTime, 0)];
+            for (Long orderId : due.keySet()) {
+                locations.remove(orderId);
+                expired.add(orderId);
+            }
+            due.clear();
+
+            currentTime += tickMs;
+            for (int level = levelTickMs.length - 1; level >= 1; level--) {
+                if (currentTime % levelTickMs[level] == 0) {
+                    if (level == levelTickMs.length - 1) {
+                        cascade(overflow);
+                    }
+                    cascade(buckets[level][slotIndex(currentTime, level)]);
+                }
+            }
+            if (levelTickMs.length == 1) {
+                cascade(overflow);
+            }
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return locations.size();
+    }
+
+    private void cascade(Map<Long, Long> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> entries = new HashMap<>(bucket);
+        bucket.clear();
+        entries.forEach(this::place);
+    }
+
+    private void place(Long orderId, long deadline) {
+        for (int level = 0; level < levelTickMs.length; level++) {
+            long slot = Math.floorDiv(deadline, levelTickMs[level]);
+            long currentSlot = Math.floorDiv(currentTime, levelTickMs[level]);
+            if (slot - currentSlot < wheelSize) {
+                Map<Long, Long> bucket = buckets[level][(int) Math.floorMod(slot, (long) wheelSize)];
+                bucket.put(orderId, deadline);
+                locations.put(orderId, bucket);
+                return;
+            }
+        }
+        overflow.put(orderId, deadline);
+        locations.put(orderId, overflow);
+    }
+
+    private int slotIndex(long time, int level) {
+        return (int) Math.floorMod(Math.floorDiv(time, levelTickMs[level]), (long) wheelSize);
+    }
+}
@@ -4,19 +4,40 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.config.OptimisticRetry;
+import org.example.digitallogisticssupplychainplatform.dto.BackorderLineDTO;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationDriftDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.example.digitallogisticssupplychainplatform.event.OrderReservationEvent;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent.Status;
 import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
-import org.example.digitallogisticssupplychainplatform.exception.StockUnavailableException;
 import org.example.digitallogisticssupplychainplatform.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -28,9 +49,29 @@ public class SalesOrderBusinessService {
     private final SalesOrderRepository salesOrderRepository;
     private final InventoryBusinessService inventoryBusinessService;
     private final InventoryRepository inventoryRepository;
+    private final AvailableToPromiseCache availabilityCache;
+    private final WareHouseRepository warehouseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationRepository stockReservationRepository;
+    private final SalesOrderLineRepository salesOrderLineRepository;
+    private final CarrierRepository carrierRepository;
+    private final ProductRepository productRepository;
+
+    @Value("${orders.reservation.ttl-minutes:30}")
+    private long reservationTtlMinutes = 30;
+
+    @Value("${orders.waves.max-orders:50}")
+    private int waveMaxOrders = 50;
+
+    @Value("${orders.waves.max-units:2000}")
+    private int waveMaxUnits = 2000;
+
+    @Value("${orders.bulk.max-orders:1000}")
+    private int bulkMaxOrders = 1000;
 
 
     public ReservationResult reserveOrder(Long orderId, Long warehouseId) {
+        salesOrderRepository.lockAllById(List.of(orderId));
         SalesOrder order = salesOrderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Commande introuvable: " + orderId));
 
@@ -44,93 +85,129 @@ public class SalesOrderBusinessService {
 
         List<String> successMessages = new ArrayList<>();
         List<BackorderInfo> backorders = new ArrayList<>();
+        List<InventoryBusinessService.ReservationOutcome> outcomes = new ArrayList<>();
         boolean fullyReserved = true;
 
 
         for (SalesOrderLine line : order.getOrderLines()) {
-            try {
-                if (!line.getProduct().isActive()) {
-                    throw new BusinessException("Produit " + line.getProduct().getCode() + " inactif");
-                }
-
-
-                inventoryBusinessService.reserveStock(
-                        line.getProduct().getId(),
-                        warehouseId,
-                        line.getQuantity(),
-                        "SO-" + orderId
-                );
+            if (!line.getProduct().isActive()) {
+                throw new BusinessException("Produit " + line.getProduct().getCode() + " inactif");
+            }
 
-                successMessages.add( line.getProduct().getName() + ": " +
-                        line.getQuantity() + " unités réservées");
+            InventoryBusinessService.ReservationOutcome outcome = inventoryBusinessService.reserveAvailable(
+                    line.getProduct().getId(),
+                    warehouseId,
+                    line.getQuantity(),
+                    "SO-" + orderId
+            );
 
-                Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(
-                        line.getProduct().getId(), warehouseId);
+            outcomes.add(outcome);
+            fullyReserved &= applyReservationOutcome(line, outcome, successMessages, backorders);
+        }
 
-                Integer available = inventory != null ?
-                        (inventory.getQtyOnHand() - inventory.getQtyReserved()) : 0;
 
-                if (available < line.getQuantity()) {
-                    fullyReserved = false;
-                    Integer shortage = line.getQuantity() - available;
+        return completeReservation(order, warehouseId, outcomes, fullyReserved, successMessages, backorders);
+    }
 
-                    line.setBackordered(true);
+    /**
+     * Variante de {@link #reserveOrder} pour les grosses commandes : la commande, ses lignes et
+     * leurs produits sont chargés en une requête, puis toutes les réservations sont appliquées
+     * en un seul batch.
+     */
+    public ReservationResult reserveOrderBatch(Long orderId, Long warehouseId) {
+        salesOrderRepository.lockAllById(List.of(orderId));
+        SalesOrder order = salesOrderRepository.findByIdWithLinesAndProducts(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Commande introuvable: " + orderId));
 
-                    backorders.add(BackorderInfo.builder()
-                            .productCode(line.getProduct().getCode())
-                            .productName(line.getProduct().getName())
-                            .requestedQty(line.getQuantity())
-                            .availableQty(available)
-                            .shortageQty(shortage)
-                            .build());
+        if (order.getReservedAt() != null) {
+            throw new BusinessException("La commande est déjà réservée");
+        }
+        if (order.getShippedAt() != null) {
+            throw new BusinessException("La commande est déjà expédiée");
+        }
 
-                    log.info("⚠ BACKORDER: {} unités manquantes pour {}",
-                            shortage, line.getProduct().getName());
-                }
+        List<InventoryBusinessService.ReservationLine> reservationLines = new ArrayList<>();
+        for (SalesOrderLine line : order.getOrderLines()) {
+            if (!line.getProduct().isActive()) {
+                throw new BusinessException("Produit " + line.getProduct().getCode() + " inactif");
+            }
+            reservationLines.add(new InventoryBusinessService.ReservationLine(
+                    line.getProduct().getId(), line.getQuantity()));
+        }
 
-            } catch (StockUnavailableException e) {
+        List<InventoryBusinessService.ReservationOutcome> outcomes =
+                inventoryBusinessService.reserveBatch(warehouseId, reservationLines, "SO-" + orderId);
 
-                fullyReserved = false;
+        List<String> successMessages = new ArrayList<>();
+        List<BackorderInfo> backorders = new ArrayList<>();
+        boolean fullyReserved = true;
 
-                Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(
-                        line.getProduct().getId(), warehouseId);
+        for (int i = 0; i < order.getOrderLines().size(); i++) {
+            fullyReserved &= applyReservationOutcome(order.getOrderLines().get(i), outcomes.get(i),
+                    successMessages, backorders);
+        }
 
-                Integer available = inventory != null ?
-                        (inventory.getQtyOnHand() - inventory.getQtyReserved()) : 0;
-                Integer shortage = line.getQuantity() - available;
+        return completeReservation(order, warehouseId, outcomes, fullyReserved, successMessages, backorders);
+    }
 
-                backorders.add(BackorderInfo.builder()
-                        .productCode(line.getProduct().getCode())
-                        .productName(line.getProduct().getName())
-                        .requestedQty(line.getQuantity())
-                        .availableQty(available)
-                        .shortageQty(shortage)
-                        .build());
-                line.setBackordered(true);
+    private boolean applyReservationOutcome(SalesOrderLine line,
+                                            InventoryBusinessService.ReservationOutcome outcome,
+                                            List<String> successMessages,
+                                            List<BackorderInfo> backorders) {
+        if (outcome.getReservedQuantity() > 0) {
+            successMessages.add(line.getProduct().getName() + ": " +
+                    outcome.getReservedQuantity() + " unités réservées" +
+                    (outcome.isFullyReserved() ? "" : " (partiel)"));
+        }
 
-                if (available > 0) {
-                    inventoryBusinessService.reserveStock(
-                            line.getProduct().getId(),
-                            warehouseId,
-                            available,
-                            "SO-" + orderId + "-PARTIAL"
-                    );
-                    successMessages.add( line.getProduct().getName() + ": " +
-                            available + " unités réservées (partiel)");
-                }
-            }
+        if (outcome.isFullyReserved()) {
+            // Ligne de nouveau entièrement tenue (re-réservation après expiration) : elle sort de la file
+            line.setBackordered(false);
+            line.setBackorderedAt(null);
+            return true;
         }
 
+        line.setBackordered(true);
+        if (line.getBackorderedAt() == null) {
+            line.setBackorderedAt(LocalDateTime.now());
+        }
+        backorders.add(BackorderInfo.builder()
+                .productCode(line.getProduct().getCode())
+                .productName(line.getProduct().getName())
+                .requestedQty(line.getQuantity())
+                .availableQty(outcome.getReservedQuantity())
+                .shortageQty(outcome.getShortageQuantity())
+                .build());
+
+        log.info("⚠ BACKORDER: {} unités manquantes pour {}",
+                outcome.getShortageQuantity(), line.getProduct().getName());
+        return false;
+    }
 
+    private ReservationResult completeReservation(SalesOrder order, Long warehouseId,
+                                                  List<InventoryBusinessService.ReservationOutcome> outcomes,
+                                                  boolean fullyReserved,
+                                                  List<String> successMessages,
+                                                  List<BackorderInfo> backorders) {
+        recordHolds(order, warehouseId, outcomes);
         order.setReservedAt(LocalDateTime.now());
+        order.setWarehouse(warehouseRepository.getReferenceById(warehouseId));
+        // Une commande en backorder garde sa réservation partielle jusqu'au réassort : son échéance
+        // ne part qu'une fois la dernière ligne servie (voir fulfillBackorders).
+        if (reservationTtlMinutes > 0 && fullyReserved) {
+            order.setReservationExpiresAt(order.getReservedAt().plusMinutes(reservationTtlMinutes));
+            eventPublisher.publishEvent(OrderReservationEvent.scheduled(order.getId(), order.getReservationExpiresAt()));
+        }
         salesOrderRepository.save(order);
+        eventPublisher.publishEvent(OrderStatusChangedEvent.changed(order.getId(), Status.PENDING, Status.RESERVED));
 
-        log.info("Commande {} réservée - Complète: {}", orderId, fullyReserved);
+        log.info("Commande {} réservée - Complète: {}", order.getId(), fullyReserved);
 
         return ReservationResult.builder()
-                .orderId(orderId)
+                .orderId(order.getId())
                 .fullyReserved(fullyReserved)
                 .reservedAt(order.getReservedAt())
+                .reservationExpiresAt(order.getReservationExpiresAt())
                 .successMessages(successMessages)
                 .backorders(backorders)
                 .message(fullyReserved ?
@@ -139,7 +216,51 @@ public class SalesOrderBusinessService {
                 .build();
     }
 
+    /**
+     * Inscrit au registre ce que chaque ligne tient réellement, réservations partielles comprises.
+     * Les inventaires touchés sont résolus en une requête et les lignes insérées en lot.
+     */
+    private void recordHolds(SalesOrder order, Long warehouseId,
+                             List<InventoryBusinessService.ReservationOutcome> outcomes) {
+        Set<Long> productIds = outcomes.stream()
+                .filter(outcome -> outcome.getReservedQuantity() > 0)
+                .map(InventoryBusinessService.ReservationOutcome::getProductId)
+                .collect(Collectors.toSet());
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> inventoryIdByProduct = inventoryRepository
+                .findStockByWarehouseIdAndProductIds(warehouseId, productIds).stream()
+                .collect(Collectors.toMap(InventoryStockDTO::getProductId, InventoryStockDTO::getId));
+
+        List<StockReservation> reservations = new ArrayList<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            InventoryBusinessService.ReservationOutcome outcome = outcomes.get(i);
+            if (outcome.getReservedQuantity() <= 0) {
+                continue;
+            }
+            Long inventoryId = inventoryIdByProduct.get(outcome.getProductId());
+            if (inventoryId == null) {
+                log.warn("Commande {}: inventaire introuvable pour le produit {}, réservation non inscrite",
+                        order.getId(), outcome.getProductId());
+                continue;
+            }
+            reservations.add(StockReservation.builder()
+                    .salesOrderId(order.getId())
+                    .salesOrderLineId(order.getOrderLines().get(i).getId())
+                    .inventoryId(inventoryId)
+                    .productId(outcome.getProductId())
+                    .warehouseId(warehouseId)
+                    .quantity(outcome.getReservedQuantity())
+                    .build());
+        }
+        stockReservationRepository.saveAll(reservations);
+    }
+
+    @OptimisticRetry
     public ShipmentResult shipOrder(Long orderId, Long warehouseId) {
+        salesOrderRepository.lockAllById(List.of(orderId));
         SalesOrder order = salesOrderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Commande introuvable: " + orderId));
 
@@ -151,24 +272,41 @@ public class SalesOrderBusinessService {
         }
 
         List<String> movements = new ArrayList<>();
+        List<ReservationHoldDTO> holds = stockReservationRepository.findActiveHolds(List.of(orderId));
+        if (holds.stream().anyMatch(hold -> !hold.getWarehouseId().equals(warehouseId))) {
+            throw new BusinessException("Commande réservée dans un autre entrepôt");
+        }
 
-        for (SalesOrderLine line : order.getOrderLines()) {
-            if (!line.getBackordered()) {
-                inventoryBusinessService.recordOutbound(
-                        line.getProduct().getId(),
-                        warehouseId,
-                        line.getQuantity(),
-                        "SO-" + orderId,
-                        "Expédition commande client"
-                );
-
-                movements.add("✓ " + line.getProduct().getName() + ": " +
-                        line.getQuantity() + " unités expédiées");
+        if (!holds.isEmpty()) {
+            inventoryBusinessService.shipHolds(holds, "SO-" + orderId, "Expédition commande client");
+            stockReservationRepository.closeActive(List.of(orderId), ReservationStatus.SHIPPED, LocalDateTime.now());
+
+            Map<Long, SalesOrderLine> linesById = linesById(order);
+            holds.forEach(hold -> movements.add("✓ " + productName(linesById, hold) + ": " +
+                    hold.getQuantity() + " unités expédiées"));
+        } else {
+            // Commande réservée avant le registre : la réservation se déduit du flag backordered.
+            for (SalesOrderLine line : order.getOrderLines()) {
+                if (!line.getBackordered()) {
+                    inventoryBusinessService.recordOutbound(
+                            line.getProduct().getId(),
+                            warehouseId,
+                            line.getQuantity(),
+                            "SO-" + orderId,
+                            "Expédition commande client"
+                    );
+
+                    movements.add("✓ " + line.getProduct().getName() + ": " +
+                            line.getQuantity() + " unités expédiées");
+                }
             }
         }
 
         order.setShippedAt(LocalDateTime.now());
+        order.setReservationExpiresAt(null);
         salesOrderRepository.save(order);
+        eventPublisher.publishEvent(OrderReservationEvent.cleared(orderId));
+        eventPublisher.publishEvent(OrderStatusChangedEvent.changed(orderId, Status.RESERVED, Status.SHIPPED));
 
         log.info("Commande {} expédiée - {} mouvement(s)", orderId, movements.size());
 
@@ -194,12 +332,15 @@ public class SalesOrderBusinessService {
 
         order.setDeliveredAt(LocalDateTime.now());
         salesOrderRepository.save(order);
+        eventPublisher.publishEvent(OrderStatusChangedEvent.changed(orderId, Status.SHIPPED, Status.DELIVERED));
 
         log.info("Commande {} livrée", orderId);
     }
 
 
+    @OptimisticRetry
     public CancellationResult cancelOrder(Long orderId, String reason,Long warehouseId) {
+        salesOrderRepository.lockAllById(List.of(orderId));
         SalesOrder order = salesOrderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Commande introuvable: " + orderId));
 
@@ -212,8 +353,17 @@ public class SalesOrderBusinessService {
         }
 
         List<String> releasedReservations = new ArrayList<>();
-
-        if (order.getReservedAt() != null) {
+        List<ReservationHoldDTO> holds = order.getReservedAt() != null
+                ? stockReservationRepository.findActiveHolds(List.of(orderId))
+                : List.of();
+
+        if (!holds.isEmpty()) {
+            inventoryBusinessService.releaseHolds(holds, "SO-" + orderId + "-CANCEL");
+            stockReservationRepository.closeActive(List.of(orderId), ReservationStatus.RELEASED, LocalDateTime.now());
+            Map<Long, SalesOrderLine> linesById = linesById(order);
+            holds.forEach(hold -> releasedReservations.add("✓ " + productName(linesById, hold) + ": " +
+                    hold.getQuantity() + " unités libérées"));
+        } else if (order.getReservedAt() != null) {
             for (SalesOrderLine line : order.getOrderLines()) {
                 if (!line.getBackordered()) {
                     try {
@@ -239,6 +389,8 @@ public class SalesOrderBusinessService {
         }
 
         salesOrderRepository.delete(order);
+        eventPublisher.publishEvent(OrderReservationEvent.cleared(orderId));
+        eventPublisher.publishEvent(OrderStatusChangedEvent.deleted(orderId, Status.of(order)));
 
         log.info("Commande {} annulée - Raison: {}", orderId, reason);
 
@@ -252,6 +404,469 @@ public class SalesOrderBusinessService {
                 .build();
     }
 
+    /**
+     * Libère, en une transaction, les réservations échues des commandes données et les repasse en
+     * attente. Les quantités du registre sont rendues en un seul batch ; une commande réservée avant
+     * le registre suit {@link #cancelOrder} (lignes non en backorder, entrepôt de la réservation).
+     * Les commandes sont verrouillées avant toute lecture : celles expédiées, supprimées ou
+     * réservées à nouveau entre-temps sont ignorées et leurs réservations ne sont pas relues.
+     */
+    public ExpiryResult expireReservations(Collection<Long> orderIds, LocalDateTime now) {
+        salesOrderRepository.lockAllById(orderIds);
+        List<SalesOrder> expired = new ArrayList<>();
+        int releasedUnits = 0;
+        Map<Long, List<ReservationHoldDTO>> holdsByOrder = stockReservationRepository.findActiveHolds(orderIds).stream()
+                .collect(Collectors.groupingBy(ReservationHoldDTO::getSalesOrderId));
+        List<ReservationHoldDTO> holdsToRelease = new ArrayList<>();
+
+        for (SalesOrder order : salesOrderRepository.findAllByIdWithLinesAndProducts(orderIds)) {
+            if (order.getShippedAt() != null || order.getReservationExpiresAt() == null
+                    || order.getReservationExpiresAt().isAfter(now)) {
+                continue;
+            }
+
+            List<ReservationHoldDTO> holds = holdsByOrder.getOrDefault(order.getId(), List.of());
+            if (!holds.isEmpty()) {
+                holdsToRelease.addAll(holds);
+                releasedUnits += holds.stream().mapToInt(ReservationHoldDTO::getQuantity).sum();
+            } else if (order.getWarehouse() != null) {
+                for (SalesOrderLine line : order.getOrderLines()) {
+                    if (!line.getBackordered()) {
+                        inventoryBusinessService.releaseReservation(
+                                line.getProduct().getId(),
+                                order.getWarehouse().getId(),
+                                line.getQuantity(),
+                                "SO-" + order.getId() + "-EXPIRED"
+                        );
+                        releasedUnits += line.getQuantity();
+                    }
+                }
+            } else {
+                log.warn("Commande {}: réservation échue sans entrepôt connu, rien à libérer", order.getId());
+            }
+
+            order.setReservedAt(null);
+            order.setReservationExpiresAt(null);
+            order.setWarehouse(null);
+            expired.add(order);
+            eventPublisher.publishEvent(OrderReservationEvent.cleared(order.getId()));
+            eventPublisher.publishEvent(OrderStatusChangedEvent.changed(order.getId(), Status.RESERVED, Status.PENDING));
+        }
+
+        if (!holdsToRelease.isEmpty()) {
+            inventoryBusinessService.releaseHolds(holdsToRelease, "SO-EXPIRED");
+            stockReservationRepository.closeActive(
+                    holdsToRelease.stream().map(ReservationHoldDTO::getSalesOrderId).collect(Collectors.toSet()),
+                    ReservationStatus.RELEASED, LocalDateTime.now());
+        }
+        salesOrderRepository.saveAll(expired);
+
+        if (!expired.isEmpty()) {
+            log.info("Expiration des réservations: {} commande(s), {} unité(s) libérée(s)",
+                    expired.size(), releasedUnits);
+        }
+
+        return ExpiryResult.builder()
+                .ordersRequested(orderIds.size())
+                .ordersExpired(expired.size())
+                .unitsReleased(releasedUnits)
+                .build();
+    }
+
+    /**
+     * Sert les lignes en backorder d'un produit dans un entrepôt avec le stock désormais disponible,
+     * dans l'ordre d'entrée en attente : une lecture du stock, une requête indexée pour au plus
+     * {@code maxLines} lignes, une seule réservation pour le total alloué, puis l'insertion en lot
+     * des réservations au registre et la levée des backorders entièrement couverts. La première
+     * ligne qui ne peut être couverte reçoit le reste du stock et arrête la passe.
+     * <p>
+     * Les commandes candidates sont verrouillées puis leurs lignes relues : une commande annulée,
+     * expédiée ou repassée en attente entre-temps ne reçoit pas de réservation. Une commande dont la
+     * dernière ligne en backorder est soldée reçoit son échéance de réservation.
+     */
+    @OptimisticRetry
+    public BackorderFulfillment fulfillBackorders(Long productId, Long warehouseId, int maxLines) {
+        List<InventoryStockDTO> stock = inventoryRepository.findStockByWarehouseIdAndProductIds(warehouseId, Set.of(productId));
+        int available = stock.isEmpty() ? 0 : stock.get(0).getQtyOnHand() - stock.get(0).getQtyReserved();
+        if (available <= 0) {
+            return BackorderFulfillment.builder().productId(productId).warehouseId(warehouseId).build();
+        }
+
+        List<BackorderLineDTO> waiting = salesOrderLineRepository.findWaitingBackorders(
+                productId, warehouseId, PageRequest.of(0, maxLines));
+        Map<Long, SalesOrder> lockedOrders = new HashMap<>();
+        if (!waiting.isEmpty()) {
+            salesOrderRepository.lockAllById(waiting.stream().map(BackorderLineDTO::getSalesOrderId).collect(Collectors.toSet()))
+                    .forEach(order -> lockedOrders.put(order.getId(), order));
+            waiting = salesOrderLineRepository.findWaitingBackorders(productId, warehouseId, PageRequest.of(0, maxLines))
+                    .stream()
+                    .filter(line -> lockedOrders.containsKey(line.getSalesOrderId()))
+                    .collect(Collectors.toList());
+        }
+        int requested = 0;
+        for (BackorderLineDTO line : waiting) {
+            if (requested >= available) {
+                break;
+            }
+            requested += Math.min(line.getShortageQuantity(), available - requested);
+        }
+        if (requested == 0) {
+            return BackorderFulfillment.builder()
+                    .productId(productId)
+                    .warehouseId(warehouseId)
+                    .linesExamined(waiting.size())
+                    .build();
+        }
+
+        int granted = inventoryBusinessService.reserveAvailable(productId, warehouseId, requested, "BACKORDER")
+                .getReservedQuantity();
+
+        List<StockReservation> reservations = new ArrayList<>();
+        List<Long> fulfilledLineIds = new ArrayList<>();
+        Set<Long> fulfilledOrderIds = new HashSet<>();
+        int remaining = granted;
+        for (BackorderLineDTO line : waiting) {
+            if (remaining <= 0) {
+                break;
+            }
+            int allocated = Math.min(line.getShortageQuantity(), remaining);
+            if (allocated <= 0) {
+                continue;
+            }
+            remaining -= allocated;
+            reservations.add(StockReservation.builder()
+                    .salesOrderId(line.getSalesOrderId())
+                    .salesOrderLineId(line.getSalesOrderLineId())
+                    .inventoryId(stock.get(0).getId())
+                    .productId(productId)
+                    .warehouseId(warehouseId)
+                    .quantity(allocated)
+                    .build());
+            if (allocated == line.getShortageQuantity()) {
+                fulfilledLineIds.add(line.getSalesOrderLineId());
+                fulfilledOrderIds.add(line.getSalesOrderId());
+            }
+        }
+        stockReservationRepository.saveAll(reservations);
+        if (!fulfilledLineIds.isEmpty()) {
+            salesOrderLineRepository.clearBackorders(fulfilledLineIds);
+            scheduleCompletedReservations(fulfilledOrderIds, lockedOrders);
+        }
+
+        log.info("Backorders produit {} entrepôt {}: {} unité(s) allouée(s) à {} ligne(s), {} ligne(s) soldée(s)",
+                productId, warehouseId, granted, reservations.size(), fulfilledLineIds.size());
+
+        return BackorderFulfillment.builder()
+                .productId(productId)
+                .warehouseId(warehouseId)
+                .linesExamined(waiting.size())
+                .linesAllocated(reservations.size())
+                .linesFulfilled(fulfilledLineIds.size())
+                .unitsAllocated(granted)
+                .moreWaiting(waiting.size() == maxLines && granted == requested && granted < available)
+                .build();
+    }
+
+    /**
+     * Pose l'échéance de réservation des commandes qui n'ont plus de ligne en backorder.
+     */
+    private void scheduleCompletedReservations(Set<Long> orderIds, Map<Long, SalesOrder> lockedOrders) {
+        if (reservationTtlMinutes <= 0) {
+            return;
+        }
+        Set<Long> stillWaiting = new HashSet<>(salesOrderLineRepository.findBackorderedOrderIds(orderIds));
+        List<SalesOrder> completed = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            SalesOrder order = lockedOrders.get(orderId);
+            if (stillWaiting.contains(orderId) || order.getReservationExpiresAt() != null) {
+                continue;
+            }
+            order.setReservationExpiresAt(LocalDateTime.now().plusMinutes(reservationTtlMinutes));
+            completed.add(order);
+            eventPublisher.publishEvent(OrderReservationEvent.scheduled(orderId, order.getReservationExpiresAt()));
+        }
+        salesOrderRepository.saveAll(completed);
+    }
+
+    /**
+     * Vagues de préparation des commandes réservées et non expédiées d'un entrepôt, avec leur
+     * liste de prélèvement consolidée et le transporteur retenu. Seules les commandes dont la
+     * réservation figure au registre sont planifiées ; les autres restent à expédier une à une.
+     */
+    @Transactional(readOnly = true)
+    public WavePlan planWaves(Long warehouseId) {
+        if (warehouseRepository.findExistingIds(List.of(warehouseId)).isEmpty()) {
+            throw new ResourceNotFoundException("Entrepôt introuvable: " + warehouseId);
+        }
+
+        Map<Long, Map<Long, Integer>> picks = new LinkedHashMap<>();
+        for (ReservationHoldDTO hold : stockReservationRepository.findActiveHoldsToPick(warehouseId)) {
+            picks.computeIfAbsent(hold.getSalesOrderId(), id -> new HashMap<>())
+                    .merge(hold.getProductId(), hold.getQuantity(), Integer::sum);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WavePlanner.CarrierSlot> carriers = carrierRepository.findByStatusOrderByCutOffTimeAsc(CarrierStatus.ACTIVE)
+                .stream()
+                .map(carrier -> WavePlanner.CarrierSlot.builder()
+                        .carrierId(carrier.getId())
+                        .carrierName(carrier.getName())
+                        .cutOff(nextCutOff(carrier.getCutOffTime(), now))
+                        .remainingCapacity(carrier.getMaxDailyCapacity() - carrier.getCurrentDailyShipments())
+                        .build())
+                .filter(slot -> slot.getRemainingCapacity() > 0)
+                .sorted(Comparator.comparing(WavePlanner.CarrierSlot::getCutOff))
+                .collect(Collectors.toList());
+
+        List<WavePlanner.PlannedWave> planned = WavePlanner.plan(picks, waveMaxOrders, waveMaxUnits, carriers);
+
+        Set<Long> productIds = picks.values().stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Wave> waves = new ArrayList<>(planned.size());
+        int units = 0;
+        for (WavePlanner.PlannedWave wave : planned) {
+            units += wave.getUnits();
+            WavePlanner.CarrierSlot carrier = wave.getCarrier();
+            waves.add(Wave.builder()
+                    .waveNumber(wave.getWaveNumber())
+                    .orderIds(wave.getOrderIds())
+                    .units(wave.getUnits())
+                    .carrierId(carrier != null ? carrier.getCarrierId() : null)
+                    .carrierName(carrier != null ? carrier.getCarrierName() : null)
+                    .cutOff(carrier != null ? carrier.getCutOff() : null)
+                    .pickList(wave.getPickList().stream()
+                            .map(pick -> PickListLine.builder()
+                                    .productId(pick.getProductId())
+                                    .productCode(products.containsKey(pick.getProductId())
+                                            ? products.get(pick.getProductId()).getCode() : null)
+                                    .productName(products.containsKey(pick.getProductId())
+                                            ? products.get(pick.getProductId()).getName() : null)
+                                    .quantity(pick.getQuantity())
+                                    .orders(pick.getOrders())
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build());
+        }
+
+        log.info("Entrepôt {}: {} commande(s) réservée(s) planifiée(s) en {} vague(s)",
+                warehouseId, picks.size(), waves.size());
+
+        return WavePlan.builder()
+                .warehouseId(warehouseId)
+                .plannedAt(now)
+                .orders(picks.size())
+                .units(units)
+                .waves(waves)
+                .build();
+    }
+
+    /**
+     * Expédie une vague : les réservations de toutes ses commandes sont expédiées en un seul batch
+     * (stock décrémenté et mouvements OUTBOUND insérés ensemble, chacun référencé par sa commande).
+     * Une commande introuvable, non réservée, déjà expédiée ou réservée ailleurs est écartée sans
+     * bloquer le reste de la vague.
+     */
+    @OptimisticRetry
+    public WaveShipmentResult shipWave(Long warehouseId, List<Long> orderIds) {
+        BatchShipment batch = shipBatch(warehouseId, orderIds, "Expédition vague de préparation");
+
+        return WaveShipmentResult.builder()
+                .warehouseId(warehouseId)
+                .shippedAt(batch.shipped.isEmpty() ? null : batch.shippedAt)
+                .shippedOrderIds(batch.shipped.stream().map(SalesOrder::getId).collect(Collectors.toList()))
+                .unitsShipped(batch.units)
+                .movements(batch.movements)
+                .skipped(batch.rejected)
+                .message(batch.rejected.isEmpty()
+                        ? "✓ Vague expédiée avec succès"
+                        : String.format("Vague expédiée partiellement: %d commande(s) écartée(s)", batch.rejected.size()))
+                .build();
+    }
+
+    /**
+     * Expédition groupée d'un manifeste transporteur. Commandes, lignes et produits sont chargés en
+     * une requête, les réservations au registre lues en une autre et expédiées en un seul batch ; le
+     * résultat est rendu commande par commande, les commandes en échec n'empêchant pas les autres.
+     * Une commande réservée avant le registre doit être expédiée seule.
+     */
+    @OptimisticRetry
+    public BulkOrderResult shipOrders(Long warehouseId, List<Long> orderIds) {
+        validateBulkSize(orderIds);
+        BatchShipment batch = shipBatch(warehouseId, orderIds, "Expédition commande client");
+
+        Map<Long, SalesOrder> shippedById = batch.shipped.stream()
+                .collect(Collectors.toMap(SalesOrder::getId, Function.identity()));
+        List<OrderOutcome> results = new ArrayList<>();
+        for (Long orderId : new LinkedHashSet<>(orderIds)) {
+            SalesOrder order = shippedById.get(orderId);
+            if (order == null) {
+                results.add(OrderOutcome.builder().orderId(orderId).success(false)
+                        .error(batch.rejected.get(orderId)).build());
+                continue;
+            }
+            Map<Long, SalesOrderLine> linesById = linesById(order);
+            results.add(OrderOutcome.builder()
+                    .orderId(orderId)
+                    .success(true)
+                    .processedAt(batch.shippedAt)
+                    .movements(batch.holdsByOrder.get(orderId).stream()
+                            .map(hold -> "✓ " + productName(linesById, hold) + ": " +
+                                    hold.getQuantity() + " unités expédiées")
+                            .collect(Collectors.toList()))
+                    .build());
+        }
+        return bulkResult(results);
+    }
+
+    /**
+     * Livraison groupée : les commandes sont chargées en une requête et mises à jour en lot ; une
+     * commande non expédiée ou déjà livrée est signalée sans bloquer les autres.
+     */
+    public BulkOrderResult deliverOrders(List<Long> orderIds) {
+        validateBulkSize(orderIds);
+        Map<Long, SalesOrder> ordersById = salesOrderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(SalesOrder::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SalesOrder> delivered = new ArrayList<>();
+        List<OrderOutcome> results = new ArrayList<>();
+        for (Long orderId : new LinkedHashSet<>(orderIds)) {
+            SalesOrder order = ordersById.get(orderId);
+            String error = null;
+            if (order == null) {
+                error = "Commande introuvable";
+            } else if (order.getShippedAt() == null) {
+                error = "La commande doit être expédiée avant d'être livrée";
+            } else if (order.getDeliveredAt() != null) {
+                error = "La commande est déjà livrée";
+            }
+            if (error != null) {
+                results.add(OrderOutcome.builder().orderId(orderId).success(false).error(error).build());
+                continue;
+            }
+            order.setDeliveredAt(now);
+            delivered.add(order);
+            results.add(OrderOutcome.builder().orderId(orderId).success(true).processedAt(now).build());
+        }
+        salesOrderRepository.saveAll(delivered);
+        delivered.forEach(order -> eventPublisher.publishEvent(
+                OrderStatusChangedEvent.changed(order.getId(), Status.SHIPPED, Status.DELIVERED)));
+
+        log.info("Livraison groupée: {} commande(s) livrée(s) sur {}", delivered.size(), results.size());
+        return bulkResult(results);
+    }
+
+    /**
+     * Cœur commun de l'expédition d'un lot de commandes depuis le registre des réservations.
+     */
+    private BatchShipment shipBatch(Long warehouseId, List<Long> orderIds, String description) {
+        salesOrderRepository.lockAllById(orderIds);
+        Map<Long, SalesOrder> ordersById = salesOrderRepository.findAllByIdWithLinesAndProducts(orderIds).stream()
+                .collect(Collectors.toMap(SalesOrder::getId, Function.identity()));
+
+        BatchShipment batch = new BatchShipment();
+        List<Long> candidates = new ArrayList<>();
+        for (Long orderId : new LinkedHashSet<>(orderIds)) {
+            SalesOrder order = ordersById.get(orderId);
+            if (order == null) {
+                batch.rejected.put(orderId, "Commande introuvable");
+            } else if (order.getReservedAt() == null) {
+                batch.rejected.put(orderId, "La commande doit être réservée avant l'expédition");
+            } else if (order.getShippedAt() != null) {
+                batch.rejected.put(orderId, "La commande est déjà expédiée");
+            } else {
+                candidates.add(orderId);
+            }
+        }
+
+        Map<Long, List<ReservationHoldDTO>> holdsByOrder = (candidates.isEmpty()
+                ? List.<ReservationHoldDTO>of()
+                : stockReservationRepository.findActiveHolds(candidates)).stream()
+                .collect(Collectors.groupingBy(ReservationHoldDTO::getSalesOrderId, LinkedHashMap::new, Collectors.toList()));
+
+        List<ReservationHoldDTO> holds = new ArrayList<>();
+        for (Long orderId : candidates) {
+            List<ReservationHoldDTO> orderHolds = holdsByOrder.getOrDefault(orderId, List.of());
+            if (orderHolds.isEmpty()) {
+                batch.rejected.put(orderId, "Aucune réservation au registre, expédier la commande seule");
+            } else if (orderHolds.stream().anyMatch(hold -> !hold.getWarehouseId().equals(warehouseId))) {
+                batch.rejected.put(orderId, "Commande réservée dans un autre entrepôt");
+            } else {
+                batch.shipped.add(ordersById.get(orderId));
+                batch.holdsByOrder.put(orderId, orderHolds);
+                holds.addAll(orderHolds);
+            }
+        }
+
+        if (!batch.shipped.isEmpty()) {
+            List<Long> shippedIds = batch.shipped.stream().map(SalesOrder::getId).collect(Collectors.toList());
+            batch.units = inventoryBusinessService.shipHolds(holds, hold -> "SO-" + hold.getSalesOrderId(), description);
+            batch.movements = holds.size();
+            stockReservationRepository.closeActive(shippedIds, ReservationStatus.SHIPPED, batch.shippedAt);
+
+            for (SalesOrder order : batch.shipped) {
+                order.setShippedAt(batch.shippedAt);
+                order.setReservationExpiresAt(null);
+            }
+            salesOrderRepository.saveAll(batch.shipped);
+            shippedIds.forEach(orderId -> {
+                eventPublisher.publishEvent(OrderReservationEvent.cleared(orderId));
+                eventPublisher.publishEvent(OrderStatusChangedEvent.changed(orderId, Status.RESERVED, Status.SHIPPED));
+            });
+        }
+
+        log.info("{} - entrepôt {}: {} commande(s) expédiée(s), {} unité(s) en {} mouvement(s), {} écartée(s)",
+                description, warehouseId, batch.shipped.size(), batch.units, batch.movements, batch.rejected.size());
+        return batch;
+    }
+
+    private void validateBulkSize(List<Long> orderIds) {
+        if (orderIds.size() > bulkMaxOrders) {
+            throw new BusinessException(String.format(
+                    "Trop de commandes dans la demande: %d (maximum %d)", orderIds.size(), bulkMaxOrders));
+        }
+    }
+
+    private BulkOrderResult bulkResult(List<OrderOutcome> results) {
+        int succeeded = (int) results.stream().filter(OrderOutcome::isSuccess).count();
+        return BulkOrderResult.builder()
+                .requested(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Prochain cut-off d'un transporteur : aujourd'hui s'il n'est pas encore passé, sinon demain.
+     */
+    private static LocalDateTime nextCutOff(LocalTime cutOffTime, LocalDateTime now) {
+        LocalDateTime today = now.toLocalDate().atTime(cutOffTime);
+        return today.isAfter(now) ? today : today.plusDays(1);
+    }
+
+    private Map<Long, SalesOrderLine> linesById(SalesOrder order) {
+        return order.getOrderLines().stream()
+                .collect(Collectors.toMap(SalesOrderLine::getId, Function.identity()));
+    }
+
+    private String productName(Map<Long, SalesOrderLine> linesById, ReservationHoldDTO hold) {
+        SalesOrderLine line = linesById.get(hold.getSalesOrderLineId());
+        return line != null ? line.getProduct().getName() : "Produit " + hold.getProductId();
+    }
+
+    /**
+     * Inventaires dont la quantité réservée ne correspond pas au registre des réservations.
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationDriftDTO> reconcileReservations() {
+        return stockReservationRepository.findReservationDrift();
+    }
+
     public AvailabilityCheck checkAvailability(Long orderId, Long warehouseId) {
         SalesOrder order = salesOrderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Commande introuvable: " + orderId));
@@ -260,11 +875,13 @@ public class SalesOrderBusinessService {
         boolean canReserve = true;
 
         for (SalesOrderLine line : order.getOrderLines()) {
-            Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(
-                    line.getProduct().getId(), warehouseId);
-
-            Integer available = inventory != null ?
-                    (inventory.getQtyOnHand() - inventory.getQtyReserved()) : 0;
+            Integer available = availabilityCache.find(line.getProduct().getId(), warehouseId)
+                    .map(AvailableToPromiseCache.StockLevel::getAvailable)
+                    .orElseGet(() -> {
+                        Inventory inventory = inventoryRepository.findByProductIdAndWarehouseId(
+                                line.getProduct().getId(), warehouseId);
+                        return inventory != null ? (inventory.getQtyOnHand() - inventory.getQtyReserved()) : 0;
+                    });
 
             boolean sufficient = available >= line.getQuantity();
             if (!sufficient) {
@@ -295,11 +912,108 @@ public class SalesOrderBusinessService {
         private Long orderId;
         private Boolean fullyReserved;
         private LocalDateTime reservedAt;
+        private LocalDateTime reservationExpiresAt;
         private List<String> successMessages;
         private List<BackorderInfo> backorders;
         private String message;
     }
 
+    @Data
+    @Builder
+    public static class ExpiryResult {
+        private int ordersRequested;
+        private int ordersExpired;
+        private int unitsReleased;
+    }
+
+    @Data
+    @Builder
+    public static class BackorderFulfillment {
+        private Long productId;
+        private Long warehouseId;
+        private int linesExamined;
+        private int linesAllocated;
+        private int linesFulfilled;
+        private int unitsAllocated;
+        /** Page pleine et stock restant : une nouvelle passe peut servir d'autres lignes. */
+        private boolean moreWaiting;
+    }
+
+    @Data
+    @Builder
+    public static class WavePlan {
+        private Long warehouseId;
+        private LocalDateTime plannedAt;
+        private int orders;
+        private int units;
+        private List<Wave> waves;
+    }
+
+    @Data
+    @Builder
+    public static class Wave {
+        private int waveNumber;
+        private List<Long> orderIds;
+        private int units;
+        private Long carrierId;
+        private String carrierName;
+        private LocalDateTime cutOff;
+        private List<PickListLine> pickList;
+    }
+
+    @Data
+    @Builder
+    public static class PickListLine {
+        private Long productId;
+        private String productCode;
+        private String productName;
+        private int quantity;
+        private int orders;
+    }
+
+    @Data
+    @Builder
+    public static class WaveShipmentResult {
+        private Long warehouseId;
+        private LocalDateTime shippedAt;
+        private List<Long> shippedOrderIds;
+        private int unitsShipped;
+        private int movements;
+        private Map<Long, String> skipped;
+        private String message;
+    }
+
+    @Data
+    @Builder
+    public static class BulkOrderResult {
+        private int requested;
+        private int succeeded;
+        private int failed;
+        private List<OrderOutcome> results;
+    }
+
+    @Data
+    @Builder
+    public static class OrderOutcome {
+        private Long orderId;
+        private boolean success;
+        private LocalDateTime processedAt;
+        private List<String> movements;
+        private String error;
+    }
+
+    /**
+     * Lot d'expédition en cours de constitution ; reste interne au service.
+     */
+    private static final class BatchShipment {
+        private final LocalDateTime shippedAt = LocalDateTime.now();
+        private final List<SalesOrder> shipped = new ArrayList<>();
+        private final Map<Long, List<ReservationHoldDTO>> holdsByOrder = new HashMap<>();
+        private final Map<Long, String> rejected = new LinkedHashMap<>();
+        private int units;
+        private int movements;
+    }
+
     @Data
     @Builder
     public static class BackorderInfo {
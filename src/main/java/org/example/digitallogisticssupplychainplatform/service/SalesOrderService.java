@@ -3,11 +3,17 @@ import org.example.digitallogisticssupplychainplatform.dto.*;
 import org.example.digitallogisticssupplychainplatform.entity.*;
 import org.example.digitallogisticssupplychainplatform.mapper.*;
 import org.example.digitallogisticssupplychainplatform.repository.*;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent;
 import org.example.digitallogisticssupplychainplatform.exception.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
@@ -18,17 +24,39 @@ public class SalesOrderService {
     private final ProductRepository productRepository;
     private final SalesOrderMapper salesOrderMapper;
     private final UserRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public List<SalesOrderDTO> findAll() {
-        return salesOrderRepository.findAll().stream()
+        return salesOrderRepository.findAllWithDetails().stream()
+                .map(salesOrderMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<SalesOrderDTO> findPage(String cursor, Integer size) {
+        int pageSize = CursorPage.resolveSize(size);
+        List<Long> ids = salesOrderRepository
+                .findIdsAfter(CursorPage.decodeIdCursor(cursor), PageRequest.ofSize(pageSize + 1));
+        List<SalesOrder> orders = ids.isEmpty() ? List.of() : salesOrderRepository.findWithDetailsByIdIn(ids);
+        List<SalesOrderDTO> rows = orders.stream()
                 .map(salesOrderMapper::toDTO)
                 .collect(Collectors.toList());
+        return CursorPage.of(rows, pageSize, dto -> CursorPage.encodeCursor(dto.getId()));
+    }
+
+    @Transactional(readOnly = true, timeout = EntityStreams.STREAM_TIMEOUT_SECONDS)
+    public long streamAll(Consumer<SalesOrderDTO> sink) {
+        return EntityStreams.drain(salesOrderRepository.streamAllByOrderByIdAsc(), entityManager,
+                salesOrderMapper::toDTO, sink);
     }
 
     @Transactional(readOnly = true)
     public SalesOrderDTO findById(Long id) {
-        SalesOrder order = salesOrderRepository.findById(id)
+        SalesOrder order = salesOrderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales order not found with id: " + id));
         return salesOrderMapper.toDTO(order);
     }
@@ -58,6 +86,7 @@ public class SalesOrderService {
         }
 
         SalesOrder saved = salesOrderRepository.save(order);
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(saved.getId(), OrderStatusChangedEvent.Status.of(saved)));
         return salesOrderMapper.toDTO(saved);
     }
 
@@ -65,8 +94,13 @@ public class SalesOrderService {
         SalesOrder order = salesOrderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sales order not found with id: " + id));
 
+        OrderStatusChangedEvent.Status previous = OrderStatusChangedEvent.Status.of(order);
         salesOrderMapper.updateEntityFromDTO(dto, order);
         SalesOrder updated = salesOrderRepository.save(order);
+        OrderStatusChangedEvent.Status current = OrderStatusChangedEvent.Status.of(updated);
+        if (current != previous) {
+            eventPublisher.publishEvent(OrderStatusChangedEvent.changed(id, previous, current));
+        }
         return salesOrderMapper.toDTO(updated);
     }
 
@@ -74,6 +108,9 @@ public class SalesOrderService {
         if (!salesOrderRepository.existsById(id)) {
             throw new ResourceNotFoundException("Sales order not found with id: " + id);
         }
+        // Déjà dans le contexte de persistance : deleteById ne la relit pas
+        salesOrderRepository.findById(id).ifPresent(order -> eventPublisher.publishEvent(
+                OrderStatusChangedEvent.deleted(id, OrderStatusChangedEvent.Status.of(order))));
         salesOrderRepository.deleteById(id);
     }
 }
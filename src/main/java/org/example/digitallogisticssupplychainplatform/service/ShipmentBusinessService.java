@@ -5,9 +5,11 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.example.digitallogisticssupplychainplatform.event.ShipmentStatusChangedEvent;
 import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
 import org.example.digitallogisticssupplychainplatform.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class ShipmentBusinessService {
 
     private final ShipmentRepository shipmentRepository;
     private final CarrierRepository carrierRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public void updateStatus(Long shipmentId, ShipmentStatus newStatus) {
@@ -44,6 +47,7 @@ public class ShipmentBusinessService {
 
         shipment.setStatus(newStatus);
         shipmentRepository.save(shipment);
+        eventPublisher.publishEvent(ShipmentStatusChangedEvent.changed(shipmentId, currentStatus, newStatus));
     }
 
     public ShipmentTracking trackShipment(String trackingNumber) {
@@ -4,11 +4,17 @@ import org.example.digitallogisticssupplychainplatform.dto.*;
 import org.example.digitallogisticssupplychainplatform.entity.*;
 import org.example.digitallogisticssupplychainplatform.mapper.*;
 import org.example.digitallogisticssupplychainplatform.repository.*;
+import org.example.digitallogisticssupplychainplatform.event.ShipmentStatusChangedEvent;
 import org.example.digitallogisticssupplychainplatform.exception.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
@@ -20,6 +26,10 @@ public class ShipmentService {
     private final ShipmentRepository shipmentRepository;
     private final CarrierRepository carrierRepository;
     private final ShipmentMapper shipmentMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public List<ShipmentDTO> findAll() {
@@ -28,6 +38,23 @@ public class ShipmentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ShipmentDTO> findPage(String cursor, Integer size) {
+        int pageSize = CursorPage.resolveSize(size);
+        List<ShipmentDTO> rows = shipmentRepository
+                .findByIdGreaterThanOrderByIdAsc(CursorPage.decodeIdCursor(cursor), PageRequest.ofSize(pageSize + 1))
+                .stream()
+                .map(shipmentMapper::toDTO)
+                .collect(Collectors.toList());
+        return CursorPage.of(rows, pageSize, dto -> CursorPage.encodeCursor(dto.getId()));
+    }
+
+    @Transactional(readOnly = true, timeout = EntityStreams.STREAM_TIMEOUT_SECONDS)
+    public long streamAll(Consumer<ShipmentDTO> sink) {
+        return EntityStreams.drain(shipmentRepository.streamAllByOrderByIdAsc(), entityManager,
+                shipmentMapper::toDTO, sink);
+    }
+
     @Transactional(readOnly = true)
     public ShipmentDTO findById(Long id) {
         Shipment shipment = shipmentRepository.findById(id)
@@ -67,6 +94,7 @@ public class ShipmentService {
 
         Shipment shipment = shipmentMapper.toEntity(dto, carrier);
         Shipment saved = shipmentRepository.save(shipment);
+        eventPublisher.publishEvent(ShipmentStatusChangedEvent.created(saved.getId(), saved.getStatus()));
         return shipmentMapper.toDTO(saved);
     }
 
@@ -86,8 +114,12 @@ public class ShipmentService {
             throw new DuplicateResourceException("Tracking number already exists: " + dto.getTrackingNumber());
         }
 
+        ShipmentStatus previous = shipment.getStatus();
         shipmentMapper.updateEntityFromDTO(dto, shipment, carrier);
         Shipment updated = shipmentRepository.save(shipment);
+        if (updated.getStatus() != previous) {
+            eventPublisher.publishEvent(ShipmentStatusChangedEvent.changed(id, previous, updated.getStatus()));
+        }
         return shipmentMapper.toDTO(updated);
     }
 
@@ -95,6 +127,9 @@ public class ShipmentService {
         if (!shipmentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Shipment not found with id: " + id);
         }
+        // Déjà dans le contexte de persistance : deleteById ne la relit pas
+        shipmentRepository.findById(id).ifPresent(shipment -> eventPublisher.publishEvent(
+                ShipmentStatusChangedEvent.deleted(id, shipment.getStatus())));
         shipmentRepository.deleteById(id);
     }
 }
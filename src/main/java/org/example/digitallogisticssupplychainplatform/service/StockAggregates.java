@@ -0,0 +1,270 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totaux de stock (physique, réservé, nombre d'inventaires) par entrepôt, par produit et par
+ * catégorie, tenus en mémoire et mis à jour par les {@link InventoryChangedEvent} après commit :
+ * chaque événement retire l'ancienne contribution de la ligne et ajoute la nouvelle, et une
+ * lecture coûte une recherche dans une table. Un vérificateur périodique recalcule tout depuis la
+ * base, compte les totaux divergents et les remplace. Tant que le premier chargement n'est pas
+ * fait, l'appelant relit la base.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockAggregates {
+
+    private static final Totals EMPTY = new Totals(0, 0, 0);
+
+    private final InventoryRepository inventoryRepository;
+    private final ProductRepository productRepository;
+
+    /** Lignes par couple (produit, entrepôt) ; gardées par le moniteur de l'instance. */
+    private Map<StockKey, Line> lines = new HashMap<>();
+    private final Map<Long, Optional<String>> categoryByProduct = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, Totals> byWarehouse = new ConcurrentHashMap<>();
+    private volatile Map<Long, Totals> byProduct = new ConcurrentHashMap<>();
+    private volatile Map<String, Totals> byCategory = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventsApplied = new AtomicLong();
+    private final AtomicLong verifications = new AtomicLong();
+    private long eventSequence;
+    private volatile boolean ready;
+    private volatile LocalDateTime lastVerifiedAt;
+    private volatile long lastVerificationMillis;
+    private volatile int lastDriftedTotals;
+
+    public Optional<StockTotalsDTO> findByWarehouse(Long warehouseId) {
+        return ready ? Optional.of(byWarehouse.getOrDefault(warehouseId, EMPTY).toDto()) : Optional.empty();
+    }
+
+    public Optional<StockTotalsDTO> findByProduct(Long productId) {
+        return ready ? Optional.of(byProduct.getOrDefault(productId, EMPTY).toDto()) : Optional.empty();
+    }
+
+    public Optional<StockTotalsDTO> findByCategory(String category) {
+        return ready ? Optional.of(byCategory.getOrDefault(category, EMPTY).toDto()) : Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        String category = categoryOf(event.getProductId());
+
+        synchronized (this) {
+            StockKey key = StockKey.of(event.getProductId(), event.getWarehouseId());
+            long sequence = ++eventSequence;
+            Line previous = lines.get(key);
+            if (previous != null && previous.isRemoved()) {
+                previous = null;
+            }
+            if (event.getType() == InventoryChangedEvent.ChangeType.UPDATED && previous == null) {
+                return;
+            }
+
+            Line next = switch (event.getType()) {
+                case CREATED -> new Line(event.getProductId(), event.getWarehouseId(), category,
+                        event.getOnHandDelta(), event.getReservedDelta(), sequence, false);
+                case UPDATED -> new Line(previous.getProductId(), previous.getWarehouseId(), previous.getCategory(),
+                        previous.getQtyOnHand() + event.getOnHandDelta(),
+                        previous.getQtyReserved() + event.getReservedDelta(), sequence, false);
+                case DELETED -> new Line(event.getProductId(), event.getWarehouseId(), category, 0, 0, sequence, true);
+            };
+
+            if (previous != null) {
+                contribute(byWarehouse, byProduct, byCategory, previous, -1);
+            }
+            lines.put(key, next);
+            contribute(byWarehouse, byProduct, byCategory, next, 1);
+        }
+        eventsApplied.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        verify();
+        ready = true;
+        log.info("Agrégats de stock chargés: {} entrepôt(s), {} produit(s), {} catégorie(s)",
+                byWarehouse.size(), byProduct.size(), byCategory.size());
+    }
+
+    /**
+     * Recalcule les agrégats depuis la base et remplace ceux tenus en mémoire. Les lignes
+     * modifiées ou supprimées par un événement pendant la lecture sont conservées telles quelles.
+     *
+     * @return le nombre de totaux (entrepôt, produit ou catégorie) divergents
+     */
+    @Scheduled(initialDelayString = "${inventory.aggregates.verify-interval-ms:600000}",
+            fixedDelayString = "${inventory.aggregates.verify-interval-ms:600000}")
+    public int verify() {
+        long start = System.currentTimeMillis();
+        long startSequence;
+        synchronized (this) {
+            startSequence = eventSequence;
+        }
+
+        List<InventoryStockDTO> rows = inventoryRepository.findAllStock();
+        Map<Long, Optional<String>> categories = new HashMap<>();
+        productRepository.findAllCategories().forEach(product ->
+                categories.put(product.getProductId(), Optional.ofNullable(product.getCategory())));
+
+        int drifted;
+        synchronized (this) {
+            Map<StockKey, Line> rebuilt = new HashMap<>();
+            for (InventoryStockDTO row : rows) {
+                StockKey key = StockKey.of(row.getProductId(), row.getWarehouseId());
+                Line current = lines.get(key);
+                rebuilt.put(key, current != null && current.getSequence() > startSequence
+                        ? current
+                        : new Line(row.getProductId(), row.getWarehouseId(),
+                        categories.getOrDefault(row.getProductId(), Optional.empty()).orElse(null),
+                        row.getQtyOnHand(), row.getQtyReserved(), startSequence, false));
+            }
+            lines.forEach((key, line) -> {
+                if (line.getSequence() > startSequence) {
+                    rebuilt.putIfAbsent(key, line);
+                }
+            });
+
+            Map<Long, Totals> warehouses = new ConcurrentHashMap<>();
+            Map<Long, Totals> products = new ConcurrentHashMap<>();
+            Map<String, Totals> byCategoryRebuilt = new ConcurrentHashMap<>();
+            rebuilt.values().forEach(line -> contribute(warehouses, products, byCategoryRebuilt, line, 1));
+
+            drifted = countDrift(byWarehouse, warehouses) + countDrift(byProduct, products)
+                    + countDrift(byCategory, byCategoryRebuilt);
+
+            lines = rebuilt;
+            categoryByProduct.clear();
+            categoryByProduct.putAll(categories);
+            byWarehouse = warehouses;
+            byProduct = products;
+            byCategory = byCategoryRebuilt;
+        }
+
+        verifications.incrementAndGet();
+        lastDriftedTotals = drifted;
+        lastVerifiedAt = LocalDateTime.now();
+        lastVerificationMillis = System.currentTimeMillis() - start;
+        if (drifted > 0 && ready) {
+            log.warn("Agrégats de stock recalés: {} total(aux) divergent(s) corrigé(s)", drifted);
+        }
+        return drifted;
+    }
+
+    public AggregateStats getStats() {
+        return AggregateStats.builder()
+                .ready(ready)
+                .warehouses(byWarehouse.size())
+                .products(byProduct.size())
+                .categories(byCategory.size())
+                .eventsApplied(eventsApplied.get())
+                .verifications(verifications.get())
+                .lastVerifiedAt(lastVerifiedAt)
+                .lastVerificationMillis(lastVerificationMillis)
+                .lastDriftedTotals(lastDriftedTotals)
+                .build();
+    }
+
+    private String categoryOf(Long productId) {
+        Optional<String> category = categoryByProduct.get(productId);
+        if (category == null && ready) {
+            category = productRepository.findCategoryById(productId);
+            categoryByProduct.put(productId, category);
+        }
+        return category != null ? category.orElse(null) : null;
+    }
+
+    private static void contribute(Map<Long, Totals> warehouses, Map<Long, Totals> products,
+                                   Map<String, Totals> categories, Line line, int sign) {
+        if (line.isRemoved()) {
+            return;
+        }
+        Totals delta = new Totals((long) sign * line.getQtyOnHand(), (long) sign * line.getQtyReserved(), sign);
+        warehouses.merge(line.getWarehouseId(), delta, Totals::plus);
+        products.merge(line.getProductId(), delta, Totals::plus);
+        if (line.getCategory() != null) {
+            categories.merge(line.getCategory(), delta, Totals::plus);
+        }
+    }
+
+    private static <K> int countDrift(Map<K, Totals> current, Map<K, Totals> rebuilt) {
+        int drift = 0;
+        for (Map.Entry<K, Totals> entry : rebuilt.entrySet()) {
+            if (!entry.getValue().equals(current.getOrDefault(entry.getKey(), EMPTY))) {
+                drift++;
+            }
+        }
+        for (Map.Entry<K, Totals> entry : current.entrySet()) {
+            if (!rebuilt.containsKey(entry.getKey()) && !entry.getValue().equals(EMPTY)) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+
+    @Value
+    private static class Line {
+        Long productId;
+        Long warehouseId;
+        String category;
+        int qtyOnHand;
+        int qtyReserved;
+        long sequence;
+        boolean removed;
+    }
+
+    @Value
+    private static class Totals {
+        long qtyOnHand;
+        long qtyReserved;
+        long inventories;
+
+        Totals plus(Totals other) {
+            return new Totals(qtyOnHand + other.qtyOnHand, qtyReserved + other.qtyReserved,
+                    inventories + other.inventories);
+        }
+
+        StockTotalsDTO toDto() {
+            return new StockTotalsDTO(qtyOnHand, qtyReserved, inventories);
+        }
+    }
+
+    @Data
+    @Builder
+    public static class AggregateStats {
+        private Boolean ready;
+        private Integer warehouses;
+        private Integer products;
+        private Integer categories;
+        private Long eventsApplied;
+        private Long verifications;
+        private LocalDateTime lastVerifiedAt;
+        private Long lastVerificationMillis;
+        private Integer lastDriftedTotals;
+    }
+}
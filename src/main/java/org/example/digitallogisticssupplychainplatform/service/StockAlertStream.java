@@ -0,0 +1,194 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.StockAlertDTO;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diffusion SSE des alertes de seuil de stock. Chaque abonné a son tampon borné : la publication
+ * ne fait que déposer les alertes, sans jamais attendre un client ; un pool d'envoi vide ensuite
+ * chaque tampon, un seul envoi à la fois par abonné. Un tampon plein perd ses alertes les plus
+ * anciennes et l'abonné reçoit un événement {@code OVERFLOW} avec le nombre d'alertes perdues,
+ * pour qu'il se recale par une lecture.
+ */
+@Component
+@Slf4j
+public class StockAlertStream {
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberSequence = new AtomicLong();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService senders;
+
+    @Value("${inventory.stream.buffer-size:256}")
+    private int bufferSize = 256;
+
+    @Value("${inventory.stream.max-subscribers:500}")
+    private int maxSubscribers = 500;
+
+    @Value("${inventory.stream.timeout-ms:1800000}")
+    private long timeoutMs = 1800000;
+
+    public StockAlertStream(@Value("${inventory.stream.sender-threads:4}") int senderThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-alert-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ouvre un flux filtré, éventuellement, sur un produit et/ou un entrepôt.
+     */
+    public SseEmitter subscribe(Long productId, Long warehouseId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessException("Nombre maximal d'abonnés au flux de stock atteint");
+        }
+
+        long id = subscriberSequence.incrementAndGet();
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(id, emitter, productId, warehouseId, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.put(id, subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(id));
+        emitter.onTimeout(() -> subscribers.remove(id));
+        emitter.onError(error -> subscribers.remove(id));
+        log.debug("Abonné {} au flux de stock (produit {}, entrepôt {})", id, productId, warehouseId);
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Dépose les alertes dans le tampon de chaque abonné concerné. Ne bloque jamais.
+     */
+    public void publish(List<StockAlertDTO> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers.values()) {
+            boolean queued = false;
+            for (StockAlertDTO alert : alerts) {
+                if (subscriber.accepts(alert)) {
+                    while (!subscriber.buffer.offer(alert)) {
+                        if (subscriber.buffer.poll() != null) {
+                            subscriber.dropped.incrementAndGet();
+                            dropped.incrementAndGet();
+                        }
+                    }
+                    queued = true;
+                }
+            }
+            if (queued && subscriber.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    public StreamStats getStats() {
+        return StreamStats.builder()
+                .subscribers(subscribers.size())
+                .bufferedAlerts(subscribers.values().stream().mapToInt(subscriber -> subscriber.buffer.size()).sum())
+                .deliveredAlerts(delivered.get())
+                .droppedAlerts(dropped.get())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            try {
+                long lost = subscriber.dropped.getAndSet(0);
+                if (lost > 0) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(eventSequence.incrementAndGet()))
+                            .name("OVERFLOW")
+                            .data(Map.of("droppedAlerts", lost)));
+                }
+
+                StockAlertDTO alert = subscriber.buffer.poll();
+                if (alert == null) {
+                    subscriber.draining.set(false);
+                    if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(eventSequence.incrementAndGet()))
+                        .name(alert.getType().name())
+                        .data(alert));
+                delivered.incrementAndGet();
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber.id);
+                subscriber.draining.set(false);
+                log.debug("Abonné {} au flux de stock déconnecté: {}", subscriber.id, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final Long productId;
+        private final Long warehouseId;
+        private final BlockingQueue<StockAlertDTO> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscriber(long id, SseEmitter emitter, Long productId, Long warehouseId,
+                           BlockingQueue<StockAlertDTO> buffer) {
+            this.id = id;
+            this.emitter = emitter;
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+            this.buffer = buffer;
+        }
+
+        private boolean accepts(StockAlertDTO alert) {
+            return (productId == null || Objects.equals(productId, alert.getProductId()))
+                    && (warehouseId == null || Objects.equals(warehouseId, alert.getWarehouseId()));
+        }
+    }
+
+    @Data
+    @Builder
+    public static class StreamStats {
+        private Integer subscribers;
+        private Integer bufferedAlerts;
+        private Long deliveredAlerts;
+        private Long droppedAlerts;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Value;
+
+/**
+ * Clé (produit, entrepôt) des index de stock tenus en mémoire. Les deux identifiants sont gardés
+ * entiers : aucun empaquetage dans un {@code long}, donc aucune collision quelle que soit leur taille.
+ */
+@Value(staticConstructor = "of")
+class StockKey {
+    Long productId;
+    Long warehouseId;
+}
@@ -0,0 +1,174 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.dto.StockAlertDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Détecte les franchissements de seuil du disponible d'un couple (produit, entrepôt) : passage
+ * sous le seuil bas, rupture et retour en stock. Les {@link InventoryChangedEvent} émis par les
+ * mutations ne font qu'accumuler un delta net par couple ; à chaque intervalle, les couples touchés
+ * sont relus une fois (cache ATP, sinon base) et au plus une alerte par couple est publiée sur le
+ * {@link StockAlertStream}. Le niveau précédent d'un couple jamais vu est déduit du delta cumulé.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockThresholdMonitor {
+
+    private final AvailableToPromiseCache availabilityCache;
+    private final InventoryRepository inventoryRepository;
+    private final StockAlertStream alertStream;
+
+    private final Map<StockKey, PendingChange> pending = new ConcurrentHashMap<>();
+    private final Map<StockKey, StockLevel> levels = new ConcurrentHashMap<>();
+    private Map<Long, Integer> thresholdOverrides = Map.of();
+
+    @Value("${inventory.stream.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${inventory.stream.low-stock-threshold:10}")
+    private int lowStockThreshold = 10;
+
+    @Value("${inventory.stream.low-stock-overrides:}")
+    private String lowStockOverrides = "";
+
+    @PostConstruct
+    void parseOverrides() {
+        Map<Long, Integer> overrides = new HashMap<>();
+        for (String entry : lowStockOverrides.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length == 2) {
+                overrides.put(Long.valueOf(parts[0].trim()), Integer.valueOf(parts[1].trim()));
+            } else if (!entry.isBlank()) {
+                log.warn("Seuil de stock bas ignoré (format produit:seuil attendu): {}", entry);
+            }
+        }
+        thresholdOverrides = Map.copyOf(overrides);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pending.merge(StockKey.of(event.getProductId(), event.getWarehouseId()),
+                new PendingChange(event.getProductId(), event.getWarehouseId(), availableDelta(event)),
+                PendingChange::plus);
+    }
+
+    /**
+     * Relit les couples modifiés depuis le dernier passage et publie les alertes de seuil.
+     *
+     * @return les alertes publiées
+     */
+    @Scheduled(fixedDelayString = "${inventory.stream.coalesce-interval-ms:1000}")
+    public List<StockAlertDTO> flush() {
+        List<StockAlertDTO> alerts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (StockKey key : pending.keySet()) {
+            PendingChange change = pending.remove(key);
+            if (change == null) {
+                continue;
+            }
+
+            int available = currentAvailable(change.productId, change.warehouseId);
+            int threshold = thresholdOverrides.getOrDefault(change.productId, lowStockThreshold);
+            StockLevel before = levels.get(key);
+            int previousAvailable = available - change.availableDelta;
+            if (before == null) {
+                before = StockLevel.of(previousAvailable, threshold);
+            }
+            StockLevel after = StockLevel.of(available, threshold);
+            levels.put(key, after);
+
+            StockAlertDTO.AlertType type = transition(before, after);
+            if (type != null) {
+                alerts.add(StockAlertDTO.builder()
+                        .type(type)
+                        .productId(change.productId)
+                        .warehouseId(change.warehouseId)
+                        .available(available)
+                        .previousAvailable(previousAvailable)
+                        .lowStockThreshold(threshold)
+                        .occurredAt(now)
+                        .build());
+            }
+        }
+
+        if (!alerts.isEmpty()) {
+            alertStream.publish(alerts);
+            log.debug("Alertes de seuil de stock publiées: {}", alerts.size());
+        }
+        return alerts;
+    }
+
+    private int currentAvailable(Long productId, Long warehouseId) {
+        Integer available = availabilityCache.find(productId, warehouseId)
+                .map(AvailableToPromiseCache.StockLevel::getAvailable)
+                .orElseGet(() -> inventoryRepository.findAvailableQty(productId, warehouseId));
+        return available != null ? available : 0;
+    }
+
+    private static StockAlertDTO.AlertType transition(StockLevel before, StockLevel after) {
+        if (after == before) {
+            return null;
+        }
+        if (after == StockLevel.OUT) {
+            return StockAlertDTO.AlertType.OUT_OF_STOCK;
+        }
+        if (before == StockLevel.OUT) {
+            return StockAlertDTO.AlertType.BACK_IN_STOCK;
+        }
+        return after == StockLevel.LOW ? StockAlertDTO.AlertType.LOW_STOCK : null;
+    }
+
+    private static int availableDelta(InventoryChangedEvent event) {
+        return event.getOnHandDelta() - event.getReservedDelta();
+    }
+
+
+    private enum StockLevel {
+        OUT,
+        LOW,
+        IN;
+
+        static StockLevel of(int available, int lowStockThreshold) {
+            if (available <= 0) {
+                return OUT;
+            }
+            return available <= lowStockThreshold ? LOW : IN;
+        }
+    }
+
+    private static final class PendingChange {
+        private final Long productId;
+        private final Long warehouseId;
+        private final int availableDelta;
+
+        private PendingChange(Long productId, Long warehouseId, int availableDelta) {
+            this.productId = productId;
+            this.warehouseId = warehouseId;
+            this.availableDelta = availableDelta;
+        }
+
+        private PendingChange plus(PendingChange other) {
+            return new PendingChange(productId, warehouseId, availableDelta + other.availableDelta);
+        }
+    }
+}
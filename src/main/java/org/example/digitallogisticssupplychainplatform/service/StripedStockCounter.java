@@ -0,0 +1,114 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Disponible d'un couple (produit, entrepôt) réparti sur plusieurs cellules atomiques. Chaque
+ * thread puise d'abord dans sa cellule et ne visite les voisines que si elle ne suffit pas : des
+ * réservations concurrentes ne se disputent pas un même compteur. Les cellules sont espacées dans
+ * le tableau pour éviter le faux partage d'une ligne de cache. Une cellule peut devenir négative
+ * après un recalage : elle n'accorde alors plus rien.
+ */
+final class StripedStockCounter {
+
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    StripedStockCounter(int stripes, long available) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Au moins une cellule est requise");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        add(available);
+    }
+
+    /**
+     * Prélève jusqu'à {@code quantity} unités, sans verrou.
+     *
+     * @return la quantité effectivement obtenue, éventuellement partielle
+     */
+    int reserve(int quantity) {
+        int home = (int) (Thread.currentThread().getId() % stripes);
+        long granted = 0;
+        for (int i = 0; i < stripes && granted < quantity; i++) {
+            int index = ((home + i) % stripes) * PADDING;
+            while (true) {
+                long current = cells.get(index);
+                if (current <= 0) {
+                    break;
+                }
+                long take = Math.min(current, quantity - granted);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    granted += take;
+                    break;
+                }
+            }
+        }
+        return (int) granted;
+    }
+
+    /**
+     * Ajoute (ou retire, si négatif) des unités. Un ajout comble d'abord les cellules négatives
+     * puis se répartit uniformément ; un retrait vide d'abord les cellules positives, le reliquat
+     * est imputé à la première cellule. Les ajustements sont sérialisés par l'appelant.
+     */
+    void add(long delta) {
+        if (delta >= 0) {
+            for (int i = 0; i < stripes && delta > 0; i++) {
+                long deficit = -cells.get(i * PADDING);
+                if (deficit > 0) {
+                    long repaid = Math.min(deficit, delta);
+                    cells.addAndGet(i * PADDING, repaid);
+                    delta -= repaid;
+                }
+            }
+            long share = delta / stripes;
+            long rest = delta % stripes;
+            for (int i = 0; i < stripes; i++) {
+                long amount = share + (i < rest ? 1 : 0);
+                if (amount > 0) {
+                    cells.addAndGet(i * PADDING, amount);
+                }
+            }
+            return;
+        }
+
+        long remaining = -delta;
+        for (int i = 0; i < stripes && remaining > 0; i++) {
+            int index = i * PADDING;
+            while (true) {
+                long current = cells.get(index);
+                if (current <= 0) {
+                    break;
+                }
+                long take = Math.min(current, remaining);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    remaining -= take;
+                    break;
+                }
+            }
+        }
+        if (remaining > 0) {
+            cells.addAndGet(0, -remaining);
+        }
+    }
+
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    /**
+     * Ramène le total des cellules à {@code target}. À appeler sans octroi concurrent pour un
+     * résultat exact.
+     */
+    void adjustTo(long target) {
+        add(target - available());
+    }
+}
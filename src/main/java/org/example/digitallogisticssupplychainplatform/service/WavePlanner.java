@@ -0,0 +1,189 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Découpage des commandes réservées d'un entrepôt en vagues de préparation. Chaque vague part de
+ * la commande la plus urgente encore libre, puis agrège en priorité les commandes qui partagent le
+ * plus de références avec elle (un index produit → commandes évite de comparer les commandes deux
+ * à deux), et complète par ordre d'urgence, dans la limite de {@code maxOrders} commandes et
+ * {@code maxUnits} unités. Les vagues sont ensuite confiées, dans l'ordre, au transporteur dont le
+ * cut-off est le plus proche et dont la capacité restante absorbe la vague. Aucun accès base.
+ */
+final class WavePlanner {
+
+    private WavePlanner() {
+    }
+
+    /**
+     * @param picks    quantités à prélever par commande puis par produit, la commande la plus urgente en premier
+     * @param carriers créneaux transporteurs, cut-off le plus proche en premier ; leur capacité est consommée
+     */
+    static List<PlannedWave> plan(Map<Long, Map<Long, Integer>> picks, int maxOrders, int maxUnits,
+                                  List<CarrierSlot> carriers) {
+        List<Long> orderIds = new ArrayList<>(picks.keySet());
+        List<Map<Long, Integer>> quantities = new ArrayList<>(picks.values());
+        int count = orderIds.size();
+        int[] units = new int[count];
+        Map<Long, List<Integer>> ordersByProduct = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            for (Map.Entry<Long, Integer> entry : quantities.get(i).entrySet()) {
+                units[i] += entry.getValue();
+                ordersByProduct.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        boolean[] assigned = new boolean[count];
+        List<PlannedWave> waves = new ArrayList<>();
+        int seed = 0;
+        while (true) {
+            while (seed < count && assigned[seed]) {
+                seed++;
+            }
+            if (seed == count) {
+                break;
+            }
+
+            List<Integer> members = new ArrayList<>();
+            Set<Long> products = new HashSet<>();
+            Map<Integer, Integer> sharedProducts = new HashMap<>();
+            add(seed, members, products, sharedProducts, assigned, quantities, ordersByProduct);
+            int waveUnits = units[seed];
+
+            while (members.size() < maxOrders) {
+                int next = mostShared(sharedProducts, units, waveUnits, maxUnits);
+                if (next < 0) {
+                    next = mostUrgent(seed, assigned, units, waveUnits, maxUnits);
+                }
+                if (next < 0) {
+                    break;
+                }
+                add(next, members, products, sharedProducts, assigned, quantities, ordersByProduct);
+                waveUnits += units[next];
+            }
+            waves.add(toWave(waves.size() + 1, members, orderIds, quantities, waveUnits));
+        }
+
+        for (PlannedWave wave : waves) {
+            for (CarrierSlot carrier : carriers) {
+                if (carrier.getRemainingCapacity() >= wave.getOrderIds().size()) {
+                    carrier.setRemainingCapacity(carrier.getRemainingCapacity() - wave.getOrderIds().size());
+                    wave.setCarrier(carrier);
+                    break;
+                }
+            }
+        }
+        return waves;
+    }
+
+    private static void add(int order, List<Integer> members, Set<Long> products, Map<Integer, Integer> sharedProducts,
+                            boolean[] assigned, List<Map<Long, Integer>> quantities,
+                            Map<Long, List<Integer>> ordersByProduct) {
+        assigned[order] = true;
+        members.add(order);
+        sharedProducts.remove(order);
+        for (Long productId : quantities.get(order).keySet()) {
+            if (products.add(productId)) {
+                for (Integer other : ordersByProduct.get(productId)) {
+                    if (!assigned[other]) {
+                        sharedProducts.merge(other, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Commande libre qui partage le plus de références avec la vague et y tient encore ; à
+     * égalité, la plus urgente.
+     */
+    private static int mostShared(Map<Integer, Integer> sharedProducts, int[] units, int waveUnits, int maxUnits) {
+        int best = -1;
+        int bestShared = 0;
+        for (Map.Entry<Integer, Integer> entry : sharedProducts.entrySet()) {
+            int order = entry.getKey();
+            if (waveUnits + units[order] > maxUnits) {
+                continue;
+            }
+            if (entry.getValue() > bestShared || (entry.getValue() == bestShared && order < best)) {
+                best = order;
+                bestShared = entry.getValue();
+            }
+        }
+        return best;
+    }
+
+    private static int mostUrgent(int from, boolean[] assigned, int[] units, int waveUnits, int maxUnits) {
+        for (int order = from; order < assigned.length; order++) {
+            if (!assigned[order] && waveUnits + units[order] <= maxUnits) {
+                return order;
+            }
+        }
+        return -1;
+    }
+
+    private static PlannedWave toWave(int waveNumber, List<Integer> members, List<Long> orderIds,
+                                      List<Map<Long, Integer>> quantities, int units) {
+        List<Long> waveOrderIds = new ArrayList<>(members.size());
+        Map<Long, Integer> totals = new TreeMap<>();
+        Map<Long, Integer> orderCounts = new HashMap<>();
+        members.sort(Integer::compare);
+        for (Integer member : members) {
+            waveOrderIds.add(orderIds.get(member));
+            quantities.get(member).forEach((productId, quantity) -> {
+                totals.merge(productId, quantity, Integer::sum);
+                orderCounts.merge(productId, 1, Integer::sum);
+            });
+        }
+
+        List<PickTotal> pickList = new ArrayList<>(totals.size());
+        totals.forEach((productId, quantity) -> pickList.add(PickTotal.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .orders(orderCounts.get(productId))
+                .build()));
+        return PlannedWave.builder()
+                .waveNumber(waveNumber)
+                .orderIds(waveOrderIds)
+                .units(units)
+                .pickList(pickList)
+                .build();
+    }
+
+    @Data
+    @Builder
+    static class CarrierSlot {
+        private Long carrierId;
+        private String carrierName;
+        private LocalDateTime cutOff;
+        private int remainingCapacity;
+    }
+
+    @Data
+    @Builder
+    static class PickTotal {
+        private Long productId;
+        private int quantity;
+        private int orders;
+    }
+
+    @Data
+    @Builder
+    static class PlannedWave {
+        private int waveNumber;
+        private List<Long> orderIds;
+        private int units;
+        private List<PickTotal> pickList;
+        private CarrierSlot carrier;
+    }
+}
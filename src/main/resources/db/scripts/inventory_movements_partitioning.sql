@@ -0,0 +1,55 @@
+-- Conversion de inventory_movements en table partitionnée par mois sur occurred_at (PostgreSQL 12+).
+-- À exécuter une fois, application arrêtée. Les partitions futures sont ensuite créées et les
+-- anciennes détachées par InventoryMovementPartitionManager.
+--
+-- La clé primaire doit contenir la clé de partitionnement : elle devient (id, occurred_at).
+-- L'unicité de id reste garantie par la séquence inventory_movements_seq (allouée par Hibernate).
+
+BEGIN;
+
+ALTER TABLE inventory_movements RENAME TO inventory_movements_legacy;
+
+CREATE TABLE inventory_movements (
+    id            bigint       NOT NULL,
+    inventory_id  bigint       NOT NULL REFERENCES inventories (id),
+    type          varchar(255) NOT NULL,
+    quantity      integer      NOT NULL,
+    occurred_at   timestamp(6) NOT NULL,
+    reference_doc varchar(255),
+    description   varchar(255),
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE INDEX idx_movements_inventory_occurred ON inventory_movements (inventory_id, occurred_at);
+CREATE INDEX idx_movements_type_occurred ON inventory_movements (type, occurred_at);
+CREATE INDEX idx_movements_occurred_id ON inventory_movements (occurred_at, id);
+
+-- Une partition par mois, du plus ancien mouvement jusqu'à trois mois après le mois courant.
+-- Pas de partition DEFAULT : les lignes qu'elle recevrait empêcheraient de créer les mois suivants.
+-- L'application refuse les mouvements datés au-delà des partitions préparées.
+DO $$
+DECLARE
+    month_start date := date_trunc('month', coalesce(
+            (SELECT min(occurred_at) FROM inventory_movements_legacy), now()))::date;
+    last_month  date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS %I PARTITION OF inventory_movements FOR VALUES FROM (%L) TO (%L)',
+                'inventory_movements_p' || to_char(month_start, 'YYYYMM'),
+                month_start,
+                (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO inventory_movements (id, inventory_id, type, quantity, occurred_at, reference_doc, description)
+SELECT id, inventory_id, type, quantity, occurred_at, reference_doc, description
+FROM inventory_movements_legacy;
+
+-- La séquence inventory_movements_seq n'est pas touchée : voir sequence_alignment.sql.
+
+COMMIT;
+
+-- Après vérification des volumes :
+-- DROP TABLE inventory_movements_legacy;
@@ -0,0 +1,21 @@
+-- Passage de GenerationType.IDENTITY aux séquences poolées (allocationSize = 50) pour les
+-- entités à fort volume. À exécuter une fois sur une base existante, application arrêtée.
+--
+-- Hibernate réserve les identifiants par blocs de 50 : l'incrément de chaque séquence doit être
+-- égal à allocationSize, et la prochaine valeur doit laisser un bloc complet au-dessus du max(id)
+-- existant pour ne jamais rejouer un identifiant déjà attribué par l'ancienne colonne identity.
+
+CREATE SEQUENCE IF NOT EXISTS inventories_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS inventory_movements_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sales_order_lines_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS purchase_order_lines_seq INCREMENT BY 50;
+
+ALTER SEQUENCE inventories_seq INCREMENT BY 50;
+ALTER SEQUENCE inventory_movements_seq INCREMENT BY 50;
+ALTER SEQUENCE sales_order_lines_seq INCREMENT BY 50;
+ALTER SEQUENCE purchase_order_lines_seq INCREMENT BY 50;
+
+SELECT setval('inventories_seq', coalesce((SELECT max(id) FROM inventories), 0) + 50, false);
+SELECT setval('inventory_movements_seq', coalesce((SELECT max(id) FROM inventory_movements), 0) + 50, false);
+SELECT setval('sales_order_lines_seq', coalesce((SELECT max(id) FROM sales_order_lines), 0) + 50, false);
+SELECT setval('purchase_order_lines_seq', coalesce((SELECT max(id) FROM purchase_order_lines), 0) + 50, false);
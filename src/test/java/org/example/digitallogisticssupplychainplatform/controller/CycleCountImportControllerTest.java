@@ -0,0 +1,81 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import org.example.digitallogisticssupplychainplatform.service.CycleCountImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - CycleCountImportController")
+class CycleCountImportControllerTest {
+
+    @Mock
+    private CycleCountImportService cycleCountImportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CycleCountImportController(cycleCountImportService)).build();
+    }
+
+    @Test
+    @DisplayName("✓ POST /cycle-counts - Corps CSV importé en flux")
+    void testImportCounts() throws Exception {
+        when(cycleCountImportService.importCounts(any(InputStream.class), eq("import-1"), eq("CC-1")))
+                .thenReturn(summary(CycleCountImportService.ImportStatus.COMPLETED));
+
+        mockMvc.perform(post("/api/inventory/operations/cycle-counts")
+                        .contentType("text/csv")
+                        .param("importId", "import-1")
+                        .param("referenceDoc", "CC-1")
+                        .content("productId,warehouseId,countedQuantity\n1,1,45\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.adjusted").value(1));
+    }
+
+    @Test
+    @DisplayName("❌ POST /cycle-counts - Identifiant d'import obligatoire")
+    void testImportCountsRequiresImportId() throws Exception {
+        mockMvc.perform(post("/api/inventory/operations/cycle-counts")
+                        .contentType("text/csv")
+                        .content("productId,warehouseId,countedQuantity\n1,1,45\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cycleCountImportService);
+    }
+
+    @Test
+    @DisplayName("✓ GET /cycle-counts/{importId} - Avancement d'un import")
+    void testGetProgress() throws Exception {
+        when(cycleCountImportService.getProgress("import-1"))
+                .thenReturn(summary(CycleCountImportService.ImportStatus.RUNNING));
+
+        mockMvc.perform(get("/api/inventory/operations/cycle-counts/import-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.importId").value("import-1"));
+    }
+
+    private CycleCountImportService.CycleCountSummary summary(CycleCountImportService.ImportStatus status) {
+        return CycleCountImportService.CycleCountSummary.builder()
+                .importId("import-1")
+                .status(status)
+                .linesRead(1)
+                .adjusted(1)
+                .build();
+    }
+}
@@ -2,6 +2,9 @@ package org.example.digitallogisticssupplychainplatform.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
+import org.example.digitallogisticssupplychainplatform.service.AvailableToPromiseCache;
+import org.example.digitallogisticssupplychainplatform.service.HotSkuReservations;
 import org.example.digitallogisticssupplychainplatform.service.InventoryBusinessService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.util.ArrayList;
 import java.util.List;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -235,6 +239,54 @@ class InventoryBusinessControllerTest {
                 .recordInbound(2L, 2L, 100, "PO-002", "Stock inbound 2");
     }
 
+    // ============================================================
+    // TEST: POST /api/inventory/operations/inbound/bulk
+    // ============================================================
+
+    @Test
+    @DisplayName("✓ POST /inbound/bulk - Enregistrer une rafale de scans")
+    void testRecordInboundBulk() throws Exception {
+        when(inventoryBusinessService.recordInboundBulk(anyList()))
+                .thenReturn(InventoryBusinessService.InboundBatchResult.builder()
+                        .linesProcessed(2)
+                        .warehousesAffected(2)
+                        .inventoriesCreated(1)
+                        .totalQuantity(150)
+                        .build());
+
+        InventoryBusinessController.BulkInboundRequest request =
+                InventoryBusinessController.BulkInboundRequest.builder()
+                        .movements(List.of(
+                                InventoryBusinessController.MovementRequest.builder()
+                                        .productId(1L).warehouseId(1L).quantity(50).referenceDoc("SCAN-1").build(),
+                                InventoryBusinessController.MovementRequest.builder()
+                                        .productId(2L).warehouseId(2L).quantity(100).referenceDoc("SCAN-2").build()))
+                        .build();
+
+        mockMvc.perform(post("/api/inventory/operations/inbound/bulk")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.linesProcessed").value(2))
+                .andExpect(jsonPath("$.totalQuantity").value(150));
+
+        verify(inventoryBusinessService, times(1)).recordInboundBulk(argThat(rows ->
+                rows.size() == 2
+                        && rows.get(1).getWarehouseId().equals(2L)
+                        && "SCAN-2".equals(rows.get(1).getReferenceDoc())));
+    }
+
+    @Test
+    @DisplayName("❌ POST /inbound/bulk - Liste vide refusée")
+    void testRecordInboundBulkEmpty() throws Exception {
+        mockMvc.perform(post("/api/inventory/operations/inbound/bulk")
+                        .contentType("application/json")
+                        .content("{\"movements\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(inventoryBusinessService);
+    }
+
     // ============================================================
     // TEST: POST /api/inventory/operations/outbound
     // ============================================================
@@ -329,6 +381,43 @@ class InventoryBusinessControllerTest {
                 .allocateFromMultipleWarehouses(1L, 50, List.of(1L, 2L));
     }
 
+    @Test
+    @DisplayName("✓ POST /allocate/order - Allouer une commande complète")
+    void testAllocateOrder() throws Exception {
+        InventoryBusinessService.OrderAllocation allocation = InventoryBusinessService.OrderAllocation.builder()
+                .allocations(testAllocations)
+                .warehousesUsed(List.of(1L, 2L))
+                .shipments(2)
+                .shortages(java.util.Map.of())
+                .fullyAllocated(true)
+                .reserved(true)
+                .build();
+        when(inventoryBusinessService.allocateOrder(anyList(), eq(List.of(1L, 2L)), eq(true), eq("SO-1")))
+                .thenReturn(allocation);
+
+        InventoryBusinessController.OrderAllocationRequest request =
+                InventoryBusinessController.OrderAllocationRequest.builder()
+                        .lines(List.of(new InventoryBusinessController.OrderLineRequest(1L, 30),
+                                new InventoryBusinessController.OrderLineRequest(2L, 20)))
+                        .warehouseIdsByPriority(List.of(1L, 2L))
+                        .reserve(true)
+                        .referenceDoc("SO-1")
+                        .build();
+
+        mockMvc.perform(post("/api/inventory/operations/allocate/order")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shipments").value(2))
+                .andExpect(jsonPath("$.reserved").value(true))
+                .andExpect(jsonPath("$.allocations.length()").value(2));
+
+        verify(inventoryBusinessService, times(1)).allocateOrder(
+                eq(List.of(new InventoryBusinessService.ReservationLine(1L, 30),
+                        new InventoryBusinessService.ReservationLine(2L, 20))),
+                eq(List.of(1L, 2L)), eq(true), eq("SO-1"));
+    }
+
     @Test
     @DisplayName("✓ POST /allocate - Allocation partielle")
     void testAllocatePartial() throws Exception {
@@ -395,4 +484,65 @@ class InventoryBusinessControllerTest {
 
         verify(inventoryBusinessService, times(1)).isOutOfStock(2L, 2L);
     }
-}
\ No newline at end of file
+
+    // ============================================================
+    // TEST: GET /api/inventory/operations/atp-cache/stats
+    // ============================================================
+
+    @Test
+    @DisplayName("✓ GET /atp-cache/stats - Statistiques du cache ATP")
+    void testGetAvailabilityCacheStats() throws Exception {
+        when(inventoryBusinessService.getAvailabilityCacheStats()).thenReturn(
+                AvailableToPromiseCache.CacheStats.builder()
+                        .ready(true)
+                        .entries(12)
+                        .hits(90L)
+                        .misses(10L)
+                        .hitRatio(0.9)
+                        .build());
+
+        mockMvc.perform(get("/api/inventory/operations/atp-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(12))
+                .andExpect(jsonPath("$.hitRatio").value(0.9));
+
+        verify(inventoryBusinessService, times(1)).getAvailabilityCacheStats();
+    }
+
+    @Test
+    @DisplayName("✓ GET /hot-skus/stats - Statistiques des SKU chauds")
+    void testGetHotSkuStats() throws Exception {
+        when(inventoryBusinessService.getHotSkuStats()).thenReturn(
+                HotSkuReservations.HotSkuStats.builder()
+                        .enabled(true)
+                        .hotSkus(List.of(HotSkuReservations.HotSkuView.builder()
+                                .productId(1L)
+                                .warehouseId(2L)
+                                .inventoryId(10L)
+                                .available(40)
+                                .build()))
+                        .grants(120L)
+                        .flushedUnits(300L)
+                        .build());
+
+        mockMvc.perform(get("/api/inventory/operations/hot-skus/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hotSkus[0].inventoryId").value(10))
+                .andExpect(jsonPath("$.flushedUnits").value(300));
+
+        verify(inventoryBusinessService, times(1)).getHotSkuStats();
+    }
+
+    @Test
+    @DisplayName("✓ GET /totals/warehouses/{id} - Totaux d'un entrepôt")
+    void testGetWarehouseTotals() throws Exception {
+        when(inventoryBusinessService.getWarehouseTotals(1L)).thenReturn(new StockTotalsDTO(150L, 20L, 2L));
+
+        mockMvc.perform(get("/api/inventory/operations/totals/warehouses/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.qtyOnHand").value(150))
+                .andExpect(jsonPath("$.available").value(130))
+                .andExpect(jsonPath("$.inventories").value(2));
+    }
+}
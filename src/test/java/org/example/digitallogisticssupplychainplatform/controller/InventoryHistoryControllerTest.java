@@ -0,0 +1,104 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import org.example.digitallogisticssupplychainplatform.service.InventoryReplayService;
+import org.example.digitallogisticssupplychainplatform.service.InventorySnapshotProjector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - InventoryHistoryController")
+class InventoryHistoryControllerTest {
+
+    @Mock
+    private InventoryReplayService replayService;
+
+    @Mock
+    private InventorySnapshotProjector snapshotProjector;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new InventoryHistoryController(replayService, snapshotProjector)
+        ).build();
+    }
+
+    @Test
+    @DisplayName("✓ GET /history/{inventoryId} - Stock rejoué à une date")
+    void testRebuildAsOf() throws Exception {
+        LocalDateTime asOf = LocalDateTime.of(2025, 1, 15, 0, 0);
+        when(replayService.rebuild(1L, asOf)).thenReturn(InventoryReplayService.ReplayResult.builder()
+                .inventoryId(1L)
+                .qtyOnHand(70)
+                .movementsReplayed(4L)
+                .build());
+
+        mockMvc.perform(get("/api/inventory/history/1").param("asOf", "2025-01-15T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inventoryId").value(1))
+                .andExpect(jsonPath("$.qtyOnHand").value(70));
+
+        verify(replayService, times(1)).rebuild(1L, asOf);
+    }
+
+    @Test
+    @DisplayName("✓ GET /history/products/{productId}/warehouses/{warehouseId} - Stock d'un produit à une date")
+    void testStockAsOf() throws Exception {
+        LocalDateTime asOf = LocalDateTime.of(2025, 1, 15, 0, 0);
+        when(replayService.stockAsOf(5L, 2L, asOf)).thenReturn(InventoryReplayService.ReplayResult.builder()
+                .inventoryId(1L)
+                .productId(5L)
+                .warehouseId(2L)
+                .qtyOnHand(40)
+                .build());
+
+        mockMvc.perform(get("/api/inventory/history/products/5/warehouses/2").param("asOf", "2025-01-15T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(5))
+                .andExpect(jsonPath("$.qtyOnHand").value(40));
+    }
+
+    @Test
+    @DisplayName("✓ GET /history/warehouses/{warehouseId} - Stock d'un entrepôt à une date")
+    void testWarehouseStockAsOf() throws Exception {
+        LocalDateTime asOf = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+        when(replayService.warehouseStockAsOf(2L, asOf)).thenReturn(InventoryReplayService.WarehouseReplayResult.builder()
+                .warehouseId(2L)
+                .totalQtyOnHand(90L)
+                .inventories(List.of(new InventoryReplayService.StockAsOf(1L, 5L, 40),
+                        new InventoryReplayService.StockAsOf(3L, 6L, 50)))
+                .build());
+
+        mockMvc.perform(get("/api/inventory/history/warehouses/2").param("asOf", "2025-01-31T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalQtyOnHand").value(90))
+                .andExpect(jsonPath("$.inventories.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("✓ POST /history/snapshots - Projection immédiate")
+    void testProjectSnapshots() throws Exception {
+        when(snapshotProjector.project()).thenReturn(InventorySnapshotProjector.ProjectionResult.builder()
+                .snapshotsWritten(3)
+                .movementsFolded(12L)
+                .build());
+
+        mockMvc.perform(post("/api/inventory/history/snapshots"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshotsWritten").value(3));
+    }
+}
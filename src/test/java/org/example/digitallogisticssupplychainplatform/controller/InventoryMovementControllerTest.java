@@ -1,7 +1,9 @@
 package org.example.digitallogisticssupplychainplatform.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.service.InventoryMovementService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,15 +11,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +39,9 @@ class InventoryMovementControllerTest {
     @Mock
     private InventoryMovementService movementService;
 
+    @Spy
+    private NdjsonResponses ndjsonResponses = new NdjsonResponses(new ObjectMapper().findAndRegisterModules());
+
     @InjectMocks
     private InventoryMovementController inventoryMovementController;
 
@@ -58,6 +67,46 @@ class InventoryMovementControllerTest {
     }
 
 
+    @Test
+    @DisplayName("✓ GET /api/inventory-movements/page - Pagination par curseur")
+    void testGetMovementsPage() throws Exception {
+        CursorPage<InventoryMovementDTO> page = CursorPage.<InventoryMovementDTO>builder()
+                .items(List.of(testMovementDTO))
+                .size(1)
+                .hasMore(true)
+                .nextCursor("abc")
+                .build();
+        when(movementService.findPage("xyz", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/inventory-movements/page")
+                        .param("cursor", "xyz")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    @DisplayName("✓ GET /api/inventory-movements/stream - Export NDJSON")
+    void testStreamMovements() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<InventoryMovementDTO> sink = invocation.getArgument(0);
+            sink.accept(testMovementDTO);
+            sink.accept(testMovementDTO);
+            return 2L;
+        }).when(movementService).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/inventory-movements/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("}\n{\"id\":1,")));
+    }
+
     @Test
     @DisplayName("✓ GET /api/inventory-movements - Récupérer tous les mouvements")
     void testGetAllMovements() throws Exception {
@@ -244,13 +293,14 @@ class InventoryMovementControllerTest {
 
 
     @Test
-    @DisplayName("✓ DELETE /api/inventory-movements/{id} - Supprimer mouvement")
+    @DisplayName("❌ DELETE /api/inventory-movements/{id} - Journal immuable, suppression refusée")
     void testDeleteMovement() throws Exception {
-        doNothing().when(movementService).deleteMovement(1L);
+        doThrow(new BusinessException("Le journal des mouvements est immuable"))
+                .when(movementService).deleteMovement(1L);
 
         mockMvc.perform(delete("/api/inventory-movements/1")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isConflict());
 
         verify(movementService, times(1)).deleteMovement(1L);
     }
@@ -0,0 +1,58 @@
+package org.example.digitallogisticssupplychainplatform.controller;
+
+import org.example.digitallogisticssupplychainplatform.service.StockAlertStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - InventoryStreamController")
+class InventoryStreamControllerTest {
+
+    @Mock
+    private StockAlertStream alertStream;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new InventoryStreamController(alertStream)).build();
+    }
+
+    @Test
+    @DisplayName("✓ GET /stream - Flux SSE ouvert avec filtre d'entrepôt")
+    void testSubscribe() throws Exception {
+        when(alertStream.subscribe(null, 3L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/inventory/stream").param("warehouseId", "3"))
+                .andExpect(request().asyncStarted());
+
+        verify(alertStream).subscribe(null, 3L);
+    }
+
+    @Test
+    @DisplayName("✓ GET /stream/stats - Statistiques du flux")
+    void testGetStats() throws Exception {
+        when(alertStream.getStats()).thenReturn(StockAlertStream.StreamStats.builder()
+                .subscribers(4)
+                .bufferedAlerts(0)
+                .deliveredAlerts(120L)
+                .droppedAlerts(2L)
+                .build());
+
+        mockMvc.perform(get("/api/inventory/stream/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subscribers").value(4))
+                .andExpect(jsonPath("$.droppedAlerts").value(2));
+    }
+}
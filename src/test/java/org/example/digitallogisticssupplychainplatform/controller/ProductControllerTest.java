@@ -39,7 +39,7 @@ class ProductControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(
-                new ProductController(productService)
+                new ProductController(productService, new NdjsonResponses(new ObjectMapper().findAndRegisterModules()))
         ).build();
 
         objectMapper = new ObjectMapper();
@@ -41,7 +41,7 @@ class PurchaseOrderControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(
-                new PurchaseOrderController(purchaseOrderService)
+                new PurchaseOrderController(purchaseOrderService, new NdjsonResponses(new ObjectMapper().findAndRegisterModules()))
         ).build();
 
         objectMapper = new ObjectMapper();
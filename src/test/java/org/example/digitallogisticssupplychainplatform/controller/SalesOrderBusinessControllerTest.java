@@ -1,6 +1,18 @@
 package org.example.digitallogisticssupplychainplatform.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.digitallogisticssupplychainplatform.config.CurrentPrincipal;
+import org.example.digitallogisticssupplychainplatform.config.IdempotencyAspect;
+import org.example.digitallogisticssupplychainplatform.dto.OrderStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationDriftDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ShipmentStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.entity.IdempotencyRecord;
+import org.example.digitallogisticssupplychainplatform.repository.IdempotencyRecordRepository;
+import org.example.digitallogisticssupplychainplatform.service.BackorderFulfillmentEngine;
+import org.example.digitallogisticssupplychainplatform.service.IdempotencyStore;
+import org.example.digitallogisticssupplychainplatform.service.OrderOperationQueue;
+import org.example.digitallogisticssupplychainplatform.service.OrderStatusDashboard;
+import org.example.digitallogisticssupplychainplatform.service.ReservationExpirySweeper;
 import org.example.digitallogisticssupplychainplatform.service.SalesOrderBusinessService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,11 +20,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,6 +43,24 @@ class SalesOrderBusinessControllerTest {
     @Mock
     private SalesOrderBusinessService salesOrderBusinessService;
 
+    @Mock
+    private ReservationExpirySweeper reservationExpirySweeper;
+
+    @Mock
+    private OrderOperationQueue orderOperationQueue;
+
+    @Mock
+    private BackorderFulfillmentEngine backorderFulfillmentEngine;
+
+    @Mock
+    private OrderStatusDashboard orderStatusDashboard;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -37,7 +72,8 @@ class SalesOrderBusinessControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(
-                new SalesOrderBusinessController(salesOrderBusinessService)
+                new SalesOrderBusinessController(salesOrderBusinessService, reservationExpirySweeper, orderOperationQueue,
+                        backorderFulfillmentEngine, orderStatusDashboard)
         ).build();
 
         objectMapper = new ObjectMapper();
@@ -98,6 +134,21 @@ class SalesOrderBusinessControllerTest {
     }
 
 
+    @Test
+    @DisplayName("✓ POST /reserve-batch - Réserver une commande en lot")
+    void testReserveOrderBatch() throws Exception {
+        when(salesOrderBusinessService.reserveOrderBatch(1L, 1L)).thenReturn(reservationResult);
+
+        mockMvc.perform(post("/api/sales-orders/business/1/reserve-batch")
+                        .param("warehouseId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(1))
+                .andExpect(jsonPath("$.fullyReserved").value(true));
+
+        verify(salesOrderBusinessService, times(1)).reserveOrderBatch(1L, 1L);
+        verify(salesOrderBusinessService, never()).reserveOrder(anyLong(), anyLong());
+    }
+
     @Test
     @DisplayName("✓ GET /check - Vérifier la disponibilité")
     void testCheckAvailability() throws Exception {
@@ -151,6 +202,52 @@ class SalesOrderBusinessControllerTest {
         verify(salesOrderBusinessService, times(1)).shipOrder(2L, 2L);
     }
 
+    @Test
+    @DisplayName("✓ POST /reserve?async=true - Réservation mise en file, 202 et identifiant d'opération")
+    void testReserveOrderAsync() throws Exception {
+        when(orderOperationQueue.submit(OrderOperationQueue.OperationType.RESERVE, 1L, 1L, CurrentPrincipal.ANONYMOUS))
+                .thenReturn(operation(OrderOperationQueue.OperationType.RESERVE));
+
+        mockMvc.perform(post("/api/sales-orders/business/1/reserve")
+                        .param("warehouseId", "1")
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/sales-orders/business/operations/op-1"))
+                .andExpect(jsonPath("$.operationId").value("op-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+
+        verify(salesOrderBusinessService, never()).reserveOrder(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("✓ POST /ship?async=true - Expédition mise en file")
+    void testShipOrderAsync() throws Exception {
+        when(orderOperationQueue.submit(OrderOperationQueue.OperationType.SHIP, 1L, 1L, CurrentPrincipal.ANONYMOUS))
+                .thenReturn(operation(OrderOperationQueue.OperationType.SHIP));
+
+        mockMvc.perform(post("/api/sales-orders/business/1/ship")
+                        .param("warehouseId", "1")
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.type").value("SHIP"));
+
+        verify(salesOrderBusinessService, never()).shipOrder(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("✓ GET /operations/{operationId} - État et résultat d'une opération")
+    void testGetOperation() throws Exception {
+        OrderOperationQueue.OperationStatus done = operation(OrderOperationQueue.OperationType.RESERVE);
+        done.setState(OrderOperationQueue.OperationState.SUCCEEDED);
+        done.setReservation(reservationResult);
+        when(orderOperationQueue.getStatus("op-1", CurrentPrincipal.ANONYMOUS)).thenReturn(done);
+
+        mockMvc.perform(get("/api/sales-orders/business/operations/op-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.reservation.fullyReserved").value(true));
+    }
+
 
     @Test
     @DisplayName("✓ POST /deliver - Livrer une commande")
@@ -235,4 +332,232 @@ class SalesOrderBusinessControllerTest {
     }
 
 
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("✓ GET /waves - Plan des vagues de préparation")
+    void testPlanWaves() throws Exception {
+        when(salesOrderBusinessService.planWaves(1L)).thenReturn(SalesOrderBusinessService.WavePlan.builder()
+                .warehouseId(1L)
+                .orders(2)
+                .units(9)
+                .waves(List.of(SalesOrderBusinessService.Wave.builder()
+                        .waveNumber(1)
+                        .orderIds(List.of(1L, 2L))
+                        .units(9)
+                        .pickList(List.of())
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/api/sales-orders/business/waves")
+                        .param("warehouseId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(2))
+                .andExpect(jsonPath("$.waves[0].orderIds[1]").value(2));
+    }
+
+    @Test
+    @DisplayName("✓ POST /waves/ship - Expédier une vague")
+    void testShipWave() throws Exception {
+        when(salesOrderBusinessService.shipWave(1L, List.of(1L, 2L)))
+                .thenReturn(SalesOrderBusinessService.WaveShipmentResult.builder()
+                        .warehouseId(1L)
+                        .shippedOrderIds(List.of(1L, 2L))
+                        .unitsShipped(9)
+                        .skipped(Map.of())
+                        .build());
+
+        mockMvc.perform(post("/api/sales-orders/business/waves/ship")
+                        .param("warehouseId", "1")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(
+                                new SalesOrderBusinessController.OrderIdsRequest(List.of(1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unitsShipped").value(9));
+    }
+
+    @Test
+    @DisplayName("POST /waves/ship - Vague vide")
+    void testShipWaveEmpty() throws Exception {
+        mockMvc.perform(post("/api/sales-orders/business/waves/ship")
+                        .param("warehouseId", "1")
+                        .contentType("application/json")
+                        .content("{\"orderIds\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(salesOrderBusinessService, never()).shipWave(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("✓ POST /bulk/ship - Expédition groupée")
+    void testShipOrdersBulk() throws Exception {
+        when(salesOrderBusinessService.shipOrders(1L, List.of(1L, 2L)))
+                .thenReturn(SalesOrderBusinessService.BulkOrderResult.builder()
+                        .requested(2)
+                        .succeeded(1)
+                        .failed(1)
+                        .results(List.of(
+                                SalesOrderBusinessService.OrderOutcome.builder().orderId(1L).success(true).build(),
+                                SalesOrderBusinessService.OrderOutcome.builder().orderId(2L).success(false)
+                                        .error("La commande est déjà expédiée").build()))
+                        .build());
+
+        mockMvc.perform(post("/api/sales-orders/business/bulk/ship")
+                        .param("warehouseId", "1")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(
+                                new SalesOrderBusinessController.OrderIdsRequest(List.of(1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("La commande est déjà expédiée"));
+    }
+
+    @Test
+    @DisplayName("✓ POST /bulk/deliver - Livraison groupée")
+    void testDeliverOrdersBulk() throws Exception {
+        when(salesOrderBusinessService.deliverOrders(List.of(1L, 2L)))
+                .thenReturn(SalesOrderBusinessService.BulkOrderResult.builder()
+                        .requested(2)
+                        .succeeded(2)
+                        .results(List.of())
+                        .build());
+
+        mockMvc.perform(post("/api/sales-orders/business/bulk/deliver")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(
+                                new SalesOrderBusinessController.OrderIdsRequest(List.of(1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2));
+    }
+
+    @Test
+    @DisplayName("✓ GET /backorders/stats - Compteurs du service des backorders")
+    void testGetBackorderStats() throws Exception {
+        when(backorderFulfillmentEngine.getStats()).thenReturn(BackorderFulfillmentEngine.EngineStats.builder()
+                .pendingKeys(1)
+                .passes(12)
+                .unitsAllocated(340)
+                .build());
+
+        mockMvc.perform(get("/api/sales-orders/business/backorders/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.passes").value(12))
+                .andExpect(jsonPath("$.unitsAllocated").value(340));
+    }
+
+    @Test
+    @DisplayName("✓ GET /dashboard - Compteurs de commandes et d'expéditions")
+    void testGetDashboard() throws Exception {
+        when(orderStatusDashboard.getDashboard()).thenReturn(OrderStatusDashboard.Dashboard.builder()
+                .orders(new OrderStatusCountsDTO(12L, 5L, 3L, 40L))
+                .shipments(new ShipmentStatusCountsDTO(4L, 2L, 30L, 1L))
+                .build());
+
+        mockMvc.perform(get("/api/sales-orders/business/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders.pending").value(12))
+                .andExpect(jsonPath("$.orders.delivered").value(40))
+                .andExpect(jsonPath("$.shipments.inTransit").value(2));
+    }
+
+    @Test
+    @DisplayName("✓ GET /reservations/expiry/stats - Compteurs d'expiration")
+    void testGetReservationExpiryStats() throws Exception {
+        when(reservationExpirySweeper.getStats()).thenReturn(ReservationExpirySweeper.SweeperStats.builder()
+                .trackedReservations(3)
+                .expiredOrders(2)
+                .expiredUnits(40)
+                .build());
+
+        mockMvc.perform(get("/api/sales-orders/business/reservations/expiry/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trackedReservations").value(3))
+                .andExpect(jsonPath("$.expiredUnits").value(40));
+    }
+
+    @Test
+    @DisplayName("✓ GET /reservations/reconciliation - Écarts entre registre et inventaires")
+    void testReconcileReservations() throws Exception {
+        when(salesOrderBusinessService.reconcileReservations()).thenReturn(java.util.List.of(
+                new ReservationDriftDTO(10L, 1L, 1L, 50, 30L)));
+
+        mockMvc.perform(get("/api/sales-orders/business/reservations/reconciliation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].inventoryId").value(10))
+                .andExpect(jsonPath("$[0].qtyReserved").value(50))
+                .andExpect(jsonPath("$[0].ledgerQuantity").value(30));
+    }
+
+    @Test
+    @DisplayName("✓ POST /ship - Même Idempotency-Key : réponse rejouée sans réexpédier")
+    void testShipOrderReplayedWithIdempotencyKey() throws Exception {
+        MockMvc idempotentMockMvc = idempotentMockMvc();
+        when(salesOrderBusinessService.shipOrder(1L, 1L)).thenReturn(shipmentResult);
+
+        idempotentMockMvc.perform(post("/api/sales-orders/business/1/ship")
+                        .param("warehouseId", "1")
+                        .header(IdempotencyAspect.HEADER, "ship-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.orderId").value(1));
+
+        idempotentMockMvc.perform(post("/api/sales-orders/business/1/ship")
+                        .param("warehouseId", "1")
+                        .header(IdempotencyAspect.HEADER, "ship-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.orderId").value(1));
+
+        verify(salesOrderBusinessService, times(1)).shipOrder(1L, 1L);
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("✓ POST /bulk/ship - Même Idempotency-Key : lot non réexpédié")
+    void testShipOrdersBulkReplayedWithIdempotencyKey() throws Exception {
+        MockMvc idempotentMockMvc = idempotentMockMvc();
+        when(salesOrderBusinessService.shipOrders(1L, List.of(1L, 2L)))
+                .thenReturn(SalesOrderBusinessService.BulkOrderResult.builder()
+                        .requested(2)
+                        .succeeded(2)
+                        .build());
+        String body = objectMapper.writeValueAsString(new SalesOrderBusinessController.OrderIdsRequest(List.of(1L, 2L)));
+
+        for (int i = 0; i < 2; i++) {
+            idempotentMockMvc.perform(post("/api/sales-orders/business/bulk/ship")
+                            .param("warehouseId", "1")
+                            .header(IdempotencyAspect.HEADER, "bulk-ship-1")
+                            .contentType("application/json")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(2));
+        }
+
+        verify(salesOrderBusinessService, times(1)).shipOrders(1L, List.of(1L, 2L));
+    }
+
+    /** Contrôleur derrière le vrai {@link IdempotencyAspect}, registre des clés simulé. */
+    private MockMvc idempotentMockMvc() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        IdempotencyStore store = new IdempotencyStore(idempotencyRecordRepository, transactionManager,
+                new ObjectMapper().findAndRegisterModules());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SalesOrderBusinessController(
+                salesOrderBusinessService, reservationExpirySweeper, orderOperationQueue,
+                backorderFulfillmentEngine, orderStatusDashboard));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new IdempotencyAspect(store));
+        return MockMvcBuilders.standaloneSetup(factory.<SalesOrderBusinessController>getProxy()).build();
+    }
+
+    private OrderOperationQueue.OperationStatus operation(OrderOperationQueue.OperationType type) {
+        return OrderOperationQueue.OperationStatus.builder()
+                .operationId("op-1")
+                .type(type)
+                .orderId(1L)
+                .warehouseId(1L)
+                .state(OrderOperationQueue.OperationState.QUEUED)
+                .build();
+    }
+}
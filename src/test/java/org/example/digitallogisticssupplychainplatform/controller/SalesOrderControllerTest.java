@@ -39,7 +39,7 @@ class SalesOrderControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(
-                new SalesOrderController(salesOrderService)
+                new SalesOrderController(salesOrderService, new NdjsonResponses(new ObjectMapper().findAndRegisterModules()))
         ).build();
 
         objectMapper = new ObjectMapper();
@@ -40,7 +40,7 @@ class ShipmentControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(
-                new ShipmentController(shipmentService)
+                new ShipmentController(shipmentService, new NdjsonResponses(new ObjectMapper().findAndRegisterModules()))
         ).build();
 
         objectMapper = new ObjectMapper();
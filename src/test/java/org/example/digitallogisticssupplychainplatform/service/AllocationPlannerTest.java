@@ -0,0 +1,102 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests - AllocationPlanner")
+class AllocationPlannerTest {
+
+    @Test
+    @DisplayName(" plan - Un entrepôt couvrant toute la commande est préféré à la priorité")
+    void testSingleWarehouseCoveringOrder() {
+        Map<Long, Map<Long, InventoryStockDTO>> stock = new HashMap<>();
+        put(stock, 1L, 1L, 100);
+        put(stock, 2L, 1L, 50);
+        put(stock, 2L, 2L, 50);
+
+        AllocationPlanner.Plan plan = AllocationPlanner.plan(demand(1L, 30, 2L, 20), List.of(1L, 2L), stock);
+
+        assertEquals(List.of(2L), plan.getWarehousesUsed());
+        assertEquals(2, plan.getAllocations().size());
+        assertTrue(plan.getShortages().isEmpty());
+    }
+
+    @Test
+    @DisplayName(" plan - À couverture égale, l'ordre de priorité départage")
+    void testPriorityBreaksTies() {
+        Map<Long, Map<Long, InventoryStockDTO>> stock = new HashMap<>();
+        put(stock, 1L, 1L, 100);
+        put(stock, 2L, 1L, 100);
+
+        AllocationPlanner.Plan plan = AllocationPlanner.plan(demand(1L, 30), List.of(2L, 1L), stock);
+
+        assertEquals(List.of(2L), plan.getWarehousesUsed());
+    }
+
+    @Test
+    @DisplayName(" plan - Découpage minimal quand aucun entrepôt ne suffit")
+    void testGreedySplit() {
+        Map<Long, Map<Long, InventoryStockDTO>> stock = new HashMap<>();
+        put(stock, 1L, 1L, 10);
+        put(stock, 2L, 1L, 30);
+        put(stock, 2L, 2L, 20);
+        put(stock, 3L, 3L, 5);
+
+        AllocationPlanner.Plan plan = AllocationPlanner.plan(demand(1L, 30, 2L, 20, 3L, 5),
+                List.of(1L, 2L, 3L), stock);
+
+        assertEquals(List.of(2L, 3L), plan.getWarehousesUsed());
+        assertTrue(plan.getShortages().isEmpty());
+    }
+
+    @Test
+    @DisplayName(" plan - Manques restitués et stock négatif ignoré")
+    void testShortages() {
+        Map<Long, Map<Long, InventoryStockDTO>> stock = new HashMap<>();
+        put(stock, 1L, 1L, 10);
+        stock.get(1L).put(2L, new InventoryStockDTO(99L, 2L, 1L, 5, 8, 1L));
+
+        AllocationPlanner.Plan plan = AllocationPlanner.plan(demand(1L, 30, 2L, 5), List.of(1L), stock);
+
+        assertEquals(1, plan.getAllocations().size());
+        assertEquals(10, plan.getAllocations().get(0).getAllocatedQuantity());
+        assertEquals(Map.of(1L, 20, 2L, 5), plan.getShortages());
+    }
+
+    @Test
+    @DisplayName(" plan - Évaluation parallèle équivalente au-delà du seuil")
+    void testParallelEvaluation() {
+        Map<Long, Map<Long, InventoryStockDTO>> stock = new HashMap<>();
+        List<Long> warehouses = LongStream.rangeClosed(1, AllocationPlanner.PARALLEL_THRESHOLD * 2)
+                .boxed().collect(Collectors.toList());
+        warehouses.forEach(warehouseId -> put(stock, warehouseId, 1L, 10));
+        put(stock, 20L, 2L, 10);
+
+        AllocationPlanner.Plan plan = AllocationPlanner.plan(demand(1L, 10, 2L, 10), warehouses, stock);
+
+        assertEquals(List.of(20L), plan.getWarehousesUsed());
+    }
+
+    private Map<Long, Integer> demand(long... productsAndQuantities) {
+        Map<Long, Integer> demand = new LinkedHashMap<>();
+        for (int i = 0; i < productsAndQuantities.length; i += 2) {
+            demand.put(productsAndQuantities[i], (int) productsAndQuantities[i + 1]);
+        }
+        return demand;
+    }
+
+    private void put(Map<Long, Map<Long, InventoryStockDTO>> stock, Long warehouseId, Long productId, int onHand) {
+        stock.computeIfAbsent(warehouseId, id -> new HashMap<>())
+                .put(productId, new InventoryStockDTO(warehouseId * 100 + productId, productId, warehouseId, onHand, 0, 1L));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - AvailableToPromiseCache")
+class AvailableToPromiseCacheTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @InjectMocks
+    private AvailableToPromiseCache cache;
+
+    @Test
+    @DisplayName(" Défaut de cache tant que le chargement initial n'est pas fait")
+    void testMissBeforeWarmUp() {
+        assertTrue(cache.find(1L, 1L).isEmpty());
+        assertEquals(1L, cache.getStats().getMisses());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName(" Chargement au démarrage puis lecture par produit/entrepôt et par inventaire")
+    void testWarmUp() {
+        when(inventoryRepository.findAllStock()).thenReturn(List.of(stock(10L, 1L, 2L, 100, 20)));
+
+        cache.warmUp();
+
+        assertEquals(80, cache.find(1L, 2L).orElseThrow().getAvailable());
+        assertEquals(80, cache.findByInventoryId(10L).orElseThrow().getAvailable());
+        assertTrue(cache.find(2L, 1L).isEmpty());
+        assertEquals(2L, cache.getStats().getHits());
+        assertEquals(1L, cache.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName(" Identifiants au-delà de 2^32 distingués des petits identifiants")
+    void testLargeIdsDoNotCollide() {
+        long largeProductId = (1L << 32) + 1;
+        when(inventoryRepository.findAllStock()).thenReturn(List.of(
+                stock(10L, 1L, 1L, 100, 20),
+                stock(11L, largeProductId, 1L, 7, 0)));
+
+        cache.warmUp();
+
+        assertEquals(80, cache.find(1L, 1L).orElseThrow().getAvailable());
+        assertEquals(7, cache.find(largeProductId, 1L).orElseThrow().getAvailable());
+        assertTrue(cache.find(1L, 1L + (1L << 32)).isEmpty());
+    }
+
+    @Test
+    @DisplayName(" Les événements appliquent les deltas, créations et suppressions")
+    void testEventsKeepCacheCoherent() {
+        when(inventoryRepository.findAllStock()).thenReturn(List.of(stock(10L, 1L, 1L, 100, 20)));
+        cache.warmUp();
+
+        cache.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 1L, 0, 30));
+        cache.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, -10, -10));
+        cache.onInventoryChanged(InventoryChangedEvent.created(11L, 2L, 1L, 5, 0));
+
+        AvailableToPromiseCache.StockLevel level = cache.find(1L, 1L).orElseThrow();
+        assertEquals(90, level.getQtyOnHand());
+        assertEquals(40, level.getQtyReserved());
+        assertEquals(5, cache.findByInventoryId(11L).orElseThrow().getAvailable());
+
+        cache.onInventoryChanged(InventoryChangedEvent.deleted(11L, 2L, 1L));
+        assertTrue(cache.find(2L, 1L).isEmpty());
+        assertTrue(cache.findByInventoryId(11L).isEmpty());
+    }
+
+    @Test
+    @DisplayName(" Le rafraîchissement corrige les dérives et retire les inventaires supprimés")
+    void testRefreshCorrectsDrift() {
+        List<InventoryStockDTO> initial = new ArrayList<>(List.of(
+                stock(10L, 1L, 1L, 100, 20),
+                stock(11L, 2L, 1L, 50, 0)));
+        when(inventoryRepository.findAllStock())
+                .thenReturn(initial)
+                .thenReturn(List.of(stock(10L, 1L, 1L, 70, 20)));
+        cache.warmUp();
+
+        cache.refresh();
+
+        assertEquals(70, cache.find(1L, 1L).orElseThrow().getQtyOnHand());
+        assertTrue(cache.find(2L, 1L).isEmpty());
+        assertEquals(1, cache.getStats().getLastDriftCorrections());
+        assertNotNull(cache.getStats().getStalenessMillis());
+    }
+
+    private InventoryStockDTO stock(Long id, Long productId, Long warehouseId, int onHand, int reserved) {
+        return new InventoryStockDTO(id, productId, warehouseId, onHand, reserved, 0L);
+    }
+}
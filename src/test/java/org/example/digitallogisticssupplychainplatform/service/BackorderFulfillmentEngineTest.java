@@ -0,0 +1,117 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - BackorderFulfillmentEngine")
+class BackorderFulfillmentEngineTest {
+
+    @Mock
+    private SalesOrderBusinessService salesOrderBusinessService;
+
+    @InjectMocks
+    private BackorderFulfillmentEngine engine;
+
+    @Test
+    @DisplayName(" drain - Mouvements d'un même couple regroupés en une seule passe")
+    void testCoalescesInboundEvents() {
+        for (int i = 0; i < 1000; i++) {
+            engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, 10, 0));
+        }
+        engine.onInventoryChanged(InventoryChangedEvent.updated(20L, 2L, 1L, 5, 0));
+        when(salesOrderBusinessService.fulfillBackorders(eq(1L), eq(1L), anyInt())).thenReturn(fulfillment(40, false));
+        when(salesOrderBusinessService.fulfillBackorders(eq(2L), eq(1L), anyInt())).thenReturn(fulfillment(5, false));
+
+        assertEquals(45, engine.drain());
+
+        verify(salesOrderBusinessService, times(1)).fulfillBackorders(eq(1L), eq(1L), anyInt());
+        verify(salesOrderBusinessService, times(1)).fulfillBackorders(eq(2L), eq(1L), anyInt());
+        assertEquals(0, engine.getStats().getPendingKeys());
+    }
+
+    @Test
+    @DisplayName(" onInventoryChanged - Réservation ou sortie ignorée")
+    void testIgnoresDecreasingAvailability() {
+        engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, 0, 5));
+        engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, -5, 0));
+        engine.onInventoryChanged(InventoryChangedEvent.deleted(10L, 1L, 1L));
+
+        assertEquals(0, engine.drain());
+        verifyNoInteractions(salesOrderBusinessService);
+    }
+
+    @Test
+    @DisplayName(" drain - Libération de réservation déclenche une passe")
+    void testReleaseTriggersPass() {
+        engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, 0, -8));
+        when(salesOrderBusinessService.fulfillBackorders(eq(1L), eq(1L), anyInt())).thenReturn(fulfillment(8, false));
+
+        assertEquals(8, engine.drain());
+    }
+
+    @Test
+    @DisplayName(" drain - Page pleine ou échec : couple repris à la passe suivante")
+    void testRequeuesWhenMoreWaitingOrFailed() {
+        engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, 500, 0));
+        engine.onInventoryChanged(InventoryChangedEvent.updated(20L, 2L, 1L, 50, 0));
+        when(salesOrderBusinessService.fulfillBackorders(eq(1L), eq(1L), anyInt())).thenReturn(fulfillment(200, true));
+        when(salesOrderBusinessService.fulfillBackorders(eq(2L), eq(1L), anyInt()))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Inventory", 20L));
+
+        engine.drain();
+
+        assertEquals(2, engine.getStats().getPendingKeys());
+        assertEquals(1L, engine.getStats().getFailures());
+    }
+
+    @Test
+    @DisplayName(" drain - Échec permanent : couple abandonné jusqu'au prochain mouvement")
+    void testDropsPermanentFailure() {
+        engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, 50, 0));
+        when(salesOrderBusinessService.fulfillBackorders(eq(1L), eq(1L), anyInt()))
+                .thenThrow(new BusinessException("Stock insuffisant"));
+
+        engine.drain();
+        engine.drain();
+
+        verify(salesOrderBusinessService, times(1)).fulfillBackorders(eq(1L), eq(1L), anyInt());
+        assertEquals(0, engine.getStats().getPendingKeys());
+        assertEquals(1L, engine.getStats().getAbandoned());
+    }
+
+    @Test
+    @DisplayName(" drain - Échec transitoire répété : abandon après le nombre de tentatives")
+    void testDropsAfterMaxAttempts() {
+        engine.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, 50, 0));
+        when(salesOrderBusinessService.fulfillBackorders(eq(1L), eq(1L), anyInt()))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Inventory", 10L));
+
+        for (int i = 0; i < 10; i++) {
+            engine.drain();
+        }
+
+        verify(salesOrderBusinessService, times(5)).fulfillBackorders(eq(1L), eq(1L), anyInt());
+        assertEquals(0, engine.getStats().getPendingKeys());
+        assertEquals(1L, engine.getStats().getAbandoned());
+    }
+
+    private SalesOrderBusinessService.BackorderFulfillment fulfillment(int units, boolean moreWaiting) {
+        return SalesOrderBusinessService.BackorderFulfillment.builder()
+                .unitsAllocated(units)
+                .linesFulfilled(1)
+                .moreWaiting(moreWaiting)
+                .build();
+    }
+}
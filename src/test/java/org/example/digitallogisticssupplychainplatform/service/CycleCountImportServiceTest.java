@@ -0,0 +1,149 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - CycleCountImportService")
+class CycleCountImportServiceTest {
+
+    @Mock
+    private InventoryBusinessService inventoryBusinessService;
+
+    private CycleCountImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new CycleCountImportService(inventoryBusinessService);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName(" importCounts - Fichier découpé en lots, écarts cumulés")
+    void testImportInChunks() {
+        when(inventoryBusinessService.applyCycleCounts(anyList(), eq("CC-1")))
+                .thenReturn(result(variance(1L, -5)), result(variance(3L, 12)));
+
+        CycleCountImportService.CycleCountSummary summary = importService.importCounts(
+                csv("productId,warehouseId,countedQuantity\n1,1,45\n2,1,10\n3,1,32\n"), "import-1", "CC-1");
+
+        assertEquals(CycleCountImportService.ImportStatus.COMPLETED, summary.getStatus());
+        assertEquals(3, summary.getLinesRead());
+        assertEquals(2, summary.getChunksApplied());
+        assertEquals(2, summary.getAdjusted());
+        assertEquals(12, summary.getUnitsAdded());
+        assertEquals(5, summary.getUnitsRemoved());
+        assertEquals(7, summary.getNetVariance());
+        assertEquals(12, summary.getLargestVariances().get(0).getVariance());
+
+        ArgumentCaptor<List<InventoryBusinessService.CountLine>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(inventoryBusinessService, times(2)).applyCycleCounts(chunks.capture(), eq("CC-1"));
+        assertEquals(2, chunks.getAllValues().get(0).size());
+        assertEquals(4L, chunks.getAllValues().get(1).get(0).getLineNumber());
+    }
+
+    @Test
+    @DisplayName(" importCounts - Séparateur point-virgule et lignes illisibles rejetées")
+    void testImportRejectsUnreadableLines() {
+        when(inventoryBusinessService.applyCycleCounts(anyList(), isNull())).thenReturn(result());
+
+        CycleCountImportService.CycleCountSummary summary = importService.importCounts(
+                csv("warehouse_id;product_id;counted_qty\n1;7;abc\n1;8\n1;9;4\n"), null, null);
+
+        assertNotNull(summary.getImportId());
+        assertEquals(2, summary.getRejected());
+        assertEquals(2L, summary.getRejections().get(0).getLineNumber());
+
+        ArgumentCaptor<List<InventoryBusinessService.CountLine>> chunk = ArgumentCaptor.forClass(List.class);
+        verify(inventoryBusinessService).applyCycleCounts(chunk.capture(), isNull());
+        assertEquals(9L, chunk.getValue().get(0).getProductId());
+        assertEquals(4, chunk.getValue().get(0).getCountedQuantity());
+    }
+
+    @Test
+    @DisplayName(" importCounts - Un lot en échec est rejeté sans arrêter l'import")
+    void testFailedChunkDoesNotStopImport() {
+        when(inventoryBusinessService.applyCycleCounts(anyList(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Inventory", 10L))
+                .thenReturn(result(variance(3L, 1)));
+
+        CycleCountImportService.CycleCountSummary summary = importService.importCounts(
+                csv("productId,warehouseId,countedQuantity\n1,1,45\n2,1,10\n3,1,32\n"), "import-2", "CC-2");
+
+        assertEquals(CycleCountImportService.ImportStatus.COMPLETED, summary.getStatus());
+        assertEquals(2, summary.getRejected());
+        assertEquals(1, summary.getAdjusted());
+    }
+
+    @Test
+    @DisplayName(" importCounts - En-tête sans colonne de quantité")
+    void testImportRejectsUnknownHeader() {
+        assertThrows(BusinessException.class,
+                () -> importService.importCounts(csv("productId,warehouseId\n1,1\n"), "import-3", null));
+
+        assertEquals(CycleCountImportService.ImportStatus.FAILED, importService.getProgress("import-3").getStatus());
+        verifyNoInteractions(inventoryBusinessService);
+    }
+
+    @Test
+    @DisplayName(" importCounts - Identifiant d'import déjà utilisé")
+    void testDuplicateImportId() {
+        importService.importCounts(csv("productId,warehouseId,countedQuantity\n"), "import-4", null);
+
+        assertThrows(BusinessException.class,
+                () -> importService.importCounts(csv("productId,warehouseId,countedQuantity\n"), "import-4", null));
+    }
+
+    @Test
+    @DisplayName(" importCounts - Identifiant d'import vide")
+    void testBlankImportId() {
+        assertThrows(BusinessException.class,
+                () -> importService.importCounts(csv("productId,warehouseId,countedQuantity\n"), " ", null));
+        verifyNoInteractions(inventoryBusinessService);
+    }
+
+    @Test
+    @DisplayName(" getProgress - Import inconnu")
+    void testGetProgressUnknown() {
+        assertThrows(ResourceNotFoundException.class, () -> importService.getProgress("absent"));
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InventoryBusinessService.CycleCountResult result(InventoryBusinessService.CountVariance... variances) {
+        return InventoryBusinessService.CycleCountResult.builder()
+                .linesReceived(2)
+                .adjusted(variances.length)
+                .variances(List.of(variances))
+                .rejections(List.of())
+                .build();
+    }
+
+    private InventoryBusinessService.CountVariance variance(Long productId, int variance) {
+        return InventoryBusinessService.CountVariance.builder()
+                .productId(productId)
+                .warehouseId(1L)
+                .variance(variance)
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryBatchRepository.HoldDelta;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - HotSkuReservations")
+class HotSkuReservationsTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HotSkuReservations hotSkuReservations;
+
+    @TempDir
+    Path intentLogDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hotSkuReservations, "enabled", true);
+        ReflectionTestUtils.setField(hotSkuReservations, "intentLogDir", intentLogDir.toString());
+        ReflectionTestUtils.setField(hotSkuReservations, "stripes", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReservationIntentLog journal = (ReservationIntentLog) ReflectionTestUtils.getField(hotSkuReservations, "intentLog");
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName(" tryReserve - SKU configuré servi en mémoire jusqu'au disponible")
+    void testConfiguredSkuGrantsUpToAvailable() {
+        startWithConfiguredSku();
+
+        assertEquals(Optional.of(50), hotSkuReservations.tryReserve(1L, 2L, 50));
+        assertEquals(Optional.of(10), hotSkuReservations.tryReserve(1L, 2L, 50));
+        assertEquals(Optional.of(0), hotSkuReservations.tryReserve(1L, 2L, 5));
+        assertEquals(Optional.empty(), hotSkuReservations.tryReserve(1L, 3L, 5));
+        verify(inventoryRepository, never()).reserveIfAvailable(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName(" flush - Deltas nets reportés en un batch puis cellules recalées")
+    void testFlushWritesNetDeltasAndResyncs() {
+        startWithConfiguredSku();
+        hotSkuReservations.tryReserve(1L, 2L, 20);
+        hotSkuReservations.tryReserve(1L, 2L, 15);
+        when(inventoryRepository.findStockByIds(Set.of(10L))).thenReturn(List.of(stock(100, 80)));
+
+        assertEquals(35, hotSkuReservations.flush());
+
+        verify(inventoryRepository).addReserved(List.of(new HoldDelta(10L, 35)));
+        HotSkuReservations.HotSkuStats stats = hotSkuReservations.getStats();
+        assertEquals(1, stats.getFlushes());
+        assertEquals(35, stats.getFlushedUnits());
+        assertEquals(20, stats.getHotSkus().get(0).getAvailable());
+    }
+
+    @Test
+    @DisplayName(" flush - Octroi en cours pendant le recalage non rendu, apport externe ajouté")
+    void testResyncKeepsInFlightGrant() {
+        startWithConfiguredSku();
+        hotSkuReservations.tryReserve(1L, 2L, 20);
+        Map<?, ?> hotSkus = (Map<?, ?>) ReflectionTestUtils.getField(hotSkuReservations, "hotSkus");
+        StripedStockCounter cells = (StripedStockCounter) ReflectionTestUtils.getField(
+                hotSkus.get(StockKey.of(1L, 2L)), "stock");
+        cells.reserve(5);
+        when(inventoryRepository.findStockByIds(Set.of(10L))).thenReturn(List.of(stock(110, 60)));
+
+        hotSkuReservations.flush();
+
+        assertEquals(45, hotSkuReservations.getStats().getHotSkus().get(0).getAvailable());
+    }
+
+    @Test
+    @DisplayName(" flush - Échec du batch: deltas conservés pour le cycle suivant")
+    void testFailedFlushKeepsPendingDeltas() {
+        startWithConfiguredSku();
+        hotSkuReservations.tryReserve(1L, 2L, 20);
+        when(inventoryRepository.addReserved(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connexion perdue"))
+                .thenReturn(new int[]{1});
+        when(inventoryRepository.findStockByIds(Set.of(10L))).thenReturn(List.of(stock(100, 60)));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> hotSkuReservations.flush());
+        assertEquals(20, hotSkuReservations.flush());
+
+        verify(inventoryRepository, times(2)).addReserved(List.of(new HoldDelta(10L, 20)));
+    }
+
+    @Test
+    @DisplayName(" start - Journal d'un arrêt brutal rejoué avant toute réservation")
+    void testStartReplaysIntentLog() throws Exception {
+        Files.writeString(intentLogDir.resolve("intents-1.log"), "10;12\n10;-2\n11;4\n");
+
+        hotSkuReservations.start();
+
+        verify(inventoryRepository).addReserved(argThat(deltas -> deltas.size() == 2
+                && deltas.contains(new HoldDelta(10L, 10)) && deltas.contains(new HoldDelta(11L, 4))));
+        assertEquals(0, ((ReservationIntentLog) ReflectionTestUtils.getField(hotSkuReservations, "intentLog"))
+                .sealedSegments());
+    }
+
+    @Test
+    @DisplayName(" detect - Promotion sur contention puis rétrogradation d'un SKU calme")
+    void testAutoDetectionPromotesAndDemotes() {
+        ReflectionTestUtils.setField(hotSkuReservations, "promoteSlowAttempts", 2L);
+        hotSkuReservations.start();
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(2L, Set.of(1L))).thenReturn(List.of(stock(100, 40)));
+        when(inventoryRepository.findStockByIds(Set.of(10L))).thenReturn(List.of(stock(100, 40)));
+
+        hotSkuReservations.recordAttempt(1L, 2L, 50_000_000);
+        hotSkuReservations.recordAttempt(1L, 2L, 50_000_000);
+        hotSkuReservations.detect();
+        assertTrue(hotSkuReservations.isHot(1L, 2L));
+
+        hotSkuReservations.detect();
+        assertEquals(Optional.empty(), hotSkuReservations.tryReserve(1L, 2L, 5));
+        hotSkuReservations.flush();
+
+        assertFalse(hotSkuReservations.isHot(1L, 2L));
+        assertEquals(1, hotSkuReservations.getStats().getDemotions());
+    }
+
+    private void startWithConfiguredSku() {
+        ReflectionTestUtils.setField(hotSkuReservations, "configuredSkus", "1:2");
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(2L, Set.of(1L))).thenReturn(List.of(stock(100, 40)));
+        hotSkuReservations.start();
+    }
+
+    private static InventoryStockDTO stock(int onHand, int reserved) {
+        return InventoryStockDTO.builder()
+                .id(10L)
+                .productId(1L)
+                .warehouseId(2L)
+                .qtyOnHand(onHand)
+                .qtyReserved(reserved)
+                .version(0L)
+                .build();
+    }
+}
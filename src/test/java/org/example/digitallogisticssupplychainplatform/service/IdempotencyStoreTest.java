@@ -0,0 +1,182 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.digitallogisticssupplychainplatform.entity.IdempotencyRecord;
+import org.example.digitallogisticssupplychainplatform.exception.DuplicateResourceException;
+import org.example.digitallogisticssupplychainplatform.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.AnnotationAwareRetryOperationsInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - IdempotencyStore")
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(idempotencyRecordRepository, transactionManager, objectMapper);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        lenient().when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName(" execute - Première requête exécutée et enregistrée, la suivante rejouée")
+    void testReplaysFromMemory() {
+        Object first = store.execute("manager", "scan-1", "inbound", new Object[]{1L, 10}, this::created);
+        Object second = store.execute("manager", "scan-1", "inbound", new Object[]{1L, 10}, this::created);
+
+        assertEquals(1, executions.get());
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(captor.capture());
+        assertEquals(201, captor.getValue().getStatusCode());
+        assertEquals(HttpStatus.CREATED, ((ResponseEntity<?>) first).getStatusCode());
+
+        ResponseEntity<?> replay = (ResponseEntity<?>) second;
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(42, ((JsonNode) replay.getBody()).get("movementId").asInt());
+        verify(transactionManager, times(1)).commit(transaction);
+    }
+
+    @Test
+    @DisplayName(" execute - Réponse relue depuis la table après redémarrage")
+    void testReplaysFromTable() {
+        IdempotencyRecord record = recordFor("scan-2", new Object[]{1L, 10}, "{\"movementId\":7}");
+        when(idempotencyRecordRepository.findByPrincipalAndIdempotencyKey("manager", "scan-2"))
+                .thenReturn(Optional.of(record));
+
+        ResponseEntity<?> replay = (ResponseEntity<?>) store.execute("manager", "scan-2", "inbound",
+                new Object[]{1L, 10}, this::created);
+
+        assertEquals(0, executions.get());
+        assertEquals(7, ((JsonNode) replay.getBody()).get("movementId").asInt());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName(" execute - Clé réutilisée avec une autre requête refusée")
+    void testRejectsReusedKey() {
+        store.execute("manager", "scan-3", "inbound", new Object[]{1L, 10}, this::created);
+
+        assertThrows(DuplicateResourceException.class,
+                () -> store.execute("manager", "scan-3", "inbound", new Object[]{1L, 99}, this::created));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName(" execute - Clés distinctes par utilisateur")
+    void testKeysScopedByPrincipal() {
+        store.execute("manager", "scan-4", "inbound", new Object[]{1L, 10}, this::created);
+        store.execute("admin", "scan-4", "inbound", new Object[]{1L, 10}, this::created);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName(" execute - Réponse en erreur annulée et non enregistrée")
+    void testErrorResponseNotStored() {
+        store.execute("manager", "scan-5", "receive", new Object[]{3L},
+                () -> ResponseEntity.badRequest().body(Map.of("error", "Commande introuvable")));
+
+        assertTrue(transaction.isRollbackOnly());
+        store.execute("manager", "scan-5", "receive", new Object[]{3L}, this::created);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName(" execute - Requête concurrente avec la même clé : réponse validée rejouée")
+    void testConcurrentDuplicate() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_principal_key"));
+        IdempotencyRecord record = recordFor("scan-6", new Object[]{1L, 10}, "{\"movementId\":8}");
+        when(idempotencyRecordRepository.findByPrincipalAndIdempotencyKey("manager", "scan-6"))
+                .thenReturn(Optional.empty(), Optional.of(record));
+
+        ResponseEntity<?> replay = (ResponseEntity<?>) store.execute("manager", "scan-6", "inbound",
+                new Object[]{1L, 10}, this::created);
+
+        assertEquals(0, executions.get());
+        assertEquals(8, ((JsonNode) replay.getBody()).get("movementId").asInt());
+    }
+
+    @Test
+    @DisplayName(" execute - Conflit de version: clé et opération rejouées ensemble")
+    void testVersionConflictRetried() {
+        ProxyFactory factory = new ProxyFactory(store);
+        factory.setProxyTargetClass(true);
+        AnnotationAwareRetryOperationsInterceptor retry = new AnnotationAwareRetryOperationsInterceptor();
+        retry.setBeanFactory(new DefaultListableBeanFactory());
+        factory.addAdvice((MethodInterceptor) retry::invoke);
+        IdempotencyStore retrying = (IdempotencyStore) factory.getProxy();
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<?> response = (ResponseEntity<?>) retrying.execute("manager", "scan-7", "ship",
+                new Object[]{1L}, () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new ObjectOptimisticLockingFailureException(IdempotencyRecord.class, 1L);
+                    }
+                    return created();
+                });
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, attempts.get());
+        verify(idempotencyRecordRepository, times(2)).saveAndFlush(any(IdempotencyRecord.class));
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager).commit(transaction);
+    }
+
+    private ResponseEntity<Map<String, Object>> created() {
+        executions.incrementAndGet();
+        return new ResponseEntity<>(Map.of("movementId", 42), HttpStatus.CREATED);
+    }
+
+    private IdempotencyRecord recordFor(String key, Object[] arguments, String body) {
+        return IdempotencyRecord.builder()
+                .principal("manager")
+                .idempotencyKey(key)
+                .operation("inbound")
+                .requestHash(store.fingerprint("inbound", arguments))
+                .statusCode(201)
+                .responseBody(body)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+}
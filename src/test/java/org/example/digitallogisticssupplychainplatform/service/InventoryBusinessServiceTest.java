@@ -0,0 +1,729 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.InventoryMovement;
+import org.example.digitallogisticssupplychainplatform.entity.MovementType;
+import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.mapper.InventoryMapper;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryBatchRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - InventoryBusinessService")
+class InventoryBusinessServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private WareHouseRepository warehouseRepository;
+
+    @Mock
+    private InventoryMovementService movementService;
+
+    @Mock
+    private InventoryMovementRepository movementRepository;
+
+    @Mock
+    private InventoryMapper inventoryMapper;
+
+    @Mock
+    private AvailableToPromiseCache availabilityCache;
+
+    @Mock
+    private HotSkuReservations hotSkuReservations;
+
+    @Mock
+    private StockAggregates stockAggregates;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private InventoryBusinessService inventoryBusinessService;
+
+    // ============================================================
+    // TEST: reserveAvailable
+    // ============================================================
+
+    @Test
+    @DisplayName(" reserveAvailable - Réservation complète en une requête")
+    void testReserveAvailableComplete() {
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 30)).thenReturn(1);
+
+        InventoryBusinessService.ReservationOutcome outcome =
+                inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1");
+
+        assertTrue(outcome.isFullyReserved());
+        assertEquals(30, outcome.getReservedQuantity());
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(null, 1L, 1L, 0, 30));
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
+        verify(inventoryRepository, never()).findAvailableQty(anyLong(), anyLong());
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName(" reserveAvailable - SKU chaud servi en mémoire, sans UPDATE")
+    void testReserveAvailableHotSku() {
+        when(hotSkuReservations.tryReserve(1L, 1L, 30)).thenReturn(Optional.of(30));
+
+        InventoryBusinessService.ReservationOutcome outcome =
+                inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1");
+
+        assertTrue(outcome.isFullyReserved());
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(null, 1L, 1L, 0, 30));
+        verify(inventoryRepository, never()).reserveIfAvailable(anyLong(), anyLong(), anyInt());
+        verify(hotSkuReservations, never()).recordAttempt(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(" reserveAvailable - Tentative en base notée pour la détection")
+    void testReserveAvailableRecordsContention() {
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 30)).thenReturn(1);
+
+        inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1");
+
+        verify(hotSkuReservations).recordAttempt(eq(1L), eq(1L), anyLong());
+    }
+
+    @Test
+    @DisplayName(" reserveAvailable - Réservation partielle du disponible")
+    void testReserveAvailablePartial() {
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 30)).thenReturn(0);
+        when(inventoryRepository.findAvailableQty(1L, 1L)).thenReturn(12);
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 12)).thenReturn(1);
+
+        InventoryBusinessService.ReservationOutcome outcome =
+                inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1");
+
+        assertFalse(outcome.isFullyReserved());
+        assertEquals(12, outcome.getReservedQuantity());
+        assertEquals(18, outcome.getShortageQuantity());
+    }
+
+    @Test
+    @DisplayName(" reserveAvailable - Concurrence pendant la réservation partielle")
+    void testReserveAvailablePartialRetriesOnConcurrentChange() {
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 30)).thenReturn(0);
+        when(inventoryRepository.findAvailableQty(1L, 1L)).thenReturn(12, 5);
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 12)).thenReturn(0);
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 5)).thenReturn(1);
+
+        InventoryBusinessService.ReservationOutcome outcome =
+                inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1");
+
+        assertEquals(5, outcome.getReservedQuantity());
+        verify(inventoryRepository, times(2)).findAvailableQty(1L, 1L);
+    }
+
+    @Test
+    @DisplayName(" reserveAvailable - Aucun stock ou inventaire inexistant")
+    void testReserveAvailableNothingAvailable() {
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 30)).thenReturn(0);
+        when(inventoryRepository.findAvailableQty(1L, 1L)).thenReturn(null);
+
+        InventoryBusinessService.ReservationOutcome outcome =
+                inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1");
+
+        assertEquals(0, outcome.getReservedQuantity());
+        assertEquals(30, outcome.getShortageQuantity());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName(" reserveAvailable - Quantité invalide")
+    void testReserveAvailableInvalidQuantity() {
+        assertThrows(BusinessException.class, () ->
+                inventoryBusinessService.reserveAvailable(1L, 1L, 0, "SO-1")
+        );
+
+        verify(inventoryRepository, never()).reserveIfAvailable(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName(" reserveStock - Délègue au chemin atomique")
+    void testReserveStockUsesAtomicPath() {
+        when(inventoryRepository.reserveIfAvailable(1L, 1L, 10)).thenReturn(1);
+
+        inventoryBusinessService.reserveStock(1L, 1L, 10, "SO-1");
+
+        verify(inventoryRepository, times(1)).reserveIfAvailable(1L, 1L, 10);
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    // ============================================================
+    // TEST: reserveBatch
+    // ============================================================
+
+    @Test
+    @DisplayName(" reserveBatch - Une lecture et un batch pour toute la commande")
+    void testReserveBatch() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(eq(1L), anySet()))
+                .thenReturn(List.of(stock(10L, 1L, 100, 20, 3L), stock(20L, 2L, 15, 10, 7L)));
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{1, 1});
+
+        List<InventoryBusinessService.ReservationOutcome> outcomes = inventoryBusinessService.reserveBatch(1L,
+                List.of(line(1L, 30), line(2L, 20), line(3L, 4)), "SO-1");
+
+        assertEquals(3, outcomes.size());
+        assertEquals(30, outcomes.get(0).getReservedQuantity());
+        assertEquals(5, outcomes.get(1).getReservedQuantity());
+        assertEquals(0, outcomes.get(2).getReservedQuantity());
+        verify(inventoryRepository, times(1)).applyReservations(List.of(
+                new InventoryBatchRepository.ReservationDelta(10L, 3L, 30),
+                new InventoryBatchRepository.ReservationDelta(20L, 7L, 5)));
+        verify(inventoryRepository, never()).reserveIfAvailable(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName(" reserveBatch - Lignes multiples sur le même produit")
+    void testReserveBatchSameProductTwice() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(eq(1L), anySet()))
+                .thenReturn(List.of(stock(10L, 1L, 50, 0, 1L)));
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{1});
+
+        List<InventoryBusinessService.ReservationOutcome> outcomes = inventoryBusinessService.reserveBatch(1L,
+                List.of(line(1L, 30), line(1L, 30)), "SO-1");
+
+        assertEquals(30, outcomes.get(0).getReservedQuantity());
+        assertEquals(20, outcomes.get(1).getReservedQuantity());
+        verify(inventoryRepository).applyReservations(List.of(
+                new InventoryBatchRepository.ReservationDelta(10L, 1L, 50)));
+    }
+
+    @Test
+    @DisplayName(" reserveBatch - Repli unitaire si la ligne a changé")
+    void testReserveBatchFallsBackOnConflict() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(eq(1L), anySet()))
+                .thenReturn(List.of(stock(10L, 1L, 100, 0, 1L), stock(20L, 2L, 100, 0, 1L)));
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{1, 0});
+        when(inventoryRepository.reserveIfAvailable(2L, 1L, 20)).thenReturn(1);
+
+        List<InventoryBusinessService.ReservationOutcome> outcomes = inventoryBusinessService.reserveBatch(1L,
+                List.of(line(1L, 30), line(2L, 20)), "SO-1");
+
+        assertEquals(30, outcomes.get(0).getReservedQuantity());
+        assertEquals(20, outcomes.get(1).getReservedQuantity());
+        verify(inventoryRepository, times(1)).reserveIfAvailable(2L, 1L, 20);
+    }
+
+    @Test
+    @DisplayName(" reserveBatch - SKU chaud servi en mémoire, hors du batch")
+    void testReserveBatchRoutesHotSkuToMemory() {
+        when(hotSkuReservations.isHot(anyLong(), eq(1L))).thenAnswer(invocation -> invocation.getArgument(0).equals(2L));
+        when(hotSkuReservations.tryReserve(2L, 1L, 20)).thenReturn(Optional.of(20));
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(eq(1L), anySet()))
+                .thenReturn(List.of(stock(10L, 1L, 100, 0, 1L), stock(20L, 2L, 100, 100, 1L)));
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{1});
+
+        List<InventoryBusinessService.ReservationOutcome> outcomes = inventoryBusinessService.reserveBatch(1L,
+                List.of(line(1L, 30), line(2L, 20)), "SO-1");
+
+        assertEquals(30, outcomes.get(0).getReservedQuantity());
+        assertEquals(20, outcomes.get(1).getReservedQuantity());
+        verify(inventoryRepository).applyReservations(List.of(
+                new InventoryBatchRepository.ReservationDelta(10L, 1L, 30)));
+        verify(inventoryRepository, never()).reserveIfAvailable(anyLong(), anyLong(), anyInt());
+    }
+
+    // ============================================================
+    // TEST: releaseHolds / shipHolds
+    // ============================================================
+
+    @Test
+    @DisplayName(" releaseHolds - Un batch par inventaire, sans relecture")
+    void testReleaseHolds() {
+        when(inventoryRepository.releaseHolds(anyList())).thenReturn(new int[]{1, 1});
+
+        inventoryBusinessService.releaseHolds(List.of(hold(101L, 1L, 30), hold(101L, 1L, 10), hold(102L, 2L, 5)),
+                "SO-1-CANCEL");
+
+        verify(inventoryRepository).releaseHolds(List.of(
+                new InventoryBatchRepository.HoldDelta(101L, 40),
+                new InventoryBatchRepository.HoldDelta(102L, 5)));
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(101L, 1L, 1L, 0, -40));
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(" releaseHolds - Registre incohérent: opération annulée")
+    void testReleaseHoldsInconsistent() {
+        when(inventoryRepository.releaseHolds(anyList())).thenReturn(new int[]{1, 0});
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> inventoryBusinessService
+                .releaseHolds(List.of(hold(101L, 1L, 30), hold(102L, 2L, 5)), "SO-1-CANCEL"));
+
+        assertTrue(exception.getMessage().contains("102"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName(" shipHolds - Stock décrémenté en batch et mouvements insérés en lot")
+    @SuppressWarnings("unchecked")
+    void testShipHolds() {
+        when(inventoryRepository.shipHolds(anyList())).thenReturn(new int[]{1});
+        when(inventoryRepository.getReferenceById(101L)).thenReturn(Inventory.builder().id(101L).build());
+
+        int shipped = inventoryBusinessService.shipHolds(List.of(hold(101L, 1L, 30), hold(101L, 1L, 5)),
+                "SO-1", "Expédition commande client");
+
+        assertEquals(35, shipped);
+        verify(inventoryRepository).shipHolds(List.of(new InventoryBatchRepository.HoldDelta(101L, 35)));
+        ArgumentCaptor<List<InventoryMovement>> captor = ArgumentCaptor.forClass(List.class);
+        verify(movementRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(MovementType.OUTBOUND, captor.getValue().get(0).getType());
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(101L, 1L, 1L, -35, -35));
+    }
+
+    // ============================================================
+    // TEST: allocateFromMultipleWarehouses / allocateOrder
+    // ============================================================
+
+    @Test
+    @DisplayName(" allocateFromMultipleWarehouses - Une seule lecture, ordre de priorité respecté")
+    void testAllocateFromMultipleWarehouses() {
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(List.of(2L, 1L), Set.of(1L)))
+                .thenReturn(List.of(new InventoryStockDTO(10L, 1L, 1L, 100, 0, 1L),
+                        new InventoryStockDTO(20L, 1L, 2L, 30, 10, 1L)));
+
+        List<InventoryBusinessService.AllocationResult> allocations =
+                inventoryBusinessService.allocateFromMultipleWarehouses(1L, 50, List.of(2L, 1L));
+
+        assertEquals(2, allocations.size());
+        assertEquals(2L, allocations.get(0).getWarehouseId());
+        assertEquals(20, allocations.get(0).getAllocatedQuantity());
+        assertEquals(30, allocations.get(1).getAllocatedQuantity());
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(" allocateOrder - Plan réservé en un seul batch")
+    void testAllocateOrderReserves() {
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(eq(List.of(1L, 2L)), anyCollection()))
+                .thenReturn(List.of(new InventoryStockDTO(10L, 1L, 1L, 100, 0, 3L),
+                        new InventoryStockDTO(20L, 1L, 2L, 100, 0, 4L),
+                        new InventoryStockDTO(21L, 2L, 2L, 100, 0, 5L)));
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{1, 1});
+
+        InventoryBusinessService.OrderAllocation allocation = inventoryBusinessService.allocateOrder(
+                List.of(line(1L, 30), line(2L, 20)), List.of(1L, 2L), true, "SO-1");
+
+        assertTrue(allocation.isFullyAllocated());
+        assertTrue(allocation.isReserved());
+        assertEquals(1, allocation.getShipments());
+        assertEquals(List.of(2L), allocation.getWarehousesUsed());
+        verify(inventoryRepository, times(1)).applyReservations(List.of(
+                new InventoryBatchRepository.ReservationDelta(20L, 4L, 30),
+                new InventoryBatchRepository.ReservationDelta(21L, 5L, 20)));
+        verify(eventPublisher, times(2)).publishEvent(any(InventoryChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName(" allocateOrder - SKU chaud planifié sur le disponible en mémoire")
+    void testAllocateOrderHotSkuUsesMemory() {
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(eq(List.of(1L, 2L)), anyCollection()))
+                .thenReturn(List.of(new InventoryStockDTO(10L, 1L, 1L, 100, 0, 3L),
+                        new InventoryStockDTO(20L, 1L, 2L, 100, 0, 4L)));
+        when(hotSkuReservations.isHot(eq(1L), anyLong())).thenAnswer(invocation -> invocation.getArgument(1).equals(1L));
+        when(hotSkuReservations.availableInMemory(1L, 1L)).thenReturn(OptionalLong.of(10));
+        when(hotSkuReservations.availableInMemory(1L, 2L)).thenReturn(OptionalLong.empty());
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{1});
+
+        InventoryBusinessService.OrderAllocation allocation = inventoryBusinessService.allocateOrder(
+                List.of(line(1L, 30)), List.of(1L, 2L), true, "SO-1");
+
+        assertEquals(List.of(2L), allocation.getWarehousesUsed());
+        verify(hotSkuReservations).flush();
+        verify(hotSkuReservations, never()).tryReserve(anyLong(), anyLong(), anyInt());
+        verify(inventoryRepository).applyReservations(List.of(
+                new InventoryBatchRepository.ReservationDelta(20L, 4L, 30)));
+    }
+
+    @Test
+    @DisplayName(" allocateOrder - SKU chaud réservé en mémoire, octroi incomplet rejoué")
+    void testAllocateOrderHotSkuShortGrantConflicts() {
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(eq(List.of(1L)), anyCollection()))
+                .thenReturn(List.of(new InventoryStockDTO(10L, 1L, 1L, 100, 0, 3L)));
+        when(hotSkuReservations.isHot(1L, 1L)).thenReturn(true);
+        when(hotSkuReservations.availableInMemory(1L, 1L)).thenReturn(OptionalLong.of(50));
+        when(hotSkuReservations.tryReserve(1L, 1L, 30)).thenReturn(Optional.of(25));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> inventoryBusinessService.allocateOrder(
+                List.of(line(1L, 30)), List.of(1L), true, "SO-1"));
+        verify(inventoryRepository, never()).applyReservations(anyList());
+    }
+
+    @Test
+    @DisplayName(" allocateOrder - Conflit de version: tout le plan est rejoué")
+    void testAllocateOrderConflict() {
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(eq(List.of(1L)), anyCollection()))
+                .thenReturn(List.of(new InventoryStockDTO(10L, 1L, 1L, 100, 0, 3L)));
+        when(inventoryRepository.applyReservations(anyList())).thenReturn(new int[]{0});
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> inventoryBusinessService.allocateOrder(
+                List.of(line(1L, 30)), List.of(1L), true, "SO-1"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName(" allocateOrder - Simulation sans réservation, manques signalés")
+    void testAllocateOrderWithoutReservation() {
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(eq(List.of(1L)), anyCollection()))
+                .thenReturn(List.of(new InventoryStockDTO(10L, 1L, 1L, 10, 0, 3L)));
+
+        InventoryBusinessService.OrderAllocation allocation = inventoryBusinessService.allocateOrder(
+                List.of(line(1L, 30), line(2L, 5)), List.of(1L), false, "SO-1");
+
+        assertFalse(allocation.isFullyAllocated());
+        assertFalse(allocation.isReserved());
+        assertEquals(20, allocation.getShortages().get(1L));
+        assertEquals(5, allocation.getShortages().get(2L));
+        verify(inventoryRepository, never()).applyReservations(anyList());
+    }
+
+    @Test
+    @DisplayName(" allocateOrder - Entrepôts candidats obligatoires")
+    void testAllocateOrderWithoutWarehouses() {
+        assertThrows(BusinessException.class, () -> inventoryBusinessService.allocateOrder(
+                List.of(line(1L, 30)), List.of(), true, "SO-1"));
+    }
+
+    // ============================================================
+    // TEST: recordInboundBatch / recordInboundBulk
+    // ============================================================
+
+    @Test
+    @DisplayName(" recordInboundBatch - Une lecture, création groupée et mouvements en lot")
+    @SuppressWarnings("unchecked")
+    void testRecordInboundBatch() {
+        WareHouse warehouse = WareHouse.builder().id(1L).name("WH").code("WH1").build();
+        Product existingProduct = Product.builder().id(1L).code("P1").name("P1").build();
+        Inventory existing = Inventory.builder().id(10L).product(existingProduct).warehouse(warehouse)
+                .qtyOnHand(5).qtyReserved(0).build();
+
+        when(warehouseRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(productRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(inventoryRepository.findByWarehouseIdsAndProductIds(Set.of(1L), Set.of(1L, 2L)))
+                .thenReturn(List.of(existing));
+
+        InventoryBusinessService.InboundBatchResult result = inventoryBusinessService.recordInboundBatch(1L,
+                List.of(inbound(1L, 10), inbound(2L, 7), inbound(1L, 3)), "PO-1");
+
+        assertEquals(3, result.getLinesProcessed());
+        assertEquals(1, result.getInventoriesCreated());
+        assertEquals(20, result.getTotalQuantity());
+        assertEquals(18, existing.getQtyOnHand());
+
+        ArgumentCaptor<List<Inventory>> inventories = ArgumentCaptor.forClass(List.class);
+        verify(inventoryRepository, times(1)).saveAll(inventories.capture());
+        assertEquals(1, inventories.getValue().size());
+        assertEquals(7, inventories.getValue().get(0).getQtyOnHand());
+
+        ArgumentCaptor<List<InventoryMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(movementRepository, times(1)).saveAll(movements.capture());
+        assertEquals(3, movements.getValue().size());
+        assertTrue(movements.getValue().stream().allMatch(m -> m.getType() == MovementType.INBOUND
+                && "PO-1".equals(m.getReferenceDoc())));
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
+        verify(productRepository, never()).existsById(anyLong());
+        verifyNoInteractions(movementService);
+    }
+
+    @Test
+    @DisplayName(" recordInboundBulk - Plusieurs entrepôts dans la même requête")
+    void testRecordInboundBulkMultipleWarehouses() {
+        WareHouse warehouse1 = WareHouse.builder().id(1L).name("WH1").code("WH1").build();
+        WareHouse warehouse2 = WareHouse.builder().id(2L).name("WH2").code("WH2").build();
+        Product product = Product.builder().id(1L).code("P1").name("P1").build();
+        Inventory inWarehouse1 = Inventory.builder().id(10L).product(product).warehouse(warehouse1)
+                .qtyOnHand(0).qtyReserved(0).build();
+        Inventory inWarehouse2 = Inventory.builder().id(20L).product(product).warehouse(warehouse2)
+                .qtyOnHand(4).qtyReserved(0).build();
+
+        when(warehouseRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(productRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(inventoryRepository.findByWarehouseIdsAndProductIds(Set.of(1L, 2L), Set.of(1L)))
+                .thenReturn(List.of(inWarehouse1, inWarehouse2));
+
+        InventoryBusinessService.InboundBatchResult result = inventoryBusinessService.recordInboundBulk(List.of(
+                new InventoryBusinessService.InboundRow(1L, 1L, 5, "SCAN-1", null),
+                new InventoryBusinessService.InboundRow(1L, 2L, 6, "SCAN-2", null)));
+
+        assertEquals(2, result.getWarehousesAffected());
+        assertEquals(0, result.getInventoriesCreated());
+        assertEquals(5, inWarehouse1.getQtyOnHand());
+        assertEquals(10, inWarehouse2.getQtyOnHand());
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(20L, 1L, 2L, 6, 0));
+    }
+
+    @Test
+    @DisplayName(" recordInboundBulk - Produit inconnu")
+    void testRecordInboundBulkUnknownProduct() {
+        when(warehouseRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(productRepository.findExistingIds(Set.of(1L, 99L))).thenReturn(List.of(1L));
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                inventoryBusinessService.recordInboundBatch(1L, List.of(inbound(1L, 1), inbound(99L, 1)), "PO-1")
+        );
+
+        assertTrue(exception.getMessage().contains("99"));
+        verify(inventoryRepository, never()).findByWarehouseIdsAndProductIds(anySet(), anySet());
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName(" recordInboundBulk - Entrepôt inconnu")
+    void testRecordInboundBulkUnknownWarehouse() {
+        when(warehouseRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                inventoryBusinessService.recordInboundBulk(List.of(
+                        new InventoryBusinessService.InboundRow(1L, 1L, 5, "SCAN-1", null),
+                        new InventoryBusinessService.InboundRow(1L, 2L, 5, "SCAN-2", null)))
+        );
+
+        assertTrue(exception.getMessage().contains("Entrepôt"));
+        verifyNoInteractions(productRepository, movementRepository);
+    }
+
+    @Test
+    @DisplayName(" recordInboundBatch - Quantité invalide")
+    void testRecordInboundBatchInvalidQuantity() {
+        assertThrows(BusinessException.class, () ->
+                inventoryBusinessService.recordInboundBatch(1L, List.of(inbound(1L, 0)), "PO-1")
+        );
+
+        verifyNoInteractions(warehouseRepository, movementRepository);
+    }
+
+    // ============================================================
+    // TEST: recordAdjustment
+    // ============================================================
+
+    @Test
+    @DisplayName(" recordAdjustment - Applique l'ajustement au stock physique")
+    void testRecordAdjustmentAppliesQuantity() {
+        Inventory inventory = Inventory.builder().id(10L).qtyOnHand(50).qtyReserved(10).build();
+        when(inventoryRepository.findByProductIdAndWarehouseId(1L, 1L)).thenReturn(inventory);
+
+        inventoryBusinessService.recordAdjustment(1L, 1L, -15, "INV-1", "Casse");
+
+        assertEquals(35, inventory.getQtyOnHand());
+        verify(movementService).createMovement(argThat(movement ->
+                movement.getQuantity() == -15 && MovementType.ADJUSTMENT.name().equals(movement.getType())));
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(10L, 1L, 1L, -15, 0));
+    }
+
+    @Test
+    @DisplayName(" recordAdjustment - Stock physique inférieur au réservé")
+    void testRecordAdjustmentBelowReserved() {
+        Inventory inventory = Inventory.builder().id(10L).qtyOnHand(20).qtyReserved(10).build();
+        when(inventoryRepository.findByProductIdAndWarehouseId(1L, 1L)).thenReturn(inventory);
+
+        assertThrows(BusinessException.class, () ->
+                inventoryBusinessService.recordAdjustment(1L, 1L, -15, "INV-1", "Casse")
+        );
+
+        assertEquals(20, inventory.getQtyOnHand());
+        verifyNoInteractions(movementService, eventPublisher);
+    }
+
+    // ============================================================
+    // TEST: isOutOfStock / calculateAvailableQty
+    // ============================================================
+
+    @Test
+    @DisplayName(" isOutOfStock - Servi par le cache ATP")
+    void testIsOutOfStockFromCache() {
+        when(availabilityCache.find(1L, 1L))
+                .thenReturn(Optional.of(new AvailableToPromiseCache.StockLevel(50, 50, 1L)));
+
+        assertTrue(inventoryBusinessService.isOutOfStock(1L, 1L));
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName(" isOutOfStock - Repli sur la base en cas de défaut de cache")
+    void testIsOutOfStockCacheMiss() {
+        Inventory inventory = Inventory.builder().id(10L).qtyOnHand(50).qtyReserved(20).build();
+        when(availabilityCache.find(1L, 1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductIdAndWarehouseId(1L, 1L)).thenReturn(inventory);
+
+        assertFalse(inventoryBusinessService.isOutOfStock(1L, 1L));
+    }
+
+    @Test
+    @DisplayName(" calculateAvailableQty - Servi par le cache ATP")
+    void testCalculateAvailableQtyFromCache() {
+        when(availabilityCache.findByInventoryId(10L))
+                .thenReturn(Optional.of(new AvailableToPromiseCache.StockLevel(80, 30, 1L)));
+
+        assertEquals(50, inventoryBusinessService.calculateAvailableQty(10L));
+        verify(inventoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName(" getWarehouseTotals - Servi par les agrégats, sans SUM")
+    void testWarehouseTotalsFromAggregates() {
+        when(stockAggregates.findByWarehouse(1L)).thenReturn(Optional.of(new StockTotalsDTO(150L, 20L, 2L)));
+
+        assertEquals(130, inventoryBusinessService.getWarehouseTotals(1L).getAvailable());
+        verify(inventoryRepository, never()).sumStockByWarehouse(anyLong());
+    }
+
+    @Test
+    @DisplayName(" getProductTotals - Relu en base avant chargement des agrégats")
+    void testProductTotalsFallBackToDatabase() {
+        when(inventoryRepository.sumStockByProduct(1L)).thenReturn(new StockTotalsDTO(80L, 10L, 3L));
+
+        assertEquals(3L, inventoryBusinessService.getProductTotals(1L).getInventories());
+    }
+
+    @Test
+    @DisplayName(" applyCycleCounts - Écarts en batch, inventaire manquant créé, lignes invalides rejetées")
+    void testApplyCycleCounts() {
+        when(warehouseRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(productRepository.findExistingIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L, 3L));
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(anyCollection(), anyCollection()))
+                .thenReturn(List.of(stock(10L, 1L, 50, 10, 4L), stock(30L, 3L, 20, 0, 1L)));
+        when(inventoryRepository.getReferenceById(10L)).thenReturn(Inventory.builder().id(10L).build());
+        when(productRepository.getReferenceById(2L)).thenReturn(Product.builder().id(2L).build());
+        when(warehouseRepository.getReferenceById(1L)).thenReturn(WareHouse.builder().id(1L).build());
+        when(inventoryRepository.applyCounts(anyList())).thenReturn(new int[]{1});
+
+        InventoryBusinessService.CycleCountResult result = inventoryBusinessService.applyCycleCounts(List.of(
+                count(2, 1L, 45),
+                count(3, 2L, 5),
+                count(4, 3L, 20),
+                count(5, 4L, -1)), "CC-1");
+
+        assertEquals(4, result.getLinesReceived());
+        assertEquals(1, result.getMatched());
+        assertEquals(2, result.getAdjusted());
+        assertEquals(1, result.getInventoriesCreated());
+        assertEquals(1, result.getRejections().size());
+        assertEquals(5L, result.getRejections().get(0).getLineNumber());
+        assertEquals(-5, result.getVariances().get(0).getVariance());
+
+        verify(inventoryRepository).applyCounts(List.of(new InventoryBatchRepository.CountDelta(10L, 4L, 45)));
+        ArgumentCaptor<List<InventoryMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(movementRepository).saveAll(movements.capture());
+        assertEquals(2, movements.getValue().size());
+        assertTrue(movements.getValue().stream().allMatch(movement -> movement.getType() == MovementType.ADJUSTMENT));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    @DisplayName(" applyCycleCounts - Comptage inférieur au réservé rejeté")
+    void testApplyCycleCountsBelowReserved() {
+        when(warehouseRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(productRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(anyCollection(), anyCollection()))
+                .thenReturn(List.of(stock(10L, 1L, 50, 30, 4L)));
+        when(inventoryRepository.applyCounts(List.of())).thenReturn(new int[0]);
+
+        InventoryBusinessService.CycleCountResult result =
+                inventoryBusinessService.applyCycleCounts(List.of(count(2, 1L, 20)), "CC-2");
+
+        assertEquals(0, result.getAdjusted());
+        assertEquals(1, result.getRejections().size());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName(" applyCycleCounts - Couple répété dans le lot : dernière ligne appliquée, précédentes rejetées")
+    void testApplyCycleCountsDuplicateLines() {
+        when(warehouseRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(productRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(anyCollection(), anyCollection()))
+                .thenReturn(List.of(stock(10L, 1L, 50, 0, 4L)));
+        when(inventoryRepository.getReferenceById(10L)).thenReturn(Inventory.builder().id(10L).build());
+        when(inventoryRepository.applyCounts(anyList())).thenReturn(new int[]{1});
+
+        InventoryBusinessService.CycleCountResult result = inventoryBusinessService.applyCycleCounts(List.of(
+                count(2, 1L, 40),
+                count(3, 1L, 45),
+                count(4, 1L, 48)), "CC-4");
+
+        assertEquals(3, result.getLinesReceived());
+        assertEquals(1, result.getAdjusted());
+        assertEquals(2, result.getRejections().size());
+        assertEquals(2L, result.getRejections().get(0).getLineNumber());
+        assertEquals(3L, result.getRejections().get(1).getLineNumber());
+        assertEquals(result.getLinesReceived(),
+                result.getMatched() + result.getAdjusted() + result.getRejections().size());
+        verify(inventoryRepository).applyCounts(List.of(new InventoryBatchRepository.CountDelta(10L, 4L, 48)));
+    }
+
+    @Test
+    @DisplayName(" applyCycleCounts - Version modifiée entre lecture et écriture")
+    void testApplyCycleCountsVersionConflict() {
+        when(warehouseRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(productRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(inventoryRepository.findStockByWarehouseIdsAndProductIds(anyCollection(), anyCollection()))
+                .thenReturn(List.of(stock(10L, 1L, 50, 0, 4L)));
+        when(inventoryRepository.getReferenceById(10L)).thenReturn(Inventory.builder().id(10L).build());
+        when(inventoryRepository.applyCounts(anyList())).thenReturn(new int[]{0});
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> inventoryBusinessService.applyCycleCounts(List.of(count(2, 1L, 60)), "CC-3"));
+        verify(movementRepository, never()).saveAll(anyList());
+    }
+
+    private InventoryStockDTO stock(Long id, Long productId, int onHand, int reserved, Long version) {
+        return new InventoryStockDTO(id, productId, 1L, onHand, reserved, version);
+    }
+
+    private ReservationHoldDTO hold(Long inventoryId, Long productId, int quantity) {
+        return ReservationHoldDTO.builder()
+                .inventoryId(inventoryId)
+                .productId(productId)
+                .warehouseId(1L)
+                .quantity(quantity)
+                .build();
+    }
+
+    private InventoryBusinessService.CountLine count(long lineNumber, Long productId, int counted) {
+        return new InventoryBusinessService.CountLine(lineNumber, productId, 1L, counted);
+    }
+
+    private InventoryBusinessService.InboundLine inbound(Long productId, int quantity) {
+        return new InventoryBusinessService.InboundLine(productId, quantity, "Réception");
+    }
+
+    private InventoryBusinessService.ReservationLine line(Long productId, int quantity) {
+        return new InventoryBusinessService.ReservationLine(productId, quantity);
+    }
+}
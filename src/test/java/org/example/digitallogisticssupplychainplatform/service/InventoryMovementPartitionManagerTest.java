@@ -0,0 +1,69 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - InventoryMovementPartitionManager")
+class InventoryMovementPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private InventoryMovementPartitionManager partitionManager;
+
+    @Test
+    @DisplayName("maintain - Crée les partitions manquantes et détache les anciennes")
+    void testMaintain() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("inventory_movements")))
+                .thenReturn(List.of(
+                        "inventory_movements_p202201",
+                        "inventory_movements_p202410",
+                        "inventory_movements_p202501",
+                        "inventory_movements_p202502",
+                        "inventory_movements_legacy"));
+
+        InventoryMovementPartitionManager.MaintenanceResult result =
+                partitionManager.maintain(YearMonth.of(2025, 1));
+
+        assertEquals(List.of("inventory_movements_p202503", "inventory_movements_p202504"), result.getCreated());
+        assertEquals(List.of("inventory_movements_p202201"), result.getDetached());
+        verify(jdbcTemplate).execute(InventoryMovementPartitionManager.createPartitionSql(YearMonth.of(2025, 3)));
+        verify(jdbcTemplate).execute(InventoryMovementPartitionManager.createPartitionSql(YearMonth.of(2025, 4)));
+        verify(jdbcTemplate).execute("ALTER TABLE inventory_movements DETACH PARTITION inventory_movements_p202201");
+        verify(jdbcTemplate, times(3)).execute(anyString());
+        assertEquals(Optional.of(LocalDateTime.of(2023, 1, 1, 0, 0)), partitionManager.getRetainedSince());
+        assertEquals(Optional.of(LocalDateTime.of(2025, 5, 1, 0, 0)), partitionManager.getPartitionedUntil());
+    }
+
+    @Test
+    @DisplayName("createPartitionSql - Bornes mensuelles [début, début du mois suivant)")
+    void testCreatePartitionSql() {
+        assertEquals("CREATE TABLE IF NOT EXISTS inventory_movements_p202412 PARTITION OF inventory_movements " +
+                        "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')",
+                InventoryMovementPartitionManager.createPartitionSql(YearMonth.of(2024, 12)));
+    }
+
+    @Test
+    @DisplayName("monthOf - Ignore les tables hors convention de nommage")
+    void testMonthOf() {
+        assertEquals(Optional.of(YearMonth.of(2024, 3)),
+                InventoryMovementPartitionManager.monthOf("inventory_movements_p202403"));
+        assertTrue(InventoryMovementPartitionManager.monthOf("inventory_movements_legacy").isEmpty());
+    }
+}
@@ -1,9 +1,11 @@
 package org.example.digitallogisticssupplychainplatform.service;
 
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
 import org.example.digitallogisticssupplychainplatform.entity.Inventory;
 import org.example.digitallogisticssupplychainplatform.entity.InventoryMovement;
 import org.example.digitallogisticssupplychainplatform.entity.MovementType;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.mapper.InventoryMovementMapper;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -38,6 +41,9 @@ class InventoryMovementServiceImplTest {
     @Mock
     private InventoryMovementMapper movementMapper;
 
+    @Mock
+    private InventoryMovementPartitionManager partitionManager;
+
     @InjectMocks
     private InventoryMovementServiceImpl inventoryMovementService;
 
@@ -86,6 +92,53 @@ class InventoryMovementServiceImplTest {
         verify(movementRepository, times(1)).findAllWithDetails();
     }
 
+    // ============================================================
+    // TEST: findPage
+    // ============================================================
+
+    @Test
+    @DisplayName(" findPage - Première page avec curseur suivant")
+    void testFindPageFirstPage() {
+        LocalDateTime occurredAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        testMovementDTO.setOccurredAt(occurredAt);
+        when(movementRepository.findFirstPageWithDetails(PageRequest.ofSize(2)))
+                .thenReturn(List.of(testMovement, new InventoryMovement()));
+        when(movementMapper.toDto(any(InventoryMovement.class))).thenReturn(testMovementDTO);
+
+        CursorPage<InventoryMovementDTO> page = inventoryMovementService.findPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.getHasMore());
+        assertArrayEquals(new String[]{occurredAt.toString(), "1"},
+                CursorPage.decodeCursor(page.getNextCursor(), 2));
+    }
+
+    @Test
+    @DisplayName(" findPage - Page suivante à partir du curseur (occurredAt, id)")
+    void testFindPageAfterCursor() {
+        LocalDateTime occurredAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        String cursor = CursorPage.encodeCursor(occurredAt, 41L);
+        when(movementRepository.findPageAfterWithDetails(occurredAt, 41L, PageRequest.ofSize(51)))
+                .thenReturn(List.of(testMovement));
+        when(movementMapper.toDto(testMovement)).thenReturn(testMovementDTO);
+
+        CursorPage<InventoryMovementDTO> page = inventoryMovementService.findPage(cursor, null);
+
+        assertEquals(1, page.getSize());
+        assertFalse(page.getHasMore());
+        assertNull(page.getNextCursor());
+        verify(movementRepository, never()).findFirstPageWithDetails(any());
+    }
+
+    @Test
+    @DisplayName(" findPage - Curseur invalide")
+    void testFindPageInvalidCursor() {
+        assertThrows(BusinessException.class, () ->
+                inventoryMovementService.findPage(CursorPage.encodeCursor("hier", 1L), 10));
+
+        verifyNoInteractions(movementRepository);
+    }
+
     @Test
     @DisplayName(" findAll - Liste vide")
     void testFindAllEmpty() {
@@ -306,6 +359,43 @@ class InventoryMovementServiceImplTest {
         verify(movementRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName(" createMovement - Date antérieure au délai du projecteur refusée")
+    void testCreateMovementBackdatedRejected() {
+        InventoryMovementDTO newMovementDTO = new InventoryMovementDTO();
+        newMovementDTO.setInventoryId(1L);
+        newMovementDTO.setType("INBOUND");
+        newMovementDTO.setQuantity(5);
+        newMovementDTO.setOccurredAt(LocalDateTime.now().minusHours(1));
+
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
+
+        assertThrows(BusinessException.class, () ->
+                inventoryMovementService.createMovement(newMovementDTO)
+        );
+
+        verify(movementRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName(" createMovement - Date au-delà des partitions préparées refusée")
+    void testCreateMovementBeyondPartitionsRejected() {
+        InventoryMovementDTO newMovementDTO = new InventoryMovementDTO();
+        newMovementDTO.setInventoryId(1L);
+        newMovementDTO.setType("INBOUND");
+        newMovementDTO.setQuantity(5);
+        newMovementDTO.setOccurredAt(LocalDateTime.now().plusMonths(6));
+
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
+        when(partitionManager.getPartitionedUntil()).thenReturn(Optional.of(LocalDateTime.now().plusMonths(3)));
+
+        assertThrows(BusinessException.class, () ->
+                inventoryMovementService.createMovement(newMovementDTO)
+        );
+
+        verify(movementRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName(" createMovement - Quantité zéro")
     void testCreateMovementZeroQuantity() {
@@ -324,20 +414,55 @@ class InventoryMovementServiceImplTest {
         verify(movementRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName(" createMovement - Ajustement négatif accepté")
+    void testCreateMovementNegativeAdjustment() {
+        InventoryMovementDTO newMovementDTO = new InventoryMovementDTO();
+        newMovementDTO.setInventoryId(1L);
+        newMovementDTO.setType("ADJUSTMENT");
+        newMovementDTO.setQuantity(-5);
+
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
+        when(movementMapper.toEntity(any(InventoryMovementDTO.class))).thenReturn(testMovement);
+        when(movementRepository.save(any(InventoryMovement.class))).thenReturn(testMovement);
+        when(movementMapper.toDto(testMovement)).thenReturn(testMovementDTO);
+
+        inventoryMovementService.createMovement(newMovementDTO);
+
+        assertEquals(MovementType.ADJUSTMENT, testMovement.getType());
+        verify(movementRepository, times(1)).save(testMovement);
+    }
+
+    @Test
+    @DisplayName(" createMovement - Ajustement nul refusé")
+    void testCreateMovementZeroAdjustment() {
+        InventoryMovementDTO newMovementDTO = new InventoryMovementDTO();
+        newMovementDTO.setInventoryId(1L);
+        newMovementDTO.setType("ADJUSTMENT");
+        newMovementDTO.setQuantity(0);
+
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
+
+        assertThrows(RuntimeException.class, () ->
+                inventoryMovementService.createMovement(newMovementDTO)
+        );
+
+        verify(movementRepository, never()).save(any());
+    }
+
     // ============================================================
     // TEST: deleteMovement
     // ============================================================
 
     @Test
-    @DisplayName(" deleteMovement - Supprimer mouvement")
+    @DisplayName(" deleteMovement - Journal immuable, suppression refusée")
     void testDeleteMovement() {
         when(movementRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(movementRepository).deleteById(1L);
 
-        inventoryMovementService.deleteMovement(1L);
+        assertThrows(BusinessException.class, () -> inventoryMovementService.deleteMovement(1L));
 
         verify(movementRepository, times(1)).existsById(1L);
-        verify(movementRepository, times(1)).deleteById(1L);
+        verify(movementRepository, never()).deleteById(any());
     }
 
     @Test
@@ -353,6 +478,37 @@ class InventoryMovementServiceImplTest {
         verify(movementRepository, never()).deleteById(any());
     }
 
+    // ============================================================
+    // TEST: findByWarehouseId (période)
+    // ============================================================
+
+    @Test
+    @DisplayName("findByWarehouseId - Période bornée")
+    void testFindByWarehouseIdInPeriod() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(movementRepository.findByWarehouseIdInPeriod(1L, from, to)).thenReturn(List.of(testMovement));
+        when(movementMapper.toDto(testMovement)).thenReturn(testMovementDTO);
+
+        List<InventoryMovementDTO> result = inventoryMovementService.findByWarehouseId(1L, from, to);
+
+        assertEquals(1, result.size());
+        verify(movementRepository, never()).findByInventoryWarehouseId(anyLong());
+    }
+
+    @Test
+    @DisplayName("findByWarehouseId - Période invalide")
+    void testFindByWarehouseIdInvalidPeriod() {
+        LocalDateTime from = LocalDateTime.of(2025, 2, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertThrows(BusinessException.class, () ->
+                inventoryMovementService.findByWarehouseId(1L, from, to)
+        );
+
+        verifyNoInteractions(movementRepository);
+    }
+
     // ============================================================
     // TEST: Error Handling
     // ============================================================
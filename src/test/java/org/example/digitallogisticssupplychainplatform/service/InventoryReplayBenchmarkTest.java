@@ -0,0 +1,157 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vitesse de reconstruction d'un inventaire sur un journal d'un million de mouvements, sans puis
+ * avec photos. Exclu du build par défaut : {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(properties = "inventory.snapshots.enabled=false")
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Benchmark - Rejeu du journal des mouvements")
+class InventoryReplayBenchmarkTest {
+
+    private static final int INVENTORIES = 10;
+    private static final int MOVEMENTS = 1_000_000;
+    private static final int JDBC_BATCH = 10_000;
+    private static final long FIRST_MOVEMENT_ID = 100_000_000L;
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private InventoryReplayService replayService;
+
+    @Autowired
+    private InventorySnapshotProjector snapshotProjector;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WareHouseRepository warehouseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("rebuild - Un million de mouvements")
+    void benchmarkReplay() {
+        List<Long> inventoryIds = createInventories();
+        long[] expected = loadLedger(inventoryIds);
+        Long target = inventoryIds.get(0);
+        LocalDateTime end = LEDGER_START.plusMinutes(MOVEMENTS);
+
+        long start = System.nanoTime();
+        InventoryReplayService.ReplayResult cold = replayService.rebuild(target, end);
+        long coldMicros = (System.nanoTime() - start) / 1_000;
+        assertEquals(expected[0], cold.getQtyOnHand().longValue());
+
+        start = System.nanoTime();
+        InventorySnapshotProjector.ProjectionResult projection =
+                snapshotProjector.projectUntil(LEDGER_START.plusMinutes(MOVEMENTS - 1_000));
+        long projectionMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(INVENTORIES, projection.getSnapshotsWritten());
+
+        start = System.nanoTime();
+        InventoryReplayService.ReplayResult warm = replayService.rebuild(target, end);
+        long warmMicros = (System.nanoTime() - start) / 1_000;
+        assertEquals(expected[0], warm.getQtyOnHand().longValue());
+        assertEquals(1_000 / INVENTORIES, warm.getMovementsReplayed());
+
+        Inventory inventory = inventoryRepository.findById(target).orElseThrow();
+        start = System.nanoTime();
+        InventoryReplayService.WarehouseReplayResult warehouse =
+                replayService.warehouseStockAsOf(inventory.getWarehouse().getId(), end);
+        long warehouseMicros = (System.nanoTime() - start) / 1_000;
+        assertEquals(Arrays.stream(expected).sum(), warehouse.getTotalQtyOnHand());
+        assertEquals(1_000, warehouse.getMovementsReplayed());
+
+        log.info("Rejeu sur {} mouvements: sans photo {} µs ({} mouvements), projection {} ms, avec photo {} µs ({} mouvements), "
+                        + "entrepôt entier {} µs",
+                MOVEMENTS, coldMicros, cold.getMovementsReplayed(), projectionMillis,
+                warmMicros, warm.getMovementsReplayed(), warehouseMicros);
+    }
+
+    private List<Long> createInventories() {
+        WareHouse warehouse = warehouseRepository.save(WareHouse.builder()
+                .name("Entrepôt rejeu")
+                .code("REPLAY-" + UUID.randomUUID())
+                .build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < INVENTORIES; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .code("REPLAY-" + UUID.randomUUID())
+                    .name("Produit rejeu " + i)
+                    .build());
+            ids.add(inventoryRepository.save(Inventory.builder()
+                    .product(product)
+                    .warehouse(warehouse)
+                    .qtyOnHand(0)
+                    .qtyReserved(0)
+                    .build()).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Un mouvement par minute, réparti en tourniquet sur les inventaires : entrées, sorties et
+     * ajustements négatifs. Renvoie le stock attendu de chaque inventaire en fin de journal.
+     */
+    private long[] loadLedger(List<Long> inventoryIds) {
+        long[] expected = new long[inventoryIds.size()];
+        List<Object[]> batch = new ArrayList<>(JDBC_BATCH);
+        for (int i = 0; i < MOVEMENTS; i++) {
+            int slot = i % inventoryIds.size();
+            String type;
+            int quantity;
+            switch (i % 5) {
+                case 0, 1 -> { type = "INBOUND"; quantity = 10; }
+                case 2, 3 -> { type = "OUTBOUND"; quantity = 7; }
+                default -> { type = "ADJUSTMENT"; quantity = -1; }
+            }
+            expected[slot] += "OUTBOUND".equals(type) ? -quantity : quantity;
+            batch.add(new Object[]{FIRST_MOVEMENT_ID + i, inventoryIds.get(slot), type, quantity,
+                    Timestamp.valueOf(LEDGER_START.plusMinutes(i))});
+
+            if (batch.size() == JDBC_BATCH) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+        return expected;
+    }
+
+    private void insert(List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO inventory_movements (id, inventory_id, type, quantity, occurred_at) " +
+                    "VALUES (?, ?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+}
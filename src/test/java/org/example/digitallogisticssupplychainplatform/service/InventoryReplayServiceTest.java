@@ -0,0 +1,167 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.InventorySnapshot;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventorySnapshotRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - InventoryReplayService")
+class InventoryReplayServiceTest {
+
+    private static final LocalDateTime SNAPSHOT_AS_OF = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TARGET = LocalDateTime.of(2025, 1, 15, 0, 0);
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryMovementRepository movementRepository;
+
+    @Mock
+    private InventorySnapshotRepository snapshotRepository;
+
+    @Mock
+    private WareHouseRepository warehouseRepository;
+
+    @Mock
+    private InventoryMovementPartitionManager partitionManager;
+
+    @InjectMocks
+    private InventoryReplayService replayService;
+
+    @Test
+    @DisplayName("stockAsOf - Date antérieure aux partitions conservées refusée")
+    void testRejectsDateBeforeRetention() {
+        when(partitionManager.getRetainedSince()).thenReturn(Optional.of(LocalDateTime.of(2025, 2, 1, 0, 0)));
+
+        assertThrows(BusinessException.class, () -> replayService.stockAsOf(1L, 1L, TARGET));
+        assertThrows(BusinessException.class, () -> replayService.warehouseStockAsOf(1L, TARGET));
+        verifyNoInteractions(snapshotRepository, movementRepository);
+    }
+
+    @Test
+    @DisplayName("rebuild - Photo puis rejeu des mouvements restants")
+    void testRebuildFromSnapshot() {
+        when(inventoryRepository.findById(10L)).thenReturn(Optional.of(Inventory.builder().id(10L).build()));
+        when(snapshotRepository.findFirstByInventoryIdAndAsOfLessThanEqualOrderByAsOfDesc(10L, TARGET))
+                .thenReturn(Optional.of(InventorySnapshot.builder().inventoryId(10L)
+                        .qtyOnHand(100).movementCount(500L).asOf(SNAPSHOT_AS_OF).build()));
+        when(movementRepository.sumSignedQuantity(10L, SNAPSHOT_AS_OF, TARGET))
+                .thenReturn(new MovementDeltaDTO(-30L, 4L));
+
+        InventoryReplayService.ReplayResult result = replayService.rebuild(10L, TARGET);
+
+        assertEquals(70, result.getQtyOnHand());
+        assertEquals(4L, result.getMovementsReplayed());
+        assertEquals(SNAPSHOT_AS_OF, result.getSnapshotAsOf());
+        assertNull(result.getCurrentQtyOnHand());
+    }
+
+    @Test
+    @DisplayName("rebuild - Sans photo, rejeu depuis le début du journal")
+    void testRebuildWithoutSnapshot() {
+        when(inventoryRepository.findById(10L))
+                .thenReturn(Optional.of(Inventory.builder().id(10L).qtyOnHand(12).build()));
+        when(snapshotRepository.findFirstByInventoryIdAndAsOfLessThanEqualOrderByAsOfDesc(eq(10L), any()))
+                .thenReturn(Optional.empty());
+        when(movementRepository.sumSignedQuantity(eq(10L), eq(InventorySnapshotProjector.LEDGER_START), any()))
+                .thenReturn(new MovementDeltaDTO(12L, 3L));
+
+        InventoryReplayService.ReplayResult result = replayService.rebuild(10L, null);
+
+        assertEquals(12, result.getQtyOnHand());
+        assertEquals(12, result.getCurrentQtyOnHand());
+        assertNull(result.getSnapshotAsOf());
+    }
+
+    @Test
+    @DisplayName("rebuild - Inventaire inexistant")
+    void testRebuildUnknownInventory() {
+        when(inventoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> replayService.rebuild(99L, TARGET));
+        verifyNoInteractions(movementRepository, snapshotRepository);
+    }
+
+    @Test
+    @DisplayName("stockAsOf - Photo trouvée par produit et entrepôt, sans lecture de l'inventaire")
+    void testStockAsOfFromSnapshot() {
+        when(snapshotRepository.findFirstByProductIdAndWarehouseIdAndAsOfLessThanEqualOrderByAsOfDesc(5L, 2L, TARGET))
+                .thenReturn(Optional.of(InventorySnapshot.builder().inventoryId(10L).productId(5L).warehouseId(2L)
+                        .qtyOnHand(100).movementCount(500L).asOf(SNAPSHOT_AS_OF).build()));
+        when(movementRepository.sumSignedQuantity(10L, SNAPSHOT_AS_OF, TARGET))
+                .thenReturn(new MovementDeltaDTO(15L, 2L));
+
+        InventoryReplayService.ReplayResult result = replayService.stockAsOf(5L, 2L, TARGET);
+
+        assertEquals(115, result.getQtyOnHand());
+        assertEquals(10L, result.getInventoryId());
+        assertEquals(5L, result.getProductId());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName("stockAsOf - Aucun inventaire pour le couple produit / entrepôt")
+    void testStockAsOfUnknownInventory() {
+        when(snapshotRepository.findFirstByProductIdAndWarehouseIdAndAsOfLessThanEqualOrderByAsOfDesc(5L, 2L, TARGET))
+                .thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductIdAndWarehouseId(5L, 2L)).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class, () -> replayService.stockAsOf(5L, 2L, TARGET));
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("warehouseStockAsOf - Photos de la dernière passe puis rejeu agrégé par inventaire")
+    void testWarehouseStockAsOf() {
+        when(warehouseRepository.existsById(2L)).thenReturn(true);
+        when(snapshotRepository.findLatestAsOfAtOrBefore(TARGET)).thenReturn(SNAPSHOT_AS_OF);
+        when(snapshotRepository.findLatestByWarehouseIdAtOrBefore(2L, TARGET)).thenReturn(List.of(
+                InventorySnapshot.builder().inventoryId(10L).productId(5L).warehouseId(2L)
+                        .qtyOnHand(100).movementCount(500L).asOf(SNAPSHOT_AS_OF.minusDays(3)).build(),
+                InventorySnapshot.builder().inventoryId(11L).productId(6L).warehouseId(2L)
+                        .qtyOnHand(40).movementCount(80L).asOf(SNAPSHOT_AS_OF).build()));
+        when(movementRepository.sumSignedQuantitiesByWarehouse(2L, SNAPSHOT_AS_OF, TARGET)).thenReturn(List.of(
+                new MovementDeltaDTO(11L, 6L, 2L, -10L, 1L),
+                new MovementDeltaDTO(12L, 7L, 2L, 25L, 2L)));
+
+        InventoryReplayService.WarehouseReplayResult result = replayService.warehouseStockAsOf(2L, TARGET);
+
+        assertEquals(3, result.getInventories().size());
+        assertEquals(100, result.getInventories().get(0).getQtyOnHand());
+        assertEquals(30, result.getInventories().get(1).getQtyOnHand());
+        assertEquals(25, result.getInventories().get(2).getQtyOnHand());
+        assertEquals(155L, result.getTotalQtyOnHand());
+        assertEquals(3L, result.getMovementsReplayed());
+        assertEquals(SNAPSHOT_AS_OF, result.getSnapshotAsOf());
+    }
+
+    @Test
+    @DisplayName("warehouseStockAsOf - Entrepôt inexistant")
+    void testWarehouseStockAsOfUnknownWarehouse() {
+        when(warehouseRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> replayService.warehouseStockAsOf(99L, TARGET));
+        verifyNoInteractions(movementRepository, snapshotRepository);
+    }
+}
@@ -4,6 +4,7 @@ import org.example.digitallogisticssupplychainplatform.dto.InventoryDTO;
 import org.example.digitallogisticssupplychainplatform.entity.Inventory;
 import org.example.digitallogisticssupplychainplatform.entity.Product;
 import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
 import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
 import org.example.digitallogisticssupplychainplatform.mapper.InventoryMapper;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +43,9 @@ class InventoryServiceImplTest {
     @Mock
     private InventoryMapper inventoryMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private InventoryServiceImpl inventoryService;
 
     private WareHouse testWarehouse;
@@ -54,7 +59,8 @@ class InventoryServiceImplTest {
                 inventoryRepository,
                 warehouseRepository,
                 productRepository,
-                inventoryMapper
+                inventoryMapper,
+                eventPublisher
         );
 
         testWarehouse = new WareHouse();
@@ -322,6 +328,24 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
     }
 
+    @Test
+    @DisplayName(" update - Quantité réservée absente : valeur en place conservée")
+    void testUpdateWithoutReservedKeepsExistingValue() {
+        InventoryDTO updateDTO = new InventoryDTO();
+        updateDTO.setQtyOnHand(150);
+        updateDTO.setWarehouseId(1L);
+
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(testInventory));
+        when(warehouseRepository.findById(1L)).thenReturn(Optional.of(testWarehouse));
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(inventoryMapper.toDto(any(Inventory.class))).thenReturn(new InventoryDTO());
+
+        inventoryService.update(1L, updateDTO);
+
+        assertEquals(20, testInventory.getQtyReserved());
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(1L, 1L, 1L, 50, 0));
+    }
+
     @Test
     @DisplayName(" update - Inventaire non trouvé")
     void testUpdateNotFound() {
@@ -416,6 +440,7 @@ class InventoryServiceImplTest {
         assertEquals(40, result.getQtyReserved());
         verify(inventoryRepository, times(1)).findById(1L);
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
+        verify(eventPublisher).publishEvent(InventoryChangedEvent.updated(1L, 1L, 1L, 100, 20));
     }
 
     @Test
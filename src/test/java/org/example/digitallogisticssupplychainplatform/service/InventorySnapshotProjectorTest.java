@@ -0,0 +1,87 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.MovementDeltaDTO;
+import org.example.digitallogisticssupplychainplatform.entity.InventorySnapshot;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventorySnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - InventorySnapshotProjector")
+class InventorySnapshotProjectorTest {
+
+    private static final LocalDateTime LAST = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2025, 1, 1, 1, 0);
+
+    @Mock
+    private InventoryMovementRepository movementRepository;
+
+    @Mock
+    private InventorySnapshotRepository snapshotRepository;
+
+    @InjectMocks
+    private InventorySnapshotProjector projector;
+
+    @Test
+    @DisplayName("projectUntil - Cumule les mouvements depuis la dernière photo")
+    @SuppressWarnings("unchecked")
+    void testProjectUntil() {
+        when(snapshotRepository.findLatestAsOf()).thenReturn(LAST);
+        when(movementRepository.sumSignedQuantitiesByInventory(LAST, UNTIL)).thenReturn(List.of(
+                new MovementDeltaDTO(10L, 1L, 1L, 5L, 2L),
+                new MovementDeltaDTO(20L, 2L, 1L, -3L, 1L)));
+        when(snapshotRepository.findLatestByInventoryIds(List.of(10L, 20L))).thenReturn(List.of(
+                InventorySnapshot.builder().inventoryId(10L).productId(1L).warehouseId(1L)
+                        .qtyOnHand(100).movementCount(40L).asOf(LAST).build()));
+
+        InventorySnapshotProjector.ProjectionResult result = projector.projectUntil(UNTIL);
+
+        assertEquals(2, result.getSnapshotsWritten());
+        assertEquals(3L, result.getMovementsFolded());
+
+        ArgumentCaptor<List<InventorySnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).saveAll(saved.capture());
+        InventorySnapshot first = saved.getValue().get(0);
+        InventorySnapshot second = saved.getValue().get(1);
+        assertEquals(105, first.getQtyOnHand());
+        assertEquals(42L, first.getMovementCount());
+        assertEquals(UNTIL, first.getAsOf());
+        assertEquals(-3, second.getQtyOnHand());
+    }
+
+    @Test
+    @DisplayName("projectUntil - Première projection depuis le début du journal")
+    void testProjectUntilFirstRun() {
+        when(snapshotRepository.findLatestAsOf()).thenReturn(null);
+        when(movementRepository.sumSignedQuantitiesByInventory(InventorySnapshotProjector.LEDGER_START, UNTIL))
+                .thenReturn(List.of());
+
+        InventorySnapshotProjector.ProjectionResult result = projector.projectUntil(UNTIL);
+
+        assertEquals(0, result.getSnapshotsWritten());
+        verify(snapshotRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("projectUntil - Rien à faire si la borne est déjà atteinte")
+    void testProjectUntilAlreadyProjected() {
+        when(snapshotRepository.findLatestAsOf()).thenReturn(UNTIL);
+
+        projector.projectUntil(UNTIL);
+
+        verifyNoInteractions(movementRepository);
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.entity.OrderOperationRecord;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
+import org.example.digitallogisticssupplychainplatform.repository.OrderOperationRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - OrderOperationQueue")
+class OrderOperationQueueTest {
+
+    private static final String USER = "manager";
+
+    @Mock
+    private SalesOrderBusinessService salesOrderBusinessService;
+
+    @Mock
+    private OrderOperationRecordRepository operationRecordRepository;
+
+    private OrderOperationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new OrderOperationQueue(salesOrderBusinessService, operationRecordRepository, 4);
+        ReflectionTestUtils.setField(queue, "perWarehouseConcurrency", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName(" submit - Réservation exécutée en arrière-plan, résultat consultable")
+    void testSubmitReservation() throws InterruptedException {
+        when(salesOrderBusinessService.reserveOrderBatch(1L, 1L)).thenReturn(reservation(1L));
+
+        OrderOperationQueue.OperationStatus submitted =
+                queue.submit(OrderOperationQueue.OperationType.RESERVE_BATCH, 1L, 1L, USER);
+        OrderOperationQueue.OperationStatus done =
+                awaitState(submitted.getOperationId(), OrderOperationQueue.OperationState.SUCCEEDED);
+
+        assertTrue(done.getReservation().getFullyReserved());
+        assertNotNull(done.getFinishedAt());
+        assertNull(done.getShipment());
+        verify(operationRecordRepository).save(argThat(record -> record.getId().equals(submitted.getOperationId())
+                && record.getState().equals("QUEUED") && record.getPrincipal().equals(USER)));
+        verify(operationRecordRepository, timeout(1000)).complete(eq(submitted.getOperationId()), eq("SUCCEEDED"),
+                any(LocalDateTime.class), isNull());
+    }
+
+    @Test
+    @DisplayName(" submit - Une seule opération à la fois par entrepôt, les autres entrepôts avancent")
+    void testPerWarehouseConcurrency() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(salesOrderBusinessService.reserveOrder(1L, 1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return reservation(1L);
+        });
+        when(salesOrderBusinessService.reserveOrder(2L, 1L)).thenReturn(reservation(2L));
+        when(salesOrderBusinessService.reserveOrder(3L, 2L)).thenReturn(reservation(3L));
+
+        String first = queue.submit(OrderOperationQueue.OperationType.RESERVE, 1L, 1L, USER).getOperationId();
+        awaitState(first, OrderOperationQueue.OperationState.RUNNING);
+        String second = queue.submit(OrderOperationQueue.OperationType.RESERVE, 2L, 1L, USER).getOperationId();
+        String other = queue.submit(OrderOperationQueue.OperationType.RESERVE, 3L, 2L, USER).getOperationId();
+
+        awaitState(other, OrderOperationQueue.OperationState.SUCCEEDED);
+        assertEquals(OrderOperationQueue.OperationState.QUEUED, queue.getStatus(second, USER).getState());
+        assertEquals(1, queue.getStats().getQueued());
+
+        release.countDown();
+        awaitState(second, OrderOperationQueue.OperationState.SUCCEEDED);
+        assertEquals(3L, queue.getStats().getSucceeded());
+    }
+
+    @Test
+    @DisplayName(" submit - Opération déjà en cours pour la commande renvoyée telle quelle")
+    void testDuplicateSubmission() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(salesOrderBusinessService.shipOrder(1L, 1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return SalesOrderBusinessService.ShipmentResult.builder().orderId(1L).build();
+        });
+
+        String first = queue.submit(OrderOperationQueue.OperationType.SHIP, 1L, 1L, USER).getOperationId();
+        String again = queue.submit(OrderOperationQueue.OperationType.SHIP, 1L, 1L, USER).getOperationId();
+        release.countDown();
+
+        assertEquals(first, again);
+        assertEquals(1L, awaitState(first, OrderOperationQueue.OperationState.SUCCEEDED).getShipment().getOrderId());
+        verify(salesOrderBusinessService, times(1)).shipOrder(1L, 1L);
+    }
+
+    @Test
+    @DisplayName(" submit - Réservation simple puis en lot sur la même commande : une seule exécution")
+    void testDuplicateReservationAcrossTypes() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(salesOrderBusinessService.reserveOrder(1L, 1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return reservation(1L);
+        });
+
+        String first = queue.submit(OrderOperationQueue.OperationType.RESERVE, 1L, 1L, USER).getOperationId();
+        String again = queue.submit(OrderOperationQueue.OperationType.RESERVE_BATCH, 1L, 1L, USER).getOperationId();
+
+        assertEquals(first, again);
+        assertThrows(BusinessException.class,
+                () -> queue.submit(OrderOperationQueue.OperationType.SHIP, 1L, 1L, USER));
+        release.countDown();
+        awaitState(first, OrderOperationQueue.OperationState.SUCCEEDED);
+        verify(salesOrderBusinessService, times(1)).reserveOrder(1L, 1L);
+        verify(salesOrderBusinessService, never()).reserveOrderBatch(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(" getStatus - Opération d'un autre utilisateur introuvable")
+    void testStatusRestrictedToSubmitter() throws InterruptedException {
+        when(salesOrderBusinessService.reserveOrder(1L, 1L)).thenReturn(reservation(1L));
+
+        String id = queue.submit(OrderOperationQueue.OperationType.RESERVE, 1L, 1L, USER).getOperationId();
+        awaitState(id, OrderOperationQueue.OperationState.SUCCEEDED);
+
+        assertThrows(ResourceNotFoundException.class, () -> queue.getStatus(id, "other"));
+    }
+
+    @Test
+    @DisplayName(" submit - Échec métier enregistré dans l'opération")
+    void testFailedOperation() throws InterruptedException {
+        when(salesOrderBusinessService.shipOrder(1L, 1L))
+                .thenThrow(new BusinessException("La commande doit être réservée avant l'expédition"));
+
+        String id = queue.submit(OrderOperationQueue.OperationType.SHIP, 1L, 1L, USER).getOperationId();
+        OrderOperationQueue.OperationStatus failed = awaitState(id, OrderOperationQueue.OperationState.FAILED);
+
+        assertEquals("La commande doit être réservée avant l'expédition", failed.getError());
+        assertEquals(1L, queue.getStats().getFailed());
+    }
+
+    @Test
+    @DisplayName(" submit - File pleine")
+    void testQueueFull() throws InterruptedException {
+        ReflectionTestUtils.setField(queue, "maxPending", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(salesOrderBusinessService.reserveOrder(1L, 1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return reservation(1L);
+        });
+
+        String first = queue.submit(OrderOperationQueue.OperationType.RESERVE, 1L, 1L, USER).getOperationId();
+
+        assertThrows(BusinessException.class,
+                () -> queue.submit(OrderOperationQueue.OperationType.RESERVE, 2L, 1L, USER));
+        release.countDown();
+        awaitState(first, OrderOperationQueue.OperationState.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName(" getStatus - Opération perdue au redémarrage relue en échec depuis sa trace")
+    void testStatusAfterRestart() {
+        when(operationRecordRepository.findByIdAndPrincipal("lost", USER)).thenReturn(Optional.of(
+                OrderOperationRecord.builder()
+                        .id("lost")
+                        .type("SHIP")
+                        .orderId(1L)
+                        .warehouseId(1L)
+                        .principal(USER)
+                        .state("FAILED")
+                        .submittedAt(LocalDateTime.now().minusMinutes(2))
+                        .finishedAt(LocalDateTime.now())
+                        .error(OrderOperationQueue.INTERRUPTED)
+                        .build()));
+
+        OrderOperationQueue.OperationStatus status = queue.getStatus("lost", USER);
+
+        assertEquals(OrderOperationQueue.OperationState.FAILED, status.getState());
+        assertEquals(OrderOperationQueue.OperationType.SHIP, status.getType());
+        assertEquals(OrderOperationQueue.INTERRUPTED, status.getError());
+    }
+
+    @Test
+    @DisplayName(" recoverInterrupted - Opérations inachevées d'avant le démarrage closes en échec")
+    void testRecoverInterrupted() {
+        when(operationRecordRepository.failUnfinished(any(LocalDateTime.class), eq("FAILED"),
+                any(LocalDateTime.class), eq(OrderOperationQueue.INTERRUPTED))).thenReturn(3);
+
+        assertEquals(3, queue.recoverInterrupted());
+    }
+
+    @Test
+    @DisplayName(" getStatus - Opération inconnue")
+    void testUnknownOperation() {
+        assertThrows(ResourceNotFoundException.class, () -> queue.getStatus("absent", USER));
+    }
+
+    private OrderOperationQueue.OperationStatus awaitState(String operationId, OrderOperationQueue.OperationState state)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        OrderOperationQueue.OperationStatus status = queue.getStatus(operationId, USER);
+        while (status.getState() != state && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            status = queue.getStatus(operationId, USER);
+        }
+        assertEquals(state, status.getState());
+        return status;
+    }
+
+    private SalesOrderBusinessService.ReservationResult reservation(Long orderId) {
+        return SalesOrderBusinessService.ReservationResult.builder()
+                .orderId(orderId)
+                .fullyReserved(true)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.OrderStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ShipmentStatusCountsDTO;
+import org.example.digitallogisticssupplychainplatform.entity.ShipmentStatus;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent;
+import org.example.digitallogisticssupplychainplatform.event.OrderStatusChangedEvent.Status;
+import org.example.digitallogisticssupplychainplatform.event.ShipmentStatusChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ShipmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - OrderStatusDashboard")
+class OrderStatusDashboardTest {
+
+    @Mock
+    private SalesOrderRepository salesOrderRepository;
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @InjectMocks
+    private OrderStatusDashboard dashboard;
+
+    @Test
+    @DisplayName(" getDashboard - Premier comptage en base puis lectures en mémoire")
+    void testFirstReadCountsThenServesFromMemory() {
+        stubCounts(new OrderStatusCountsDTO(10L, 4L, 2L, 30L), new ShipmentStatusCountsDTO(3L, 1L, 20L, 0L));
+
+        OrderStatusDashboard.Dashboard first = dashboard.getDashboard();
+        OrderStatusDashboard.Dashboard second = dashboard.getDashboard();
+
+        assertEquals(10L, first.getOrders().getPending());
+        assertEquals(1L, first.getShipments().getInTransit());
+        assertEquals(first.getOrders(), second.getOrders());
+        verify(salesOrderRepository, times(1)).countPerStatus();
+        verify(shipmentRepository, times(1)).countPerStatus();
+    }
+
+    @Test
+    @DisplayName(" onOrderStatusChanged - Transitions, créations et suppressions comptées")
+    void testTransitionsMoveCounters() {
+        stubCounts(new OrderStatusCountsDTO(10L, 4L, 2L, 30L), new ShipmentStatusCountsDTO(3L, 1L, 20L, 0L));
+        dashboard.reconcile();
+
+        dashboard.onOrderStatusChanged(OrderStatusChangedEvent.changed(1L, Status.PENDING, Status.RESERVED));
+        dashboard.onOrderStatusChanged(OrderStatusChangedEvent.changed(2L, Status.RESERVED, Status.SHIPPED));
+        dashboard.onOrderStatusChanged(OrderStatusChangedEvent.created(3L, Status.PENDING));
+        dashboard.onOrderStatusChanged(OrderStatusChangedEvent.deleted(4L, Status.RESERVED));
+        dashboard.onShipmentStatusChanged(
+                ShipmentStatusChangedEvent.changed(5L, ShipmentStatus.PLANNED, ShipmentStatus.IN_TRANSIT));
+
+        OrderStatusDashboard.Dashboard result = dashboard.getDashboard();
+        assertEquals(new OrderStatusCountsDTO(10L, 3L, 3L, 30L), result.getOrders());
+        assertEquals(2L, result.getShipments().getPlanned());
+        assertEquals(2L, result.getShipments().getInTransit());
+        assertEquals(5L, result.getEventsApplied());
+    }
+
+    @Test
+    @DisplayName(" reconcile - Compteurs divergents recalés sur la base")
+    void testReconcileCorrectsDrift() {
+        stubCounts(new OrderStatusCountsDTO(10L, 4L, 2L, 30L), new ShipmentStatusCountsDTO(3L, 1L, 20L, 0L));
+        dashboard.reconcile();
+        dashboard.onOrderStatusChanged(OrderStatusChangedEvent.changed(1L, Status.PENDING, Status.RESERVED));
+
+        long drift = dashboard.reconcile();
+
+        assertEquals(2L, drift);
+        assertEquals(new OrderStatusCountsDTO(10L, 4L, 2L, 30L), dashboard.getDashboard().getOrders());
+    }
+
+    @Test
+    @DisplayName(" reconcile - Transition reçue pendant le comptage conservée")
+    void testTransitionDuringReconcileKept() {
+        when(salesOrderRepository.countPerStatus()).thenAnswer(invocation -> {
+            dashboard.onOrderStatusChanged(OrderStatusChangedEvent.changed(1L, Status.RESERVED, Status.SHIPPED));
+            return new OrderStatusCountsDTO(10L, 4L, 2L, 30L);
+        });
+        when(shipmentRepository.countPerStatus()).thenReturn(new ShipmentStatusCountsDTO(0L, 0L, 0L, 0L));
+
+        dashboard.reconcile();
+
+        OrderStatusCountsDTO orders = dashboard.getDashboard().getOrders();
+        assertEquals(3L, orders.getReserved());
+        assertEquals(3L, orders.getShipped());
+    }
+
+    private void stubCounts(OrderStatusCountsDTO orders, ShipmentStatusCountsDTO shipments) {
+        when(salesOrderRepository.countPerStatus()).thenReturn(orders);
+        when(shipmentRepository.countPerStatus()).thenReturn(shipments);
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.digitallogisticssupplychainplatform.service;
 
+import jakarta.persistence.EntityManager;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
 import org.example.digitallogisticssupplychainplatform.dto.ProductDTO;
 import org.example.digitallogisticssupplychainplatform.entity.Product;
 import org.example.digitallogisticssupplychainplatform.entity.ProductStatus;
@@ -12,6 +14,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +39,9 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     private ProductServiceImpl productService;
 
     private Product testProduct;
@@ -47,6 +54,7 @@ class ProductServiceImplTest {
                 userRepository,
                 productMapper
         );
+        ReflectionTestUtils.setField(productService, "entityManager", entityManager);
 
         testProduct = new Product();
         testProduct.setId(1L);
@@ -64,6 +72,60 @@ class ProductServiceImplTest {
         testProductDTO.setActive(true);
     }
 
+    // ============================================================
+    // TEST: findPage / streamAll
+    // ============================================================
+
+    @Test
+    @DisplayName("✓ findPage - Page suivante après l'id du curseur")
+    void testFindPage() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(7L, PageRequest.ofSize(11)))
+                .thenReturn(List.of(testProduct));
+        when(productMapper.toDto(testProduct)).thenReturn(testProductDTO);
+
+        CursorPage<ProductDTO> page = productService.findPage(CursorPage.encodeCursor(7L), 10);
+
+        assertEquals(List.of(testProductDTO), page.getItems());
+        assertFalse(page.getHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("✓ findPage - Taille bornée et curseur suivant")
+    void testFindPageClampsSize() {
+        List<Product> rows = new ArrayList<>();
+        for (int i = 0; i <= CursorPage.MAX_SIZE; i++) {
+            rows.add(testProduct);
+        }
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(CursorPage.MAX_SIZE + 1)))
+                .thenReturn(rows);
+        when(productMapper.toDto(testProduct)).thenReturn(testProductDTO);
+
+        CursorPage<ProductDTO> page = productService.findPage(null, 10_000);
+
+        assertEquals(CursorPage.MAX_SIZE, page.getSize());
+        assertTrue(page.getHasMore());
+        assertEquals(1L, CursorPage.decodeIdCursor(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("✓ streamAll - Transmet chaque produit et vide le contexte de persistance")
+    void testStreamAll() {
+        List<Product> rows = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            rows.add(testProduct);
+        }
+        when(productRepository.streamAllByOrderByIdAsc()).thenReturn(rows.stream());
+        when(productMapper.toDto(testProduct)).thenReturn(testProductDTO);
+
+        List<ProductDTO> received = new ArrayList<>();
+        long count = productService.streamAll(received::add);
+
+        assertEquals(1200, count);
+        assertEquals(1200, received.size());
+        verify(entityManager, times(2)).clear();
+    }
+
     // ============================================================
     // TEST: findAll
     // ============================================================
@@ -39,6 +39,9 @@ class PurchaseOrderBusinessServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private AvailableToPromiseCache availabilityCache;
+
     @Mock
     private ProductRepository productRepository;
 
@@ -116,11 +119,6 @@ class PurchaseOrderBusinessServiceTest {
         when(purchaseOrderRepository.findById(1L)).thenReturn(Optional.of(testPurchaseOrder));
         when(warehouseRepository.existsById(1L)).thenReturn(true);
 
-        // ✅ FIX: recordInbound retourne InventoryMovementDTO, pas void!
-        // Créez les DTO mock appropriés
-        when(inventoryBusinessService.recordInbound(anyLong(), anyLong(), anyInt(), anyString(), anyString()))
-                .thenReturn(null); // ou créez un vrai InventoryMovementDTO si nécessaire
-
         PurchaseOrderBusinessService.ReceiptResult result =
                 purchaseOrderBusinessService.receiveFullOrder(1L, 1L);
 
@@ -132,7 +130,8 @@ class PurchaseOrderBusinessServiceTest {
 
         verify(purchaseOrderRepository, times(1)).findById(1L);
         verify(warehouseRepository, times(1)).existsById(1L);
-        verify(inventoryBusinessService, times(2)).recordInbound(anyLong(), anyLong(), anyInt(), anyString(), anyString());
+        verify(inventoryBusinessService, times(1)).recordInboundBatch(eq(1L), argThat(lines -> lines.size() == 2), eq("PO-1"));
+        verify(inventoryBusinessService, never()).recordInbound(anyLong(), anyLong(), anyInt(), anyString(), anyString());
         verify(purchaseOrderRepository, times(1)).save(testPurchaseOrder);
     }
 
@@ -148,7 +147,7 @@ class PurchaseOrderBusinessServiceTest {
                 purchaseOrderBusinessService.receiveFullOrder(1L, 1L)
         );
 
-        verify(inventoryBusinessService, never()).recordInbound(anyLong(), anyLong(), anyInt(), anyString(), anyString());
+        verify(inventoryBusinessService, never()).recordInboundBatch(anyLong(), anyList(), anyString());
     }
 
     @Test
@@ -163,7 +162,7 @@ class PurchaseOrderBusinessServiceTest {
                 purchaseOrderBusinessService.receiveFullOrder(1L, 1L)
         );
 
-        verify(inventoryBusinessService, never()).recordInbound(anyLong(), anyLong(), anyInt(), anyString(), anyString());
+        verify(inventoryBusinessService, never()).recordInboundBatch(anyLong(), anyList(), anyString());
     }
 
     @Test
@@ -0,0 +1,126 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.digitallogisticssupplychainplatform.entity.Inventory;
+import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.example.digitallogisticssupplychainplatform.entity.PurchaseOrder;
+import org.example.digitallogisticssupplychainplatform.entity.PurchaseOrderLine;
+import org.example.digitallogisticssupplychainplatform.entity.PurchaseOrderStatus;
+import org.example.digitallogisticssupplychainplatform.entity.WareHouse;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryMovementRepository;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.example.digitallogisticssupplychainplatform.repository.PurchaseOrderRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure du débit de {@code receiveFullOrder} sur un bon de commande de 1 000 lignes.
+ * Exclu du build par défaut : {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Benchmark - Réception d'un bon de commande")
+class PurchaseOrderReceiptBenchmarkTest {
+
+    private static final int WARM_UP_LINES = 200;
+    private static final int MEASURED_LINES = 1_000;
+
+    @Autowired
+    private PurchaseOrderBusinessService purchaseOrderBusinessService;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WareHouseRepository warehouseRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @Test
+    @DisplayName("receiveFullOrder - 1 000 lignes")
+    void benchmarkReceiveFullOrder() {
+        receive(WARM_UP_LINES);
+
+        long movementsBefore = movementRepository.count();
+        long inventoriesBefore = inventoryRepository.count();
+
+        long elapsedNanos = receive(MEASURED_LINES);
+
+        long movementsWritten = movementRepository.count() - movementsBefore;
+        long inventoriesWritten = inventoryRepository.count() - inventoriesBefore;
+        assertEquals(MEASURED_LINES, movementsWritten);
+        assertEquals(MEASURED_LINES, inventoriesWritten);
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("receiveFullOrder: {} lignes en {} ms - {} lignes/s, {} lignes écrites/s",
+                MEASURED_LINES,
+                Math.round(seconds * 1000),
+                Math.round(MEASURED_LINES / seconds),
+                Math.round((movementsWritten + inventoriesWritten) / seconds));
+    }
+
+    private long receive(int lineCount) {
+        WareHouse warehouse = warehouseRepository.save(WareHouse.builder()
+                .name("Entrepôt benchmark")
+                .code("BENCH-" + UUID.randomUUID())
+                .build());
+        PurchaseOrder purchaseOrder = createPurchaseOrder(lineCount);
+
+        long start = System.nanoTime();
+        PurchaseOrderBusinessService.ReceiptResult result =
+                purchaseOrderBusinessService.receiveFullOrder(purchaseOrder.getId(), warehouse.getId());
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(result.getFullyReceived());
+        assertEquals(lineCount, result.getTotalLinesProcessed());
+        List<Inventory> inventories = inventoryRepository.findByWarehouseId(warehouse.getId());
+        assertEquals(lineCount, inventories.size());
+        return elapsed;
+    }
+
+    private PurchaseOrder createPurchaseOrder(int lineCount) {
+        String batch = UUID.randomUUID().toString();
+        List<Product> products = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            products.add(Product.builder()
+                    .code("BENCH-" + batch + "-" + i)
+                    .name("Produit benchmark " + i)
+                    .build());
+        }
+        products = productRepository.saveAll(products);
+
+        PurchaseOrder purchaseOrder = PurchaseOrder.builder()
+                .status(PurchaseOrderStatus.CONFIRMED)
+                .build();
+        for (Product product : products) {
+            purchaseOrder.addOrderLine(PurchaseOrderLine.builder()
+                    .product(product)
+                    .quantity(10)
+                    .unitPrice(BigDecimal.ONE)
+                    .build());
+        }
+        return purchaseOrderRepository.save(purchaseOrder);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.ReservationExpiryDTO;
+import org.example.digitallogisticssupplychainplatform.event.OrderReservationEvent;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - ReservationExpirySweeper")
+class ReservationExpirySweeperTest {
+
+    @Mock
+    private SalesOrderRepository salesOrderRepository;
+
+    @Mock
+    private SalesOrderBusinessService salesOrderBusinessService;
+
+    @InjectMocks
+    private ReservationExpirySweeper sweeper;
+
+    @Test
+    @DisplayName(" sweep - Seules les commandes échues sont libérées")
+    void testSweepExpiresDueOrders() {
+        sweeper.onReservationChanged(OrderReservationEvent.scheduled(1L, LocalDateTime.now().minusSeconds(5)));
+        sweeper.onReservationChanged(OrderReservationEvent.scheduled(2L, LocalDateTime.now().plusMinutes(30)));
+        when(salesOrderBusinessService.expireReservations(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(expiry(1, 1, 25));
+
+        assertEquals(1, sweeper.sweep(System.currentTimeMillis() + 2_000));
+
+        ReservationExpirySweeper.SweeperStats stats = sweeper.getStats();
+        assertEquals(1, stats.getExpiredOrders());
+        assertEquals(25, stats.getExpiredUnits());
+        assertEquals(1, stats.getTrackedReservations());
+    }
+
+    @Test
+    @DisplayName(" sweep - Une réservation levée n'est pas expirée")
+    void testClearedReservationIsNotSwept() {
+        sweeper.onReservationChanged(OrderReservationEvent.scheduled(1L, LocalDateTime.now().minusSeconds(5)));
+        sweeper.onReservationChanged(OrderReservationEvent.cleared(1L));
+
+        assertEquals(0, sweeper.sweep(System.currentTimeMillis() + 2_000));
+        verifyNoInteractions(salesOrderBusinessService);
+    }
+
+    @Test
+    @DisplayName(" sweep - Lot en échec rejoué unitairement, échec replanifié")
+    void testSweepFallsBackPerOrder() {
+        sweeper.onReservationChanged(OrderReservationEvent.scheduled(1L, LocalDateTime.now().minusSeconds(5)));
+        sweeper.onReservationChanged(OrderReservationEvent.scheduled(2L, LocalDateTime.now().minusSeconds(5)));
+        when(salesOrderBusinessService.expireReservations(argThat(ids -> ids != null && ids.size() == 2), any(LocalDateTime.class)))
+                .thenThrow(new BusinessException("Quantité réservée insuffisante"));
+        when(salesOrderBusinessService.expireReservations(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(expiry(1, 1, 10));
+        when(salesOrderBusinessService.expireReservations(eq(List.of(2L)), any(LocalDateTime.class)))
+                .thenThrow(new BusinessException("Quantité réservée insuffisante"));
+
+        assertEquals(1, sweeper.sweep(System.currentTimeMillis() + 2_000));
+
+        ReservationExpirySweeper.SweeperStats stats = sweeper.getStats();
+        assertEquals(1, stats.getFailures());
+        assertEquals(1, stats.getTrackedReservations());
+    }
+
+    @Test
+    @DisplayName(" load - Échéances rechargées au démarrage")
+    void testLoad() {
+        when(salesOrderRepository.findPendingReservationExpiries()).thenReturn(List.of(
+                new ReservationExpiryDTO(1L, LocalDateTime.now().plusMinutes(5)),
+                new ReservationExpiryDTO(2L, LocalDateTime.now().plusMinutes(10))));
+
+        sweeper.load();
+
+        assertEquals(2, sweeper.getStats().getTrackedReservations());
+    }
+
+    private SalesOrderBusinessService.ExpiryResult expiry(int requested, int expired, int units) {
+        return SalesOrderBusinessService.ExpiryResult.builder()
+                .ordersRequested(requested)
+                .ordersExpired(expired)
+                .unitsReleased(units)
+                .build();
+    }
+}
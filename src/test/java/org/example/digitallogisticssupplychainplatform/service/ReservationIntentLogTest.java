@@ -0,0 +1,58 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests - ReservationIntentLog")
+class ReservationIntentLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName(" seal - Totaux par inventaire, segments supprimés après report")
+    void testSealedTotalsAndDelete() {
+        ReservationIntentLog journal = new ReservationIntentLog(directory);
+        journal.append(1L, 5);
+        journal.append(2L, 3);
+        journal.append(1L, -2);
+        journal.seal();
+        journal.append(1L, 4);
+
+        assertEquals(Map.of(1L, 3L, 2L, 3L), journal.sealedTotals());
+
+        journal.deleteSealed();
+        assertEquals(0, journal.sealedSegments());
+        assertTrue(journal.sealedTotals().isEmpty());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName(" recovery - Segments d'un arrêt brutal rejoués, ligne tronquée ignorée")
+    void testRecoveryAfterCrash() throws Exception {
+        ReservationIntentLog crashed = new ReservationIntentLog(directory);
+        crashed.append(7L, 10);
+        crashed.seal();
+        crashed.append(7L, 2);
+        crashed.append(8L, 1);
+        crashed.close();
+        try (var files = Files.list(directory)) {
+            Path last = files.max(Path::compareTo).orElseThrow();
+            Files.writeString(last, "8;", StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+        }
+
+        ReservationIntentLog restarted = new ReservationIntentLog(directory);
+
+        assertEquals(Map.of(7L, 12L, 8L, 1L), restarted.sealedTotals());
+        restarted.close();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests - ReservationTimingWheel")
+class ReservationTimingWheelTest {
+
+    @Test
+    @DisplayName(" advance - Échéance rendue au cran suivant, pas avant")
+    void testExpiresOnNextTick() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(1000, 8, 3, 0);
+        wheel.schedule(1L, 2500);
+
+        assertTrue(wheel.advance(2999).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName(" advance - Échéances des niveaux supérieurs et du débordement")
+    void testCascadesFromUpperLevelsAndOverflow() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(1000, 4, 2, 0);
+        wheel.schedule(1L, 3_500);
+        wheel.schedule(2L, 9_200);
+        wheel.schedule(3L, 45_000);
+
+        assertEquals(List.of(1L), wheel.advance(4_000));
+        assertTrue(wheel.advance(9_999).isEmpty());
+        assertEquals(List.of(2L), wheel.advance(10_000));
+        assertTrue(wheel.advance(45_000).isEmpty());
+        assertEquals(List.of(3L), wheel.advance(46_000));
+    }
+
+    @Test
+    @DisplayName(" cancel - Une échéance annulée ou replanifiée n'est pas rendue")
+    void testCancelAndReschedule() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(1000, 8, 3, 0);
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(2L, 2_000);
+        wheel.schedule(2L, 20_000);
+
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        assertTrue(wheel.advance(10_000).isEmpty());
+        assertEquals(List.of(2L), wheel.advance(21_000));
+    }
+
+    @Test
+    @DisplayName(" schedule - Échéance passée rendue au prochain cran")
+    void testPastDeadline() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(1000, 8, 3, 10_000);
+        wheel.schedule(1L, 1_000);
+
+        assertEquals(List.of(1L), wheel.advance(11_000));
+    }
+
+    @Test
+    @DisplayName(" advance - Chaque échéance aléatoire rendue dans le cran qui la suit")
+    void testRandomDeadlines() {
+        ReservationTimingWheel wheel = new ReservationTimingWheel(1000, 16, 3, 0);
+        Random random = new Random(42);
+        long[] deadlines = new long[2_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = random.nextInt(20_000_000);
+            wheel.schedule((long) i, deadlines[i]);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 20_001_000; now += 7_000) {
+            for (Long orderId : wheel.advance(now)) {
+                long deadline = deadlines[orderId.intValue()];
+                assertTrue(deadline < now && now - deadline <= 8_000, "Échéance " + deadline + " rendue à " + now);
+                expired.add(orderId);
+            }
+        }
+        assertEquals(deadlines.length, expired.size());
+    }
+}
@@ -1,25 +1,38 @@
 package org.example.digitallogisticssupplychainplatform.service;
 
+import org.example.digitallogisticssupplychainplatform.dto.BackorderLineDTO;
 import org.example.digitallogisticssupplychainplatform.dto.InventoryMovementDTO;
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ReservationHoldDTO;
 import org.example.digitallogisticssupplychainplatform.entity.*;
+import org.example.digitallogisticssupplychainplatform.event.OrderReservationEvent;
 import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
 import org.example.digitallogisticssupplychainplatform.exception.ResourceNotFoundException;
-import org.example.digitallogisticssupplychainplatform.exception.StockUnavailableException;
+import org.example.digitallogisticssupplychainplatform.repository.CarrierRepository;
 import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderLineRepository;
 import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.example.digitallogisticssupplychainplatform.repository.StockReservationRepository;
+import org.example.digitallogisticssupplychainplatform.repository.WareHouseRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +52,27 @@ class SalesOrderBusinessServiceTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private AvailableToPromiseCache availabilityCache;
+
+    @Mock
+    private WareHouseRepository warehouseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private SalesOrderLineRepository salesOrderLineRepository;
+
+    @Mock
+    private CarrierRepository carrierRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
     @InjectMocks
     private SalesOrderBusinessService salesOrderBusinessService;
 
@@ -122,9 +156,8 @@ class SalesOrderBusinessServiceTest {
     void testReserveOrderComplete() {
 
         when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(inventoryRepository.findByProductIdAndWarehouseId(1L, 1L)).thenReturn(inventory1);
-        when(inventoryRepository.findByProductIdAndWarehouseId(2L, 1L)).thenReturn(inventory2);
-        doNothing().when(inventoryBusinessService).reserveStock(anyLong(), anyLong(), anyInt(), anyString());
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1")).thenReturn(outcome(1L, 30, 30));
+        when(inventoryBusinessService.reserveAvailable(2L, 1L, 20, "SO-1")).thenReturn(outcome(2L, 20, 20));
 
         SalesOrderBusinessService.ReservationResult result =
                 salesOrderBusinessService.reserveOrder(1L, 1L);
@@ -133,7 +166,10 @@ class SalesOrderBusinessServiceTest {
         assertNotNull(result);
         assertTrue(result.getFullyReserved());
         assertNotNull(result.getReservedAt());
-        verify(inventoryBusinessService, times(2)).reserveStock(anyLong(), anyLong(), anyInt(), anyString());
+        assertTrue(result.getBackorders().isEmpty());
+        verify(inventoryBusinessService, times(2)).reserveAvailable(anyLong(), anyLong(), anyInt(), anyString());
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
+        verify(salesOrderRepository, times(1)).lockAllById(List.of(1L));
         verify(salesOrderRepository, times(1)).save(testOrder);
     }
 
@@ -142,15 +178,8 @@ class SalesOrderBusinessServiceTest {
     void testReserveOrderWithBackorder() {
 
         when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(inventoryRepository.findByProductIdAndWarehouseId(1L, 1L)).thenReturn(inventory1);
-        when(inventoryRepository.findByProductIdAndWarehouseId(2L, 1L)).thenReturn(inventory2);
-
-        // ✅ FIX 3: Mock reserveStock pour lever l'exception
-        // Le premier appel lève l'exception (backorder), le second fonctionne
-        doThrow(new StockUnavailableException("Insufficient stock"))
-                .doNothing()
-                .when(inventoryBusinessService)
-                .reserveStock(anyLong(), anyLong(), anyInt(), anyString());
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1")).thenReturn(outcome(1L, 30, 12));
+        when(inventoryBusinessService.reserveAvailable(2L, 1L, 20, "SO-1")).thenReturn(outcome(2L, 20, 20));
 
         SalesOrderBusinessService.ReservationResult result =
                 salesOrderBusinessService.reserveOrder(1L, 1L);
@@ -158,10 +187,86 @@ class SalesOrderBusinessServiceTest {
 
         assertNotNull(result);
         assertFalse(result.getFullyReserved()); // Pas complètement réservée
-        assertTrue(result.getBackorders().size() > 0); // Y a des backorders
+        assertEquals(1, result.getBackorders().size());
+        assertEquals(12, result.getBackorders().get(0).getAvailableQty());
+        assertEquals(18, result.getBackorders().get(0).getShortageQty());
+        assertTrue(testLine1.getBackordered());
+        assertFalse(testLine2.getBackordered());
+        assertNull(result.getReservationExpiresAt()); // En attente de réassort : pas d'échéance
+        verify(eventPublisher, never()).publishEvent(any(OrderReservationEvent.class));
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
         verify(salesOrderRepository, times(1)).save(testOrder);
     }
 
+    @Test
+    @DisplayName(" Re-réservation complète : la ligne sort de la file des backorders")
+    void testReserveOrderClearsStaleBackorder() {
+        testLine1.setBackordered(true);
+        testLine1.setBackorderedAt(LocalDateTime.now().minusDays(1));
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1")).thenReturn(outcome(1L, 30, 30));
+        when(inventoryBusinessService.reserveAvailable(2L, 1L, 20, "SO-1")).thenReturn(outcome(2L, 20, 20));
+
+        salesOrderBusinessService.reserveOrder(1L, 1L);
+
+        assertFalse(testLine1.getBackordered());
+        assertNull(testLine1.getBackorderedAt());
+    }
+
+    @Test
+    @DisplayName(" Réserver sans aucun stock disponible")
+    void testReserveOrderWithoutStock() {
+
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 30, "SO-1")).thenReturn(outcome(1L, 30, 0));
+        when(inventoryBusinessService.reserveAvailable(2L, 1L, 20, "SO-1")).thenReturn(outcome(2L, 20, 0));
+
+        SalesOrderBusinessService.ReservationResult result =
+                salesOrderBusinessService.reserveOrder(1L, 1L);
+
+
+        assertFalse(result.getFullyReserved());
+        assertEquals(2, result.getBackorders().size());
+        assertTrue(result.getSuccessMessages().isEmpty());
+    }
+
+    @Test
+    @DisplayName(" Réserver une commande en lot")
+    void testReserveOrderBatch() {
+
+        when(salesOrderRepository.findByIdWithLinesAndProducts(1L)).thenReturn(Optional.of(testOrder));
+        when(inventoryBusinessService.reserveBatch(eq(1L), anyList(), eq("SO-1")))
+                .thenReturn(List.of(outcome(1L, 30, 30), outcome(2L, 20, 5)));
+
+        SalesOrderBusinessService.ReservationResult result =
+                salesOrderBusinessService.reserveOrderBatch(1L, 1L);
+
+
+        assertFalse(result.getFullyReserved());
+        assertEquals(1, result.getBackorders().size());
+        assertEquals("PROD-002", result.getBackorders().get(0).getProductCode());
+        assertEquals(15, result.getBackorders().get(0).getShortageQty());
+        assertFalse(testLine1.getBackordered());
+        assertTrue(testLine2.getBackordered());
+        verify(salesOrderRepository, never()).findById(anyLong());
+        verify(inventoryBusinessService, never()).reserveAvailable(anyLong(), anyLong(), anyInt(), anyString());
+        verify(salesOrderRepository, times(1)).save(testOrder);
+    }
+
+    @Test
+    @DisplayName(" Réserver en lot - produit inactif")
+    void testReserveOrderBatchInactiveProduct() {
+
+        product2.setActive(false);
+        when(salesOrderRepository.findByIdWithLinesAndProducts(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThrows(BusinessException.class, () ->
+                salesOrderBusinessService.reserveOrderBatch(1L, 1L)
+        );
+
+        verify(inventoryBusinessService, never()).reserveBatch(anyLong(), anyList(), anyString());
+    }
+
     @Test
     @DisplayName(" Vérifier la disponibilité")
     void testCheckAvailability() {
@@ -355,7 +460,7 @@ class SalesOrderBusinessServiceTest {
                 salesOrderBusinessService.reserveOrder(1L, 1L)
         );
 
-        verify(inventoryBusinessService, never()).reserveStock(anyLong(), anyLong(), anyInt(), anyString());
+        verify(inventoryBusinessService, never()).reserveAvailable(anyLong(), anyLong(), anyInt(), anyString());
     }
 
     @Test
@@ -368,7 +473,7 @@ class SalesOrderBusinessServiceTest {
                 salesOrderBusinessService.reserveOrder(1L, 1L)
         );
 
-        verify(inventoryBusinessService, never()).reserveStock(anyLong(), anyLong(), anyInt(), anyString());
+        verify(inventoryBusinessService, never()).reserveAvailable(anyLong(), anyLong(), anyInt(), anyString());
     }
 
     @Test
@@ -449,4 +554,446 @@ class SalesOrderBusinessServiceTest {
         assertNotNull(result);
         assertFalse(result.getCanReserveCompletely());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName(" Réservation avec échéance et entrepôt mémorisés")
+    void testReserveOrderSetsExpiry() {
+
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(warehouseRepository.getReferenceById(1L)).thenReturn(warehouse);
+        when(inventoryBusinessService.reserveAvailable(anyLong(), eq(1L), anyInt(), eq("SO-1")))
+                .thenReturn(outcome(1L, 30, 30), outcome(2L, 20, 20));
+
+        SalesOrderBusinessService.ReservationResult result = salesOrderBusinessService.reserveOrder(1L, 1L);
+
+
+        assertEquals(testOrder.getReservedAt().plusMinutes(30), result.getReservationExpiresAt());
+        assertSame(warehouse, testOrder.getWarehouse());
+        verify(eventPublisher).publishEvent(OrderReservationEvent.scheduled(1L, testOrder.getReservationExpiresAt()));
+    }
+
+    @Test
+    @DisplayName(" Expirer les réservations échues")
+    void testExpireReservations() {
+
+        LocalDateTime now = LocalDateTime.now();
+        testOrder.setReservedAt(now.minusMinutes(31));
+        testOrder.setReservationExpiresAt(now.minusMinutes(1));
+        testOrder.setWarehouse(warehouse);
+        testLine2.setBackordered(true);
+        when(salesOrderRepository.findAllByIdWithLinesAndProducts(List.of(1L))).thenReturn(List.of(testOrder));
+
+        SalesOrderBusinessService.ExpiryResult result = salesOrderBusinessService.expireReservations(List.of(1L), now);
+
+
+        assertEquals(1, result.getOrdersExpired());
+        assertEquals(30, result.getUnitsReleased());
+        assertNull(testOrder.getReservedAt());
+        assertNull(testOrder.getReservationExpiresAt());
+        InOrder lockedFirst = inOrder(salesOrderRepository, stockReservationRepository);
+        lockedFirst.verify(salesOrderRepository).lockAllById(List.of(1L));
+        lockedFirst.verify(stockReservationRepository).findActiveHolds(List.of(1L));
+        lockedFirst.verify(salesOrderRepository).findAllByIdWithLinesAndProducts(List.of(1L));
+        verify(inventoryBusinessService).releaseReservation(1L, 1L, 30, "SO-1-EXPIRED");
+        verify(inventoryBusinessService, never()).releaseReservation(eq(2L), anyLong(), anyInt(), anyString());
+        verify(salesOrderRepository).saveAll(List.of(testOrder));
+        verify(eventPublisher).publishEvent(OrderReservationEvent.cleared(1L));
+    }
+
+    @Test
+    @DisplayName(" Ne pas expirer une réservation prolongée ou expédiée")
+    void testExpireReservationsSkipsLiveOrders() {
+
+        LocalDateTime now = LocalDateTime.now();
+        testOrder.setReservedAt(now);
+        testOrder.setReservationExpiresAt(now.plusMinutes(30));
+        SalesOrder shipped = new SalesOrder();
+        shipped.setId(2L);
+        shipped.setShippedAt(now);
+        shipped.setReservationExpiresAt(now.minusMinutes(1));
+        when(salesOrderRepository.findAllByIdWithLinesAndProducts(List.of(1L, 2L))).thenReturn(List.of(testOrder, shipped));
+
+        SalesOrderBusinessService.ExpiryResult result = salesOrderBusinessService.expireReservations(List.of(1L, 2L), now);
+
+
+        assertEquals(0, result.getOrdersExpired());
+        assertNotNull(testOrder.getReservedAt());
+        verify(inventoryBusinessService, never()).releaseReservation(anyLong(), anyLong(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName(" Réservation inscrite au registre, partielle comprise")
+    @SuppressWarnings("unchecked")
+    void testReserveOrderRecordsHolds() {
+
+        testLine1.setId(11L);
+        testLine2.setId(12L);
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(inventoryBusinessService.reserveAvailable(anyLong(), eq(1L), anyInt(), eq("SO-1")))
+                .thenReturn(outcome(1L, 30, 30), outcome(2L, 20, 5));
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(eq(1L), anySet())).thenReturn(List.of(
+                new InventoryStockDTO(101L, 1L, 1L, 100, 50, 1L),
+                new InventoryStockDTO(102L, 2L, 1L, 5, 5, 1L)));
+
+        salesOrderBusinessService.reserveOrder(1L, 1L);
+
+
+        ArgumentCaptor<List<StockReservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationRepository).saveAll(captor.capture());
+        List<StockReservation> reservations = captor.getValue();
+        assertEquals(2, reservations.size());
+        assertEquals(11L, reservations.get(0).getSalesOrderLineId());
+        assertEquals(101L, reservations.get(0).getInventoryId());
+        assertEquals(30, reservations.get(0).getQuantity());
+        assertEquals(102L, reservations.get(1).getInventoryId());
+        assertEquals(5, reservations.get(1).getQuantity());
+        assertEquals(ReservationStatus.ACTIVE, reservations.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName(" Expédier depuis le registre en un batch")
+    void testShipOrderFromLedger() {
+
+        testOrder.setReservedAt(LocalDateTime.now());
+        testLine1.setId(11L);
+        testLine2.setId(12L);
+        testLine2.setBackordered(true);
+        List<ReservationHoldDTO> holds = List.of(hold(11L, 101L, 1L, 30), hold(12L, 102L, 2L, 5));
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(stockReservationRepository.findActiveHolds(List.of(1L))).thenReturn(holds);
+
+        SalesOrderBusinessService.ShipmentResult result = salesOrderBusinessService.shipOrder(1L, 1L);
+
+
+        assertEquals(2, result.getMovements().size());
+        assertTrue(result.getMovements().get(1).contains("Monitor: 5"));
+        verify(inventoryBusinessService).shipHolds(holds, "SO-1", "Expédition commande client");
+        verify(stockReservationRepository).closeActive(eq(List.of(1L)), eq(ReservationStatus.SHIPPED), any(LocalDateTime.class));
+        verify(inventoryBusinessService, never()).recordOutbound(anyLong(), anyLong(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName(" Expédier depuis un autre entrepôt que celui de la réservation refusé")
+    void testShipOrderFromLedgerOtherWarehouse() {
+
+        testOrder.setReservedAt(LocalDateTime.now());
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(stockReservationRepository.findActiveHolds(List.of(1L))).thenReturn(List.of(hold(11L, 101L, 1L, 30)));
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                salesOrderBusinessService.shipOrder(1L, 2L));
+
+
+        assertEquals("Commande réservée dans un autre entrepôt", exception.getMessage());
+        verify(inventoryBusinessService, never()).shipHolds(anyList(), anyString(), anyString());
+        verify(stockReservationRepository, never()).closeActive(anyCollection(), any(), any());
+    }
+
+    @Test
+    @DisplayName(" Annuler depuis le registre sans relire les inventaires")
+    void testCancelOrderFromLedger() {
+
+        testOrder.setReservedAt(LocalDateTime.now());
+        testLine1.setId(11L);
+        testLine2.setId(12L);
+        List<ReservationHoldDTO> holds = List.of(hold(11L, 101L, 1L, 30), hold(12L, 102L, 2L, 20));
+        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(stockReservationRepository.findActiveHolds(List.of(1L))).thenReturn(holds);
+
+        SalesOrderBusinessService.CancellationResult result =
+                salesOrderBusinessService.cancelOrder(1L, "Client request", 1L);
+
+
+        assertEquals(2, result.getReleasedReservations().size());
+        InOrder lockedFirst = inOrder(salesOrderRepository);
+        lockedFirst.verify(salesOrderRepository).lockAllById(List.of(1L));
+        lockedFirst.verify(salesOrderRepository).findById(1L);
+        verify(inventoryBusinessService).releaseHolds(holds, "SO-1-CANCEL");
+        verify(stockReservationRepository).closeActive(eq(List.of(1L)), eq(ReservationStatus.RELEASED), any(LocalDateTime.class));
+        verify(inventoryRepository, never()).findByProductIdAndWarehouseId(anyLong(), anyLong());
+        verify(inventoryBusinessService, never()).releaseReservation(anyLong(), anyLong(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName(" Expirer depuis le registre en un batch")
+    void testExpireReservationsFromLedger() {
+
+        LocalDateTime now = LocalDateTime.now();
+        testOrder.setReservedAt(now.minusMinutes(31));
+        testOrder.setReservationExpiresAt(now.minusMinutes(1));
+        List<ReservationHoldDTO> holds = List.of(hold(11L, 101L, 1L, 30), hold(12L, 102L, 2L, 5));
+        when(stockReservationRepository.findActiveHolds(List.of(1L))).thenReturn(holds);
+        when(salesOrderRepository.findAllByIdWithLinesAndProducts(List.of(1L))).thenReturn(List.of(testOrder));
+
+        SalesOrderBusinessService.ExpiryResult result = salesOrderBusinessService.expireReservations(List.of(1L), now);
+
+
+        assertEquals(35, result.getUnitsReleased());
+        verify(inventoryBusinessService).releaseHolds(holds, "SO-EXPIRED");
+        verify(stockReservationRepository).closeActive(eq(java.util.Set.of(1L)), eq(ReservationStatus.RELEASED), any(LocalDateTime.class));
+        verify(inventoryBusinessService, never()).releaseReservation(anyLong(), anyLong(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("fulfillBackorders - Stock alloué dans l'ordre d'attente, une seule réservation")
+    void testFulfillBackordersFifo() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(1L, java.util.Set.of(1L)))
+                .thenReturn(List.of(new InventoryStockDTO(101L, 1L, 1L, 50, 20, 3L)));
+        when(salesOrderLineRepository.findWaitingBackorders(eq(1L), eq(1L), any())).thenReturn(List.of(
+                new BackorderLineDTO(11L, 1L, 1L, 15, 5),
+                new BackorderLineDTO(21L, 2L, 1L, 25, 0),
+                new BackorderLineDTO(31L, 3L, 1L, 5, 0)));
+        SalesOrder first = reservedOrder(1L);
+        when(salesOrderRepository.lockAllById(java.util.Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(first, reservedOrder(2L), reservedOrder(3L)));
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 30, "BACKORDER")).thenReturn(outcome(1L, 30, 30));
+        when(salesOrderLineRepository.findBackorderedOrderIds(java.util.Set.of(1L))).thenReturn(List.of());
+
+        SalesOrderBusinessService.BackorderFulfillment result = salesOrderBusinessService.fulfillBackorders(1L, 1L, 100);
+
+        assertEquals(30, result.getUnitsAllocated());
+        assertEquals(2, result.getLinesAllocated());
+        assertEquals(1, result.getLinesFulfilled());
+        assertFalse(result.isMoreWaiting());
+
+        ArgumentCaptor<List<StockReservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationRepository).saveAll(captor.capture());
+        assertEquals(10, captor.getValue().get(0).getQuantity());
+        assertEquals(20, captor.getValue().get(1).getQuantity());
+        assertEquals(2L, captor.getValue().get(1).getSalesOrderId());
+        assertEquals(101L, captor.getValue().get(1).getInventoryId());
+        verify(salesOrderLineRepository).clearBackorders(List.of(11L));
+        assertNotNull(first.getReservationExpiresAt());
+        verify(eventPublisher).publishEvent(OrderReservationEvent.scheduled(1L, first.getReservationExpiresAt()));
+        verify(salesOrderRepository).saveAll(List.of(first));
+    }
+
+    @Test
+    @DisplayName("fulfillBackorders - Commande annulée avant le verrou : aucune réservation inscrite")
+    void testFulfillBackordersSkipsOrdersGoneBeforeLock() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(1L, java.util.Set.of(1L)))
+                .thenReturn(List.of(new InventoryStockDTO(101L, 1L, 1L, 50, 0, 3L)));
+        when(salesOrderLineRepository.findWaitingBackorders(eq(1L), eq(1L), any())).thenReturn(List.of(
+                new BackorderLineDTO(11L, 1L, 1L, 15, 0),
+                new BackorderLineDTO(21L, 2L, 1L, 10, 5)));
+        when(salesOrderRepository.lockAllById(java.util.Set.of(1L, 2L))).thenReturn(List.of(reservedOrder(2L)));
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 5, "BACKORDER")).thenReturn(outcome(1L, 5, 5));
+        when(salesOrderLineRepository.findBackorderedOrderIds(java.util.Set.of(2L))).thenReturn(List.of(2L));
+
+        SalesOrderBusinessService.BackorderFulfillment result = salesOrderBusinessService.fulfillBackorders(1L, 1L, 100);
+
+        assertEquals(1, result.getLinesAllocated());
+        ArgumentCaptor<List<StockReservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(2L, captor.getValue().get(0).getSalesOrderId());
+        verify(eventPublisher, never()).publishEvent(any(OrderReservationEvent.class));
+    }
+
+    @Test
+    @DisplayName("fulfillBackorders - Aucun disponible, aucune ligne lue")
+    void testFulfillBackordersNothingAvailable() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(1L, java.util.Set.of(1L)))
+                .thenReturn(List.of(new InventoryStockDTO(101L, 1L, 1L, 20, 20, 3L)));
+
+        SalesOrderBusinessService.BackorderFulfillment result = salesOrderBusinessService.fulfillBackorders(1L, 1L, 100);
+
+        assertEquals(0, result.getUnitsAllocated());
+        verifyNoInteractions(salesOrderLineRepository);
+        verify(inventoryBusinessService, never()).reserveAvailable(anyLong(), anyLong(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("fulfillBackorders - Réservation partielle concurrente, allocation réduite à l'obtenu")
+    void testFulfillBackordersPartialGrant() {
+        when(inventoryRepository.findStockByWarehouseIdAndProductIds(1L, java.util.Set.of(1L)))
+                .thenReturn(List.of(new InventoryStockDTO(101L, 1L, 1L, 20, 0, 3L)));
+        when(salesOrderLineRepository.findWaitingBackorders(eq(1L), eq(1L), any())).thenReturn(List.of(
+                new BackorderLineDTO(11L, 1L, 1L, 15, 0),
+                new BackorderLineDTO(21L, 2L, 1L, 10, 0)));
+        when(salesOrderRepository.lockAllById(java.util.Set.of(1L, 2L)))
+                .thenReturn(List.of(reservedOrder(1L), reservedOrder(2L)));
+        when(inventoryBusinessService.reserveAvailable(1L, 1L, 20, "BACKORDER")).thenReturn(outcome(1L, 20, 12));
+
+        SalesOrderBusinessService.BackorderFulfillment result = salesOrderBusinessService.fulfillBackorders(1L, 1L, 100);
+
+        assertEquals(12, result.getUnitsAllocated());
+        assertEquals(1, result.getLinesAllocated());
+        assertEquals(0, result.getLinesFulfilled());
+        verify(salesOrderLineRepository, never()).clearBackorders(any());
+    }
+
+    @Test
+    @DisplayName("planWaves - Vagues planifiées depuis le registre avec liste de prélèvement")
+    void testPlanWaves() {
+        when(warehouseRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+        when(stockReservationRepository.findActiveHoldsToPick(1L)).thenReturn(List.of(
+                new ReservationHoldDTO(1L, 1L, 11L, 101L, 1L, 1L, 3),
+                new ReservationHoldDTO(2L, 2L, 21L, 101L, 1L, 1L, 2),
+                new ReservationHoldDTO(3L, 2L, 22L, 102L, 2L, 1L, 4)));
+        Carrier carrier = Carrier.builder()
+                .id(7L)
+                .name("Express")
+                .cutOffTime(LocalTime.of(17, 0))
+                .maxDailyCapacity(100)
+                .currentDailyShipments(10)
+                .status(CarrierStatus.ACTIVE)
+                .build();
+        when(carrierRepository.findByStatusOrderByCutOffTimeAsc(CarrierStatus.ACTIVE)).thenReturn(List.of(carrier));
+        when(productRepository.findAllById(anySet())).thenReturn(List.of(product1, product2));
+
+        SalesOrderBusinessService.WavePlan plan = salesOrderBusinessService.planWaves(1L);
+
+        assertEquals(2, plan.getOrders());
+        assertEquals(9, plan.getUnits());
+        assertEquals(1, plan.getWaves().size());
+        SalesOrderBusinessService.Wave wave = plan.getWaves().get(0);
+        assertEquals(List.of(1L, 2L), wave.getOrderIds());
+        assertEquals(7L, wave.getCarrierId());
+        assertEquals(LocalTime.of(17, 0), wave.getCutOff().toLocalTime());
+        assertEquals("PROD-001", wave.getPickList().get(0).getProductCode());
+        assertEquals(5, wave.getPickList().get(0).getQuantity());
+        assertEquals(2, wave.getPickList().get(0).getOrders());
+    }
+
+    @Test
+    @DisplayName("planWaves - Entrepôt introuvable")
+    void testPlanWavesUnknownWarehouse() {
+        when(warehouseRepository.findExistingIds(List.of(9L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> salesOrderBusinessService.planWaves(9L));
+        verifyNoInteractions(stockReservationRepository);
+    }
+
+    @Test
+    @DisplayName("shipWave - Vague expédiée en un batch, commandes non éligibles écartées")
+    @SuppressWarnings("unchecked")
+    void testShipWave() {
+        testOrder.setReservedAt(LocalDateTime.now());
+        SalesOrder second = SalesOrder.builder().id(2L).reservedAt(LocalDateTime.now()).build();
+        SalesOrder shippedAlready = SalesOrder.builder().id(3L)
+                .reservedAt(LocalDateTime.now()).shippedAt(LocalDateTime.now()).build();
+        SalesOrder legacy = SalesOrder.builder().id(4L).reservedAt(LocalDateTime.now()).build();
+        when(salesOrderRepository.findAllByIdWithLinesAndProducts(List.of(1L, 2L, 3L, 4L, 5L)))
+                .thenReturn(List.of(testOrder, second, shippedAlready, legacy));
+        List<ReservationHoldDTO> holds = List.of(
+                new ReservationHoldDTO(1L, 1L, 11L, 101L, 1L, 1L, 3),
+                new ReservationHoldDTO(2L, 2L, 21L, 101L, 1L, 1L, 2),
+                new ReservationHoldDTO(3L, 2L, 22L, 102L, 2L, 1L, 4));
+        when(stockReservationRepository.findActiveHolds(List.of(1L, 2L, 4L))).thenReturn(holds);
+        when(inventoryBusinessService.shipHolds(eq(holds), any(Function.class), anyString())).thenReturn(9);
+
+        SalesOrderBusinessService.WaveShipmentResult result =
+                salesOrderBusinessService.shipWave(1L, List.of(1L, 2L, 3L, 4L, 5L));
+
+        assertEquals(List.of(1L, 2L), result.getShippedOrderIds());
+        assertEquals(9, result.getUnitsShipped());
+        assertEquals(3, result.getMovements());
+        assertEquals(List.of(3L, 5L, 4L), new ArrayList<>(result.getSkipped().keySet()));
+        assertNotNull(testOrder.getShippedAt());
+        assertNull(legacy.getShippedAt());
+
+        ArgumentCaptor<Function<ReservationHoldDTO, String>> references = ArgumentCaptor.forClass(Function.class);
+        verify(inventoryBusinessService).shipHolds(eq(holds), references.capture(), anyString());
+        assertEquals("SO-2", references.getValue().apply(holds.get(1)));
+        verify(stockReservationRepository).closeActive(eq(List.of(1L, 2L)), eq(ReservationStatus.SHIPPED), any(LocalDateTime.class));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderReservationEvent.class));
+    }
+
+    @Test
+    @DisplayName("shipWave - Commande réservée dans un autre entrepôt écartée")
+    void testShipWaveOtherWarehouse() {
+        testOrder.setReservedAt(LocalDateTime.now());
+        when(salesOrderRepository.findAllByIdWithLinesAndProducts(List.of(1L))).thenReturn(List.of(testOrder));
+        when(stockReservationRepository.findActiveHolds(List.of(1L))).thenReturn(List.of(
+                new ReservationHoldDTO(1L, 1L, 11L, 201L, 1L, 2L, 3)));
+
+        SalesOrderBusinessService.WaveShipmentResult result = salesOrderBusinessService.shipWave(1L, List.of(1L));
+
+        assertTrue(result.getShippedOrderIds().isEmpty());
+        assertEquals(1, result.getSkipped().size());
+        verifyNoInteractions(inventoryBusinessService);
+        verify(stockReservationRepository, never()).closeActive(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("shipOrders - Expédition groupée avec résultat par commande")
+    @SuppressWarnings("unchecked")
+    void testShipOrdersBulk() {
+        testOrder.setReservedAt(LocalDateTime.now());
+        testLine1.setId(11L);
+        testLine2.setId(12L);
+        SalesOrder notReserved = SalesOrder.builder().id(2L).build();
+        when(salesOrderRepository.findAllByIdWithLinesAndProducts(List.of(1L, 2L, 1L)))
+                .thenReturn(List.of(testOrder, notReserved));
+        List<ReservationHoldDTO> holds = List.of(hold(11L, 101L, 1L, 30), hold(12L, 102L, 2L, 20));
+        when(stockReservationRepository.findActiveHolds(List.of(1L))).thenReturn(holds);
+        when(inventoryBusinessService.shipHolds(eq(holds), any(Function.class), eq("Expédition commande client")))
+                .thenReturn(50);
+
+        SalesOrderBusinessService.BulkOrderResult result =
+                salesOrderBusinessService.shipOrders(1L, List.of(1L, 2L, 1L));
+
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        SalesOrderBusinessService.OrderOutcome shipped = result.getResults().get(0);
+        assertTrue(shipped.isSuccess());
+        assertEquals(2, shipped.getMovements().size());
+        assertTrue(shipped.getMovements().get(0).contains("Laptop: 30"));
+        assertEquals("La commande doit être réservée avant l'expédition", result.getResults().get(1).getError());
+        verify(salesOrderRepository, never()).findById(anyLong());
+        verify(inventoryBusinessService, never()).recordOutbound(anyLong(), anyLong(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("shipOrders - Demande au-delà du maximum refusée")
+    void testShipOrdersTooMany() {
+        List<Long> orderIds = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            orderIds.add(id);
+        }
+
+        assertThrows(BusinessException.class, () -> salesOrderBusinessService.shipOrders(1L, orderIds));
+        verifyNoInteractions(salesOrderRepository);
+    }
+
+    @Test
+    @DisplayName("deliverOrders - Livraison groupée, commandes non éligibles signalées")
+    void testDeliverOrdersBulk() {
+        SalesOrder shipped = SalesOrder.builder().id(1L).shippedAt(LocalDateTime.now()).build();
+        SalesOrder notShipped = SalesOrder.builder().id(2L).build();
+        SalesOrder delivered = SalesOrder.builder().id(3L)
+                .shippedAt(LocalDateTime.now()).deliveredAt(LocalDateTime.now()).build();
+        when(salesOrderRepository.findAllById(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(shipped, notShipped, delivered));
+
+        SalesOrderBusinessService.BulkOrderResult result =
+                salesOrderBusinessService.deliverOrders(List.of(1L, 2L, 3L, 4L));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertNotNull(shipped.getDeliveredAt());
+        assertEquals("La commande doit être expédiée avant d'être livrée", result.getResults().get(1).getError());
+        assertEquals("La commande est déjà livrée", result.getResults().get(2).getError());
+        assertEquals("Commande introuvable", result.getResults().get(3).getError());
+        verify(salesOrderRepository).saveAll(List.of(shipped));
+    }
+
+    private SalesOrder reservedOrder(Long id) {
+        return SalesOrder.builder().id(id).reservedAt(LocalDateTime.now()).build();
+    }
+
+    private ReservationHoldDTO hold(Long lineId, Long inventoryId, Long productId, int quantity) {
+        return new ReservationHoldDTO(lineId + 1000, 1L, lineId, inventoryId, productId, 1L, quantity);
+    }
+
+    private InventoryBusinessService.ReservationOutcome outcome(Long productId, int requested, int reserved) {
+        return InventoryBusinessService.ReservationOutcome.builder()
+                .productId(productId)
+                .warehouseId(1L)
+                .requestedQuantity(requested)
+                .reservedQuantity(reserved)
+                .build();
+    }
+}
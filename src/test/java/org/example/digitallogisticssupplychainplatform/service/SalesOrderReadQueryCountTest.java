@@ -0,0 +1,140 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.digitallogisticssupplychainplatform.dto.CursorPage;
+import org.example.digitallogisticssupplychainplatform.dto.SalesOrderDTO;
+import org.example.digitallogisticssupplychainplatform.entity.Product;
+import org.example.digitallogisticssupplychainplatform.entity.Role;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrder;
+import org.example.digitallogisticssupplychainplatform.entity.SalesOrderLine;
+import org.example.digitallogisticssupplychainplatform.entity.User;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.example.digitallogisticssupplychainplatform.repository.SalesOrderRepository;
+import org.example.digitallogisticssupplychainplatform.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nombre de requêtes SQL émises par les lectures de commandes, mesuré avec les statistiques
+ * Hibernate : il ne doit pas dépendre du nombre de commandes ni de lignes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests - Lectures de commandes en nombre de requêtes borné")
+class SalesOrderReadQueryCountTest {
+
+    private static final int ORDERS = 100;
+    private static final int LINES_PER_ORDER = 5;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private SalesOrderRepository salesOrderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User client;
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        String batch = UUID.randomUUID().toString();
+        client = userRepository.save(User.builder()
+                .username("client-" + batch)
+                .email(batch + "@example.com")
+                .password("secret")
+                .role(Role.CLIENT)
+                .build());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(Product.builder()
+                    .code("READ-" + batch + "-" + i)
+                    .name("Produit " + i)
+                    .build());
+        }
+        products = productRepository.saveAll(products);
+
+        List<SalesOrder> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            SalesOrder order = SalesOrder.builder().client(client).build();
+            for (int j = 0; j < LINES_PER_ORDER; j++) {
+                order.addOrderLine(SalesOrderLine.builder()
+                        .product(products.get((i + j) % products.size()))
+                        .quantity(1 + j)
+                        .unitPrice(BigDecimal.TEN)
+                        .backordered(false)
+                        .build());
+            }
+            orders.add(order);
+        }
+        firstOrderId = salesOrderRepository.saveAll(orders).get(0).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findByClientId - 100 commandes et leurs lignes en une requête")
+    void testFindByClientId() {
+        List<SalesOrderDTO> orders = salesOrderService.findByClientId(client.getId());
+
+        assertEquals(ORDERS, orders.size());
+        assertEquals(LINES_PER_ORDER, orders.get(0).getOrderLines().size());
+        assertNotNull(orders.get(0).getOrderLines().get(0).getProductSku());
+        assertEquals(client.getUsername(), orders.get(0).getClientName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findAll - Une requête quel que soit le volume")
+    void testFindAll() {
+        List<SalesOrderDTO> orders = salesOrderService.findAll();
+
+        assertTrue(orders.size() >= ORDERS);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findPage - Identifiants puis commandes détaillées : deux requêtes")
+    void testFindPage() {
+        CursorPage<SalesOrderDTO> page = salesOrderService.findPage(CursorPage.encodeCursor(firstOrderId - 1), ORDERS);
+
+        assertEquals(ORDERS, page.getItems().size());
+        assertEquals(firstOrderId, page.getItems().get(0).getId());
+        assertTrue(page.getItems().stream().allMatch(order -> order.getOrderLines().size() == LINES_PER_ORDER));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findById - Commande, client, lignes et produits en une requête")
+    void testFindById() {
+        SalesOrderDTO order = salesOrderService.findById(firstOrderId);
+
+        assertEquals(LINES_PER_ORDER, order.getOrderLines().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
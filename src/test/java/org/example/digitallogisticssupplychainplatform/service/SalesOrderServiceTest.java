@@ -20,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -48,6 +49,9 @@ class SalesOrderServiceTest {
     @Mock
     private SalesOrderMapper salesOrderMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SalesOrderService salesOrderService;
 
@@ -164,26 +168,26 @@ class SalesOrderServiceTest {
     @Test
     @DisplayName("✓ Récupérer toutes les commandes")
     void testFindAll() {
-        when(salesOrderRepository.findAll()).thenReturn(List.of(testOrder));
+        when(salesOrderRepository.findAllWithDetails()).thenReturn(List.of(testOrder));
         when(salesOrderMapper.toDTO(testOrder)).thenReturn(testOrderDTO);
         var result = salesOrderService.findAll();
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
-        verify(salesOrderRepository, times(1)).findAll();
+        verify(salesOrderRepository, times(1)).findAllWithDetails();
     }
 
     @Test
     @DisplayName("✓ Récupérer une commande par ID")
     void testFindById() {
-        when(salesOrderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(salesOrderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testOrder));
         when(salesOrderMapper.toDTO(testOrder)).thenReturn(testOrderDTO);
 
         SalesOrderDTO result = salesOrderService.findById(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        verify(salesOrderRepository, times(1)).findById(1L);
+        verify(salesOrderRepository, times(1)).findWithDetailsById(1L);
     }
 
     @Test
@@ -275,7 +279,7 @@ class SalesOrderServiceTest {
     @DisplayName(" Erreur - Commande introuvable lors de la récupération")
     void testFindByIdNotFound() {
 
-        when(salesOrderRepository.findById(999L)).thenReturn(Optional.empty());
+        when(salesOrderRepository.findWithDetailsById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 salesOrderService.findById(999L)
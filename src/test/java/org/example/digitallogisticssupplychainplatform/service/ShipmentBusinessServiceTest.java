@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -32,6 +33,9 @@ class ShipmentBusinessServiceTest {
     @Mock
     private CarrierRepository carrierRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ShipmentBusinessService shipmentBusinessService;
 
     private Carrier testCarrier;
@@ -41,7 +45,8 @@ class ShipmentBusinessServiceTest {
     void setUp() {
         shipmentBusinessService = new ShipmentBusinessService(
                 shipmentRepository,
-                carrierRepository
+                carrierRepository,
+                eventPublisher
         );
 
         testCarrier = new Carrier();
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -41,6 +42,9 @@ class ShipmentServiceTest {
     @Mock
     private ShipmentMapper shipmentMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ShipmentService shipmentService;
 
     private Carrier testCarrier;
@@ -52,7 +56,8 @@ class ShipmentServiceTest {
         shipmentService = new ShipmentService(
                 shipmentRepository,
                 carrierRepository,
-                shipmentMapper
+                shipmentMapper,
+                eventPublisher
         );
 
         testCarrier = new Carrier();
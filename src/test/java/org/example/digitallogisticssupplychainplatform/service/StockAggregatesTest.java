@@ -0,0 +1,129 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.InventoryStockDTO;
+import org.example.digitallogisticssupplychainplatform.dto.ProductCategoryDTO;
+import org.example.digitallogisticssupplychainplatform.dto.StockTotalsDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.example.digitallogisticssupplychainplatform.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - StockAggregates")
+class StockAggregatesTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private StockAggregates stockAggregates;
+
+    private final List<InventoryStockDTO> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        rows.add(stock(1L, 1L, 10L, 100, 20));
+        rows.add(stock(2L, 2L, 10L, 50, 0));
+        rows.add(stock(1L, 3L, 20L, 30, 5));
+        lenient().when(inventoryRepository.findAllStock()).thenAnswer(invocation -> List.copyOf(rows));
+        lenient().when(productRepository.findAllCategories()).thenReturn(List.of(
+                new ProductCategoryDTO(1L, "Électronique"),
+                new ProductCategoryDTO(2L, "Électronique"),
+                new ProductCategoryDTO(3L, null)));
+    }
+
+    @Test
+    @DisplayName(" findByWarehouse - Base relue tant que les agrégats ne sont pas chargés")
+    void testNotReadyBeforeWarmUp() {
+        assertTrue(stockAggregates.findByWarehouse(10L).isEmpty());
+        assertTrue(stockAggregates.findByProduct(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName(" warmUp - Totaux par entrepôt, produit et catégorie")
+    void testWarmUpBuildsTotals() {
+        stockAggregates.warmUp();
+
+        assertTotals(150, 20, 2, stockAggregates.findByWarehouse(10L));
+        assertTotals(130, 25, 2, stockAggregates.findByProduct(1L));
+        assertTotals(180, 25, 3, stockAggregates.findByCategory("Électronique"));
+        assertTotals(0, 0, 0, stockAggregates.findByWarehouse(99L));
+        assertEquals(105, stockAggregates.findByProduct(1L).orElseThrow().getAvailable());
+    }
+
+    @Test
+    @DisplayName(" onInventoryChanged - Mises à jour, créations et suppressions incrémentales")
+    void testEventsUpdateTotalsIncrementally() {
+        stockAggregates.warmUp();
+
+        stockAggregates.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 10L, -10, 15));
+        stockAggregates.onInventoryChanged(InventoryChangedEvent.created(4L, 2L, 20L, 40, 0));
+        stockAggregates.onInventoryChanged(InventoryChangedEvent.deleted(3L, 1L, 20L));
+
+        assertTotals(140, 35, 2, stockAggregates.findByWarehouse(10L));
+        assertTotals(40, 0, 1, stockAggregates.findByWarehouse(20L));
+        assertTotals(90, 35, 1, stockAggregates.findByProduct(1L));
+        assertTotals(180, 35, 3, stockAggregates.findByCategory("Électronique"));
+        verify(productRepository, never()).findCategoryById(any());
+    }
+
+    @Test
+    @DisplayName(" onInventoryChanged - Catégorie d'un produit inconnu lue une seule fois")
+    void testUnknownProductCategoryLoadedOnce() {
+        stockAggregates.warmUp();
+        when(productRepository.findCategoryById(7L)).thenReturn(Optional.of("Outillage"));
+
+        stockAggregates.onInventoryChanged(InventoryChangedEvent.created(5L, 7L, 10L, 12, 0));
+        stockAggregates.onInventoryChanged(InventoryChangedEvent.updated(5L, 7L, 10L, 3, 0));
+
+        assertTotals(15, 0, 1, stockAggregates.findByCategory("Outillage"));
+        verify(productRepository, times(1)).findCategoryById(7L);
+    }
+
+    @Test
+    @DisplayName(" verify - Divergence détectée et corrigée")
+    void testVerifyDetectsDrift() {
+        stockAggregates.warmUp();
+        assertEquals(0, stockAggregates.verify());
+
+        rows.set(0, stock(1L, 1L, 10L, 90, 20));
+
+        assertEquals(3, stockAggregates.verify());
+        assertTotals(140, 20, 2, stockAggregates.findByWarehouse(10L));
+        assertEquals(3, stockAggregates.getStats().getLastDriftedTotals());
+    }
+
+    private static void assertTotals(long onHand, long reserved, long inventories, Optional<StockTotalsDTO> totals) {
+        StockTotalsDTO value = totals.orElseThrow();
+        assertEquals(onHand, value.getQtyOnHand());
+        assertEquals(reserved, value.getQtyReserved());
+        assertEquals(inventories, value.getInventories());
+    }
+
+    private static InventoryStockDTO stock(Long productId, Long inventoryId, Long warehouseId, int onHand, int reserved) {
+        return InventoryStockDTO.builder()
+                .id(inventoryId)
+                .productId(productId)
+                .warehouseId(warehouseId)
+                .qtyOnHand(onHand)
+                .qtyReserved(reserved)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.StockAlertDTO;
+import org.example.digitallogisticssupplychainplatform.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests - StockAlertStream")
+class StockAlertStreamTest {
+
+    private StockAlertStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new StockAlertStream(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName(" publish - Chaque alerte est remise ou comptée perdue, tampon borné")
+    void testEveryAlertIsDeliveredOrDropped() throws Exception {
+        ReflectionTestUtils.setField(stream, "bufferSize", 2);
+        stream.subscribe(null, null);
+
+        stream.publish(IntStream.rangeClosed(1, 50)
+                .mapToObj(productId -> alert((long) productId))
+                .collect(Collectors.toList()));
+
+        StockAlertStream.StreamStats stats = awaitDrained();
+        assertEquals(50, stats.getDeliveredAlerts() + stats.getDroppedAlerts());
+        assertTrue(stats.getDroppedAlerts() <= 48);
+    }
+
+    @Test
+    @DisplayName(" publish - Filtre par produit et entrepôt")
+    void testSubscriberFilter() throws Exception {
+        stream.subscribe(2L, 1L);
+
+        stream.publish(List.of(alert(1L), alert(2L)));
+
+        assertEquals(1, awaitDrained().getDeliveredAlerts());
+    }
+
+    @Test
+    @DisplayName(" subscribe - Nombre maximal d'abonnés")
+    void testMaxSubscribers() {
+        ReflectionTestUtils.setField(stream, "maxSubscribers", 1);
+        stream.subscribe(null, null);
+
+        assertThrows(BusinessException.class, () -> stream.subscribe(null, null));
+        assertEquals(1, stream.getStats().getSubscribers());
+    }
+
+    private StockAlertStream.StreamStats awaitDrained() throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            StockAlertStream.StreamStats stats = stream.getStats();
+            if (stats.getBufferedAlerts() == 0) {
+                Thread.sleep(20);
+                return stream.getStats();
+            }
+            Thread.sleep(10);
+        }
+        fail("Tampons non vidés");
+        return null;
+    }
+
+    private static StockAlertDTO alert(Long productId) {
+        return StockAlertDTO.builder()
+                .type(StockAlertDTO.AlertType.OUT_OF_STOCK)
+                .productId(productId)
+                .warehouseId(1L)
+                .available(0)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.example.digitallogisticssupplychainplatform.dto.StockAlertDTO;
+import org.example.digitallogisticssupplychainplatform.event.InventoryChangedEvent;
+import org.example.digitallogisticssupplychainplatform.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests - StockThresholdMonitor")
+class StockThresholdMonitorTest {
+
+    @Mock
+    private AvailableToPromiseCache availabilityCache;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockAlertStream alertStream;
+
+    @InjectMocks
+    private StockThresholdMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor.parseOverrides();
+    }
+
+    @Test
+    @DisplayName(" flush - Rafale de mouvements coalescée en une seule alerte de rupture")
+    void testBurstCoalescedIntoOneOutOfStockAlert() {
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 1L, 0, 5));
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 1L, 0, 3));
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(10L, 1L, 1L, -2, 0));
+        when(availabilityCache.find(1L, 1L)).thenReturn(Optional.of(new AvailableToPromiseCache.StockLevel(20, 20, 3L)));
+
+        List<StockAlertDTO> alerts = monitor.flush();
+
+        assertEquals(1, alerts.size());
+        assertEquals(StockAlertDTO.AlertType.OUT_OF_STOCK, alerts.get(0).getType());
+        assertEquals(10, alerts.get(0).getPreviousAvailable());
+        verify(alertStream).publish(alerts);
+        assertTrue(monitor.flush().isEmpty());
+    }
+
+    @Test
+    @DisplayName(" flush - Retour en stock après une rupture connue")
+    void testBackInStockAfterKnownOutage() {
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 1L, -4, 0));
+        when(availabilityCache.find(1L, 1L)).thenReturn(
+                Optional.of(new AvailableToPromiseCache.StockLevel(0, 0, 1L)),
+                Optional.of(new AvailableToPromiseCache.StockLevel(50, 0, 2L)));
+        monitor.flush();
+
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 1L, 50, 0));
+        List<StockAlertDTO> alerts = monitor.flush();
+
+        assertEquals(1, alerts.size());
+        assertEquals(StockAlertDTO.AlertType.BACK_IN_STOCK, alerts.get(0).getType());
+        assertEquals(50, alerts.get(0).getAvailable());
+    }
+
+    @Test
+    @DisplayName(" flush - Seuil bas propre au produit, lu en base sur défaut de cache")
+    void testLowStockWithProductOverride() {
+        ReflectionTestUtils.setField(monitor, "lowStockOverrides", "2:100");
+        monitor.parseOverrides();
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(null, 2L, 1L, -60, 0));
+        when(availabilityCache.find(2L, 1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.findAvailableQty(2L, 1L)).thenReturn(60);
+
+        List<StockAlertDTO> alerts = monitor.flush();
+
+        assertEquals(1, alerts.size());
+        assertEquals(StockAlertDTO.AlertType.LOW_STOCK, alerts.get(0).getType());
+        assertEquals(100, alerts.get(0).getLowStockThreshold());
+    }
+
+    @Test
+    @DisplayName(" flush - Aucun franchissement, aucune alerte")
+    void testNoAlertWithoutCrossing() {
+        monitor.onInventoryChanged(InventoryChangedEvent.updated(null, 1L, 1L, -5, 0));
+        when(availabilityCache.find(1L, 1L)).thenReturn(Optional.of(new AvailableToPromiseCache.StockLevel(80, 0, 1L)));
+
+        assertTrue(monitor.flush().isEmpty());
+        verify(alertStream, never()).publish(anyList());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests - StripedStockCounter")
+class StripedStockCounterTest {
+
+    @Test
+    @DisplayName(" reserve - Prélève dans les cellules voisines puis s'arrête au disponible")
+    void testReserveStealsAcrossStripesAndStopsAtAvailable() {
+        StripedStockCounter counter = new StripedStockCounter(4, 10);
+
+        assertEquals(7, counter.reserve(7));
+        assertEquals(3, counter.reserve(7));
+        assertEquals(0, counter.reserve(1));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    @DisplayName(" add - Retrait au-delà du disponible: plus aucun octroi")
+    void testNegativeAdjustmentBlocksGrants() {
+        StripedStockCounter counter = new StripedStockCounter(4, 10);
+
+        counter.adjustTo(-3);
+
+        assertEquals(-3, counter.available());
+        assertEquals(0, counter.reserve(1));
+
+        counter.add(5);
+        assertEquals(2, counter.reserve(5));
+    }
+
+    @Test
+    @DisplayName(" reserve - Aucun survendu sous concurrence")
+    void testConcurrentReservationsNeverOversell() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(8, 10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 2_000; i++) {
+                        granted += counter.reserve(1 + i % 3);
+                    }
+                    return granted;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(10_000, total);
+            assertEquals(0, counter.available());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.digitallogisticssupplychainplatform.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests - WavePlanner")
+class WavePlannerTest {
+
+    @Test
+    @DisplayName(" plan - Commandes partageant des références regroupées dans la même vague")
+    void testGroupsBySharedProducts() {
+        Map<Long, Map<Long, Integer>> picks = new LinkedHashMap<>();
+        picks.put(1L, Map.of(10L, 2, 11L, 1));
+        picks.put(2L, Map.of(20L, 5));
+        picks.put(3L, Map.of(10L, 1, 11L, 4));
+        picks.put(4L, Map.of(20L, 1, 21L, 1));
+
+        List<WavePlanner.PlannedWave> waves = WavePlanner.plan(picks, 2, 100, List.of());
+
+        assertEquals(2, waves.size());
+        assertEquals(List.of(1L, 3L), waves.get(0).getOrderIds());
+        assertEquals(List.of(2L, 4L), waves.get(1).getOrderIds());
+        assertEquals(8, waves.get(0).getUnits());
+        assertEquals(2, waves.get(0).getPickList().size());
+        assertEquals(10L, waves.get(0).getPickList().get(0).getProductId());
+        assertEquals(3, waves.get(0).getPickList().get(0).getQuantity());
+        assertEquals(2, waves.get(0).getPickList().get(0).getOrders());
+    }
+
+    @Test
+    @DisplayName(" plan - Vague complétée par urgence et limitée en unités")
+    void testFillsByUrgencyWithinUnitLimit() {
+        Map<Long, Map<Long, Integer>> picks = new LinkedHashMap<>();
+        picks.put(1L, Map.of(10L, 6));
+        picks.put(2L, Map.of(20L, 6));
+        picks.put(3L, Map.of(30L, 3));
+        picks.put(4L, Map.of(40L, 20));
+
+        List<WavePlanner.PlannedWave> waves = WavePlanner.plan(picks, 10, 10, List.of());
+
+        assertEquals(3, waves.size());
+        assertEquals(List.of(1L, 3L), waves.get(0).getOrderIds());
+        assertEquals(List.of(2L), waves.get(1).getOrderIds());
+        assertEquals(List.of(4L), waves.get(2).getOrderIds());
+        assertEquals(20, waves.get(2).getUnits());
+    }
+
+    @Test
+    @DisplayName(" plan - Vagues confiées au cut-off le plus proche dans la limite de capacité")
+    void testAssignsCarriersByCutOffAndCapacity() {
+        Map<Long, Map<Long, Integer>> picks = new LinkedHashMap<>();
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            picks.put(orderId, Map.of(orderId, 1));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<WavePlanner.CarrierSlot> carriers = List.of(
+                slot(1L, now.plusHours(1), 2),
+                slot(2L, now.plusHours(3), 10));
+
+        List<WavePlanner.PlannedWave> waves = WavePlanner.plan(picks, 2, 100, carriers);
+
+        assertEquals(3, waves.size());
+        assertEquals(1L, waves.get(0).getCarrier().getCarrierId());
+        assertEquals(2L, waves.get(1).getCarrier().getCarrierId());
+        assertEquals(2L, waves.get(2).getCarrier().getCarrierId());
+        assertEquals(7, carriers.get(1).getRemainingCapacity());
+    }
+
+    @Test
+    @DisplayName(" plan - Aucune capacité transporteur restante")
+    void testNoCarrierCapacity() {
+        Map<Long, Map<Long, Integer>> picks = new LinkedHashMap<>();
+        picks.put(1L, Map.of(10L, 1));
+        picks.put(2L, Map.of(10L, 1));
+
+        List<WavePlanner.PlannedWave> waves = WavePlanner.plan(picks, 2, 100,
+                List.of(slot(1L, LocalDateTime.now().plusHours(1), 1)));
+
+        assertEquals(1, waves.size());
+        assertNull(waves.get(0).getCarrier());
+    }
+
+    private WavePlanner.CarrierSlot slot(Long carrierId, LocalDateTime cutOff, int capacity) {
+        return WavePlanner.CarrierSlot.builder()
+                .carrierId(carrierId)
+                .carrierName("Transporteur " + carrierId)
+                .cutOff(cutOff)
+                .remainingCapacity(capacity)
+                .build();
+    }
+}